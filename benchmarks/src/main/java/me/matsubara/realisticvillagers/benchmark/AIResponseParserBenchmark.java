@@ -0,0 +1,51 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.manager.ai.tools.AIResponseParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AIResponseParser#parseResponse(String)} for the responses the providers send back: plain text (which fails to
+ * parse as JSON), the custom format with tools, and the OpenAI format with native tool calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AIResponseParserBenchmark {
+
+    private static final String TEXT = "Of course! Follow me, I know a shortcut to the village through the birch forest.";
+
+    private static final String CUSTOM = "{\"text\": \"Here, take this bread, you look hungry.\", \"tools\": ["
+            + "{\"name\": \"give_item\", \"args\": {\"item\": \"BREAD\", \"amount\": 3}},"
+            + "{\"name\": \"follow_player\", \"args\": {}}]}";
+
+    private static final String NATIVE = "{\"id\": \"chatcmpl-9x\", \"object\": \"chat.completion\", \"model\": \"llama-3.1-8b-instant\","
+            + "\"choices\": [{\"index\": 0, \"message\": {\"role\": \"assistant\", \"content\": null, \"tool_calls\": ["
+            + "{\"id\": \"call_1\", \"type\": \"function\", \"function\": {\"name\": \"give_item\", \"arguments\": \"{\\\"item\\\": \\\"BREAD\\\", \\\"amount\\\": 3}\"}},"
+            + "{\"id\": \"call_2\", \"type\": \"function\", \"function\": {\"name\": \"follow_player\", \"arguments\": \"{}\"}}]},"
+            + "\"finish_reason\": \"tool_calls\"}],"
+            + "\"usage\": {\"prompt_tokens\": 812, \"completion_tokens\": 41, \"total_tokens\": 853}}";
+
+    @Param({"text", "custom", "native"})
+    private String format;
+
+    private String response;
+
+    @Setup
+    public void setup() {
+        response = switch (format) {
+            case "text" -> TEXT;
+            case "custom" -> CUSTOM;
+            default -> NATIVE;
+        };
+    }
+
+    @Benchmark
+    public AIResponseParser.ParsedResponse parse() {
+        return AIResponseParser.parseResponse(response);
+    }
+}
@@ -0,0 +1,83 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.benchmark.fixture.FakeWorld;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.util.customblockdata.CustomBlockData;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CustomBlockData#hasCustomBlockData(Block, Plugin)} for every block reached by water flooding an 8x8 chunk area
+ * (the check done by the listener on every block change), with the chunk index and without it (reading the chunk's data
+ * container, as before). A few blocks of every chunk have data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomBlockDataBenchmark {
+
+    private static final int CHUNKS = 8;
+    private static final int SIZE = CHUNKS * 16;
+    private static final int BLOCKS = SIZE * SIZE;
+    private static final int WATER = 64;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private Plugin plugin;
+    private Block[] flood;
+
+    @Setup
+    public void setup() {
+        Fixtures.installServer();
+
+        // Both plugins use the same namespace, but only the registered one is indexed.
+        Plugin registered = plugin();
+        CustomBlockData.registerListener(registered);
+        plugin = indexed ? registered : plugin();
+
+        FakeWorld world = new FakeWorld("world", (x, y, z) -> y < WATER ? Material.STONE : Material.AIR);
+        for (int chunkX = 0; chunkX < CHUNKS; chunkX++) {
+            for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++) {
+                // A few blocks with data, as left by villagers (beds, job sites, chests...).
+                for (int i = 0; i < 4; i++) {
+                    int x = (chunkX * 7 + i * 5) & 0xF, z = (chunkZ * 3 + i * 11) & 0xF;
+                    NamespacedKey key = new NamespacedKey(registered, "x" + x + "y" + (WATER - 1 + i % 3) + "z" + z);
+                    world.setChunkData(chunkX, chunkZ, key, new Object());
+                }
+            }
+        }
+
+        // Blocks are created up-front, so their creation isn't part of the numbers.
+        flood = new Block[BLOCKS];
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                flood[x * SIZE + z] = world.blockAt(x, WATER, z);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int flood() {
+        int withData = 0;
+        for (Block block : flood) {
+            if (CustomBlockData.hasCustomBlockData(block, plugin)) withData++;
+        }
+        return withData;
+    }
+
+    private static @NotNull Plugin plugin() {
+        return Stubs.of(Plugin.class, (method, args) -> method.equals("getName") ? "RealisticVillagers" : Stubs.UNHANDLED);
+    }
+}
@@ -0,0 +1,78 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.benchmark.fixture.FakeWorld;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.util.AntiEnslavementUtil;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The walkable area flood fill of {@link AntiEnslavementUtil#isConfined(IVillagerNPC)}, with the cache cleared every
+ * time: a villager in a 3x3 trading cell, one in a 9x9 pen and one in an open field (where the scan hits its limit).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloodFillBenchmark {
+
+    private static final int GROUND = 64;
+
+    @Param({"cell", "pen", "field"})
+    private String layout;
+
+    private IVillagerNPC villager;
+
+    @Setup
+    public void setup() {
+        Fixtures.installServer();
+
+        int radius = switch (layout) {
+            case "cell" -> 1;
+            case "pen" -> 4;
+            default -> -1;
+        };
+
+        FakeWorld world = new FakeWorld("world", (x, y, z) -> typeAt(radius, x, y, z));
+        UUID uuid = UUID.randomUUID();
+
+        LivingEntity bukkit = Stubs.of(LivingEntity.class, (method, args) -> switch (method) {
+            case "getWorld" -> world.world();
+            case "getLocation" -> args.length == 0 ? new Location(world.world(), 0.5d, GROUND, 0.5d) : Stubs.UNHANDLED;
+            case "getUniqueId" -> uuid;
+            default -> Stubs.UNHANDLED;
+        });
+
+        villager = Stubs.of(IVillagerNPC.class, (method, args) -> switch (method) {
+            case "bukkit" -> bukkit;
+            case "getUniqueId" -> uuid;
+            case "getVillagerName" -> "Benchmark";
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    @Benchmark
+    public boolean isConfined() {
+        AntiEnslavementUtil.clearAllCache();
+        return AntiEnslavementUtil.isConfined(villager);
+    }
+
+    private static @NotNull Material typeAt(int radius, int x, int y, int z) {
+        if (y < GROUND) return Material.GRASS_BLOCK;
+        if (y > GROUND + 1 || radius < 0) return Material.AIR;
+
+        // A fence ring (two blocks high, so it can't be stepped over) around the area.
+        int distance = Math.max(Math.abs(x), Math.abs(z));
+        return distance == radius + 1 ? Material.OAK_FENCE : Material.AIR;
+    }
+}
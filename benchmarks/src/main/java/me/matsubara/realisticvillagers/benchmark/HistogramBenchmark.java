@@ -0,0 +1,64 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead the metrics add to timed code: recording into a {@link Histogram} (also from several threads at once, as
+ * on Folia), timing with metrics disabled, and reading a quantile (done for /rv stats and every export).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistogramBenchmark {
+
+    private Histogram enabled;
+    private Histogram disabled;
+
+    @Setup
+    public void setup() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+        enabled = registry.histogram("benchmark_seconds", "Enabled histogram.");
+
+        // Values from 1 µs to 10 ms, so every quantile has something to look at.
+        for (int i = 0; i < 100_000; i++) {
+            enabled.record(ThreadLocalRandom.current().nextLong(1_000L, 10_000_000L));
+        }
+
+        disabled = new MetricsRegistry().histogram("benchmark_seconds", "Disabled histogram.");
+    }
+
+    @Benchmark
+    public void record() {
+        enabled.record(ThreadLocalRandom.current().nextLong(1_000L, 10_000_000L));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        enabled.record(ThreadLocalRandom.current().nextLong(1_000L, 10_000_000L));
+    }
+
+    @Benchmark
+    public void timeEnabled() {
+        enabled.recordSince(enabled.start());
+    }
+
+    @Benchmark
+    public void timeDisabled() {
+        disabled.recordSince(disabled.start());
+    }
+
+    @Benchmark
+    public long quantile() {
+        return enabled.getQuantile(0.99d);
+    }
+}
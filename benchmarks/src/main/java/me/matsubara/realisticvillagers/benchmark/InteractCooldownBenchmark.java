@@ -0,0 +1,108 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.manager.InteractCooldownManager;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Villager;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InteractCooldownManager} with 200 players and 2000 cooldowns (10 per player, over 50 villagers and the
+ * interaction types of the GUI), checking cooldowns that are still running (the check done on every click).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.MOCKITO_AGENT)
+public class InteractCooldownBenchmark {
+
+    private static final String[] TYPES = {"chat", "greet", "story", "joke", "flirt", "proud-of", "insult", "gift", "divorce-papers", "procreate"};
+    private static final int PLAYERS = 200;
+    private static final int VILLAGERS = 50;
+    private static final int ENTRIES = 2000;
+    private static final int LOOKUPS = 4096;
+
+    private InteractCooldownManager manager;
+    private Player[] players;
+    private Villager[] villagers;
+    private String[] types;
+    private int next;
+
+    @Setup
+    public void setup() {
+        RealisticVillagers plugin = Fixtures.plugin();
+        manager = new InteractCooldownManager(plugin);
+
+        Player[] allPlayers = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            allPlayers[i] = entity(Player.class, new UUID(1L, i));
+        }
+
+        Villager[] allVillagers = new Villager[VILLAGERS];
+        for (int i = 0; i < VILLAGERS; i++) {
+            allVillagers[i] = entity(Villager.class, new UUID(2L, i));
+        }
+
+        // Long enough to never expire while measuring.
+        long hour = TimeUnit.HOURS.toMillis(1L);
+        players = new Player[ENTRIES];
+        villagers = new Villager[ENTRIES];
+        types = new String[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            players[i] = allPlayers[i % PLAYERS];
+            villagers[i] = allVillagers[(i / PLAYERS * 7 + i) % VILLAGERS];
+            types[i] = TYPES[i / PLAYERS];
+            manager.canInteract(players[i], villagers[i], types[i], hour);
+        }
+
+        // Shuffle the order of the lookups, always the same.
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = ENTRIES - 1; i > 0; i--) {
+            swap(i, random.nextInt(i + 1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int check() {
+        int allowed = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            int index = nextIndex();
+            if (manager.canInteract(players[index], villagers[index], types[index], null)) allowed++;
+        }
+        return allowed;
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == ENTRIES ? 0 : index + 1;
+        return index;
+    }
+
+    private void swap(int first, int second) {
+        Player player = players[first];
+        players[first] = players[second];
+        players[second] = player;
+
+        Villager villager = villagers[first];
+        villagers[first] = villagers[second];
+        villagers[second] = villager;
+
+        String type = types[first];
+        types[first] = types[second];
+        types[second] = type;
+    }
+
+    private static <T> @NotNull T entity(Class<T> type, UUID uuid) {
+        return Stubs.of(type, (method, args) -> method.equals("getUniqueId") ? uuid : Stubs.UNHANDLED);
+    }
+}
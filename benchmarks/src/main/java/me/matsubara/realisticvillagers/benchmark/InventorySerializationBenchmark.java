@@ -0,0 +1,90 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import com.jeff_media.morepersistentdatatypes.DataType;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving the inventory of a villager ({@code VillagerNPC#serializeInventory()}) when it changed since the last save,
+ * which encodes every item with {@link DataType#ITEM_STACK_ARRAY}, against an unchanged one, which only compares the
+ * slots with the copy of the last save and reuses its bytes.
+ * <p>
+ * The plugin compares the Minecraft stacks ({@code ItemStack#matches()}), which can't be loaded here, so the unchanged
+ * case compares the Bukkit stacks instead; both check the type, amount and components of every slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventorySerializationBenchmark {
+
+    private static final Material[] ITEMS = {
+            Material.WHEAT,
+            Material.BREAD,
+            Material.CARROT,
+            Material.POTATO,
+            Material.EMERALD,
+            Material.IRON_SWORD,
+            Material.SHIELD,
+            Material.CROSSBOW,
+            Material.ARROW};
+
+    // The default villager-inventory-size.
+    @Param({"27"})
+    private int slots;
+
+    @Param({"unchanged", "changed"})
+    private String inventory;
+
+    private PersistentDataAdapterContext context;
+    private ItemStack[] contents;
+    private ItemStack[] saved;
+    private byte[] savedBytes;
+
+    @Setup
+    public void setup() {
+        Fixtures.installServer();
+        context = Stubs.of(PersistentDataAdapterContext.class, (method, args) -> Stubs.UNHANDLED);
+
+        // Two thirds of the slots have items, the rest is empty.
+        contents = new ItemStack[slots];
+        for (int i = 0; i < slots; i++) {
+            contents[i] = i % 3 == 2 ? null : new ItemStack(ITEMS[i % ITEMS.length], 1 + i % 16);
+        }
+
+        saved = copy(contents);
+        savedBytes = DataType.ITEM_STACK_ARRAY.toPrimitive(contents, context);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        if (inventory.equals("unchanged") && matchesSaved()) return savedBytes;
+
+        saved = copy(contents);
+        return savedBytes = DataType.ITEM_STACK_ARRAY.toPrimitive(contents, context);
+    }
+
+    private boolean matchesSaved() {
+        for (int i = 0; i < contents.length; i++) {
+            if (!Objects.equals(saved[i], contents[i])) return false;
+        }
+        return true;
+    }
+
+    private static ItemStack[] copy(ItemStack[] contents) {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] != null) copy[i] = contents[i].clone();
+        }
+        return copy;
+    }
+}
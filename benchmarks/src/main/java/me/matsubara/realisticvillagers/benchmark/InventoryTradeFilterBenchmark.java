@@ -0,0 +1,133 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.trading.InventoryTradeFilter;
+import me.matsubara.realisticvillagers.trading.TradingConfig;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Villager;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.MerchantRecipe;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InventoryTradeFilter#refreshTrades(Villager)} for a farmer with a full set of trades, counting the stock of every
+ * trade (and the room for its inputs) in the villager inventory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.MOCKITO_AGENT)
+public class InventoryTradeFilterBenchmark {
+
+    private static final Material[] STOCK = {
+            Material.WHEAT,
+            Material.BREAD,
+            Material.CARROT,
+            Material.POTATO,
+            Material.BEETROOT,
+            Material.PUMPKIN,
+            Material.MELON,
+            Material.APPLE,
+            Material.PUMPKIN_PIE,
+            Material.COOKIE,
+            Material.CAKE,
+            Material.GOLDEN_CARROT,
+            Material.SUSPICIOUS_STEW,
+            Material.EMERALD};
+
+    @Param({"8", "36"})
+    private int slots;
+
+    @Param({"false", "true"})
+    private boolean exact;
+
+    private InventoryTradeFilter filter;
+    private Villager villager;
+
+    @Setup
+    public void setup() {
+        RealisticVillagers plugin = Fixtures.plugin();
+        writeTradingConfig(plugin);
+        filter = new InventoryTradeFilter(plugin, new TradingConfig(plugin));
+
+        ItemStack[] contents = new ItemStack[slots];
+        for (int i = 0; i < slots; i++) {
+            // Leave some room, so inputs can be accepted.
+            if (i % 4 == 3) continue;
+            contents[i] = new ItemStack(STOCK[i % STOCK.length], 1 + i % 16);
+        }
+
+        Inventory inventory = Stubs.of(Inventory.class, (method, args) -> switch (method) {
+            // CraftInventory copies the contents every time.
+            case "getContents", "getStorageContents" -> copy(contents);
+            case "getSize" -> contents.length;
+            default -> Stubs.UNHANDLED;
+        });
+
+        List<MerchantRecipe> recipes = recipes();
+        villager = Stubs.of(Villager.class, (method, args) -> switch (method) {
+            case "getProfession" -> Villager.Profession.FARMER;
+            case "getInventory" -> inventory;
+            case "getRecipes" -> new ArrayList<>(recipes);
+            case "getRecipeCount" -> recipes.size();
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    @Benchmark
+    public Villager refreshTrades() {
+        filter.refreshTrades(villager);
+        return villager;
+    }
+
+    private void writeTradingConfig(@NotNull RealisticVillagers plugin) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("inventory-based-trading.enabled", true);
+        config.set("inventory-based-trading.trade-validation.check-exact-item", exact);
+        config.set("inventory-based-trading.trade-validation.check-input-items", true);
+        config.set("inventory-based-trading.trade-validation.required-stock-multiplier", 1.0d);
+        config.set("inventory-based-trading.display.show-disabled-reason", false);
+
+        try {
+            config.save(new File(plugin.getDataFolder(), "trading-config.yml"));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static @NotNull List<MerchantRecipe> recipes() {
+        List<MerchantRecipe> recipes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            boolean buying = i % 2 == 0;
+            Material item = STOCK[i];
+
+            // The villager buys crops for emeralds, and sells food for emeralds.
+            MerchantRecipe recipe = new MerchantRecipe(new ItemStack(buying ? Material.EMERALD : item, buying ? 1 : 4), 12);
+            recipe.addIngredient(new ItemStack(buying ? item : Material.EMERALD, buying ? 20 : 1));
+            recipes.add(recipe);
+        }
+        return recipes;
+    }
+
+    private static ItemStack @NotNull [] copy(ItemStack @NotNull [] contents) {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            copy[i] = contents[i] != null ? contents[i].clone() : null;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,133 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.util.ItemStackUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The item checks done by villagers when picking up or equipping items, through {@link ItemStackUtils} (precomputed
+ * material tables) against the name checks it used before ({@link NameRules}), over the same mix of items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemClassificationBenchmark {
+
+    private static final Material[] MATERIALS = {
+            Material.DIAMOND_SWORD,
+            Material.IRON_AXE,
+            Material.BOW,
+            Material.CROSSBOW,
+            Material.TRIDENT,
+            Material.IRON_HELMET,
+            Material.NETHERITE_CHESTPLATE,
+            Material.LEATHER_LEGGINGS,
+            Material.GOLDEN_BOOTS,
+            Material.TURTLE_HELMET,
+            Material.BREAD,
+            Material.WHEAT_SEEDS,
+            Material.STONE,
+            Material.SHIELD,
+            Material.STONE_PICKAXE,
+            Material.COOKED_BEEF};
+
+    private static final int ITEMS = 1024;
+
+    private ItemStack[] items;
+
+    @Setup
+    public void setup() {
+        Fixtures.installServer();
+
+        SplittableRandom random = new SplittableRandom(42L);
+        items = new ItemStack[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            items[i] = new ItemStack(MATERIALS[random.nextInt(MATERIALS.length)]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void tables(Blackhole blackhole) {
+        ItemStack previous = items[ITEMS - 1];
+        for (ItemStack item : items) {
+            blackhole.consume(ItemStackUtils.isWeapon(item));
+            blackhole.consume(ItemStackUtils.getSlotByItem(item));
+            blackhole.consume(ItemStackUtils.isDifferentType(item, previous));
+            blackhole.consume(ItemStackUtils.isBetterSwordMaterial(item, previous));
+            previous = item;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void names(Blackhole blackhole) {
+        ItemStack previous = items[ITEMS - 1];
+        for (ItemStack item : items) {
+            blackhole.consume(NameRules.isWeapon(item));
+            blackhole.consume(NameRules.getSlotByItem(item));
+            blackhole.consume(NameRules.isDifferentType(item, previous));
+            blackhole.consume(NameRules.isBetterSwordMaterial(item, previous));
+            previous = item;
+        }
+    }
+
+    /**
+     * The name checks {@link ItemStackUtils} used before the material tables, kept here as the reference.
+     */
+    private static final class NameRules {
+
+        private static final String[] SWORD = {
+                "WOODEN_SWORD",
+                "GOLDEN_SWORD",
+                "STONE_SWORD",
+                "IRON_SWORD",
+                "DIAMOND_SWORD",
+                "NETHERITE_SWORD"};
+
+        private static boolean isWeapon(@NotNull ItemStack item) {
+            String name = item.getType().name();
+            return item.getType() == Material.TRIDENT
+                    || name.contains("SWORD")
+                    || name.endsWith("_AXE")
+                    || name.endsWith("BOW");
+        }
+
+        private static @Nullable EquipmentSlot getSlotByItem(@NotNull ItemStack item) {
+            String name = item.getType().name();
+            if (name.contains("HELMET")) return EquipmentSlot.HEAD;
+            if (name.contains("CHESTPLATE")) return EquipmentSlot.CHEST;
+            if (name.contains("LEGGINGS")) return EquipmentSlot.LEGS;
+            if (name.contains("BOOTS")) return EquipmentSlot.FEET;
+            return null;
+        }
+
+        private static boolean isDifferentType(@NotNull ItemStack first, @NotNull ItemStack second) {
+            String[] firstData = first.getType().name().split("_");
+            String[] secondData = second.getType().name().split("_");
+
+            if (firstData.length == 1 && secondData.length == 1) {
+                return first.getType() != second.getType();
+            }
+
+            return !firstData[firstData.length - 1].equalsIgnoreCase(secondData[secondData.length - 1]);
+        }
+
+        private static boolean isBetterSwordMaterial(@NotNull ItemStack toCheck, @NotNull ItemStack actual) {
+            return ArrayUtils.indexOf(SWORD, toCheck.getType().name()) > ArrayUtils.indexOf(SWORD, actual.getType().name());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.files.Messages;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A villager chat message sent through {@link Messages#send(Player, IVillagerNPC, String)} (compiled templates) against
+ * the chain of replacements it used before. The random name placeholders aren't used, since they look for nearby
+ * entities; the old chain looked for them on every message, so it's even slower than here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.MOCKITO_AGENT)
+public class MessageTemplateBenchmark {
+
+    private static final String MESSAGE = "Good morning %player-name%! I'm %villager-name%, the fields look great today.";
+
+    private Messages messages;
+    private Player player;
+    private IVillagerNPC npc;
+    private String sent;
+
+    @Setup
+    public void setup() {
+        messages = new Messages(Fixtures.plugin());
+
+        player = Stubs.of(Player.class, (method, args) -> switch (method) {
+            case "getName" -> "Steve";
+            case "sendMessage" -> {
+                if (args.length == 1 && args[0] instanceof String message) sent = message;
+                yield null;
+            }
+            default -> Stubs.UNHANDLED;
+        });
+
+        UUID uuid = UUID.randomUUID();
+        npc = Stubs.of(IVillagerNPC.class, (method, args) -> switch (method) {
+            case "getUniqueId" -> uuid;
+            case "getVillagerName" -> "Anna";
+            case "isMale" -> false;
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    @Benchmark
+    public String template() {
+        messages.send(player, npc, MESSAGE);
+        return sent;
+    }
+
+    @Benchmark
+    public String replaceChain() {
+        player.sendMessage(Config.VILLAGER_MESSAGE_FORMAT.asStringTranslated()
+                .replace("%name%", messages.getVillagerTitleName(npc))
+                .replace("%message%", MESSAGE)
+                .replace("%villager-name%", npc.getVillagerName())
+                .replace("%player-name%", player.getName()));
+        return sent;
+    }
+}
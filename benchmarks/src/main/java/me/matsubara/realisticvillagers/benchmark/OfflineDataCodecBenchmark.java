@@ -0,0 +1,136 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import com.jeff_media.morepersistentdatatypes.datatypes.serializable.ConfigurationSerializableDataType;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.data.LastKnownPosition;
+import me.matsubara.realisticvillagers.data.serialization.GossipEntryWrapper;
+import me.matsubara.realisticvillagers.data.serialization.OfflineDataType;
+import me.matsubara.realisticvillagers.data.serialization.OfflineDataWrapper;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding the data of a villager with {@link OfflineDataType} (the binary format) against the previous
+ * format ({@link ConfigurationSerializableDataType}), for a villager without family and for one with a partner, parents
+ * and children (whose parents are the same records, nested again in the previous format).
+ * <p>
+ * The size of the encoded data of both formats is printed once per fork, before the warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfflineDataCodecBenchmark {
+
+    private static final PersistentDataType<byte[], OfflineDataWrapper> BINARY = new OfflineDataType();
+    private static final PersistentDataType<byte[], OfflineDataWrapper> LEGACY = new ConfigurationSerializableDataType<>(OfflineDataWrapper.class);
+
+    @Param({"single", "family"})
+    private String villager;
+
+    @Param({"binary", "legacy"})
+    private String format;
+
+    private PersistentDataType<byte[], OfflineDataWrapper> type;
+    private PersistentDataAdapterContext context;
+    private OfflineDataWrapper wrapper;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        ConfigurationSerialization.registerClass(GossipEntryWrapper.class);
+        ConfigurationSerialization.registerClass(OfflineDataWrapper.class);
+
+        type = format.equals("binary") ? BINARY : LEGACY;
+        context = Stubs.of(PersistentDataAdapterContext.class, (method, args) -> Stubs.UNHANDLED);
+
+        SplittableRandom random = new SplittableRandom(42L);
+        wrapper = villager.equals("single") ? villager(random, "Anna", null, null, null, List.of()) : family(random);
+        encoded = type.toPrimitive(wrapper, context);
+
+        System.out.printf(Locale.ROOT, "%n%s (%s): %d bytes%n", villager, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return type.toPrimitive(wrapper, context);
+    }
+
+    @Benchmark
+    public OfflineDataWrapper decode() {
+        return type.fromPrimitive(encoded, context);
+    }
+
+    private static @NotNull OfflineDataWrapper family(SplittableRandom random) {
+        OfflineDataWrapper father = villager(random, "Bruno", null, null, null, List.of());
+        OfflineDataWrapper mother = villager(random, "Clara", null, null, null, List.of());
+        OfflineDataWrapper partner = villager(random, "Diego", null, null, null, List.of());
+
+        List<OfflineDataWrapper> childrens = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            childrens.add(villager(random, "Child " + i, null, partner, null, List.of()));
+        }
+
+        return villager(random, "Anna", partner, father, mother, childrens);
+    }
+
+    private static @NotNull OfflineDataWrapper villager(@NotNull SplittableRandom random,
+                                                        String name,
+                                                        @Nullable OfflineDataWrapper partner,
+                                                        @Nullable OfflineDataWrapper father,
+                                                        @Nullable OfflineDataWrapper mother,
+                                                        List<OfflineDataWrapper> childrens) {
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            players.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        // Gossips about the players, as left by trades and gifts.
+        String[] types = {"major_negative", "minor_negative", "minor_positive", "major_positive", "trading"};
+        List<GossipEntryWrapper> entries = new ArrayList<>();
+        for (UUID player : players) {
+            for (int i = 0; i < 4; i++) {
+                entries.add(new GossipEntryWrapper(player, types[random.nextInt(types.length)], random.nextInt(1, 100)));
+            }
+        }
+
+        return new OfflineDataWrapper(
+                new UUID(random.nextLong(), random.nextLong()),
+                name,
+                random.nextBoolean() ? "male" : "female",
+                partner,
+                partner != null,
+                random.nextLong(0L, 1_000_000L),
+                random.nextInt(1, 200),
+                random.nextInt(1, 200),
+                father,
+                mother,
+                father != null,
+                new LastKnownPosition("world", random.nextDouble(-1000.0d, 1000.0d), 64.0d, random.nextDouble(-1000.0d, 1000.0d)),
+                partner != null ? List.of(partner) : List.of(),
+                childrens,
+                List.of("zombie", "pillager", "vindicator", "evoker", "ravager"),
+                players,
+                entries,
+                null,
+                null,
+                new UUID(random.nextLong(), random.nextLong()),
+                new Vector(random.nextInt(-1000, 1000), 64, random.nextInt(-1000, 1000)),
+                false,
+                random.nextBoolean(),
+                20,
+                0,
+                5.0f,
+                0.0f);
+    }
+}
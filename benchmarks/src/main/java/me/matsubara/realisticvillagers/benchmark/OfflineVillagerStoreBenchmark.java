@@ -0,0 +1,123 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.benchmark.fixture.Stubs;
+import me.matsubara.realisticvillagers.data.OfflineSummary;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.tracker.OfflineVillagerStore;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Lookups of unloaded villagers in the {@link OfflineVillagerStore}: summaries, and full villagers (from the LRU cache
+ * or decoded). With the default budget (16 MB), about 2000 villagers fit in the cache, so the larger store also decodes.
+ * Decoding is a map lookup here, the time spent by the real converter isn't part of the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.MOCKITO_AGENT)
+public class OfflineVillagerStoreBenchmark {
+
+    // Roughly the size of an encoded villager with some inventory and memories.
+    private static final int DATA_SIZE = 2048;
+    private static final int LOOKUPS = 4096;
+
+    @Param({"1000", "10000"})
+    private int villagers;
+
+    private OfflineVillagerStore store;
+    private UUID[] lookups;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Map<UUID, IVillagerNPC> encoded = new HashMap<>();
+        INMSConverter converter = Stubs.of(INMSConverter.class, (method, args) -> switch (method) {
+            case "encodeOffline" -> encode((IVillagerNPC) args[0]);
+            case "decodeOffline" -> encoded.get(decode((byte[]) args[0]));
+            default -> Stubs.UNHANDLED;
+        });
+
+        RealisticVillagers plugin = Fixtures.plugin();
+        when(plugin.getConverter()).thenReturn(converter);
+        store = new OfflineVillagerStore(plugin);
+
+        UUID[] uuids = new UUID[villagers];
+        for (int i = 0; i < villagers; i++) {
+            IVillagerNPC npc = villager(i);
+            uuids[i] = npc.getUniqueId();
+            encoded.put(uuids[i], npc);
+            store.add(npc);
+        }
+
+        // Villagers from all over the store, the same sequence every time.
+        SplittableRandom random = new SplittableRandom(42L);
+        lookups = new UUID[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = uuids[random.nextInt(villagers)];
+        }
+    }
+
+    @Benchmark
+    public OfflineSummary getSummary() {
+        return store.getSummary(nextLookup());
+    }
+
+    @Benchmark
+    public IVillagerNPC get() {
+        return store.get(nextLookup());
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return store.contains(nextLookup());
+    }
+
+    private UUID nextLookup() {
+        UUID uuid = lookups[next];
+        next = (next + 1) & (LOOKUPS - 1);
+        return uuid;
+    }
+
+    private static @NotNull IVillagerNPC villager(int index) {
+        UUID uuid = new UUID(0x5EEDL, index);
+        String name = "Villager " + index;
+        String sex = index % 2 == 0 ? "male" : "female";
+
+        return Stubs.of(IVillagerNPC.class, (method, args) -> switch (method) {
+            case "getUniqueId" -> uuid;
+            case "getVillagerName" -> name;
+            case "getSex" -> sex;
+            case "isMale" -> index % 2 == 0;
+            case "getSkinTextureId" -> index % 64;
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    private static byte @NotNull [] encode(@NotNull IVillagerNPC npc) {
+        UUID uuid = npc.getUniqueId();
+        return ByteBuffer.allocate(DATA_SIZE)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static @NotNull UUID decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,127 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.manager.PathCache;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of the {@link PathCache} itself, with synthetic paths (start, end and bounds) between random blocks of a
+ * 128x128 village: looking up cached and unknown paths, caching a path again and a block change that doesn't touch any
+ * path (roofs, trees, etc., most of the block changes in a village).
+ * <p>
+ * The pathfinds saved by the cache are compared in {@link PathCacheComparisonBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.MOCKITO_AGENT)
+public class PathCacheBenchmark {
+
+    private static final UUID WORLD = new UUID(0L, 0L);
+    private static final int VILLAGE = 128;
+    private static final int GROUND = 64;
+    private static final int LOOKUPS = 1024;
+
+    @Param({"500", "2000"})
+    private int paths;
+
+    private PathCache cache;
+    private PathCache.PathKey[] cached;
+    private PathCache.Bounds[] bounds;
+    private PathCache.PathKey[] unknown;
+    private int[] changes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        RealisticVillagers plugin = Fixtures.plugin();
+        // Paths can't expire in the middle of the measurements.
+        plugin.getConfig().set("path-cache.ttl", 0);
+        cache = new PathCache(plugin);
+
+        SplittableRandom random = new SplittableRandom(42L);
+        cached = new PathCache.PathKey[paths];
+        bounds = new PathCache.Bounds[paths];
+        for (int i = 0; i < paths; i++) {
+            int startX = random.nextInt(VILLAGE), startZ = random.nextInt(VILLAGE);
+            int endX = random.nextInt(VILLAGE), endZ = random.nextInt(VILLAGE);
+
+            cached[i] = key(startX, startZ, endX, endZ);
+            // The nodes of a walking path, grown to include the blocks around them.
+            bounds[i] = new PathCache.Bounds(
+                    Math.min(startX, endX) - 1, GROUND - 1, Math.min(startZ, endZ) - 1,
+                    Math.max(startX, endX) + 1, GROUND + 2, Math.max(startZ, endZ) + 1);
+            cache.put(cached[i], new Object(), bounds[i]);
+        }
+
+        unknown = new PathCache.PathKey[LOOKUPS];
+        changes = new int[LOOKUPS * 2];
+        for (int i = 0; i < LOOKUPS; i++) {
+            unknown[i] = key(random.nextInt(VILLAGE), random.nextInt(VILLAGE), random.nextInt(VILLAGE), random.nextInt(VILLAGE));
+            changes[i * 2] = random.nextInt(VILLAGE);
+            changes[i * 2 + 1] = random.nextInt(VILLAGE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int hit() {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (cache.get(cached[nextIndex()]) != null) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int miss() {
+        int found = 0;
+        for (PathCache.PathKey key : unknown) {
+            if (cache.get(key) != null) found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void put() {
+        for (int i = 0; i < LOOKUPS; i++) {
+            int index = nextIndex();
+            cache.put(cached[index], new Object(), bounds[index]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int blockChange() {
+        // Above every path, so every change is checked against the paths of its chunk but none is dropped.
+        for (int i = 0; i < LOOKUPS; i++) {
+            cache.invalidate(WORLD, changes[i * 2], GROUND + 8, changes[i * 2 + 1]);
+        }
+        return cache.size();
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == paths ? 0 : index + 1;
+        return index;
+    }
+
+    private static @NotNull PathCache.PathKey key(int startX, int startZ, int endX, int endZ) {
+        return new PathCache.PathKey(WORLD, pack(startX, startZ), pack(endX, endZ), 1, 0);
+    }
+
+    // Same layout as BlockPos#asLong().
+    private static long pack(int x, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) GROUND & 0xFFFL);
+    }
+}
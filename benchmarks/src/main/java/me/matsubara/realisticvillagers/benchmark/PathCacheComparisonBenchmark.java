@@ -0,0 +1,257 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.benchmark.fixture.Fixtures;
+import me.matsubara.realisticvillagers.manager.PathCache;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path requests of villagers walking their routes in a 128x128 village, with the {@link PathCache} enabled and disabled,
+ * going through the same steps as {@code SharedPaths#findPath()}.
+ * <p>
+ * Computing a Minecraft path needs a server, so the paths are computed by an A* over a grid of houses instead: 8
+ * directions without cutting corners, and up to 768 visited nodes (the limit of a villager, 16 per block of its 48
+ * blocks follow range), returning the path to the closest node when the target isn't reached. The pathfinder of the
+ * server also reads the block states around every node, so the cost of the paths computed here is a lower bound.
+ * <p>
+ * Villagers walk between a fixed number of routes; every 256 requests, some blocks change in the village (doors, crops,
+ * etc.), dropping the cached paths around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = Fixtures.MOCKITO_AGENT)
+public class PathCacheComparisonBenchmark {
+
+    private static final UUID WORLD = new UUID(0L, 0L);
+    private static final int VILLAGE = 128;
+    private static final int GROUND = 64;
+    private static final int REQUESTS = 256;
+    private static final int SEQUENCE = 4096;
+    private static final int MAX_VISITED = 48 * 16;
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DZ = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    @Param({"on", "off"})
+    private String cache;
+
+    @Param({"64", "1024"})
+    private int routes;
+
+    @Param({"0", "8"})
+    private int blockChanges;
+
+    private PathCache pathCache;
+    private final boolean[] walls = new boolean[VILLAGE * VILLAGE];
+    private int[] starts;
+    private int[] ends;
+    private int[] sequence;
+    private int[] changes;
+    private int next;
+    private int nextChange;
+
+    // The state of the A*, reused between paths; the stamps tell the nodes of the current path apart.
+    private final int[] cost = new int[VILLAGE * VILLAGE];
+    private final int[] parent = new int[VILLAGE * VILLAGE];
+    private final int[] seen = new int[VILLAGE * VILLAGE];
+    private final int[] closed = new int[VILLAGE * VILLAGE];
+    private final long[] heap = new long[VILLAGE * VILLAGE * DX.length];
+    private int heapSize;
+    private int stamp;
+
+    @Setup
+    public void setup() {
+        RealisticVillagers plugin = Fixtures.plugin();
+        plugin.getConfig().set("path-cache.enabled", cache.equals("on"));
+        pathCache = new PathCache(plugin);
+
+        // Houses of 7x7 blocks, every 16 blocks, with a door in the middle of a random wall.
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int houseX = 4; houseX + 7 <= VILLAGE; houseX += 16) {
+            for (int houseZ = 4; houseZ + 7 <= VILLAGE; houseZ += 16) {
+                house(houseX, houseZ, random.nextInt(4));
+            }
+        }
+
+        starts = new int[routes];
+        ends = new int[routes];
+        for (int i = 0; i < routes; i++) {
+            starts[i] = walkable(random);
+            ends[i] = walkable(random);
+        }
+
+        sequence = new int[SEQUENCE];
+        changes = new int[SEQUENCE];
+        for (int i = 0; i < SEQUENCE; i++) {
+            sequence[i] = random.nextInt(routes);
+            changes[i] = random.nextInt(VILLAGE * VILLAGE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int request() {
+        int nodes = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            int route = sequence[next];
+            next = (next + 1) % SEQUENCE;
+            nodes += path(starts[route], ends[route]).length;
+        }
+
+        for (int i = 0; i < blockChanges; i++) {
+            int block = changes[nextChange];
+            nextChange = (nextChange + 1) % SEQUENCE;
+            pathCache.invalidate(WORLD, block / VILLAGE, GROUND, block % VILLAGE);
+        }
+        return nodes;
+    }
+
+    private int @NotNull [] path(int start, int end) {
+        if (!pathCache.isEnabled()) return findPath(start, end);
+
+        PathCache.PathKey key = new PathCache.PathKey(WORLD, pack(start), pack(end), 1, 0);
+        if (pathCache.get(key) instanceof int[] cached) return cached.clone();
+
+        int[] path = findPath(start, end);
+        if (path.length > 0) pathCache.put(key, path.clone(), bounds(path));
+        return path;
+    }
+
+    private int @NotNull [] findPath(int start, int end) {
+        int current = ++stamp;
+        heapSize = 0;
+
+        cost[start] = 0;
+        parent[start] = -1;
+        seen[start] = current;
+        push(heuristic(start, end), start);
+
+        int closest = start, closestDistance = Integer.MAX_VALUE, visited = 0;
+        while (heapSize > 0 && visited < MAX_VISITED) {
+            int node = (int) pop();
+            if (closed[node] == current) continue;
+            closed[node] = current;
+            visited++;
+
+            int distance = heuristic(node, end);
+            if (distance < closestDistance) {
+                closest = node;
+                closestDistance = distance;
+            }
+            if (node == end) break;
+
+            int x = node / VILLAGE, z = node % VILLAGE;
+            for (int direction = 0; direction < DX.length; direction++) {
+                int neighbourX = x + DX[direction], neighbourZ = z + DZ[direction];
+                if (neighbourX < 0 || neighbourZ < 0 || neighbourX >= VILLAGE || neighbourZ >= VILLAGE) continue;
+
+                int neighbour = neighbourX * VILLAGE + neighbourZ;
+                if (walls[neighbour] || closed[neighbour] == current) continue;
+
+                boolean diagonal = direction >= 4;
+                if (diagonal && (walls[x * VILLAGE + neighbourZ] || walls[neighbourX * VILLAGE + z])) continue;
+
+                int next = cost[node] + (diagonal ? DIAGONAL : STRAIGHT);
+                if (seen[neighbour] == current && next >= cost[neighbour]) continue;
+
+                seen[neighbour] = current;
+                cost[neighbour] = next;
+                parent[neighbour] = node;
+                push(next + heuristic(neighbour, end), neighbour);
+            }
+        }
+
+        int length = 0;
+        for (int node = closest; node != -1; node = parent[node]) length++;
+
+        int[] path = new int[length];
+        for (int node = closest, i = length - 1; node != -1; node = parent[node], i--) path[i] = node;
+        return path;
+    }
+
+    private void push(int score, int node) {
+        int index = heapSize++;
+        long entry = (long) score << 32 | node;
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            if (heap[parentIndex] <= entry) break;
+            heap[index] = heap[parentIndex];
+            index = parentIndex;
+        }
+        heap[index] = entry;
+    }
+
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int index = 0;
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return top & 0xFFFFFFFFL;
+    }
+
+    private static int heuristic(int from, int to) {
+        int x = Math.abs(from / VILLAGE - to / VILLAGE), z = Math.abs(from % VILLAGE - to % VILLAGE);
+        return STRAIGHT * Math.max(x, z) + (DIAGONAL - STRAIGHT) * Math.min(x, z);
+    }
+
+    private void house(int minX, int minZ, int doorSide) {
+        int maxX = minX + 6, maxZ = minZ + 6;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                if (x == minX || x == maxX || z == minZ || z == maxZ) walls[x * VILLAGE + z] = true;
+            }
+        }
+
+        int middleX = minX + 3, middleZ = minZ + 3;
+        int door = switch (doorSide) {
+            case 0 -> minX * VILLAGE + middleZ;
+            case 1 -> maxX * VILLAGE + middleZ;
+            case 2 -> middleX * VILLAGE + minZ;
+            default -> middleX * VILLAGE + maxZ;
+        };
+        walls[door] = false;
+    }
+
+    private int walkable(@NotNull SplittableRandom random) {
+        while (true) {
+            int block = random.nextInt(VILLAGE * VILLAGE);
+            if (!walls[block]) return block;
+        }
+    }
+
+    private static @NotNull PathCache.Bounds bounds(int @NotNull [] path) {
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int node : path) {
+            minX = Math.min(minX, node / VILLAGE);
+            minZ = Math.min(minZ, node % VILLAGE);
+            maxX = Math.max(maxX, node / VILLAGE);
+            maxZ = Math.max(maxZ, node % VILLAGE);
+        }
+
+        // Same as SharedPaths: the blocks below (floor), above (head) and next to the nodes.
+        return new PathCache.Bounds(minX - 1, GROUND - 1, minZ - 1, maxX + 1, GROUND + 2, maxZ + 1);
+    }
+
+    // Same layout as BlockPos#asLong().
+    private static long pack(int block) {
+        return ((long) (block / VILLAGE) & 0x3FFFFFFL) << 38 | ((long) (block % VILLAGE) & 0x3FFFFFFL) << 12 | ((long) GROUND & 0xFFFL);
+    }
+}
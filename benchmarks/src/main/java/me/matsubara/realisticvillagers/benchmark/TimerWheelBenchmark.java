@@ -0,0 +1,55 @@
+package me.matsubara.realisticvillagers.benchmark;
+
+import me.matsubara.realisticvillagers.task.TimerHandle;
+import me.matsubara.realisticvillagers.task.TimerWheel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TimerWheel} tick with many repeating callbacks, with periods from 1 to 40 ticks (as the villager timers).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerWheelBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int callbacks;
+
+    private TimerWheel wheel;
+    private long runs;
+
+    @Setup
+    public void setup() {
+        wheel = new TimerWheel(null, null);
+
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < callbacks; i++) {
+            long period = 1L + random.nextInt(40);
+            wheel.schedule(new TimerHandle("benchmark", this::run, random.nextInt((int) period), period));
+        }
+
+        // Move every callback from the pending queue to its slot.
+        wheel.tick();
+    }
+
+    @TearDown
+    public void tearDown() {
+        wheel.cancelAll();
+    }
+
+    @Benchmark
+    public long tick() {
+        wheel.tick();
+        return runs;
+    }
+
+    private void run(TimerHandle handle) {
+        runs++;
+    }
+}
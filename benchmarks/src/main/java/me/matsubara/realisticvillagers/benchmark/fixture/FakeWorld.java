@@ -0,0 +1,119 @@
+package me.matsubara.realisticvillagers.benchmark.fixture;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A world whose blocks come from a {@link Layout}. As in CraftBukkit, every {@link World#getBlockAt(int, int, int)} creates
+ * a new block, chunks are kept, and chunk data containers store their keys as strings.
+ */
+public final class FakeWorld {
+
+    private final UUID uid = UUID.randomUUID();
+    private final Layout layout;
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+    private final Map<Long, Map<String, Object>> chunkData = new HashMap<>();
+    private final World world;
+
+    public FakeWorld(String name, Layout layout) {
+        this.layout = layout;
+        this.world = Stubs.of(World.class, (method, args) -> switch (method) {
+            case "getName" -> name;
+            case "getUID" -> uid;
+            case "getMinHeight" -> -64;
+            case "getMaxHeight" -> 320;
+            case "getBlockAt" -> args.length == 1 ?
+                    blockAt((Location) args[0]) :
+                    blockAt((int) args[0], (int) args[1], (int) args[2]);
+            case "getChunkAt" -> args.length == 2 && args[0] instanceof Integer x ?
+                    chunkAt(x, (int) args[1]) :
+                    Stubs.UNHANDLED;
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    public @NotNull World world() {
+        return world;
+    }
+
+    public @NotNull Block blockAt(@NotNull Location location) {
+        return blockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public @NotNull Block blockAt(int x, int y, int z) {
+        Material type = layout.typeAt(x, y, z);
+        return Stubs.of(Block.class, (method, args) -> switch (method) {
+            case "getType" -> type;
+            case "getX" -> x;
+            case "getY" -> y;
+            case "getZ" -> z;
+            case "getWorld" -> world;
+            case "getChunk" -> chunkAt(x >> 4, z >> 4);
+            case "getLocation" -> args.length == 0 ? new Location(world, x, y, z) : Stubs.UNHANDLED;
+            case "isEmpty" -> type.isAir();
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    public @NotNull Chunk chunkAt(int x, int z) {
+        return chunks.computeIfAbsent(key(x, z), key -> {
+            PersistentDataContainer container = dataContainer(chunkData.computeIfAbsent(key, ignored -> new HashMap<>()));
+            return Stubs.of(Chunk.class, (method, args) -> switch (method) {
+                case "getX" -> x;
+                case "getZ" -> z;
+                case "getWorld" -> world;
+                case "getPersistentDataContainer" -> container;
+                case "getBlock" -> blockAt((x << 4) + (int) args[0], (int) args[1], (z << 4) + (int) args[2]);
+                case "isLoaded" -> true;
+                default -> Stubs.UNHANDLED;
+            });
+        });
+    }
+
+    /**
+     * Stores a value in the data container of a chunk, without going through the (stub) container.
+     */
+    public void setChunkData(int x, int z, @NotNull NamespacedKey key, Object value) {
+        chunkData.computeIfAbsent(key(x, z), ignored -> new HashMap<>()).put(key.toString(), value);
+    }
+
+    private static @NotNull PersistentDataContainer dataContainer(Map<String, Object> tags) {
+        return Stubs.of(PersistentDataContainer.class, (method, args) -> switch (method) {
+            case "has" -> tags.containsKey(args[0].toString());
+            case "get" -> tags.get(args[0].toString());
+            case "set" -> tags.put(args[0].toString(), args[2]);
+            case "remove" -> tags.remove(args[0].toString());
+            case "isEmpty" -> tags.isEmpty();
+            case "getKeys" -> {
+                Set<NamespacedKey> keys = new HashSet<>();
+                for (String key : tags.keySet()) {
+                    keys.add(NamespacedKey.fromString(key));
+                }
+                yield keys;
+            }
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    private static long key(int x, int z) {
+        return (long) x << 32 | (z & 0xFFFFFFFFL);
+    }
+
+    @FunctionalInterface
+    public interface Layout {
+
+        @NotNull Material typeAt(int x, int y, int z);
+    }
+}
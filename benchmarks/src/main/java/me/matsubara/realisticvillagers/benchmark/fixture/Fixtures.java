@@ -0,0 +1,156 @@
+package me.matsubara.realisticvillagers.benchmark.fixture;
+
+import com.tcoded.folialib.FoliaLib;
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.metrics.MetricsRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Registry;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.mockito.Answers;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The headless environment shared by the benchmarks: a stub {@link Server} (so {@link Bukkit}, item stacks and registries
+ * work) and a mocked {@link RealisticVillagers} with the default config, set up once per JVM.
+ * <p>
+ * Items never have meta (the item factory returns null), registries return a placeholder for every key, and the
+ * plugin (with its scheduler) is the only mock; calls to it go through Mockito, so keep them out of the code being
+ * compared when possible.
+ */
+public final class Fixtures {
+
+    /**
+     * Mockito attaches its agent at runtime, which newer JDKs only allow with this flag.
+     */
+    public static final String MOCKITO_AGENT = "-XX:+EnableDynamicAgentLoading";
+
+    private static RealisticVillagers plugin;
+
+    private Fixtures() {
+    }
+
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) return;
+
+        Logger logger = Logger.getLogger("Server");
+        Map<Class<?>, Registry<?>> registries = new ConcurrentHashMap<>();
+
+        ItemFactory itemFactory = Stubs.of(ItemFactory.class, (method, args) -> method.equals("equals") ?
+                Objects.equals(args[0], args[1]) :
+                Stubs.UNHANDLED);
+        PluginManager pluginManager = Stubs.of(PluginManager.class, (method, args) -> Stubs.UNHANDLED);
+        // Serialized items include the data version (1.20.4).
+        @SuppressWarnings("deprecation")
+        UnsafeValues unsafe = Stubs.of(UnsafeValues.class, (method, args) -> method.equals("getDataVersion") ? 3700 : Stubs.UNHANDLED);
+
+        Bukkit.setServer(Stubs.of(Server.class, (method, args) -> switch (method) {
+            case "getLogger" -> logger;
+            case "getName" -> "Benchmark";
+            case "getVersion" -> "benchmark (MC: 1.20.4)";
+            case "getBukkitVersion" -> "1.20.4-R0.1-SNAPSHOT";
+            case "getItemFactory" -> itemFactory;
+            case "getPluginManager" -> pluginManager;
+            case "getUnsafe" -> unsafe;
+            case "getRegistry" -> registries.computeIfAbsent((Class<?>) args[0], Fixtures::registry);
+            case "getOfflinePlayers" -> new OfflinePlayer[0];
+            case "getWorlds" -> List.of();
+            default -> Stubs.UNHANDLED;
+        }));
+    }
+
+    /**
+     * @return the plugin mock, with the default config.yml and an empty data folder
+     */
+    public static synchronized @NotNull RealisticVillagers plugin() {
+        if (plugin != null) return plugin;
+        installServer();
+
+        File dataFolder;
+        try {
+            dataFolder = Files.createTempDirectory("realisticvillagers-benchmark").toFile();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        dataFolder.deleteOnExit();
+
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(new InputStreamReader(resource("config.yml"), StandardCharsets.UTF_8));
+        MetricsRegistry metrics = new MetricsRegistry();
+        Logger logger = Logger.getLogger("RealisticVillagers");
+
+        RealisticVillagers mock = Mockito.mock(RealisticVillagers.class, withSettings().stubOnly());
+        when(mock.getName()).thenReturn("RealisticVillagers");
+        when(mock.getLogger()).thenReturn(logger);
+        when(mock.getConfig()).thenReturn(config);
+        when(mock.getDataFolder()).thenReturn(dataFolder);
+        when(mock.getMetrics()).thenReturn(metrics);
+        when(mock.getResource(anyString())).thenAnswer(invocation -> resource(invocation.getArgument(0)));
+
+        // Managers register their listeners and timers when created, neither ever runs here.
+        FoliaLib foliaLib = Mockito.mock(FoliaLib.class, withSettings().stubOnly().defaultAnswer(Answers.RETURNS_DEEP_STUBS));
+        when(mock.getServer()).thenReturn(Bukkit.getServer());
+        when(mock.getFoliaLib()).thenReturn(foliaLib);
+
+        // The config enum looks the plugin up once, when initialized.
+        try (MockedStatic<JavaPlugin> statics = Mockito.mockStatic(JavaPlugin.class)) {
+            statics.when(() -> JavaPlugin.getPlugin(RealisticVillagers.class)).thenReturn(mock);
+            Config.values();
+        }
+
+        return plugin = mock;
+    }
+
+    public static @NotNull InputStream resource(String name) {
+        InputStream stream = RealisticVillagers.class.getClassLoader().getResourceAsStream(name);
+        return Objects.requireNonNull(stream, "Missing resource " + name + " in the core jar!");
+    }
+
+    private static @NotNull Registry<?> registry(Class<?> type) {
+        Map<NamespacedKey, Object> values = new ConcurrentHashMap<>();
+        return Stubs.of(Registry.class, (method, args) -> switch (method) {
+            case "get" -> {
+                // Not computeIfAbsent: creating the value may initialize the class, which looks up more values.
+                NamespacedKey key = (NamespacedKey) args[0];
+                Object value = values.get(key);
+                if (value == null) {
+                    Object created = placeholder(type);
+                    value = Objects.requireNonNullElse(values.putIfAbsent(key, created), created);
+                }
+                yield value;
+            }
+            case "iterator" -> values.values().iterator();
+            default -> Stubs.UNHANDLED;
+        });
+    }
+
+    private static @NotNull Object placeholder(@NotNull Class<?> type) {
+        if (type.isInterface()) return Stubs.of(type, (method, args) -> Stubs.UNHANDLED);
+        return Mockito.mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,63 @@
+package me.matsubara.realisticvillagers.benchmark.fixture;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stubs of Bukkit interfaces made of a {@link Proxy} and a switch on the method name. Unlike mocks, they don't record
+ * invocations or match arguments, so their cost doesn't hide the cost of the code being measured.
+ */
+public final class Stubs {
+
+    /**
+     * Returned by a {@link Handler} for methods it doesn't implement, the stub returns the default value instead.
+     */
+    public static final Object UNHANDLED = new Object();
+
+    private Stubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull T of(@NotNull Class<T> type, @NotNull Handler handler) {
+        String name = type.getSimpleName() + "Stub";
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) return objectMethod(proxy, method, args, name);
+
+            Object result = handler.handle(method.getName(), args != null ? args : new Object[0]);
+            return result != UNHANDLED ? result : defaultValue(method);
+        });
+    }
+
+    private static Object objectMethod(Object proxy, @NotNull Method method, Object[] args, String name) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> name;
+        };
+    }
+
+    private static @Nullable Object defaultValue(@NotNull Method method) {
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0.0f;
+        if (type == double.class) return 0.0d;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * @return the result of the method, or {@link #UNHANDLED} to return the default value (null, 0 or false)
+         */
+        Object handle(String method, Object[] args);
+    }
+}
@@ -5,7 +5,6 @@ import com.github.retrooper.packetevents.protocol.player.TextureProperty;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
-import com.jeff_media.morepersistentdatatypes.datatypes.serializable.ConfigurationSerializableDataType;
 import com.tchristofferson.configupdater.ConfigUpdater;
 import com.tcoded.folialib.FoliaLib;
 import com.tcoded.folialib.impl.PlatformScheduler;
@@ -17,20 +16,32 @@ import me.matsubara.realisticvillagers.command.MainCommand;
 import me.matsubara.realisticvillagers.compatibility.*;
 import me.matsubara.realisticvillagers.data.ItemLoot;
 import me.matsubara.realisticvillagers.data.serialization.GossipEntryWrapper;
+import me.matsubara.realisticvillagers.data.serialization.OfflineDataType;
 import me.matsubara.realisticvillagers.data.serialization.OfflineDataWrapper;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.files.Messages;
 import me.matsubara.realisticvillagers.gui.types.WhistleGUI;
 import me.matsubara.realisticvillagers.listener.*;
+import me.matsubara.realisticvillagers.manager.BroadcastManager;
 import me.matsubara.realisticvillagers.manager.ChestManager;
+import me.matsubara.realisticvillagers.manager.ChunkLoadManager;
 import me.matsubara.realisticvillagers.manager.ExpectingManager;
+import me.matsubara.realisticvillagers.manager.FarmlandManager;
+import me.matsubara.realisticvillagers.manager.GreetingManager;
+import me.matsubara.realisticvillagers.manager.PathCache;
 import me.matsubara.realisticvillagers.manager.InteractCooldownManager;
+import me.matsubara.realisticvillagers.manager.LineageManager;
+import me.matsubara.realisticvillagers.manager.MetricsManager;
+import me.matsubara.realisticvillagers.manager.ProfileManager;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
 import me.matsubara.realisticvillagers.manager.gift.Gift;
 import me.matsubara.realisticvillagers.manager.gift.GiftCategory;
 import me.matsubara.realisticvillagers.manager.gift.GiftManager;
 import me.matsubara.realisticvillagers.manager.revive.ReviveManager;
+import me.matsubara.realisticvillagers.metrics.MetricsRegistry;
 import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.tracker.OfflineVillagerStore;
 import me.matsubara.realisticvillagers.tracker.VillagerTracker;
 import me.matsubara.realisticvillagers.trading.FilteredTradeWrapper;
 import me.matsubara.realisticvillagers.trading.InventoryTradeFilter;
@@ -137,8 +148,18 @@ public final class RealisticVillagers extends JavaPlugin {
     private ReviveManager reviveManager;
     private GiftManager giftManager;
     private ChestManager chestManager;
+    private BroadcastManager broadcastManager;
+    private LineageManager lineageManager;
+    private ChunkLoadManager chunkLoadManager;
     private ExpectingManager expectingManager;
     private InteractCooldownManager cooldownManager;
+    private GreetingManager greetingManager;
+    private PathCache pathCache;
+    private FarmlandManager farmlandManager;
+    private TimerWheelManager timerWheelManager;
+    private MetricsManager metricsManager;
+    private ProfileManager profileManager;
+    private final MetricsRegistry metrics = new MetricsRegistry();
     private CompatibilityManager compatibilityManager;
     @Getter private me.matsubara.realisticvillagers.manager.ai.AIConversationManager aiConversationManager;
     private TradingConfig tradingConfig;
@@ -186,7 +207,7 @@ public final class RealisticVillagers extends JavaPlugin {
         ConfigurationSerialization.registerClass(OfflineDataWrapper.class);
     }
 
-    public static final PersistentDataType<byte[], OfflineDataWrapper> VILLAGER_DATA = new ConfigurationSerializableDataType<>(OfflineDataWrapper.class);
+    public static final PersistentDataType<byte[], OfflineDataWrapper> VILLAGER_DATA = new OfflineDataType();
 
     @Override
     public void onLoad() {
@@ -300,11 +321,20 @@ public final class RealisticVillagers extends JavaPlugin {
         logger.info("");
         logger.info("Creating managers...");
 
+        timerWheelManager = new TimerWheelManager(this);
         reviveManager = new ReviveManager(this);
         giftManager = new GiftManager(this);
         chestManager = new ChestManager(this);
+        broadcastManager = new BroadcastManager(this);
+        lineageManager = new LineageManager(this);
+        chunkLoadManager = new ChunkLoadManager(this);
         expectingManager = new ExpectingManager(this);
         cooldownManager = new InteractCooldownManager(this);
+        greetingManager = new GreetingManager(this);
+        pathCache = new PathCache(this);
+        farmlandManager = new FarmlandManager(this);
+        metricsManager = new MetricsManager(this);
+        profileManager = new ProfileManager(this);
         CustomBlockData.registerListener(this);
 
         tradeFilter = new InventoryTradeFilter(this, tradingConfig);
@@ -339,7 +369,8 @@ public final class RealisticVillagers extends JavaPlugin {
 
         converter.loadData();
 
-        logger.info("Data loaded!");
+        OfflineVillagerStore offlines = tracker.getOfflineVillagers();
+        logger.info("Data loaded! (" + offlines.size() + " villagers, ~" + offlines.getResidentBytes() / 1024L + " KB resident)");
         logger.info("");
         logger.info("Loading loots from the configuration files...");
 
@@ -393,6 +424,10 @@ public final class RealisticVillagers extends JavaPlugin {
             }
         }
 
+        if (lineageManager != null) lineageManager.shutdown();
+        if (timerWheelManager != null) timerWheelManager.shutdown();
+        if (profileManager != null) profileManager.shutdown();
+
         if (converter == null || tracker == null) return;
 
         for (World world : Bukkit.getWorlds()) {
@@ -1074,34 +1109,38 @@ public final class RealisticVillagers extends JavaPlugin {
         return GiftCategory.appliesToVillager(wantedItems, npc, item, isItemPickup);
     }
 
-    public @Nullable LivingEntity getUnloadedOffline(@NotNull IVillagerNPC offline) {
+    public @NotNull CompletableFuture<LivingEntity> getUnloadedOffline(@NotNull IVillagerNPC offline) {
         LivingEntity bukkit = offline.bukkit();
-        if (bukkit != null) return bukkit;
+        if (bukkit != null) return CompletableFuture.completedFuture(bukkit);
 
         Location location = offline.getLastKnownPosition().asLocation();
-        if (location.getWorld() == null) return null;
-
-        Chunk chunk = location.getWorld().getChunkAt(location);
-        chunk.load();
-        chunk.getEntities();
+        if (location.getWorld() == null) return CompletableFuture.completedFuture(null);
 
-        Entity inChunk = Bukkit.getEntity(offline.getUniqueId());
-        return inChunk instanceof Villager villager ? villager : null;
+        return chunkLoadManager.loadWithEntities(location).thenApply(chunk -> {
+            Entity inChunk = Bukkit.getEntity(offline.getUniqueId());
+            return inChunk instanceof Villager villager ? villager : null;
+        });
     }
 
     public void openWhistleGUI(Player player, @Nullable Integer page, @Nullable String keyword) {
-        List<IVillagerNPC> family = tracker.getOfflineVillagers()
+        OfflineVillagerStore offlines = tracker.getOfflineVillagers();
+        UUID playerUUID = player.getUniqueId();
+
+        // Filter with the summaries, so only the family of the player is fully loaded.
+        List<IVillagerNPC> family = offlines.getSummaries()
                 .stream()
-                .filter(offline -> {
-                    Villager bukkit = offline.bukkit() instanceof Villager villager ? villager : null;
-                    UUID playerUUID = player.getUniqueId();
+                .filter(summary -> {
+                    Villager bukkit = Bukkit.getEntity(summary.uniqueId()) instanceof Villager villager ? villager : null;
                     if (bukkit != null) {
                         Optional<IVillagerNPC> online = converter.getNPC(bukkit);
                         return online.isPresent() && online.get().isFamily(playerUUID, true);
                     } else {
-                        return offline.isFamily(playerUUID, true);
+                        return summary.isFamily(playerUUID, true, lineageManager);
                     }
-                }).toList();
+                })
+                .map(summary -> offlines.get(summary.uniqueId()))
+                .filter(Objects::nonNull)
+                .toList();
 
         if (family.isEmpty()) {
             messages.send(player, Messages.Message.WHISTLE_NO_FAMILY);
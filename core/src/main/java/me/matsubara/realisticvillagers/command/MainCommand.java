@@ -2,14 +2,27 @@ package me.matsubara.realisticvillagers.command;
 
 import com.github.retrooper.packetevents.protocol.player.TextureProperty;
 import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.data.AITier;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.files.Messages;
 import me.matsubara.realisticvillagers.gui.InteractGUI;
 import me.matsubara.realisticvillagers.gui.types.SkinGUI;
+import me.matsubara.realisticvillagers.manager.BroadcastManager;
+import me.matsubara.realisticvillagers.manager.FarmlandManager;
+import me.matsubara.realisticvillagers.manager.PathCache;
+import me.matsubara.realisticvillagers.manager.ProfileManager;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
+import me.matsubara.realisticvillagers.manager.ai.AIConversationManager;
+import me.matsubara.realisticvillagers.manager.ai.ReactionCache;
+import me.matsubara.realisticvillagers.manager.ai.tools.ToolCooldownManager;
+import me.matsubara.realisticvillagers.manager.ai.tools.ToolSystemManager;
 import me.matsubara.realisticvillagers.manager.revive.MonumentAnimation;
 import me.matsubara.realisticvillagers.manager.revive.ReviveManager;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.MetricsRegistry;
 import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.npc.NPC;
 import me.matsubara.realisticvillagers.tracker.VillagerTracker;
 import me.matsubara.realisticvillagers.util.ItemBuilder;
 import me.matsubara.realisticvillagers.util.PluginUtils;
@@ -59,7 +72,9 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             "add-skin",
             "set-skin",
             "skins",
-            "ai");
+            "ai",
+            "stats",
+            "profile");
     private static final List<String> HELP = Stream.of(
             "&8----------------------------------------",
             "&6&lRealisticVillagers &f&oCommands &c<required> | [optional]",
@@ -74,10 +89,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             "&e/rv skins [sex] [age-stage] [page] &f- &7Manage all skins.",
             "&e/rv ai reload &f- &7Reload AI configuration.",
             "&e/rv ai toggle &f- &7Toggle AI conversations on/off.",
+            "&e/rv stats &f- &7Show performance stats of the villagers.",
+            "&e/rv profile <seconds> &f- &7Profile the villagers for a while.",
             "&8----------------------------------------").map(PluginUtils::translate).toList();
     private static final List<String> SKIN_ID_ARGS = List.of("<id>");
     private static final List<String> TEXTURE_ARGS = List.of("<texture>");
     private static final List<String> SIGNATURE_ARGS = List.of("<signature>");
+    private static final List<String> PROFILE_ARGS = List.of("10", "30", "60");
 
     public MainCommand(RealisticVillagers plugin) {
         this.plugin = plugin;
@@ -251,6 +269,18 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        if (subCommand.equalsIgnoreCase("stats")) {
+            if (notAllowed(sender, "realisticvillagers.stats")) return true;
+            handleStats(sender);
+            return true;
+        }
+
+        if (subCommand.equalsIgnoreCase("profile")) {
+            if (notAllowed(sender, "realisticvillagers.profile")) return true;
+            handleProfile(sender, args);
+            return true;
+        }
+
         if (!subCommand.equalsIgnoreCase("reload")) {
             messages.send(sender, Messages.Message.INVALID_COMMAND);
             return true;
@@ -390,6 +420,139 @@ public class MainCommand implements CommandExecutor, TabCompleter {
         return null;
     }
 
+    private void handleStats(@NotNull CommandSender sender) {
+        Messages messages = plugin.getMessages();
+        VillagerTracker tracker = plugin.getTracker();
+        PathCache paths = plugin.getPathCache();
+        FarmlandManager farmland = plugin.getFarmlandManager();
+        TimerWheelManager timers = plugin.getTimerWheelManager();
+        BroadcastManager broadcast = plugin.getBroadcastManager();
+
+        int[] tiers = tracker.getAITierCounts();
+        Map<String, Integer> tierCounts = new LinkedHashMap<>();
+        for (AITier tier : AITier.values()) {
+            tierCounts.put(tier.name().toLowerCase(Locale.ROOT), tiers[tier.ordinal()]);
+        }
+
+        messages.send(sender, Messages.Message.STATS_HEADER);
+        messages.send(sender, Messages.Message.STATS_VILLAGERS, string -> string
+                .replace("%spawned%", String.valueOf(tracker.getPool().getNPCs().size()))
+                .replace("%offline%", String.valueOf(tracker.getOfflineVillagers().size()))
+                .replace("%offline-kb%", String.valueOf(tracker.getOfflineVillagers().getResidentBytes() / 1024L)));
+        messages.send(sender, Messages.Message.STATS_AI_TIERS, string -> string
+                .replace("%tiers%", entries(messages, tierCounts)));
+        messages.send(sender, Messages.Message.STATS_HIBERNATING, string -> string
+                .replace("%count%", String.valueOf(tracker.getHibernatingCount())));
+        messages.send(sender, Messages.Message.STATS_PATH_CACHE, string -> string
+                .replace("%paths%", String.valueOf(paths.size()))
+                .replace("%hit-rate%", decimal("%.1f", paths.getHitRate() * 100.0d))
+                .replace("%hits%", String.valueOf(paths.getHits()))
+                .replace("%misses%", String.valueOf(paths.getMisses()))
+                .replace("%invalidated%", String.valueOf(paths.getInvalidatedCount())));
+        messages.send(sender, Messages.Message.STATS_PATHFINDING, string -> string
+                .replace("%requested%", decimal("%.2f", paths.getRequestsPerSecond()))
+                .replace("%computed%", decimal("%.2f", paths.getPathfindsPerSecond())));
+        messages.send(sender, Messages.Message.STATS_FARMLAND, string -> string
+                .replace("%plots%", String.valueOf(farmland.size()))
+                .replace("%regions%", String.valueOf(farmland.getRegionCount()))
+                .replace("%claims%", String.valueOf(farmland.getClaimCount()))
+                .replace("%scans%", String.valueOf(farmland.getScanCount())));
+        messages.send(sender, Messages.Message.STATS_TIMERS, string -> string
+                .replace("%callbacks%", String.valueOf(timers.getScheduledCount()))
+                .replace("%tasks%", String.valueOf(timers.getWheelCount()))
+                .replace("%subsystems%", entries(messages, timers.getScheduledCounts())));
+        messages.send(sender, Messages.Message.STATS_PACKETS, string -> string
+                .replace("%sent%", String.valueOf(broadcast.getPacketsSent()))
+                .replace("%saved%", String.valueOf(broadcast.getPacketsSaved()))
+                .replace("%passengers%", String.valueOf(NPC.getPassengerPacketsSent())));
+
+        AIConversationManager ai = plugin.getAiConversationManager();
+        if (ai != null) {
+            ReactionCache reactions = ai.getReactionCache();
+            ToolSystemManager tools = ai.getToolSystemManager();
+            ToolCooldownManager cooldowns = tools != null ? tools.getCooldownManager() : null;
+            messages.send(sender, Messages.Message.STATS_AI, string -> string
+                    .replace("%failures%", String.valueOf(ai.getRequestFailureCount()))
+                    .replace("%hit-rate%", decimal("%.1f", reactions != null ? reactions.getHitRate() * 100.0d : 0.0d))
+                    .replace("%hits%", String.valueOf(reactions != null ? reactions.getHits() : 0L))
+                    .replace("%misses%", String.valueOf(reactions != null ? reactions.getMisses() : 0L))
+                    .replace("%cooldowns%", String.valueOf(cooldowns != null ? cooldowns.size() : 0))
+                    .replace("%rejected%", String.valueOf(cooldowns != null ? cooldowns.getRejectedCount() : 0L)));
+        } else {
+            messages.send(sender, Messages.Message.STATS_AI_DISABLED);
+        }
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        List<Histogram> histograms = metrics.getHistograms();
+        if (!metrics.isEnabled()) {
+            messages.send(sender, Messages.Message.STATS_TIMINGS_DISABLED);
+        } else if (histograms.isEmpty()) {
+            messages.send(sender, Messages.Message.STATS_TIMINGS_EMPTY);
+        } else {
+            messages.send(sender, Messages.Message.STATS_TIMINGS);
+            for (Histogram histogram : histograms) {
+                messages.send(sender, Messages.Message.STATS_TIMING, string -> string
+                        .replace("%id%", histogram.getId())
+                        .replace("%count%", String.valueOf(histogram.getCount()))
+                        .replace("%p50%", decimal("%.3f", histogram.getQuantile(0.5d) / 1.0E6d))
+                        .replace("%p99%", decimal("%.3f", histogram.getQuantile(0.99d) / 1.0E6d))
+                        .replace("%max%", decimal("%.3f", histogram.getMax() / 1.0E6d)));
+            }
+        }
+
+        messages.send(sender, Messages.Message.STATS_FOOTER);
+    }
+
+    private @NotNull String entries(@NotNull Messages messages, @NotNull Map<String, Integer> counts) {
+        String entry = messages.getMessage(Messages.Message.STATS_ENTRY);
+        String separator = messages.getMessage(Messages.Message.STATS_SEPARATOR);
+
+        StringJoiner joiner = new StringJoiner(separator);
+        counts.forEach((name, count) -> joiner.add(entry
+                .replace("%name%", name)
+                .replace("%count%", String.valueOf(count))));
+        return joiner.toString();
+    }
+
+    private static @NotNull String decimal(String format, double value) {
+        return String.format(Locale.ROOT, format, value);
+    }
+
+    private void handleProfile(CommandSender sender, @NotNull String[] args) {
+        if (args.length < 2) {
+            plugin.getMessages().send(sender, Messages.Message.INVALID_COMMAND);
+            return;
+        }
+
+        int seconds;
+        try {
+            seconds = Integer.parseInt(args[1]);
+        } catch (NumberFormatException exception) {
+            plugin.getMessages().send(sender, Messages.Message.INVALID_NUMBER);
+            return;
+        }
+
+        if (seconds < 1 || seconds > ProfileManager.MAX_SECONDS) {
+            plugin.getMessages().send(sender, Messages.Message.INVALID_NUMBER);
+            return;
+        }
+
+        Messages messages = plugin.getMessages();
+        ProfileManager profiler = plugin.getProfileManager();
+        if (profiler.isRecording()) {
+            messages.send(sender, Messages.Message.PROFILE_ALREADY_RECORDING);
+            return;
+        }
+
+        if (!profiler.start(sender, seconds)) {
+            // Someone else may have started a profile in the meantime.
+            messages.send(sender, profiler.isRecording() ? Messages.Message.PROFILE_ALREADY_RECORDING : Messages.Message.PROFILE_UNAVAILABLE);
+            return;
+        }
+
+        messages.send(sender, Messages.Message.PROFILE_STARTED, string -> string.replace("%seconds%", String.valueOf(seconds)));
+    }
+
     private void handleForceDivorce(CommandSender sender, @NotNull String[] args) {
         Messages messages = plugin.getMessages();
         VillagerTracker tracker = plugin.getTracker();
@@ -423,21 +586,13 @@ public class MainCommand implements CommandExecutor, TabCompleter {
             return;
         }
 
-        for (IVillagerNPC offlineVillager : tracker.getOfflineVillagers()) {
-            if (!offlineVillager.getUniqueId().equals(partnerUUID)) continue;
-
-            LivingEntity bukkit = offlineVillager.bukkit();
-            if (bukkit == null) {
-                bukkit = plugin.getUnloadedOffline(offlineVillager);
-                if (bukkit == null) continue;
-            }
-
-            // In this case, we don't need to ignore invalid villagers.
-            IVillagerNPC npc = converter.getNPC(bukkit).orElse(null);
-            if (npc == null) continue;
-
-            npc.divorceAndDropRing(player);
-            break;
+        IVillagerNPC offlineVillager = tracker.getOfflineByUUID(partnerUUID);
+        if (offlineVillager != null) {
+            plugin.getUnloadedOffline(offlineVillager).thenAccept(bukkit -> {
+                // In this case, we don't need to ignore invalid villagers.
+                IVillagerNPC npc = bukkit != null ? converter.getNPC(bukkit).orElse(null) : null;
+                if (npc != null) npc.divorceAndDropRing(player);
+            });
         }
 
         // At this point, either the player or the villager (or both) should be divorced.
@@ -501,7 +656,10 @@ public class MainCommand implements CommandExecutor, TabCompleter {
                 return StringUtil.copyPartialMatches(args[1], SEX_LIST, new ArrayList<>());
             }
             // give_(item) & force-divorce require a player, so null will give a list with online players; empty list for reload or unknown subcommand.
-            return args[0].equalsIgnoreCase("reload") || !COMMAND_ARGS.contains(args[0]) ? Collections.emptyList() : null;
+            if (args[0].equalsIgnoreCase("profile")) {
+                return StringUtil.copyPartialMatches(args[1], PROFILE_ARGS, new ArrayList<>());
+            }
+            return args[0].equalsIgnoreCase("reload") || args[0].equalsIgnoreCase("stats") || !COMMAND_ARGS.contains(args[0]) ? Collections.emptyList() : null;
         }
 
         // rv set-skin <sex> <id>
@@ -0,0 +1,60 @@
+package me.matsubara.realisticvillagers.data;
+
+import me.matsubara.realisticvillagers.files.Config;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * How much of the AI a villager runs, based on the distance to the nearest player (spectators excluded).
+ */
+public enum AITier {
+    NEAR(Config.AI_LOD_NEAR_DISTANCE, Config.AI_LOD_NEAR_SENSOR_INTERVAL, Config.AI_LOD_NEAR_COSMETIC),
+    MEDIUM(Config.AI_LOD_MEDIUM_DISTANCE, Config.AI_LOD_MEDIUM_SENSOR_INTERVAL, Config.AI_LOD_MEDIUM_COSMETIC),
+    FAR(Config.AI_LOD_FAR_DISTANCE, Config.AI_LOD_FAR_SENSOR_INTERVAL, Config.AI_LOD_FAR_COSMETIC),
+    UNOBSERVED(null, Config.AI_LOD_UNOBSERVED_SENSOR_INTERVAL, Config.AI_LOD_UNOBSERVED_COSMETIC);
+
+    private final @Nullable Config distance;
+    private final Config sensorInterval;
+    private final Config cosmetic;
+
+    private static final AITier[] OBSERVED = {NEAR, MEDIUM, FAR};
+
+    AITier(@Nullable Config distance, Config sensorInterval, Config cosmetic) {
+        this.distance = distance;
+        this.sensorInterval = sensorInterval;
+        this.cosmetic = cosmetic;
+    }
+
+    public static @NotNull AITier of(double distanceSquared) {
+        for (AITier tier : OBSERVED) {
+            double distance = tier.getDistance();
+            if (distanceSquared <= distance * distance) return tier;
+        }
+        return UNOBSERVED;
+    }
+
+    /**
+     * @return the distance (in blocks) a player must be within to observe a villager
+     */
+    public static double getViewDistance() {
+        return FAR.getDistance();
+    }
+
+    public double getDistance() {
+        return distance != null ? distance.asDouble() : Double.MAX_VALUE;
+    }
+
+    /**
+     * @return every how many runs the item and work block sensors actually sense (1 = always)
+     */
+    public int getSensorInterval() {
+        return Math.max(1, sensorInterval.asInt());
+    }
+
+    /**
+     * @return whether cosmetic behaviors (looking around, following with the eyes, shoulder parrot sounds) run
+     */
+    public boolean hasCosmeticAI() {
+        return cosmetic.asBool();
+    }
+}
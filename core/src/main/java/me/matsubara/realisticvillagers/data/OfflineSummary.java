@@ -0,0 +1,58 @@
+package me.matsubara.realisticvillagers.data;
+
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.manager.LineageManager;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * The few values of an unloaded villager we need to keep around all the time, the rest is loaded on demand.
+ */
+public record OfflineSummary(UUID uniqueId,
+                             String villagerName,
+                             String sex,
+                             int skinTextureId,
+                             LastKnownPosition lastKnownPosition,
+                             @Nullable UUID father,
+                             @Nullable UUID mother,
+                             @Nullable UUID partner) {
+
+    // Object headers, references and the UUIDs; strings are counted apart.
+    private static final int BASE_SIZE = 160;
+
+    @Contract("_ -> new")
+    public static @NotNull OfflineSummary of(@NotNull IVillagerNPC npc) {
+        LastKnownPosition position = npc.getLastKnownPosition();
+        return new OfflineSummary(
+                npc.getUniqueId(),
+                npc.getVillagerName(),
+                npc.getSex(),
+                npc.getSkinTextureId(),
+                position != null ? position : LastKnownPosition.ZERO,
+                uuid(npc.getFather()),
+                uuid(npc.getMother()),
+                uuid(npc.getPartner()));
+    }
+
+    private static @Nullable UUID uuid(@Nullable IVillagerNPC npc) {
+        return npc != null ? npc.getUniqueId() : null;
+    }
+
+    public boolean isFamily(UUID uuid, boolean checkPartner, @NotNull LineageManager lineage) {
+        return (checkPartner && uuid.equals(partner))
+                || uuid.equals(father)
+                || uuid.equals(mother)
+                || lineage.isParent(uniqueId, uuid);
+    }
+
+    public int estimateSize() {
+        return BASE_SIZE + length(villagerName) + length(sex) + length(lastKnownPosition.world());
+    }
+
+    private static int length(@Nullable String string) {
+        return string != null ? string.length() : 0;
+    }
+}
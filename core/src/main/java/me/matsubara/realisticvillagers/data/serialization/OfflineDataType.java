@@ -0,0 +1,410 @@
+package me.matsubara.realisticvillagers.data.serialization;
+
+import com.jeff_media.morepersistentdatatypes.datatypes.serializable.ConfigurationSerializableDataType;
+import me.matsubara.realisticvillagers.data.LastKnownPosition;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary format for {@link OfflineDataWrapper}.
+ * <p>
+ * Every string is written once in a string table, UUIDs are written as two longs and numbers as varints.
+ * Relatives (partner, parents, partners and childrens) are written as references to a record table that only keeps
+ * their UUID, name and sex ({@link OfflineDataWrapper#asRelative()}), so their own data isn't nested again and again.
+ * Records saved before with the whole data of the relatives are still read, and shrink on the next save.
+ * <p>
+ * Data saved with the previous format ({@link ConfigurationSerializableDataType}) is still read,
+ * and it'll be written with this format on the next save.
+ */
+public class OfflineDataType implements PersistentDataType<byte[], OfflineDataWrapper> {
+
+    private static final PersistentDataType<byte[], OfflineDataWrapper> LEGACY = new ConfigurationSerializableDataType<>(OfflineDataWrapper.class);
+
+    // Java serialization streams (the legacy format) always start with 0xACED, so there's no collision.
+    private static final byte MAGIC_FIRST = 'R';
+    private static final byte MAGIC_SECOND = 'V';
+    private static final byte VERSION = 1;
+
+    private static final int HAS_UUID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_SEX = 1 << 2;
+    private static final int HAS_PARTNER = 1 << 3;
+    private static final int HAS_FATHER = 1 << 4;
+    private static final int HAS_MOTHER = 1 << 5;
+    private static final int HAS_POSITION = 1 << 6;
+    private static final int HAS_POSITION_WORLD = 1 << 7;
+    private static final int HAS_SHOULDER_LEFT = 1 << 8;
+    private static final int HAS_SHOULDER_RIGHT = 1 << 9;
+    private static final int HAS_BED_HOME_WORLD = 1 << 10;
+    private static final int HAS_BED_HOME = 1 << 11;
+    private static final int IS_PARTNER_VILLAGER = 1 << 12;
+    private static final int IS_FATHER_VILLAGER = 1 << 13;
+    private static final int WAS_INFECTED = 1 << 14;
+    private static final int EQUIPPED = 1 << 15;
+
+    @Override
+    public @NotNull Class<byte[]> getPrimitiveType() {
+        return byte[].class;
+    }
+
+    @Override
+    public @NotNull Class<OfflineDataWrapper> getComplexType() {
+        return OfflineDataWrapper.class;
+    }
+
+    @Override
+    public @NotNull byte[] toPrimitive(@NotNull OfflineDataWrapper complex, @NotNull PersistentDataAdapterContext context) {
+        try {
+            Encoder encoder = new Encoder();
+            return encoder.finish(encoder.record(complex));
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Unable to encode villager data!", exception);
+        }
+    }
+
+    @Override
+    public @NotNull OfflineDataWrapper fromPrimitive(@NotNull byte[] primitive, @NotNull PersistentDataAdapterContext context) {
+        if (!isBinary(primitive)) return LEGACY.fromPrimitive(primitive, context);
+        try {
+            return new Decoder(primitive).decode();
+        } catch (IOException | IndexOutOfBoundsException exception) {
+            throw new IllegalArgumentException("Unable to decode villager data!", exception);
+        }
+    }
+
+    public static boolean isBinary(@NotNull byte[] primitive) {
+        return primitive.length > 2 && primitive[0] == MAGIC_FIRST && primitive[1] == MAGIC_SECOND;
+    }
+
+    private static class Encoder {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<ByteBuffer, Integer> recordIndexes = new HashMap<>();
+        private final List<byte[]> records = new ArrayList<>();
+
+        private int record(@NotNull OfflineDataWrapper wrapper) throws IOException {
+            // Relatives are written first, so a record only references previous ones.
+            int partner = relative(wrapper.getPartner());
+            int father = relative(wrapper.getFather());
+            int mother = relative(wrapper.getMother());
+            int[] partners = relatives(wrapper.getPartners());
+            int[] childrens = relatives(wrapper.getChildrens());
+
+            LastKnownPosition position = wrapper.getLastKnownPosition();
+
+            int flags = 0;
+            if (wrapper.getUuid() != null) flags |= HAS_UUID;
+            if (wrapper.getVillagerName() != null) flags |= HAS_NAME;
+            if (wrapper.getSex() != null) flags |= HAS_SEX;
+            if (partner != -1) flags |= HAS_PARTNER;
+            if (father != -1) flags |= HAS_FATHER;
+            if (mother != -1) flags |= HAS_MOTHER;
+            if (position != null) flags |= HAS_POSITION;
+            if (position != null && position.world() != null) flags |= HAS_POSITION_WORLD;
+            if (wrapper.getShoulderEntityLeft() != null) flags |= HAS_SHOULDER_LEFT;
+            if (wrapper.getShoulderEntityRight() != null) flags |= HAS_SHOULDER_RIGHT;
+            if (wrapper.getBedHomeWorld() != null) flags |= HAS_BED_HOME_WORLD;
+            if (wrapper.getBedHome() != null) flags |= HAS_BED_HOME;
+            if (wrapper.isPartnerVillager()) flags |= IS_PARTNER_VILLAGER;
+            if (wrapper.isFatherVillager()) flags |= IS_FATHER_VILLAGER;
+            if (wrapper.isWasInfected()) flags |= WAS_INFECTED;
+            if (wrapper.isEquipped()) flags |= EQUIPPED;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            writeVarInt(out, flags);
+            if (wrapper.getUuid() != null) writeUUID(out, wrapper.getUuid());
+            if (wrapper.getVillagerName() != null) writeVarInt(out, string(wrapper.getVillagerName()));
+            if (wrapper.getSex() != null) writeVarInt(out, string(wrapper.getSex()));
+            if (partner != -1) writeVarInt(out, partner);
+            if (father != -1) writeVarInt(out, father);
+            if (mother != -1) writeVarInt(out, mother);
+            writeVarLong(out, wrapper.getLastProcreation());
+            writeVarInt(out, zigZag(wrapper.getSkinTextureId()));
+            writeVarInt(out, zigZag(wrapper.getKidSkinTextureId()));
+            if (position != null) {
+                if (position.world() != null) writeVarInt(out, string(position.world()));
+                out.writeDouble(position.x());
+                out.writeDouble(position.y());
+                out.writeDouble(position.z());
+            }
+
+            writeVarInt(out, partners.length);
+            for (int index : partners) writeVarInt(out, index);
+            writeVarInt(out, childrens.length);
+            for (int index : childrens) writeVarInt(out, index);
+
+            writeVarInt(out, wrapper.getTargetEntities().size());
+            for (String target : wrapper.getTargetEntities()) writeVarInt(out, string(target));
+
+            writeVarInt(out, wrapper.getPlayers().size());
+            for (UUID player : wrapper.getPlayers()) writeUUID(out, player);
+
+            List<GossipEntryWrapper> entries = wrapper.getEntries().stream()
+                    .filter(entry -> entry.target() != null && entry.typeSerializedName() != null)
+                    .toList();
+            writeVarInt(out, entries.size());
+            for (GossipEntryWrapper entry : entries) {
+                writeUUID(out, entry.target());
+                writeVarInt(out, string(entry.typeSerializedName()));
+                writeVarInt(out, zigZag(entry.value()));
+            }
+
+            if (wrapper.getShoulderEntityLeft() != null) writeVarInt(out, string(wrapper.getShoulderEntityLeft()));
+            if (wrapper.getShoulderEntityRight() != null) writeVarInt(out, string(wrapper.getShoulderEntityRight()));
+            if (wrapper.getBedHomeWorld() != null) writeUUID(out, wrapper.getBedHomeWorld());
+            if (wrapper.getBedHome() != null) {
+                Vector bedHome = wrapper.getBedHome();
+                out.writeDouble(bedHome.getX());
+                out.writeDouble(bedHome.getY());
+                out.writeDouble(bedHome.getZ());
+            }
+
+            writeVarInt(out, wrapper.getFoodLevel());
+            writeVarInt(out, zigZag(wrapper.getTickTimer()));
+            out.writeFloat(wrapper.getSaturationLevel());
+            out.writeFloat(wrapper.getExhaustionLevel());
+
+            // Identical records (the same relative saved in different places) are stored only once.
+            byte[] body = bytes.toByteArray();
+            return recordIndexes.computeIfAbsent(ByteBuffer.wrap(body), key -> {
+                records.add(body);
+                return records.size() - 1;
+            });
+        }
+
+        private int relative(@Nullable OfflineDataWrapper wrapper) throws IOException {
+            return wrapper != null ? record(wrapper.asRelative()) : -1;
+        }
+
+        private @NotNull int[] relatives(@NotNull List<OfflineDataWrapper> wrappers) throws IOException {
+            List<Integer> indexes = new ArrayList<>(wrappers.size());
+            for (OfflineDataWrapper wrapper : wrappers) {
+                if (wrapper != null) indexes.add(relative(wrapper));
+            }
+            return indexes.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private int string(String string) {
+            return strings.computeIfAbsent(string, key -> strings.size());
+        }
+
+        private @NotNull byte[] finish(int root) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeByte(MAGIC_FIRST);
+            out.writeByte(MAGIC_SECOND);
+            out.writeByte(VERSION);
+
+            writeVarInt(out, strings.size());
+            for (String string : strings.keySet()) {
+                byte[] utf = string.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf.length);
+                out.write(utf);
+            }
+
+            writeVarInt(out, records.size());
+            for (byte[] record : records) {
+                out.write(record);
+            }
+            writeVarInt(out, root);
+
+            return bytes.toByteArray();
+        }
+    }
+
+    private static class Decoder {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+        private final List<OfflineDataWrapper> records = new ArrayList<>();
+
+        private Decoder(byte[] primitive) {
+            this.in = new DataInputStream(new ByteArrayInputStream(primitive));
+        }
+
+        private @NotNull OfflineDataWrapper decode() throws IOException {
+            in.skipBytes(2);
+            byte version = in.readByte();
+            if (version != VERSION) throw new IOException("Unknown villager data version: " + version);
+
+            int stringCount = readVarInt(in);
+            for (int i = 0; i < stringCount; i++) {
+                byte[] utf = new byte[readVarInt(in)];
+                in.readFully(utf);
+                strings.add(new String(utf, StandardCharsets.UTF_8));
+            }
+
+            int recordCount = readVarInt(in);
+            for (int i = 0; i < recordCount; i++) {
+                records.add(record());
+            }
+
+            return records.get(readVarInt(in));
+        }
+
+        private @NotNull OfflineDataWrapper record() throws IOException {
+            int flags = readVarInt(in);
+
+            UUID uuid = has(flags, HAS_UUID) ? readUUID(in) : null;
+            String villagerName = has(flags, HAS_NAME) ? string() : null;
+            String sex = has(flags, HAS_SEX) ? string() : null;
+            OfflineDataWrapper partner = has(flags, HAS_PARTNER) ? reference() : null;
+            OfflineDataWrapper father = has(flags, HAS_FATHER) ? reference() : null;
+            OfflineDataWrapper mother = has(flags, HAS_MOTHER) ? reference() : null;
+            long lastProcreation = readVarLong(in);
+            int skinTextureId = unZigZag(readVarInt(in));
+            int kidSkinTextureId = unZigZag(readVarInt(in));
+
+            LastKnownPosition position = null;
+            if (has(flags, HAS_POSITION)) {
+                String world = has(flags, HAS_POSITION_WORLD) ? string() : null;
+                position = new LastKnownPosition(world, in.readDouble(), in.readDouble(), in.readDouble());
+            }
+
+            List<OfflineDataWrapper> partners = references();
+            List<OfflineDataWrapper> childrens = references();
+
+            int targetCount = readVarInt(in);
+            List<String> targetEntities = new ArrayList<>(targetCount);
+            for (int i = 0; i < targetCount; i++) {
+                targetEntities.add(string());
+            }
+
+            int playerCount = readVarInt(in);
+            List<UUID> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                players.add(readUUID(in));
+            }
+
+            int entryCount = readVarInt(in);
+            List<GossipEntryWrapper> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(new GossipEntryWrapper(readUUID(in), string(), unZigZag(readVarInt(in))));
+            }
+
+            String shoulderEntityLeft = has(flags, HAS_SHOULDER_LEFT) ? string() : null;
+            String shoulderEntityRight = has(flags, HAS_SHOULDER_RIGHT) ? string() : null;
+            UUID bedHomeWorld = has(flags, HAS_BED_HOME_WORLD) ? readUUID(in) : null;
+            Vector bedHome = has(flags, HAS_BED_HOME) ? new Vector(in.readDouble(), in.readDouble(), in.readDouble()) : null;
+
+            int foodLevel = readVarInt(in);
+            int tickTimer = unZigZag(readVarInt(in));
+            float saturationLevel = in.readFloat();
+            float exhaustionLevel = in.readFloat();
+
+            return new OfflineDataWrapper(
+                    uuid,
+                    villagerName,
+                    sex,
+                    partner,
+                    has(flags, IS_PARTNER_VILLAGER),
+                    lastProcreation,
+                    skinTextureId,
+                    kidSkinTextureId,
+                    father,
+                    mother,
+                    has(flags, IS_FATHER_VILLAGER),
+                    position,
+                    partners,
+                    childrens,
+                    targetEntities,
+                    players,
+                    entries,
+                    shoulderEntityLeft,
+                    shoulderEntityRight,
+                    bedHomeWorld,
+                    bedHome,
+                    has(flags, WAS_INFECTED),
+                    has(flags, EQUIPPED),
+                    foodLevel,
+                    tickTimer,
+                    saturationLevel,
+                    exhaustionLevel);
+        }
+
+        private String string() throws IOException {
+            return strings.get(readVarInt(in));
+        }
+
+        private OfflineDataWrapper reference() throws IOException {
+            return records.get(readVarInt(in));
+        }
+
+        private @NotNull List<OfflineDataWrapper> references() throws IOException {
+            int count = readVarInt(in);
+            List<OfflineDataWrapper> references = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                references.add(reference());
+            }
+            return references;
+        }
+
+        private static boolean has(int flags, int flag) {
+            return (flags & flag) != 0;
+        }
+    }
+
+    private static void writeUUID(@NotNull DataOutput out, @NotNull UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static @NotNull UUID readUUID(@NotNull DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeVarInt(@NotNull DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(@NotNull DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte current = in.readByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt is too big!");
+    }
+
+    private static void writeVarLong(@NotNull DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(@NotNull DataInput in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte current = in.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) return value;
+        }
+        throw new IOException("VarLong is too big!");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
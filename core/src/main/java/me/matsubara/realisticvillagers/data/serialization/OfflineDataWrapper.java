@@ -5,6 +5,7 @@ import me.matsubara.realisticvillagers.data.LastKnownPosition;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.util.Vector;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -127,6 +128,46 @@ public class OfflineDataWrapper implements ConfigurationSerializable {
         this.entries.addAll(entries);
     }
 
+    /**
+     * @return the data of a relative (partner, parent or children), only with what's shown once the relative is gone;
+     * anything else is looked up by its UUID, in the summaries or the lineage graph.
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull OfflineDataWrapper relative(UUID uuid, String villagerName, String sex) {
+        return new OfflineDataWrapper(
+                uuid,
+                villagerName,
+                sex,
+                null,
+                false,
+                0L,
+                -1,
+                -1,
+                null,
+                null,
+                false,
+                null,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                null,
+                null,
+                null,
+                null,
+                false,
+                false,
+                20,
+                0,
+                5.0f,
+                0.0f);
+    }
+
+    public @NotNull OfflineDataWrapper asRelative() {
+        return relative(uuid, villagerName, sex);
+    }
+
     @Override
     public @NotNull Map<String, Object> serialize() {
         Map<String, Object> result = new LinkedHashMap<>();
@@ -182,7 +223,11 @@ public class OfflineDataWrapper implements ConfigurationSerializable {
         boolean isFatherVillager = PluginUtils.getOrDefault(args, IS_FATHER_VILLAGER, Boolean.class);
         List<OfflineDataWrapper> childrens = PluginUtils.getOrDefault(args, CHILDRENS, List.class, Collections.emptyList());
         List<String> targetEntities = PluginUtils.getOrDefault(args, TARGET_ENTITIES, List.class, Collections.emptyList());
-        List<UUID> players = PluginUtils.getOrDefault(args, PLAYERS, List.class, Collections.emptyList());
+        List<UUID> players = new ArrayList<>();
+        for (Object object : PluginUtils.getOrDefault(args, PLAYERS, List.class, Collections.emptyList())) {
+            // Players are saved as strings.
+            if (object instanceof String string) players.add(java.util.UUID.fromString(string));
+        }
         List<GossipEntryWrapper> entries = PluginUtils.getOrDefault(args, GOSSIP_ENTRIES, List.class, Collections.emptyList());
         String shoulderEntityLeft = PluginUtils.getOrDefault(args, SHOULDER_ENTITY_LEFT, String.class);
         String shoulderEntityRight = PluginUtils.getOrDefault(args, SHOULDER_ENTITY_RIGHT, String.class);
@@ -1,10 +1,12 @@
 package me.matsubara.realisticvillagers.entity;
 
+import me.matsubara.realisticvillagers.data.AITier;
 import me.matsubara.realisticvillagers.data.ExpectingType;
 import me.matsubara.realisticvillagers.data.HandleHomeResult;
 import me.matsubara.realisticvillagers.data.InteractType;
 import me.matsubara.realisticvillagers.data.LastKnownPosition;
 import me.matsubara.realisticvillagers.event.VillagerExhaustionEvent;
+import org.bukkit.EntityEffect;
 import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
 import org.bukkit.entity.EntityType;
@@ -33,6 +35,8 @@ public interface IVillagerNPC {
 
     List<IVillagerNPC> getPartners();
 
+    void addPartner(IVillagerNPC partner);
+
     boolean isPartnerVillager();
 
     IVillagerNPC getFather();
@@ -46,6 +50,8 @@ public interface IVillagerNPC {
 
     List<IVillagerNPC> getChildrens();
 
+    void addChildren(IVillagerNPC children);
+
     LivingEntity bukkit();
 
     void addMinorPositive(UUID uuid, int amount);
@@ -179,6 +185,14 @@ public interface IVillagerNPC {
 
     void shakeHead(Player at);
 
+    /**
+     * Plays an entity effect, villager statuses are drawn by the server since clients see a player; does nothing for
+     * offline villagers, since they aren't in a world
+     */
+    void playEffect(EntityEffect effect);
+
+    void invalidateOffline();
+
     IVillagerNPC getOffline();
 
     LastKnownPosition getLastKnownPosition();
@@ -207,6 +221,10 @@ public interface IVillagerNPC {
 
     Set<UUID> getPlayers();
 
+    boolean addPlayer(UUID uuid);
+
+    boolean removePlayer(UUID uuid);
+
     byte getHandData();
 
     int getEffectColor();
@@ -216,4 +234,21 @@ public interface IVillagerNPC {
     int getBeeStingers();
 
     void attack(LivingEntity entity);
+
+    /**
+     * @return the current AI tier; only loaded villagers are ever downgraded
+     */
+    default AITier getAITier() {
+        return AITier.NEAR;
+    }
+
+    /**
+     * @return whether the villager is hibernating (confined, with no player nearby)
+     */
+    default boolean isHibernating() {
+        return false;
+    }
+
+    default void wakeFromHibernation() {
+    }
 }
\ No newline at end of file
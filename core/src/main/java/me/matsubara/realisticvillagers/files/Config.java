@@ -85,6 +85,7 @@ public enum Config {
     CHANCE_OF_WEARING_HALLOWEEN_MASK("chance-of-wearing-halloween-mask"),
     RANGE_WEAPON_POWER("range-weapon-power"),
     VILLAGER_INVENTORY_SIZE("villager-inventory-size"),
+    OFFLINE_CACHE_BUDGET("offline-cache-budget"),
 
     DIVORCE_IF_REPUTATION_IS_LESS_THAN("divorce-if-reputation-is-less-than"),
 
@@ -140,6 +141,7 @@ public enum Config {
     WORLDS_FILTER_TYPE("worlds-filter.type"),
     WORLDS_FILTER_WORLDS("worlds-filter.worlds"),
     DISABLE_NAMETAGS("disable-nametags"),
+    PASSENGER_RESYNC_INTERVAL("passenger-resync-interval"),
     TAME_COOLDOWN("tame-cooldown"),
     MELEE_ATTACK_JUMP_CHANCE("melee-attack-jump-chance"),
     BACK_UP_JUMP_CHANCE("back-up-jump-chance"),
@@ -174,6 +176,35 @@ public enum Config {
     GREET_MESSAGES_COOLDOWN("greet-messages.cooldown"),
     GREET_MESSAGES_PER_TYPE_COOLDOWN("greet-messages.per-type-cooldown"),
     GREET_MESSAGES_REQUIRED_REPUTATION("greet-messages.required-reputation"),
+    GREET_MESSAGES_CHECK_INTERVAL("greet-messages.check-interval"),
+    GREET_MESSAGES_MAX_RAYTRACES("greet-messages.max-raytraces-per-tick"),
+    AI_LOD_ENABLED("ai-level-of-detail.enabled"),
+    AI_LOD_UPDATE_INTERVAL("ai-level-of-detail.update-interval"),
+    AI_LOD_NEAR_DISTANCE("ai-level-of-detail.near.distance"),
+    AI_LOD_NEAR_SENSOR_INTERVAL("ai-level-of-detail.near.sensor-interval"),
+    AI_LOD_NEAR_COSMETIC("ai-level-of-detail.near.cosmetic"),
+    AI_LOD_MEDIUM_DISTANCE("ai-level-of-detail.medium.distance"),
+    AI_LOD_MEDIUM_SENSOR_INTERVAL("ai-level-of-detail.medium.sensor-interval"),
+    AI_LOD_MEDIUM_COSMETIC("ai-level-of-detail.medium.cosmetic"),
+    AI_LOD_FAR_DISTANCE("ai-level-of-detail.far.distance"),
+    AI_LOD_FAR_SENSOR_INTERVAL("ai-level-of-detail.far.sensor-interval"),
+    AI_LOD_FAR_COSMETIC("ai-level-of-detail.far.cosmetic"),
+    AI_LOD_UNOBSERVED_SENSOR_INTERVAL("ai-level-of-detail.unobserved.sensor-interval"),
+    AI_LOD_UNOBSERVED_COSMETIC("ai-level-of-detail.unobserved.cosmetic"),
+    HIBERNATION_ENABLED("hibernation.enabled"),
+    HIBERNATION_WAKE_DISTANCE("hibernation.wake-distance"),
+    HIBERNATION_CHECK_INTERVAL("hibernation.check-interval"),
+    PATH_CACHE_ENABLED("path-cache.enabled"),
+    PATH_CACHE_TTL("path-cache.ttl"),
+    PATH_CACHE_MAX_PATHS("path-cache.max-paths"),
+    FARMLAND_REGISTRY_ENABLED("farmland-registry.enabled"),
+    FARMLAND_REGISTRY_REGION_SIZE("farmland-registry.region-size"),
+    FARMLAND_REGISTRY_CLAIM_RADIUS("farmland-registry.claim-radius"),
+    FARMLAND_REGISTRY_LEASE("farmland-registry.lease"),
+    FARMLAND_REGISTRY_SCAN_INTERVAL("farmland-registry.scan-interval"),
+    METRICS_ENABLED("metrics.enabled"),
+    METRICS_EXPORT_INTERVAL("metrics.export-interval"),
+    METRICS_EXPORT_FILE("metrics.export-file"),
     RIPTIDE_ONLY_IN_WATER_OR_RAIN("riptide-only-in-water-or-rain"),
     SPEED_MODIFIER_EAT("speed-modifier.eat"),
     SPEED_MODIFIER_WALK("speed-modifier.walk"),
@@ -2,7 +2,6 @@ package me.matsubara.realisticvillagers.files;
 
 import com.google.common.collect.Lists;
 import lombok.Getter;
-import lombok.Setter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.data.GUIInteractType;
 import me.matsubara.realisticvillagers.data.InteractionTargetType;
@@ -22,6 +21,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
@@ -30,9 +30,16 @@ public final class Messages {
 
     private final RealisticVillagers plugin;
 
-    private @Setter FileConfiguration configuration;
+    private FileConfiguration configuration;
+
+    // Translated messages by path, and compiled villager messages by (untranslated) format + message.
+    private final Map<String, List<String>> cachedMessages = new ConcurrentHashMap<>();
+    private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private volatile @Nullable String templatesFormat;
 
     private static final double NEARBY_SEARCH_RANGE = 30.0d;
+    // Messages come from the config, but just in case someone sends generated ones through the API.
+    private static final int MAX_TEMPLATES = 1024;
 
     public Messages(@NotNull RealisticVillagers plugin) {
         this.plugin = plugin;
@@ -58,21 +65,24 @@ public final class Messages {
         send(player, npc, getRandomMessage(message.getPath()));
     }
 
+    public void setConfiguration(FileConfiguration configuration) {
+        this.configuration = configuration;
+        cachedMessages.clear();
+        templates.clear();
+    }
+
     public void send(Player player, IVillagerNPC npc, @NotNull String message) {
         if (message.isEmpty()) return;
 
-        String playerName = player.getName();
-        String fullVillagerName = getVillagerTitleName(npc);
-
-        String formattedMessage = Config.VILLAGER_MESSAGE_FORMAT.asStringTranslated()
-                .replace("%name%", fullVillagerName)
-                .replace("%message%", message)
-                .replace("%villager-name%", npc.getVillagerName())
-                .replace("%player-name%", playerName)
-                .replace("%random-villager-name%", getNearbyRandom(npc, null))
-                .replace("%random-player-name%", getNearbyRandom(npc, playerName));
+        // The format is part of every template, start again if it changed (after a reload).
+        String format = Config.VILLAGER_MESSAGE_FORMAT.asString();
+        if (!Objects.equals(format, templatesFormat) || templates.size() > MAX_TEMPLATES) {
+            templates.clear();
+            templatesFormat = format;
+        }
 
-        player.sendMessage(formattedMessage);
+        MessageTemplate template = templates.computeIfAbsent(message, key -> MessageTemplate.compile(PluginUtils.translate(format), key));
+        player.sendMessage(template.apply(this, player, npc));
     }
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
@@ -136,13 +146,32 @@ public final class Messages {
         return article + " " + plugin.getProfessionFormatted(profession, isMale);
     }
 
+    /**
+     * @return the first line of the message (already translated), empty if there's none
+     */
+    public @NotNull String getMessage(@NotNull Message message) {
+        List<String> messages = getMessages(message.getPath());
+        return messages.isEmpty() ? "" : messages.get(0);
+    }
+
     private String getRandomMessage(String path) {
         List<String> messages = getMessages(path);
         return messages.isEmpty() ? "" : messages.get(RandomUtils.nextInt(0, messages.size()));
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * @return every line of the message (already translated)
+     */
+    public @NotNull List<String> getMessages(@NotNull Message message) {
+        return getMessages(message.getPath());
+    }
+
     private List<String> getMessages(String path) {
+        return cachedMessages.computeIfAbsent(path, this::loadMessages);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> loadMessages(String path) {
         if (!configuration.contains(path, true)) return Collections.emptyList();
 
         List<String> messages;
@@ -158,7 +187,7 @@ public final class Messages {
             }
         } else return Collections.emptyList();
 
-        return PluginUtils.translate(messages);
+        return Collections.unmodifiableList(PluginUtils.translate(messages));
     }
 
     @SuppressWarnings({"unchecked", "unused"})
@@ -174,6 +203,104 @@ public final class Messages {
         }
     }
 
+    /**
+     * A villager message (already inside the message format) split into literal text and placeholders.
+     * <p>
+     * Placeholders are only resolved if they're present, and once per message.
+     */
+    private record MessageTemplate(Segment[] segments, int length) {
+
+        private static final Placeholder[] NO_NAME = {
+                Placeholder.VILLAGER_NAME,
+                Placeholder.PLAYER_NAME,
+                Placeholder.RANDOM_VILLAGER_NAME,
+                Placeholder.RANDOM_PLAYER_NAME};
+
+        public static @NotNull MessageTemplate compile(@NotNull String format, String message) {
+            // Same order as before: %name% is only replaced in the format, the rest also in the message.
+            List<Segment> segments = new ArrayList<>();
+            String[] parts = format.split("%message%", -1);
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) split(message, NO_NAME, segments);
+                split(parts[i], Placeholder.values(), segments);
+            }
+
+            int length = 0;
+            for (Segment segment : segments) {
+                if (segment.text() != null) length += segment.text().length();
+            }
+            return new MessageTemplate(segments.toArray(Segment[]::new), length);
+        }
+
+        private static void split(@NotNull String text, Placeholder[] placeholders, List<Segment> segments) {
+            int start = 0, index = text.indexOf('%');
+            while (index != -1) {
+                Placeholder found = null;
+                for (Placeholder placeholder : placeholders) {
+                    if (text.startsWith(placeholder.getToken(), index)) {
+                        found = placeholder;
+                        break;
+                    }
+                }
+
+                if (found == null) {
+                    index = text.indexOf('%', index + 1);
+                    continue;
+                }
+
+                if (index > start) segments.add(new Segment(text.substring(start, index), null));
+                segments.add(new Segment(null, found));
+
+                start = index + found.getToken().length();
+                index = text.indexOf('%', start);
+            }
+            if (start < text.length()) segments.add(new Segment(text.substring(start), null));
+        }
+
+        public @NotNull String apply(Messages messages, @NotNull Player player, IVillagerNPC npc) {
+            String[] values = new String[Placeholder.values().length];
+            StringBuilder builder = new StringBuilder(length + 32);
+
+            for (Segment segment : segments) {
+                if (segment.text() != null) {
+                    builder.append(segment.text());
+                    continue;
+                }
+
+                int ordinal = segment.placeholder().ordinal();
+                String value = values[ordinal];
+                if (value == null) values[ordinal] = value = switch (segment.placeholder()) {
+                    case NAME -> messages.getVillagerTitleName(npc);
+                    case VILLAGER_NAME -> npc.getVillagerName();
+                    case PLAYER_NAME -> player.getName();
+                    case RANDOM_VILLAGER_NAME -> messages.getNearbyRandom(npc, null);
+                    case RANDOM_PLAYER_NAME -> messages.getNearbyRandom(npc, player.getName());
+                };
+                builder.append(value);
+            }
+
+            return builder.toString();
+        }
+    }
+
+    private record Segment(@Nullable String text, @Nullable Placeholder placeholder) {
+    }
+
+    @Getter
+    private enum Placeholder {
+        NAME("%name%"),
+        VILLAGER_NAME("%villager-name%"),
+        PLAYER_NAME("%player-name%"),
+        RANDOM_VILLAGER_NAME("%random-villager-name%"),
+        RANDOM_PLAYER_NAME("%random-player-name%");
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+    }
+
     @Getter
     public enum Message {
         ON_HIT("reaction.on-hit"),
@@ -238,8 +365,39 @@ public final class Messages {
         STAY_HERE_LOW_REPUTATION("stay-here.low-reputation"),
         NO_TRADES,
         WHISTLE_TELEPORTED("whistle-teleported"),
+        WHISTLE_LOADING("whistle-loading"),
         WHISTLE_ERROR("whistle-error"),
         WHISTLE_NO_FAMILY("whistle-no-family"),
+        STATS_HEADER("stats.header"),
+        STATS_VILLAGERS("stats.villagers"),
+        STATS_AI_TIERS("stats.ai-tiers"),
+        STATS_HIBERNATING("stats.hibernating"),
+        STATS_PATH_CACHE("stats.path-cache"),
+        STATS_PATHFINDING("stats.pathfinding"),
+        STATS_FARMLAND("stats.farmland"),
+        STATS_TIMERS("stats.timers"),
+        STATS_PACKETS("stats.packets"),
+        STATS_AI("stats.ai"),
+        STATS_AI_DISABLED("stats.ai-disabled"),
+        STATS_TIMINGS_DISABLED("stats.timings-disabled"),
+        STATS_TIMINGS_EMPTY("stats.timings-empty"),
+        STATS_TIMINGS("stats.timings"),
+        STATS_TIMING("stats.timing"),
+        STATS_ENTRY("stats.entry"),
+        STATS_SEPARATOR("stats.separator"),
+        STATS_FOOTER("stats.footer"),
+        PROFILE_STARTED("profile.started"),
+        PROFILE_ALREADY_RECORDING("profile.already-recording"),
+        PROFILE_UNAVAILABLE("profile.unavailable"),
+        PROFILE_FAILED("profile.failed"),
+        PROFILE_HEADER("profile.header"),
+        PROFILE_EMPTY("profile.empty"),
+        PROFILE_SUBSYSTEMS("profile.subsystems"),
+        PROFILE_OPERATIONS("profile.operations"),
+        PROFILE_VILLAGERS("profile.villagers"),
+        PROFILE_BEHAVIOURS("profile.behaviours"),
+        PROFILE_ENTRY("profile.entry"),
+        PROFILE_FOOTER("profile.footer"),
         UNKNOWN_PLAYER,
         HAS_NEVER_PLAYER_BEFORE("players-gui.has-never-played-before"),
         PLAYER_IS_FAMILY_MEMBER("players-gui.player-is-family-member"),
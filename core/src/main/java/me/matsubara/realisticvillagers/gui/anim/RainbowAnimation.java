@@ -1,10 +1,11 @@
 package me.matsubara.realisticvillagers.gui.anim;
 
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import lombok.Getter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.gui.InteractGUI;
 import me.matsubara.realisticvillagers.gui.types.*;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
+import me.matsubara.realisticvillagers.task.TimerHandle;
 import me.matsubara.realisticvillagers.util.ItemBuilder;
 import org.apache.commons.lang3.RandomUtils;
 import org.bukkit.Material;
@@ -32,7 +33,7 @@ public class RainbowAnimation {
     private final long delay;
     private int count;
     private int previous = -1;
-    private WrappedTask task;
+    private TimerHandle task;
 
     private static final EnumMap<Material, ItemStack> CACHED_ITEMS = new EnumMap<>(Material.class);
     private static final Material[] PANES = {
@@ -66,16 +67,14 @@ public class RainbowAnimation {
     public void start() {
         Entity anchor = gui.getNPC() != null ? gui.getNPC().bukkit() : null;
         if (anchor != null) {
-            task = plugin.getFoliaLib().getScheduler().runAtEntityTimer(anchor, this::run, 0L, 1L);
+            task = plugin.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.RAINBOW, anchor, this::run, 0L, 1L);
         } else {
-            task = plugin.getFoliaLib().getScheduler().runTimer(this::run, 0L, 1L);
+            task = plugin.getTimerWheelManager().runTimer(TimerWheelManager.RAINBOW, this::run, 0L, 1L);
         }
     }
 
     public void cancel() {
-        if (task != null && !task.isCancelled()) {
-            task.cancel();
-        }
+        if (task != null) task.cancel();
     }
 
     private void run() {
@@ -242,12 +242,12 @@ public final class MainGUI extends InteractGUI {
         // Get father name.
         OfflinePlayer fatherPlayer = npc.getFather() != null
                 && !npc.isFatherVillager() ? Bukkit.getOfflinePlayer(npc.getFather().getUniqueId()) : null;
-        IVillagerNPC fatherInfo = npc.getFather() != null ? tracker.getOffline(npc.getFather().getUniqueId()) : null;
+        String fatherInfo = npc.getFather() != null ? tracker.getVillagerName(npc.getFather().getUniqueId()) : null;
         String fatherName = null;
         if (fatherPlayer != null) {
             fatherName = fatherPlayer.getName() + " ";
         } else if (fatherInfo != null) {
-            fatherName = fatherInfo.getVillagerName() + " ";
+            fatherName = fatherInfo + " ";
         } else if (npc.getFather() != null) {
             fatherName = npc.getFather().getVillagerName() + deadIcon;
         }
@@ -260,8 +260,8 @@ public final class MainGUI extends InteractGUI {
         }
 
         // Get mother name.
-        IVillagerNPC motherInfo = npc.getMother() != null ? tracker.getOffline(npc.getMother().getUniqueId()) : null;
-        String motherName = motherInfo != null ? motherInfo.getVillagerName() : unknown;
+        String motherInfo = npc.getMother() != null ? tracker.getVillagerName(npc.getMother().getUniqueId()) : null;
+        String motherName = motherInfo != null ? motherInfo : unknown;
         if (motherName.equalsIgnoreCase(unknown) && npc.getMother() != null) {
             motherName = npc.getMother().getVillagerName() + deadIcon + "(" + villagerType + ")";
         } else if (!motherName.equalsIgnoreCase(unknown)) {
@@ -271,9 +271,9 @@ public final class MainGUI extends InteractGUI {
         // Get childrens names.
         List<String> childrens = new ArrayList<>();
         for (IVillagerNPC childrenUUID : npc.getChildrens()) {
-            IVillagerNPC childrenInfo = tracker.getOffline(childrenUUID.getUniqueId());
+            String childrenInfo = tracker.getVillagerName(childrenUUID.getUniqueId());
             if (childrenInfo != null) {
-                childrens.add(childrenInfo.getVillagerName());
+                childrens.add(childrenInfo);
             } else {
                 childrens.add(childrenUUID.getVillagerName() + deadIcon);
             }
@@ -353,12 +353,12 @@ public final class MainGUI extends InteractGUI {
         // Get partner name.
         OfflinePlayer partnerPlayer = npc != null
                 && !isVillager ? Bukkit.getOfflinePlayer(npc.getUniqueId()) : null;
-        IVillagerNPC partnerInfo = npc != null ? plugin.getTracker().getOffline(npc.getUniqueId()) : null;
+        String partnerInfo = npc != null ? plugin.getTracker().getVillagerName(npc.getUniqueId()) : null;
         String partnerName = null;
         if (partnerPlayer != null) {
             partnerName = partnerPlayer.getName() + " ";
         } else if (partnerInfo != null) {
-            partnerName = partnerInfo.getVillagerName() + " ";
+            partnerName = partnerInfo + " ";
         } else if (npc != null) {
             partnerName = npc.getVillagerName() + deadIcon;
         }
@@ -0,0 +1,99 @@
+package me.matsubara.realisticvillagers.handler.npc;
+
+import com.cryptomorin.xseries.particles.XParticle;
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Raid;
+import org.bukkit.entity.AbstractVillager;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws the villager status effects (hearts, angry/happy particles and sweat) on the server side.
+ * <p>
+ * Clients render our villagers as players, so they ignore the villager statuses sent in
+ * {@code ClientboundEntityEventPacket}. The statuses raised by our own code go straight from the NMS villager
+ * to {@link #handleStatus(IVillagerNPC, byte)}, once per (entity, status, tick), without sending the packet.
+ * The ones broadcast by vanilla or other plugins (happy particles when claiming a job site, sweat during raids,
+ * {@code Entity#playEffect}...) still go through the packet, see {@link #handleBroadcast(AbstractVillager, byte)}.
+ */
+public class EntityStatusHandler {
+
+    private final RealisticVillagers plugin;
+
+    // Entity id and status (id << 8 | status) of the broadcasts waiting for the entity scheduler.
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public EntityStatusHandler(@NotNull RealisticVillagers plugin) {
+        this.plugin = plugin;
+    }
+
+    public static boolean isVillagerStatus(byte status) {
+        return status == 12 || status == 13 || status == 14 || status == 42;
+    }
+
+    /**
+     * Handles a status packet sent to a player, called from the netty thread. The packet is sent once to every
+     * player tracking the villager, but the effect is only drawn once.
+     */
+    public void handleBroadcast(@NotNull AbstractVillager villager, byte status) {
+        if (!isVillagerStatus(status)) return;
+
+        long key = (long) villager.getEntityId() << 8 | (status & 0xFF);
+        if (!pending.add(key)) return;
+
+        plugin.getFoliaLib().getScheduler().runAtEntity(villager, task -> {
+            pending.remove(key);
+            plugin.getConverter().getNPC(villager).ifPresent(npc -> handleStatus(npc, status));
+        });
+    }
+
+    public void handleStatus(@NotNull IVillagerNPC npc, byte status) {
+        LivingEntity bukkit = npc.bukkit();
+        if (bukkit == null) return;
+
+        Particle particle = getParticle(status, bukkit);
+        if (particle == null) return;
+
+        Location location = bukkit.getLocation();
+        BoundingBox box = bukkit.getBoundingBox();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double x = location.getX() + box.getWidthX() * ((2.0d * random.nextDouble() - 1.0d) * 1.05d);
+        double y = location.getY() + box.getHeight() * random.nextDouble() + 1.15d;
+        double z = location.getZ() + box.getWidthZ() * ((2.0d * random.nextDouble() - 1.0d) * 1.05d);
+
+        plugin.getBroadcastManager().spawnParticle(
+                new Location(bukkit.getWorld(), x, y, z),
+                particle,
+                1,
+                random.nextGaussian() * 0.02d,
+                random.nextGaussian() * 0.02d,
+                random.nextGaussian() * 0.02d);
+    }
+
+    private @Nullable Particle getParticle(byte status, LivingEntity bukkit) {
+        XParticle particle = switch (status) {
+            case 12 -> XParticle.HEART;
+            case 13 -> XParticle.ANGRY_VILLAGER;
+            case 14 -> XParticle.HAPPY_VILLAGER;
+            case 42 -> {
+                Raid raid = plugin.getConverter().getRaidAt(bukkit.getLocation());
+                yield raid != null && raid.getStatus() == Raid.RaidStatus.ONGOING ? null : XParticle.SPLASH;
+            }
+            default -> null;
+        };
+        return Optional.ofNullable(particle)
+                .map(XParticle::get)
+                .orElse(null);
+    }
+}
@@ -1,6 +1,5 @@
 package me.matsubara.realisticvillagers.handler.protocol;
 
-import com.cryptomorin.xseries.particles.XParticle;
 import com.cryptomorin.xseries.reflection.XReflection;
 import com.github.retrooper.packetevents.PacketEvents;
 import com.github.retrooper.packetevents.event.PacketListenerPriority;
@@ -19,24 +18,21 @@ import io.github.retrooper.packetevents.util.SpigotReflectionUtil;
 import lombok.Getter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.entity.Nameable;
 import me.matsubara.realisticvillagers.handler.npc.NPCHandler;
-import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.PacketRewriteEvent;
 import me.matsubara.realisticvillagers.npc.NPC;
 import org.bukkit.Location;
-import org.bukkit.Particle;
-import org.bukkit.Raid;
 import org.bukkit.World;
 import org.bukkit.entity.*;
-import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
 public class VillagerHandler extends SimplePacketListenerAbstract {
@@ -45,6 +41,7 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
     private final @Getter Set<UUID> allowSpawn = ConcurrentHashMap.newKeySet();
     private final @Getter Set<Integer> allowSpawnIds = ConcurrentHashMap.newKeySet();
     private final List<PacketType.Play.Server> listenTo;
+    private final Histogram timings;
 
     /* VILLAGER METADATA
     ID = 15 | ACCESSOR ID = 15 | VALUE TYPE = Byte | CLAZZ = BYTE (MOB) | NoAI/Is left handed/Is aggresive
@@ -101,14 +98,16 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
     public VillagerHandler(RealisticVillagers plugin) {
         super(PacketListenerPriority.HIGHEST);
         this.plugin = plugin;
+        this.timings = plugin.getMetrics().histogram("packet_rewrite_seconds", "Time spent rewriting the packets of villagers (replaced by NPCs).");
         this.listenTo = ImmutableList.builder()
                 .addAll(MOVEMENT_PACKETS)
                 .add(
                         PacketType.Play.Server.SPAWN_ENTITY,
                         PacketType.Play.Server.SPAWN_LIVING_ENTITY,
-                        PacketType.Play.Server.ENTITY_STATUS,
                         PacketType.Play.Server.ENTITY_METADATA,
-                        PacketType.Play.Server.DESTROY_ENTITIES)
+                        PacketType.Play.Server.DESTROY_ENTITIES,
+                        PacketType.Play.Server.SET_PASSENGERS,
+                        PacketType.Play.Server.ENTITY_STATUS)
                 .build()
                 .stream()
                 .map(object -> (PacketType.Play.Server) object)
@@ -122,7 +121,28 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
                 || !listenTo.contains(event.getPacketType())
                 || !(event.getPlayer() instanceof Player player)) return;
 
+        long start = timings.start();
+        PacketRewriteEvent profile = new PacketRewriteEvent();
+        profile.begin();
+
+        handlePacketSend(event, player, profile);
+
+        timings.recordSince(start);
+        profile.end();
+        if (profile.shouldCommit()) {
+            profile.setOperation(event.getPacketType().name());
+            profile.commit();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void handlePacketSend(@NotNull PacketPlaySendEvent event, Player player, PacketRewriteEvent profile) {
         PacketType.Play.Server type = event.getPacketType();
+        if (type == PacketType.Play.Server.SET_PASSENGERS) {
+            handlePassengers(event);
+            return;
+        }
+
         boolean isMetadata = type == PacketType.Play.Server.ENTITY_METADATA;
 
         World world;
@@ -158,6 +178,16 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
 
         if (!(entity instanceof AbstractVillager villager)) return;
 
+        if (profile.isEnabled()) profile.setVillager(villager);
+
+        // Statuses raised by our own code don't send this packet (see EntityStatusHandler), these come from vanilla or other plugins.
+        if (type == PacketType.Play.Server.ENTITY_STATUS) {
+            if (villager.getType() != EntityType.VILLAGER) return;
+            WrapperPlayServerEntityStatus status = new WrapperPlayServerEntityStatus(event);
+            plugin.getTracker().getStatusHandler().handleBroadcast(villager, (byte) status.getStatus());
+            return;
+        }
+
         int entityId = id;
         Optional<NPC> npc = plugin.getTracker().getNPC(entityId);
         boolean spawnAllowed = allowSpawnIds.contains(entityId);
@@ -178,15 +208,6 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
             return;
         }
 
-        INMSConverter converter = plugin.getConverter();
-
-        if (type == PacketType.Play.Server.ENTITY_STATUS && EntityType.VILLAGER == villager.getType()) {
-            WrapperPlayServerEntityStatus status = new WrapperPlayServerEntityStatus(event);
-            plugin.getFoliaLib().getScheduler().runAtEntity(villager, task ->
-                    converter.getNPC(villager).ifPresent(temp -> handleStatus(temp, (byte) status.getStatus())));
-            return;
-        }
-
         if (isMetadata) {
             // Cancel metadata packets for players using 1.7 (or lower).
             if (plugin.getCompatibilityManager().shouldCancelMetadata(player)) {
@@ -237,6 +258,23 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
         rotateBody(event, villager);
     }
 
+    private void handlePassengers(@NotNull PacketPlaySendEvent event) {
+        WrapperPlayServerSetPassengers wrapper = new WrapperPlayServerSetPassengers(event);
+
+        // Something mounted/dismounted the villager, vanilla replaces the passengers and our nametags get detached.
+        plugin.getTracker().getNPC(wrapper.getEntityId()).ifPresent(npc -> {
+            if (!(npc.getNpc() instanceof Nameable nameable)) return;
+
+            int nametag = nameable.getNametagEntity();
+            for (int passenger : wrapper.getPassengers()) {
+                // This is our own packet.
+                if (passenger == nametag) return;
+            }
+
+            npc.requestPassengerResync();
+        });
+    }
+
     private int getEntityIdFromPacket(@NotNull PacketPlaySendEvent event) {
         PacketType.Play.Server type = event.getPacketType();
         if (type == PacketType.Play.Server.SPAWN_ENTITY) {
@@ -300,47 +338,6 @@ public class VillagerHandler extends SimplePacketListenerAbstract {
         });
     }
 
-    private void handleStatus(@NotNull IVillagerNPC npc, byte status) {
-        LivingEntity bukkit = npc.bukkit();
-
-        Particle particle = getParticle(status, bukkit);
-        if (particle == null) return;
-
-        Location location = bukkit.getLocation();
-        BoundingBox box = bukkit.getBoundingBox();
-
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        double x = location.getX() + box.getWidthX() * ((2.0d * random.nextDouble() - 1.0d) * 1.05d);
-        double y = location.getY() + box.getHeight() * random.nextDouble() + 1.15d;
-        double z = location.getZ() + box.getWidthZ() * ((2.0d * random.nextDouble() - 1.0d) * 1.05d);
-
-        bukkit.getWorld().spawnParticle(
-                particle,
-                x,
-                y,
-                z,
-                1,
-                random.nextGaussian() * 0.02d,
-                random.nextGaussian() * 0.02d,
-                random.nextGaussian() * 0.02d);
-    }
-
-    private @Nullable Particle getParticle(byte status, LivingEntity bukkit) {
-        XParticle particle = switch (status) {
-            case 12 -> XParticle.HEART;
-            case 13 -> XParticle.ANGRY_VILLAGER;
-            case 14 -> XParticle.HAPPY_VILLAGER;
-            case 42 -> {
-                Raid raid = plugin.getConverter().getRaidAt(bukkit.getLocation());
-                yield raid != null && raid.getStatus() == Raid.RaidStatus.ONGOING ? null : XParticle.SPLASH;
-            }
-            default -> null;
-        };
-        return Optional.ofNullable(particle)
-                .map(XParticle::get)
-                .orElse(null);
-    }
-
     private boolean isCancellableSpawnPacket(@NotNull PacketPlaySendEvent event) {
         PacketType.Play.Server type = event.getPacketType();
         if (type == PacketType.Play.Server.SPAWN_LIVING_ENTITY) return true;
@@ -219,25 +219,24 @@ public final class InventoryListeners implements Listener {
             Location playerLocation = player.getLocation();
 
             UUID villagerUUID = UUID.fromString(villagerUUIDString);
-            for (IVillagerNPC offline : tracker.getOfflineVillagers()) {
-                if (!offline.getUniqueId().equals(villagerUUID)) continue;
-
-                Villager bukkit = offline.bukkit() instanceof Villager villager ? villager : null;
-                boolean teleported = true;
-                if (bukkit != null) {
-                    teleport(bukkit, playerLocation);
-                } else {
-                    Villager villager = plugin.getUnloadedOffline(offline) instanceof Villager temp ? temp : null;
-                    if (villager != null) {
-                        teleport(villager, playerLocation);
-                    } else teleported = false;
+            IVillagerNPC offline = tracker.getOfflineByUUID(villagerUUID);
+            if (offline != null) {
+                String name = offline.getVillagerName();
+                if (offline.bukkit() == null) {
+                    plugin.getMessages().send(player, Messages.Message.WHISTLE_LOADING, message -> message.replace("%villager-name%", name));
                 }
 
-                plugin.getMessages().send(
-                        player,
-                        teleported ? Messages.Message.WHISTLE_TELEPORTED : Messages.Message.WHISTLE_ERROR,
-                        message -> message.replace("%villager-name%", offline.getVillagerName()));
-                break;
+                // If the villager is in an unloaded chunk, this is completed once the chunk (and its entities) is loaded.
+                plugin.getUnloadedOffline(offline).thenAccept(living -> {
+                    Villager villager = living instanceof Villager temp ? temp : null;
+                    boolean teleported = villager != null;
+                    if (teleported) teleport(villager, playerLocation);
+
+                    plugin.getMessages().send(
+                            player,
+                            teleported ? Messages.Message.WHISTLE_TELEPORTED : Messages.Message.WHISTLE_ERROR,
+                            message -> message.replace("%villager-name%", name));
+                });
             }
 
             closeInventory(player);
@@ -324,7 +323,7 @@ public final class InventoryListeners implements Listener {
             if (offlinePlayer.getName() == null) return; // Shouldn't happen.
 
             plugin.getMessages().send(player, Messages.Message.PLAYERS_REMOVED, string -> string.replace("%player-name%", offlinePlayer.getName()));
-            npc.getPlayers().remove(uuid);
+            npc.removePlayer(uuid);
 
             closeInventory(player);
             return;
@@ -621,7 +620,7 @@ public final class InventoryListeners implements Listener {
                         } else {
                             success.set(true);
                             messages.send(opener, Messages.Message.PLAYERS_ADDED, string -> string.replace("%player-name%", targetName));
-                            npc.getPlayers().add(targetUUID);
+                            npc.addPlayer(targetUUID);
                             openPlayersGUI(npc, snapshot.getPlayer(), null, null);
                         }
                     } else {
@@ -785,7 +784,7 @@ public final class InventoryListeners implements Listener {
         }
 
         EntityEffect effect = chatEvent.isSuccess() ? interactType.isFlirt() ? EntityEffect.VILLAGER_HEART : EntityEffect.VILLAGER_HAPPY : EntityEffect.VILLAGER_ANGRY;
-        npc.bukkit().playEffect(effect);
+        npc.playEffect(effect);
 
         plugin.getMessages().sendRandomInteractionMessage(player, npc, interactType, chatEvent.isSuccess());
     }
@@ -2,15 +2,10 @@ package me.matsubara.realisticvillagers.listener;
 
 import com.cryptomorin.xseries.reflection.XReflection;
 import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import me.matsubara.realisticvillagers.RealisticVillagers;
-import me.matsubara.realisticvillagers.data.GUIInteractType;
-import me.matsubara.realisticvillagers.data.InteractionTargetType;
-import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.files.Messages;
-import me.matsubara.realisticvillagers.manager.InteractCooldownManager;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import org.bukkit.*;
 import org.bukkit.block.Block;
@@ -25,7 +20,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
@@ -40,9 +34,6 @@ public final class PlayerListeners implements Listener {
 
     private final RealisticVillagers plugin;
     private final Multimap<UUID, Map.Entry<Long, Integer>> babyGrowCount = ArrayListMultimap.create();
-    private final List<String> ignoredActivities = ImmutableList.of("hide", "panic", "fight");
-
-    private static final String EMPTY = "";
 
     public PlayerListeners(RealisticVillagers plugin) {
         this.plugin = plugin;
@@ -79,52 +70,6 @@ public final class PlayerListeners implements Listener {
         }
     }
 
-    @EventHandler(ignoreCancelled = true)
-    public void onPlayerMove(@NotNull PlayerMoveEvent event) {
-        Location to = event.getTo();
-        if (to == null) return;
-
-        Location from = event.getFrom();
-        if (to.getBlockX() == from.getBlockX()
-                && to.getBlockY() == from.getBlockY()
-                && to.getBlockZ() == from.getBlockZ()) return;
-
-        Player player = event.getPlayer();
-        if (!Config.GREET_MESSAGES_ENABLED.asBool()) return;
-
-        InteractCooldownManager cooldown = plugin.getCooldownManager();
-        if (!cooldown.canInteract(player, "welcome", Config.GREET_MESSAGES_COOLDOWN.asLong())) return;
-
-        double range = Config.GREET_MESSAGES_RANGE.asDouble();
-        int requiredReputation = Config.GREET_MESSAGES_REQUIRED_REPUTATION.asInt();
-
-        for (Entity near : player.getNearbyEntities(range, range, range)) {
-            if (!(near instanceof Villager villager)
-                    || plugin.getTracker().isInvalid(villager, true)
-                    || villager.isSleeping()
-                    || !villager.hasLineOfSight(player)) continue;
-
-            // Ignore non-custom, inside raid, lower reputation, ignored activities.
-            Optional<IVillagerNPC> npc = plugin.getConverter().getNPC(villager);
-            if (npc.isEmpty() || npc.get().isInsideRaid()) continue;
-            if (npc.get().getReputation(player.getUniqueId()) < requiredReputation) continue;
-            if (ignoredActivities.contains(npc.get().getActivityName(EMPTY).toLowerCase(Locale.ROOT))) continue;
-
-            InteractionTargetType relationship = InteractionTargetType.getInteractionTarget(npc.get(), player);
-            if (!cooldown.canInteract(player, villager, relationship.getName(), Config.GREET_MESSAGES_PER_TYPE_COOLDOWN.asLong())) {
-                continue;
-            }
-
-            GUIInteractType type = GUIInteractType.GREET;
-            if (cooldown.canInteract(player, villager, type.getName())) {
-                plugin.getInventoryListeners().handleChatInteraction(npc.get(), type, player);
-                return;
-            }
-        }
-
-        cooldown.removeCooldown(player, "welcome");
-    }
-
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerInteract(PlayerInteractEvent event) {
         handleWhistle(event);
@@ -222,6 +222,8 @@ public final class VillagerListeners extends SimplePacketListenerAbstract implem
             IVillagerNPC npc = optional.orElse(null);
             if (npc == null) return;
 
+            npc.wakeFromHibernation();
+
             if (hand != EquipmentSlot.HAND) return;
             if (action != null && action != WrapperPlayClientInteractEntity.InteractAction.INTERACT) return;
 
@@ -0,0 +1,148 @@
+package me.matsubara.realisticvillagers.manager;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.SoundCategory;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Sends block animations, sounds and particles only to the players tracking the chunk they happen in.
+ * <p>
+ * Effects queued for the same chunk are batched and delivered on the next tick of the owning region,
+ * so the viewers of a chunk are only resolved once per tick no matter how many effects happen there.
+ */
+public class BroadcastManager {
+
+    private final RealisticVillagers plugin;
+    private final Map<ChunkKey, List<Effect>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong packetsSent = new AtomicLong();
+    private final AtomicLong packetsSaved = new AtomicLong();
+
+    // Same ranges used by vanilla when broadcasting sounds and (non-forced) particles.
+    private static final double SOUND_RANGE = 16.0d;
+    private static final double PARTICLE_RANGE = 32.0d;
+
+    public BroadcastManager(RealisticVillagers plugin) {
+        this.plugin = plugin;
+    }
+
+    public void broadcast(@NotNull Location location, @NotNull Consumer<Player> effect) {
+        queue(location, new Effect(player -> {
+            effect.accept(player);
+            return true;
+        }, null, 0.0d));
+    }
+
+    public void playSound(@NotNull Location location, Sound sound, SoundCategory category, float volume, float pitch) {
+        Location at = location.clone();
+        double range = volume > 1.0f ? SOUND_RANGE * volume : SOUND_RANGE;
+        queue(at, new Effect(player -> {
+            if (!inRange(player, at, range)) return false;
+            player.playSound(at, sound, category, volume, pitch);
+            return true;
+        }, at, range));
+    }
+
+    public void spawnParticle(@NotNull Location location, Particle particle, int count, double offsetX, double offsetY, double offsetZ) {
+        spawnParticle(location, particle, count, offsetX, offsetY, offsetZ, 1.0d, null);
+    }
+
+    public <T> void spawnParticle(@NotNull Location location, Particle particle, int count, double offsetX, double offsetY, double offsetZ, double extra, @Nullable T data) {
+        Location at = location.clone();
+        queue(at, new Effect(player -> {
+            if (!inRange(player, at, PARTICLE_RANGE)) return false;
+            player.spawnParticle(particle, at, count, offsetX, offsetY, offsetZ, extra, data);
+            return true;
+        }, at, PARTICLE_RANGE));
+    }
+
+    private void queue(@NotNull Location location, Effect effect) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        ChunkKey key = new ChunkKey(world.getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+
+        // Only the first effect of the tick schedules the flush, the rest are added to the same batch.
+        boolean[] created = {false};
+        pending.compute(key, (ignored, effects) -> {
+            if (effects == null) {
+                effects = new ArrayList<>();
+                created[0] = true;
+            }
+            effects.add(effect);
+            return effects;
+        });
+
+        if (created[0]) {
+            plugin.getFoliaLib().getScheduler().runAtLocation(location, task -> flush(world, key));
+        }
+    }
+
+    public long getPacketsSent() {
+        return packetsSent.get();
+    }
+
+    /**
+     * @return the number of packets we didn't send compared to before: block events were sent to the whole world, sounds
+     * and particles to every player in range (tracking the chunk or not).
+     */
+    public long getPacketsSaved() {
+        return packetsSaved.get();
+    }
+
+    private void flush(@NotNull World world, ChunkKey key) {
+        List<Effect> effects = pending.remove(key);
+        if (effects == null || effects.isEmpty()) return;
+
+        List<Player> viewers = plugin.getConverter().getTrackingPlayers(world, key.x(), key.z());
+        List<Player> worldPlayers = world.getPlayers();
+
+        for (Effect effect : effects) {
+            int sent = 0;
+            for (Player viewer : viewers) {
+                if (effect.sender().test(viewer)) sent++;
+            }
+            packetsSent.addAndGet(sent);
+            packetsSaved.addAndGet(Math.max(0, getPreviousAudience(effect, worldPlayers) - sent));
+        }
+    }
+
+    private int getPreviousAudience(@NotNull Effect effect, List<Player> worldPlayers) {
+        Location at = effect.location();
+        if (at == null) return worldPlayers.size();
+
+        int audience = 0;
+        for (Player player : worldPlayers) {
+            if (inRange(player, at, effect.range())) audience++;
+        }
+        return audience;
+    }
+
+    private boolean inRange(@NotNull Player player, @NotNull Location location, double range) {
+        Location playerLocation = player.getLocation();
+        return location.getWorld() == playerLocation.getWorld() && playerLocation.distanceSquared(location) <= range * range;
+    }
+
+    /**
+     * @param location where the effect is heard or seen from, null if it was sent to the whole world before
+     */
+    private record Effect(Predicate<Player> sender, @Nullable Location location, double range) {
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+}
@@ -0,0 +1,118 @@
+package me.matsubara.realisticvillagers.manager;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads chunks, and the entities inside them, without blocking the thread asking for them.
+ * <p>
+ * On Paper (and forks), chunks are loaded with {@code World#getChunkAtAsync()}; otherwise, they're loaded in the next tick
+ * of the region owning them. The returned future completes (in the region owning the chunk) once the entities are loaded,
+ * and requests for a chunk that is already loading share the same future.
+ */
+public class ChunkLoadManager implements Listener {
+
+    private final RealisticVillagers plugin;
+    private final Map<ChunkKey, CompletableFuture<Chunk>> loading = new ConcurrentHashMap<>();
+
+    // Entities may not be loaded along with the chunk, wait for them a bit (in ticks).
+    private static final long ENTITIES_TIMEOUT = 100L;
+    // Keep the chunk loaded while the caller uses it (in ticks).
+    private static final long KEEP_LOADED = 200L;
+
+    private static final MethodHandle GET_CHUNK_AT_ASYNC;
+
+    static {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().findVirtual(
+                    World.class,
+                    "getChunkAtAsync",
+                    MethodType.methodType(CompletableFuture.class, int.class, int.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            handle = null;
+        }
+        GET_CHUNK_AT_ASYNC = handle;
+    }
+
+    public ChunkLoadManager(@NotNull RealisticVillagers plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    public @NotNull CompletableFuture<Chunk> loadWithEntities(@NotNull Location location) {
+        World world = location.getWorld();
+        if (world == null) return CompletableFuture.completedFuture(null);
+
+        int x = location.getBlockX() >> 4, z = location.getBlockZ() >> 4;
+        ChunkKey key = new ChunkKey(world.getUID(), x, z);
+
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        CompletableFuture<Chunk> previous = loading.putIfAbsent(key, future);
+        if (previous != null) return previous;
+
+        future.whenComplete((chunk, throwable) -> loading.remove(key, future));
+
+        loadChunk(world, location, x, z).whenComplete((chunk, throwable) -> {
+            if (throwable != null || chunk == null) {
+                future.complete(null);
+                return;
+            }
+
+            chunk.addPluginChunkTicket(plugin);
+            plugin.getFoliaLib().getScheduler().runAtLocationLater(location, task -> chunk.removePluginChunkTicket(plugin), KEEP_LOADED);
+
+            if (chunk.isEntitiesLoaded()) {
+                future.complete(chunk);
+                return;
+            }
+
+            // Completed by onEntitiesLoad(), if that doesn't happen in time, complete anyway.
+            plugin.getFoliaLib().getScheduler().runAtLocationLater(location, task -> future.complete(chunk), ENTITIES_TIMEOUT);
+        });
+
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull CompletableFuture<Chunk> loadChunk(World world, Location location, int x, int z) {
+        if (GET_CHUNK_AT_ASYNC != null) {
+            try {
+                return (CompletableFuture<Chunk>) GET_CHUNK_AT_ASYNC.invoke(world, x, z);
+            } catch (Throwable ignored) {
+            }
+        }
+
+        // Spigot doesn't have a way of loading chunks asynchronously, at least don't block the caller.
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        plugin.getFoliaLib().getScheduler().runAtLocation(location, task -> future.complete(world.getChunkAt(x, z)));
+        return future;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(@NotNull EntitiesLoadEvent event) {
+        Chunk chunk = event.getChunk();
+
+        CompletableFuture<Chunk> future = loading.get(new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()));
+        if (future != null) future.complete(chunk);
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+}
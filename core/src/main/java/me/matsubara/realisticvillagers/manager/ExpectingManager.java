@@ -313,7 +313,7 @@ public final class ExpectingManager implements Listener {
         Messages messages = plugin.getMessages();
 
         if (successByRing) {
-            npc.bukkit().playEffect(EntityEffect.VILLAGER_HEART);
+            npc.playEffect(EntityEffect.VILLAGER_HEART);
             messages.send(player, npc, Messages.Message.MARRRY_SUCCESS);
             npc.setPartner(playerUUID, false);
             player.getPersistentDataContainer().set(
@@ -324,9 +324,9 @@ public final class ExpectingManager implements Listener {
         }
 
         if (success) {
-            npc.bukkit().playEffect(EntityEffect.VILLAGER_HAPPY);
+            npc.playEffect(EntityEffect.VILLAGER_HAPPY);
         } else if (isRing && !npc.isFamily(playerUUID, false) && isAdult) {
-            npc.bukkit().playEffect(EntityEffect.VILLAGER_ANGRY);
+            npc.playEffect(EntityEffect.VILLAGER_ANGRY);
 
             Messages.Message message;
             if (npc.hasPartner()) {
@@ -391,7 +391,7 @@ public final class ExpectingManager implements Listener {
         String scenario = "The player " + player.getName() + " just gave you "
                 + quantity + " " + itemName + ". Respond naturally and briefly to receiving this gift.";
 
-        aiManager.generateNaturalReaction(npc, player, scenario).thenAccept(response -> {
+        aiManager.generateNaturalReaction(npc, player, scenario, giftEvent(gift)).thenAccept(response -> {
             if (response == null || response.isBlank()) {
                 sendDefaultGiftMessage(player, npc, category);
                 return;
@@ -403,6 +403,13 @@ public final class ExpectingManager implements Listener {
         });
     }
 
+    private static @NotNull String giftEvent(@NotNull ItemStack gift) {
+        // Reactions only depend on the item and roughly on the amount.
+        int amount = gift.getAmount();
+        String quantity = amount == 1 ? "single" : amount <= 16 ? "some" : "many";
+        return "gift:" + gift.getType().name() + ":" + quantity;
+    }
+
     private void sendDefaultGiftMessage(
             @NotNull Player player,
             @NotNull IVillagerNPC npc,
@@ -423,7 +430,7 @@ public final class ExpectingManager implements Listener {
         String context = "The player " + player.getName() + " just gave you " + quantity + " " + itemName
                 + ". Respond naturally and briefly to receiving this gift.";
 
-        aiManager.generateNaturalReaction(npc, player, context).thenAccept(response -> {
+        aiManager.generateNaturalReaction(npc, player, context, giftEvent(gift)).thenAccept(response -> {
             if (response == null || response.isBlank()) {
                 return;
             }
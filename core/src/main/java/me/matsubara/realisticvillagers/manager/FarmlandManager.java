@@ -0,0 +1,333 @@
+package me.matsubara.realisticvillagers.manager;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.files.Config;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Farm plots (the block above a farmland, or above dirt that can be tilled) known by the farmers of every village.
+ * <p>
+ * Plots are grouped by region (a village, more or less). Farmers add the plots they find when scanning around them,
+ * from there, plots are kept up to date by block events (only in regions with plots already). Instead of scanning,
+ * farmers claim the closest plot with the work they're looking for; a claimed plot can't be claimed by someone else
+ * until it's released or its lease expires. The state here is a hint, farmers check the blocks before working on a plot
+ * and report the real state back.
+ * <p>
+ * Plots are dropped with the chunk they're in, farmers find them again when scanning after the chunk loads.
+ */
+public class FarmlandManager implements Listener {
+
+    private final Map<RegionKey, Region> regions = new ConcurrentHashMap<>();
+    private final int regionShift;
+
+    // Metrics.
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicLong scans = new AtomicLong();
+
+    public FarmlandManager(@NotNull RealisticVillagers plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        // Region size is rounded to a power of two, so the region is a shift away from the block coordinates.
+        this.regionShift = 31 - Integer.numberOfLeadingZeros(Math.max(16, Config.FARMLAND_REGISTRY_REGION_SIZE.asInt()));
+    }
+
+    public boolean isEnabled() {
+        return Config.FARMLAND_REGISTRY_ENABLED.asBool();
+    }
+
+    /**
+     * Updates (or adds) a plot; null removes it.
+     */
+    public void update(UUID world, int x, int y, int z, @Nullable PlotState state) {
+        RegionKey key = regionKey(world, x, z);
+        if (state == null) {
+            Region region = regions.get(key);
+            if (region == null) return;
+
+            synchronized (region) {
+                region.plots.remove(pack(x, y, z));
+                if (region.plots.isEmpty()) regions.remove(key, region);
+            }
+            return;
+        }
+
+        while (true) {
+            Region region = regions.computeIfAbsent(key, ignored -> new Region());
+            synchronized (region) {
+                // Removed (empty) in the meantime, try again with a new one.
+                if (regions.get(key) != region) continue;
+
+                long pos = pack(x, y, z);
+                Plot plot = region.plots.get(pos);
+                if (plot == null) region.plots.put(pos, new Plot(x, y, z, state));
+                else plot.state = state;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims the closest plot (in any of the given states) around a position.
+     *
+     * @param states the states wanted, in order of preference when two plots are as close
+     * @return the plot claimed, or null if there's no work around
+     */
+    public @Nullable Claim claim(UUID villager, UUID world, int x, int y, int z, int radius, PlotState @NotNull ... states) {
+        long now = System.currentTimeMillis();
+        long lease = Config.FARMLAND_REGISTRY_LEASE.asLong() * 1000L;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Plot best = null;
+            Region bestRegion = null;
+            long bestScore = Long.MAX_VALUE;
+
+            for (int regionX = (x - radius) >> regionShift; regionX <= (x + radius) >> regionShift; regionX++) {
+                for (int regionZ = (z - radius) >> regionShift; regionZ <= (z + radius) >> regionShift; regionZ++) {
+                    Region region = regions.get(new RegionKey(world, regionX, regionZ));
+                    if (region == null) continue;
+
+                    synchronized (region) {
+                        for (Plot plot : region.plots.values()) {
+                            int priority = indexOf(states, plot.state);
+                            if (priority == -1 || plot.isClaimed(villager, now)) continue;
+
+                            int distanceX = plot.x - x, distanceY = plot.y - y, distanceZ = plot.z - z;
+                            if (Math.abs(distanceX) > radius || Math.abs(distanceY) > radius || Math.abs(distanceZ) > radius) continue;
+
+                            long score = ((long) distanceX * distanceX + (long) distanceY * distanceY + (long) distanceZ * distanceZ) * states.length + priority;
+                            if (score < bestScore) {
+                                bestScore = score;
+                                best = plot;
+                                bestRegion = region;
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (best == null) return null;
+
+            synchronized (bestRegion) {
+                // Claimed by someone else in the meantime, look again.
+                if (best.isClaimed(villager, now) || indexOf(states, best.state) == -1) continue;
+
+                best.claimedBy = villager;
+                best.leaseUntil = now + lease;
+                claims.incrementAndGet();
+                return new Claim(best.x, best.y, best.z, best.state);
+            }
+        }
+
+        return null;
+    }
+
+    public void release(UUID villager, UUID world, int x, int y, int z) {
+        Region region = regions.get(regionKey(world, x, z));
+        if (region == null) return;
+
+        synchronized (region) {
+            Plot plot = region.plots.get(pack(x, y, z));
+            if (plot != null && villager.equals(plot.claimedBy)) plot.claimedBy = null;
+        }
+    }
+
+    /**
+     * Should be called every time a farmer scans the blocks around it (and adds the plots found).
+     */
+    public void countScan() {
+        scans.incrementAndGet();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Region region : regions.values()) {
+            synchronized (region) {
+                size += region.plots.size();
+            }
+        }
+        return size;
+    }
+
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    public long getClaimCount() {
+        return claims.get();
+    }
+
+    public long getScanCount() {
+        return scans.get();
+    }
+
+    private @NotNull RegionKey regionKey(UUID world, int x, int z) {
+        return new RegionKey(world, x >> regionShift, z >> regionShift);
+    }
+
+    private static int indexOf(PlotState @NotNull [] states, PlotState state) {
+        for (int i = 0; i < states.length; i++) {
+            if (states[i] == state) return i;
+        }
+        return -1;
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+
+    private boolean isKnown(@NotNull Block block) {
+        return !regions.isEmpty() && regions.containsKey(regionKey(block.getWorld().getUID(), block.getX(), block.getZ()));
+    }
+
+    /**
+     * Updates the plot at (or above) a block that's going to change.
+     *
+     * @param block the block changing
+     * @param data  the new data of the block
+     */
+    private void onChange(@NotNull Block block, @NotNull BlockData data) {
+        if (!isKnown(block)) return;
+
+        UUID world = block.getWorld().getUID();
+        Material type = data.getMaterial();
+
+        // The farmland itself changed, the plot is above.
+        if (block.getType() == Material.FARMLAND || type == Material.FARMLAND) {
+            boolean farmland = type == Material.FARMLAND;
+            Block above = block.getRelative(BlockFace.UP);
+            PlotState state = farmland ? classify(above.getBlockData(), true) : null;
+            update(world, above.getX(), above.getY(), above.getZ(), state);
+            return;
+        }
+
+        boolean farmland = block.getRelative(BlockFace.DOWN).getType() == Material.FARMLAND;
+        update(world, block.getX(), block.getY(), block.getZ(), classify(data, farmland));
+    }
+
+    private static @Nullable PlotState classify(@NotNull BlockData data, boolean farmlandBelow) {
+        if (!farmlandBelow) return null;
+
+        Material type = data.getMaterial();
+        if (type.isAir()) return PlotState.EMPTY;
+
+        // Stems don't have anything to harvest, only to grow.
+        if (data instanceof Ageable ageable && Tag.CROPS.isTagged(type)) {
+            boolean grown = ageable.getAge() >= ageable.getMaximumAge();
+            if (!grown) return PlotState.GROWING;
+            return type == Material.MELON_STEM || type == Material.PUMPKIN_STEM ? null : PlotState.RIPE;
+        }
+
+        return null;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(@NotNull BlockGrowEvent event) {
+        onChange(event.getBlock(), event.getNewState().getBlockData());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFertilize(@NotNull BlockFertilizeEvent event) {
+        for (BlockState state : event.getBlocks()) {
+            onChange(state.getBlock(), state.getBlockData());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent event) {
+        onChange(event.getBlock(), Material.AIR.createBlockData());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent event) {
+        Block block = event.getBlock();
+        onChange(block, block.getBlockData());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(@NotNull BlockFadeEvent event) {
+        onChange(event.getBlock(), event.getNewState().getBlockData());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(@NotNull EntityChangeBlockEvent event) {
+        // Trampling, villagers planting or harvesting, etc.
+        onChange(event.getBlock(), event.getBlockData());
+    }
+
+    @EventHandler
+    public void onChunkUnload(@NotNull ChunkUnloadEvent event) {
+        if (regions.isEmpty()) return;
+
+        Chunk chunk = event.getChunk();
+        int chunkX = chunk.getX(), chunkZ = chunk.getZ();
+
+        // Regions are at least a chunk wide, so the chunk is inside a single region.
+        RegionKey key = regionKey(chunk.getWorld().getUID(), chunkX << 4, chunkZ << 4);
+        Region region = regions.get(key);
+        if (region == null) return;
+
+        synchronized (region) {
+            region.plots.values().removeIf(plot -> plot.x >> 4 == chunkX && plot.z >> 4 == chunkZ);
+            if (region.plots.isEmpty()) regions.remove(key, region);
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(@NotNull WorldUnloadEvent event) {
+        UUID world = event.getWorld().getUID();
+        regions.keySet().removeIf(key -> key.world().equals(world));
+    }
+
+    public enum PlotState {
+        RIPE,
+        EMPTY,
+        TILLABLE,
+        GROWING
+    }
+
+    public record Claim(int x, int y, int z, PlotState state) {
+    }
+
+    private static final class Region {
+        private final Map<Long, Plot> plots = new HashMap<>();
+    }
+
+    private static final class Plot {
+        private final int x, y, z;
+        private PlotState state;
+        private @Nullable UUID claimedBy;
+        private long leaseUntil;
+
+        private Plot(int x, int y, int z, PlotState state) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.state = state;
+        }
+
+        private boolean isClaimed(UUID by, long now) {
+            return claimedBy != null && !claimedBy.equals(by) && leaseUntil > now;
+        }
+    }
+
+    private record RegionKey(UUID world, int x, int z) {
+    }
+}
@@ -0,0 +1,170 @@
+package me.matsubara.realisticvillagers.manager;
+
+import com.google.common.collect.ImmutableList;
+import com.tcoded.folialib.enums.EntityTaskResult;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.data.GUIInteractType;
+import me.matsubara.realisticvillagers.data.InteractionTargetType;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.npc.NPC;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Villager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks every few ticks (in the region of each player) if a nearby villager should greet the player.
+ * <p>
+ * Only the NPCs shown to the player are considered (the pool keeps a set per player), filtered by the location the pool
+ * saves every tick. The rest of the checks read the villager, so they run on the scheduler of each candidate, one after
+ * another until one of them greets. The line of sight raytrace goes last; raytraces are limited per tick and their
+ * result is cached for a short time for every (player, villager).
+ */
+public class GreetingManager implements Listener {
+
+    private final RealisticVillagers plugin;
+    private final Map<UUID, WrappedTask> tasks = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> lastBlock = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<UUID, LineOfSight>> lineOfSight = new ConcurrentHashMap<>();
+    private final AtomicInteger raytraces = new AtomicInteger();
+    private final List<String> ignoredActivities = ImmutableList.of("hide", "panic", "fight");
+
+    private static final String EMPTY = "";
+    private static final long LINE_OF_SIGHT_CACHE = 1500L;
+
+    public GreetingManager(@NotNull RealisticVillagers plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getFoliaLib().getScheduler().runTimer(() -> raytraces.set(0), 1L, 1L);
+
+        // In case of a reload.
+        Bukkit.getOnlinePlayers().forEach(this::start);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        start(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        UUID uuid = event.getPlayer().getUniqueId();
+        Optional.ofNullable(tasks.remove(uuid)).ifPresent(WrappedTask::cancel);
+        lastBlock.remove(uuid);
+        lineOfSight.remove(uuid);
+    }
+
+    private void start(@NotNull Player player) {
+        long interval = Math.max(1L, Config.GREET_MESSAGES_CHECK_INTERVAL.asLong());
+        WrappedTask task = plugin.getFoliaLib().getScheduler().runAtEntityTimer(player, () -> check(player), interval, interval);
+        Optional.ofNullable(tasks.put(player.getUniqueId(), task)).ifPresent(WrappedTask::cancel);
+    }
+
+    private void check(@NotNull Player player) {
+        if (!player.isOnline() || !Config.GREET_MESSAGES_ENABLED.asBool()) return;
+
+        // Same as before, greetings only happen while walking.
+        Location location = player.getLocation();
+        long block = blockKey(location);
+        Long previous = lastBlock.put(player.getUniqueId(), block);
+        if (previous == null || previous == block) return;
+
+        InteractCooldownManager cooldown = plugin.getCooldownManager();
+        if (!cooldown.canInteract(player, "welcome", Config.GREET_MESSAGES_COOLDOWN.asLong())) return;
+
+        double range = Config.GREET_MESSAGES_RANGE.asDouble();
+        double rangeSquared = range * range;
+
+        Map<UUID, LineOfSight> cache = lineOfSight.computeIfAbsent(player.getUniqueId(), uuid -> new ConcurrentHashMap<>());
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(sight -> sight.until() <= now);
+
+        // Only the location saved by the pool is read here, the villager may be in another region.
+        List<NPC> candidates = new ArrayList<>();
+        for (NPC npc : plugin.getTracker().getPool().getShownNPCs(player)) {
+            Location at = npc.getLocation();
+            if (at != null && at.getWorld() == location.getWorld() && at.distanceSquared(location) <= rangeSquared) {
+                candidates.add(npc);
+            }
+        }
+
+        greetNext(player, candidates.iterator(), cache);
+    }
+
+    private void greetNext(@NotNull Player player, @NotNull Iterator<NPC> candidates, Map<UUID, LineOfSight> cache) {
+        InteractCooldownManager cooldown = plugin.getCooldownManager();
+
+        while (candidates.hasNext()) {
+            IVillagerNPC villagerNPC = candidates.next().getNpc();
+            if (!(villagerNPC.bukkit() instanceof Villager villager)) continue;
+
+            plugin.getFoliaLib().getScheduler().runAtEntity(villager, task -> {
+                if (player.isOnline() && greet(player, villagerNPC, villager, cache)) return;
+                greetNext(player, candidates, cache);
+            }).thenAccept(result -> {
+                // The villager was removed before the task could run, continue with the next one.
+                if (result != EntityTaskResult.SUCCESS) greetNext(player, candidates, cache);
+            });
+            return;
+        }
+
+        // Nobody greeted the player, let the next block try again.
+        cooldown.removeCooldown(player, "welcome");
+    }
+
+    // On the scheduler of the villager.
+    private boolean greet(@NotNull Player player, IVillagerNPC villagerNPC, @NotNull Villager villager, Map<UUID, LineOfSight> cache) {
+        if (villager.isSleeping() || plugin.getTracker().isInvalid(villager, true)) return false;
+
+        // Ignore inside raid, lower reputation, ignored activities.
+        if (villagerNPC.isInsideRaid()) return false;
+        if (villagerNPC.getReputation(player.getUniqueId()) < Config.GREET_MESSAGES_REQUIRED_REPUTATION.asInt()) return false;
+        if (ignoredActivities.contains(villagerNPC.getActivityName(EMPTY).toLowerCase(Locale.ROOT))) return false;
+
+        if (!hasLineOfSight(cache, villager, player, System.currentTimeMillis())) return false;
+
+        InteractCooldownManager cooldown = plugin.getCooldownManager();
+        InteractionTargetType relationship = InteractionTargetType.getInteractionTarget(villagerNPC, player);
+        if (!cooldown.canInteract(player, villager, relationship.getName(), Config.GREET_MESSAGES_PER_TYPE_COOLDOWN.asLong())) {
+            return false;
+        }
+
+        GUIInteractType type = GUIInteractType.GREET;
+        if (!cooldown.canInteract(player, villager, type.getName())) return false;
+
+        plugin.getInventoryListeners().handleChatInteraction(villagerNPC, type, player);
+        return true;
+    }
+
+    private boolean hasLineOfSight(@NotNull Map<UUID, LineOfSight> cache, @NotNull Villager villager, Player player, long now) {
+        LineOfSight cached = cache.get(villager.getUniqueId());
+        if (cached != null) return cached.visible();
+
+        // Out of raytraces for this tick, try again in the next check.
+        if (raytraces.incrementAndGet() > Config.GREET_MESSAGES_MAX_RAYTRACES.asInt()) return false;
+
+        boolean visible = villager.hasLineOfSight(player);
+        cache.put(villager.getUniqueId(), new LineOfSight(visible, now + LINE_OF_SIGHT_CACHE));
+        return visible;
+    }
+
+    private static long blockKey(@NotNull Location location) {
+        return ((long) location.getBlockX() & 0x3FFFFFFL) << 38
+                | ((long) location.getBlockZ() & 0x3FFFFFFL) << 12
+                | ((long) location.getBlockY() & 0xFFFL);
+    }
+
+    private record LineOfSight(boolean visible, long until) {
+    }
+}
@@ -10,33 +10,56 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Cooldowns of every player, stored by player and then by (villager, type) in a primitive table, so every check is a
+ * hash lookup plus a probe without boxing. Players without cooldowns don't keep a table.
+ * <p>
+ * Types are interned to an int id once per spelling. Expired cooldowns are removed by a timing wheel with a slot per
+ * second, cooldowns longer than the wheel are checked again every lap.
+ */
 public class InteractCooldownManager implements Listener {
 
     private final RealisticVillagers plugin;
-    private final Set<InteractCooldown> cooldowns = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Cooldowns> cooldowns = new ConcurrentHashMap<>();
+    private final Map<String, Integer> typeIds = new ConcurrentHashMap<>();
+    private final Map<String, Integer> lowerCaseIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTypeId = new AtomicInteger(1);
+    private final Queue<WheelEntry>[] wheel;
+    private long wheelSecond = System.currentTimeMillis() / 1000L;
 
     private static final UUID WELCOME_MESSAGE_UUID = UUID.randomUUID();
+    private static final int WHEEL_SLOTS = 64;
 
+    @SuppressWarnings("unchecked")
     public InteractCooldownManager(RealisticVillagers plugin) {
         this.plugin = plugin;
+        this.wheel = new Queue[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
         this.plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        this.plugin.getFoliaLib().getScheduler().runTimer(this::advanceWheel, 20L, 20L);
     }
 
     @EventHandler
     public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
-        Player player = event.getPlayer();
+        UUID uuid = event.getPlayer().getUniqueId();
 
-        Iterator<InteractCooldown> iterator = cooldowns.iterator();
+        Cooldowns playerCooldowns = cooldowns.get(uuid);
+        if (playerCooldowns == null) return;
 
-        while (iterator.hasNext()) {
-            InteractCooldown cooldown = iterator.next();
-            if (!cooldown.player().equals(player.getUniqueId())) continue;
-            if (!cooldown.inCooldown()) iterator.remove();
+        long now = System.currentTimeMillis();
+        synchronized (playerCooldowns) {
+            playerCooldowns.removeExpired(now);
+            removeIfEmpty(uuid, playerCooldowns);
         }
     }
 
@@ -49,62 +72,241 @@ public class InteractCooldownManager implements Listener {
     }
 
     public boolean canInteract(@NotNull Player player, @Nullable Villager villager, String type, @Nullable Long finishTime) {
-        InteractCooldown cooldown = getCooldown(
-                player.getUniqueId(),
-                villager != null ? villager.getUniqueId() : WELCOME_MESSAGE_UUID,
-                type);
-
-        if (cooldown == null) {
-            if (finishTime != null) addCooldown(
-                    player.getUniqueId(),
-                    villager != null ? villager.getUniqueId() : WELCOME_MESSAGE_UUID,
-                    type,
-                    finishTime);
+        UUID playerUUID = player.getUniqueId();
+        UUID target = villager != null ? villager.getUniqueId() : WELCOME_MESSAGE_UUID;
+        int typeId = typeId(type);
+
+        Cooldowns playerCooldowns = cooldowns.get(playerUUID);
+        long finish = Cooldowns.NONE;
+        if (playerCooldowns != null) {
+            synchronized (playerCooldowns) {
+                finish = playerCooldowns.get(target, typeId);
+                if (finish != Cooldowns.NONE && finish <= System.currentTimeMillis()) {
+                    playerCooldowns.remove(target, typeId, finish);
+                    removeIfEmpty(playerUUID, playerCooldowns);
+                    return true;
+                }
+            }
+        }
+
+        if (finish == Cooldowns.NONE) {
+            if (finishTime != null) addCooldown(playerUUID, target, typeId, finishTime);
             else if (villager != null) addCooldown(player, villager, type);
             else throw new IllegalArgumentException("Only one of the two nullable values can be null!");
             return true;
         }
 
-        boolean inCooldown = cooldown.inCooldown();
-        if (!inCooldown) cooldowns.remove(cooldown);
-
-        return !inCooldown;
+        return false;
     }
 
     public void addCooldown(@NotNull Player player, @NotNull LivingEntity living, String type) {
         long finishType = plugin.getConfig().getLong("interact-cooldown." + type, 1L) * 1000L;
-        addCooldown(player.getUniqueId(), living.getUniqueId(), type, finishType);
+        addCooldown(player.getUniqueId(), living.getUniqueId(), typeId(type), finishType);
     }
 
-    private void addCooldown(UUID playerUUID, UUID villagerUUID, String type, long finishTime) {
-        cooldowns.add(new InteractCooldown(playerUUID, villagerUUID, type, System.currentTimeMillis() + finishTime));
+    private void addCooldown(UUID playerUUID, UUID target, int typeId, long finishTime) {
+        long finish = System.currentTimeMillis() + finishTime;
+        while (true) {
+            Cooldowns playerCooldowns = cooldowns.computeIfAbsent(playerUUID, uuid -> new Cooldowns());
+            synchronized (playerCooldowns) {
+                // Removed (empty) in the meantime, try again with a new one.
+                if (playerCooldowns.removed) continue;
+                playerCooldowns.put(target, typeId, finish);
+                break;
+            }
+        }
+        schedule(new WheelEntry(playerUUID, target, typeId, finish));
     }
 
-    public void removeCooldown(Player player, String type) {
-        Iterator<InteractCooldown> iterator = cooldowns.iterator();
+    public void removeCooldown(@NotNull Player player, String type) {
+        UUID uuid = player.getUniqueId();
 
-        while (iterator.hasNext()) {
-            InteractCooldown cooldown = iterator.next();
-            if (!cooldown.player().equals(player.getUniqueId())) continue;
-            if (!cooldown.type().equalsIgnoreCase(type)) continue;
-            iterator.remove();
+        Cooldowns playerCooldowns = cooldowns.get(uuid);
+        if (playerCooldowns == null) return;
+
+        int typeId = typeId(type);
+        synchronized (playerCooldowns) {
+            playerCooldowns.removeType(typeId);
+            removeIfEmpty(uuid, playerCooldowns);
         }
     }
 
-    private @Nullable InteractCooldown getCooldown(UUID player, UUID villager, String type) {
-        for (InteractCooldown cooldown : cooldowns) {
-            if (!cooldown.player().equals(player)) continue;
-            if (!cooldown.villager().equals(villager)) continue;
+    // Must hold the lock of the cooldowns.
+    private void removeIfEmpty(UUID uuid, @NotNull Cooldowns playerCooldowns) {
+        if (playerCooldowns.size > 0 || playerCooldowns.removed) return;
+        playerCooldowns.removed = true;
+        cooldowns.remove(uuid, playerCooldowns);
+    }
+
+    private int typeId(@NotNull String type) {
+        Integer id = typeIds.get(type);
+        if (id != null) return id;
 
-            if (cooldown.type().equalsIgnoreCase(type)) return cooldown;
+        // Types were compared ignoring case, every spelling of a type shares the id of its lowercase name.
+        id = lowerCaseIds.computeIfAbsent(type.toLowerCase(Locale.ROOT), name -> nextTypeId.getAndIncrement());
+        typeIds.putIfAbsent(type, id);
+        return id;
+    }
+
+    private void schedule(@NotNull WheelEntry entry) {
+        wheel[(int) Math.floorMod(entry.finish() / 1000L, (long) WHEEL_SLOTS)].add(entry);
+    }
+
+    private void advanceWheel() {
+        long now = System.currentTimeMillis();
+        long second = now / 1000L;
+
+        // Visit every slot between the last run and now (at most a whole lap).
+        for (long current = Math.max(wheelSecond, second - WHEEL_SLOTS + 1); current <= second; current++) {
+            Queue<WheelEntry> slot = wheel[(int) Math.floorMod(current, (long) WHEEL_SLOTS)];
+
+            for (int i = slot.size(); i > 0; i--) {
+                WheelEntry entry = slot.poll();
+                if (entry == null) break;
+
+                // Longer than a lap, keep it for the next one.
+                if (entry.finish() > now) {
+                    slot.add(entry);
+                    continue;
+                }
+
+                Cooldowns playerCooldowns = cooldowns.get(entry.player());
+                if (playerCooldowns == null) continue;
+
+                synchronized (playerCooldowns) {
+                    // Only if it wasn't renewed in the meantime.
+                    if (playerCooldowns.remove(entry.target(), entry.type(), entry.finish())) {
+                        removeIfEmpty(entry.player(), playerCooldowns);
+                    }
+                }
+            }
         }
-        return null;
+
+        wheelSecond = second + 1;
+    }
+
+    private record WheelEntry(UUID player, UUID target, int type, long finish) {
     }
 
-    public record InteractCooldown(UUID player, UUID villager, String type, long finish) {
+    /**
+     * Open addressing table from (target, type) to the finish time of a cooldown, with linear probing. Type ids start
+     * at 1, so a type of 0 is a free slot. Not thread-safe, callers synchronize on the instance.
+     */
+    private static final class Cooldowns {
+
+        private static final long NONE = Long.MIN_VALUE;
+        private static final int INITIAL_CAPACITY = 8;
+
+        private long[] mostBits = new long[INITIAL_CAPACITY];
+        private long[] leastBits = new long[INITIAL_CAPACITY];
+        private int[] types = new int[INITIAL_CAPACITY];
+        private long[] finishes = new long[INITIAL_CAPACITY];
+        private int size;
+
+        // Set once the table is removed from the map, after that, it must not be used.
+        private boolean removed;
+
+        private long get(@NotNull UUID target, int type) {
+            int index = indexOf(target.getMostSignificantBits(), target.getLeastSignificantBits(), type);
+            return index != -1 ? finishes[index] : NONE;
+        }
+
+        private void put(@NotNull UUID target, int type, long finish) {
+            // Keep the load factor under 0.5.
+            if ((size + 1) * 2 > types.length) resize(types.length * 2);
+
+            long most = target.getMostSignificantBits(), least = target.getLeastSignificantBits();
+            int mask = types.length - 1;
+            for (int index = hash(most, least, type) & mask; ; index = (index + 1) & mask) {
+                if (types[index] == 0) {
+                    mostBits[index] = most;
+                    leastBits[index] = least;
+                    types[index] = type;
+                    finishes[index] = finish;
+                    size++;
+                    return;
+                }
+                if (types[index] == type && mostBits[index] == most && leastBits[index] == least) {
+                    finishes[index] = finish;
+                    return;
+                }
+            }
+        }
+
+        private boolean remove(@NotNull UUID target, int type, long finish) {
+            int index = indexOf(target.getMostSignificantBits(), target.getLeastSignificantBits(), type);
+            if (index == -1 || finishes[index] != finish) return false;
+            removeAt(index);
+            return true;
+        }
+
+        private void removeType(int type) {
+            for (int index = 0; index < types.length; index++) {
+                // Removing shifts the next entries back, so the same slot is checked again.
+                while (types[index] == type) removeAt(index);
+            }
+        }
+
+        private void removeExpired(long now) {
+            for (int index = 0; index < types.length; index++) {
+                while (types[index] != 0 && finishes[index] <= now) removeAt(index);
+            }
+        }
+
+        private int indexOf(long most, long least, int type) {
+            int mask = types.length - 1;
+            for (int index = hash(most, least, type) & mask; types[index] != 0; index = (index + 1) & mask) {
+                if (types[index] == type && mostBits[index] == most && leastBits[index] == least) return index;
+            }
+            return -1;
+        }
+
+        // Backward shift deletion, so no tombstones are needed.
+        private void removeAt(int index) {
+            int mask = types.length - 1;
+            int free = index;
+            for (int next = (free + 1) & mask; types[next] != 0; next = (next + 1) & mask) {
+                int home = hash(mostBits[next], leastBits[next], types[next]) & mask;
+                // Move the entry back if its home slot isn't between the free slot and itself (cyclically).
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    mostBits[free] = mostBits[next];
+                    leastBits[free] = leastBits[next];
+                    types[free] = types[next];
+                    finishes[free] = finishes[next];
+                    free = next;
+                }
+            }
+            types[free] = 0;
+            size--;
+        }
+
+        private void resize(int capacity) {
+            long[] oldMost = mostBits, oldLeast = leastBits, oldFinishes = finishes;
+            int[] oldTypes = types;
+
+            mostBits = new long[capacity];
+            leastBits = new long[capacity];
+            types = new int[capacity];
+            finishes = new long[capacity];
+
+            int mask = capacity - 1;
+            for (int i = 0; i < oldTypes.length; i++) {
+                if (oldTypes[i] == 0) continue;
+
+                int index = hash(oldMost[i], oldLeast[i], oldTypes[i]) & mask;
+                while (types[index] != 0) index = (index + 1) & mask;
+
+                mostBits[index] = oldMost[i];
+                leastBits[index] = oldLeast[i];
+                types[index] = oldTypes[i];
+                finishes[index] = oldFinishes[i];
+            }
+        }
 
-        public boolean inCooldown() {
-            return finish > System.currentTimeMillis();
+        private static int hash(long most, long least, int type) {
+            long hash = (most ^ least) * 0x9E3779B97F4A7C15L + type;
+            hash ^= hash >>> 32;
+            return (int) (hash ^ (hash >>> 16));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,339 @@
+package me.matsubara.realisticvillagers.manager;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.data.LastKnownPosition;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Family graph of every villager (and player) keyed by UUID, with the parents, children and partners of each one.
+ * <p>
+ * The graph is a lookup index, the relatives saved in every villager are still the source of truth (villagers index
+ * themselves when spawned). Relationships are also appended to a log in the folder of the world they were created in
+ * ({@code data/realisticvillagers-lineage.log}), so they're known before the villagers involved are loaded again. The log
+ * is compacted (rewritten with only the edges of the world) when the world loads and unloads, or when it grows too much.
+ * <p>
+ * All the file I/O runs on a single writer thread, in order; the graph itself is updated on the caller's thread.
+ */
+public class LineageManager implements Listener {
+
+    private final RealisticVillagers plugin;
+    private final Map<UUID, Node> nodes = new ConcurrentHashMap<>();
+    private final Map<UUID, WorldLog> logs = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "RealisticVillagers-Lineage");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final String CHILD = "C";
+    private static final String PARTNER = "P";
+    private static final String FILE_NAME = "realisticvillagers-lineage.log";
+    private static final int MIN_LINES_TO_COMPACT = 1024;
+
+    public LineageManager(@NotNull RealisticVillagers plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+        // Worlds loaded before the plugin (after a reload).
+        for (World world : Bukkit.getWorlds()) {
+            open(world);
+        }
+    }
+
+    public void index(@Nullable IVillagerNPC npc) {
+        if (npc == null || npc.getUniqueId() == null) return;
+
+        UUID uuid = npc.getUniqueId();
+        LastKnownPosition position = npc.getLastKnownPosition();
+        World world = position != null ? Bukkit.getWorld(position.world()) : null;
+
+        IVillagerNPC father = npc.getFather(), mother = npc.getMother();
+        if (father != null) addChild(world, father.getUniqueId(), uuid);
+        if (mother != null) addChild(world, mother.getUniqueId(), uuid);
+
+        for (IVillagerNPC child : npc.getChildrens()) {
+            if (child != null) addChild(world, uuid, child.getUniqueId());
+        }
+
+        IVillagerNPC partner = npc.getPartner();
+        if (partner != null) addPartner(world, uuid, partner.getUniqueId());
+
+        for (IVillagerNPC old : npc.getPartners()) {
+            if (old != null) addPartner(world, uuid, old.getUniqueId());
+        }
+    }
+
+    /**
+     * @param world the world the relationship is saved in, if null (or not loaded), it's only kept in memory.
+     */
+    public void addChild(@Nullable World world, @Nullable UUID parent, @Nullable UUID child) {
+        if (parent == null || child == null || parent.equals(child)) return;
+
+        node(parent).children.add(child);
+        node(child).parents.add(parent);
+        append(world, new Edge(CHILD, parent, child));
+    }
+
+    /**
+     * @param world the world the relationship is saved in, if null (or not loaded), it's only kept in memory.
+     */
+    public void addPartner(@Nullable World world, @Nullable UUID first, @Nullable UUID second) {
+        if (first == null || second == null || first.equals(second)) return;
+
+        node(first).partners.add(second);
+        node(second).partners.add(first);
+        append(world, Edge.partner(first, second));
+    }
+
+    public boolean isParent(UUID parent, UUID child) {
+        Node node = nodes.get(child);
+        return node != null && node.parents.contains(parent);
+    }
+
+    public boolean isChild(UUID child, UUID parent) {
+        return isParent(parent, child);
+    }
+
+    /**
+     * @return whether one is the parent of the other (partners aren't considered family here).
+     */
+    public boolean isFamily(UUID first, UUID second) {
+        Node node = nodes.get(first);
+        return node != null && (node.parents.contains(second) || node.children.contains(second));
+    }
+
+    public boolean hasPartnered(UUID first, UUID second) {
+        Node node = nodes.get(first);
+        return node != null && node.partners.contains(second);
+    }
+
+    public Set<UUID> getParents(UUID uuid) {
+        Node node = nodes.get(uuid);
+        return node != null ? Collections.unmodifiableSet(node.parents) : Collections.emptySet();
+    }
+
+    public Set<UUID> getChildren(UUID uuid) {
+        Node node = nodes.get(uuid);
+        return node != null ? Collections.unmodifiableSet(node.children) : Collections.emptySet();
+    }
+
+    public Set<UUID> getPartners(UUID uuid) {
+        Node node = nodes.get(uuid);
+        return node != null ? Collections.unmodifiableSet(node.partners) : Collections.emptySet();
+    }
+
+    @EventHandler
+    public void onWorldLoad(@NotNull WorldLoadEvent event) {
+        open(event.getWorld());
+    }
+
+    @EventHandler
+    public void onWorldUnload(@NotNull WorldUnloadEvent event) {
+        WorldLog log = logs.remove(event.getWorld().getUID());
+        if (log != null) submit(() -> close(log));
+    }
+
+    public void shutdown() {
+        for (WorldLog log : logs.values()) {
+            submit(() -> close(log));
+        }
+        logs.clear();
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5L, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out while saving the lineage logs!");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private @NotNull Node node(UUID uuid) {
+        return nodes.computeIfAbsent(uuid, key -> new Node());
+    }
+
+    private void open(@NotNull World world) {
+        WorldLog log = new WorldLog(new File(world.getWorldFolder(), "data" + File.separator + FILE_NAME));
+        if (logs.putIfAbsent(world.getUID(), log) != null) return;
+
+        // The log of older versions (in the plugin folder) goes to the first world loaded, usually the main one.
+        File legacy = new File(plugin.getDataFolder(), "lineage.log");
+
+        submit(() -> {
+            load(log, log.file);
+            boolean migrated = legacy.isFile() && load(log, legacy);
+            compact(log);
+            if (migrated && !legacy.delete()) plugin.getLogger().warning("Couldn't delete the old lineage log!");
+        });
+    }
+
+    private void append(@Nullable World world, Edge edge) {
+        WorldLog log = world != null ? logs.get(world.getUID()) : null;
+
+        // Already in the log.
+        if (log == null || !log.edges.add(edge)) return;
+
+        submit(() -> {
+            // The world was unloaded in the meantime, the edge was saved when closing the log.
+            if (log.closed) return;
+
+            try {
+                if (log.writer == null) {
+                    Files.createDirectories(log.file.getParentFile().toPath());
+                    log.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(log.file, true), StandardCharsets.UTF_8));
+                }
+                log.writer.write(edge.line());
+                log.writer.flush();
+                log.lines++;
+            } catch (IOException exception) {
+                plugin.getLogger().log(Level.WARNING, "Couldn't append to the lineage log!", exception);
+            }
+
+            // Only duplicated or broken lines (e.g. a crash while writing) make the log bigger than the graph.
+            if (log.lines > MIN_LINES_TO_COMPACT && log.lines > log.edges.size() * 2) compact(log);
+        });
+    }
+
+    private void submit(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down, the logs are already being closed.
+        }
+    }
+
+    // Writer thread only.
+    private boolean load(@NotNull WorldLog log, @NotNull File file) {
+        if (!file.isFile()) return false;
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.lines++;
+
+                String[] data = line.split(" ");
+                if (data.length != 3) continue;
+
+                UUID first = parseUUID(data[1]), second = parseUUID(data[2]);
+                if (first == null || second == null) continue;
+
+                if (data[0].equals(CHILD)) {
+                    node(first).children.add(second);
+                    node(second).parents.add(first);
+                    log.edges.add(new Edge(CHILD, first, second));
+                } else if (data[0].equals(PARTNER)) {
+                    node(first).partners.add(second);
+                    node(second).partners.add(first);
+                    log.edges.add(Edge.partner(first, second));
+                }
+            }
+            return true;
+        } catch (IOException exception) {
+            plugin.getLogger().log(Level.WARNING, "Couldn't load the lineage log!", exception);
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the log with only the edges of its world (each one once). Writer thread only.
+     */
+    private void compact(@NotNull WorldLog log) {
+        closeWriter(log);
+
+        File temp = new File(log.file.getParentFile(), log.file.getName() + ".tmp");
+        int lines = 0;
+        try {
+            Files.createDirectories(log.file.getParentFile().toPath());
+            try (BufferedWriter out = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+                for (Edge edge : log.edges) {
+                    out.write(edge.line());
+                    lines++;
+                }
+            }
+            Files.move(temp.toPath(), log.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.lines = lines;
+        } catch (IOException exception) {
+            plugin.getLogger().log(Level.WARNING, "Couldn't compact the lineage log!", exception);
+        }
+    }
+
+    // Writer thread only.
+    private void close(@NotNull WorldLog log) {
+        if (log.closed) return;
+        compact(log);
+        closeWriter(log);
+        log.closed = true;
+    }
+
+    private void closeWriter(@NotNull WorldLog log) {
+        if (log.writer == null) return;
+        try {
+            log.writer.close();
+        } catch (IOException ignored) {
+        }
+        log.writer = null;
+    }
+
+    private static @Nullable UUID parseUUID(String string) {
+        try {
+            return UUID.fromString(string);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private record Edge(String type, UUID first, UUID second) {
+
+        // Partners are the same edge in both directions.
+        private static @NotNull Edge partner(@NotNull UUID first, @NotNull UUID second) {
+            return first.compareTo(second) <= 0 ? new Edge(PARTNER, first, second) : new Edge(PARTNER, second, first);
+        }
+
+        private @NotNull String line() {
+            return type + " " + first + " " + second + "\n";
+        }
+    }
+
+    private static class WorldLog {
+
+        private final File file;
+        private final Set<Edge> edges = ConcurrentHashMap.newKeySet();
+
+        // Only used by the writer thread.
+        private @Nullable Writer writer;
+        private int lines;
+        private boolean closed;
+
+        private WorldLog(File file) {
+            this.file = file;
+        }
+    }
+
+    private static class Node {
+
+        private final Set<UUID> parents = ConcurrentHashMap.newKeySet();
+        private final Set<UUID> children = ConcurrentHashMap.newKeySet();
+        private final Set<UUID> partners = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -0,0 +1,142 @@
+package me.matsubara.realisticvillagers.manager;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.data.AITier;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.ai.AIConversationManager;
+import me.matsubara.realisticvillagers.manager.ai.ReactionCache;
+import me.matsubara.realisticvillagers.manager.ai.tools.ToolCooldownManager;
+import me.matsubara.realisticvillagers.manager.ai.tools.ToolSystemManager;
+import me.matsubara.realisticvillagers.metrics.MetricsRegistry;
+import me.matsubara.realisticvillagers.npc.NPC;
+import me.matsubara.realisticvillagers.tracker.VillagerTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the {@link MetricsRegistry} of the plugin enabled (or not) as in the config, registers the gauges of every manager
+ * and writes the metrics to a Prometheus text file (to be read by node_exporter's textfile collector, for example).
+ */
+public class MetricsManager {
+
+    private final RealisticVillagers plugin;
+    private final MetricsRegistry registry;
+    private final AtomicBoolean exporting = new AtomicBoolean();
+    private long nextExport;
+
+    public MetricsManager(@NotNull RealisticVillagers plugin) {
+        this.plugin = plugin;
+        this.registry = plugin.getMetrics();
+        this.registry.setEnabled(Config.METRICS_ENABLED.asBool());
+        registerGauges();
+        this.plugin.getFoliaLib().getScheduler().runTimer(this::update, 20L, 20L);
+    }
+
+    public void export() {
+        if (!exporting.compareAndSet(false, true)) return;
+
+        String content = registry.toPrometheus();
+        Path file = new File(plugin.getDataFolder(), Config.METRICS_EXPORT_FILE.asString("metrics.prom")).toPath();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                // Write to a temporary file first, so the file is never read half-written.
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(temporary, content, StandardCharsets.UTF_8);
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException exception) {
+                plugin.getLogger().warning("Failed to export metrics to " + file.getFileName() + ": " + exception.getMessage());
+            } finally {
+                exporting.set(false);
+            }
+        });
+    }
+
+    private void update() {
+        boolean enabled = Config.METRICS_ENABLED.asBool();
+        registry.setEnabled(enabled);
+        if (!enabled) return;
+
+        long interval = Config.METRICS_EXPORT_INTERVAL.asLong() * 1000L;
+        if (interval <= 0L) return;
+
+        long now = System.currentTimeMillis();
+        if (now < nextExport) return;
+
+        nextExport = now + interval;
+        export();
+    }
+
+    private void registerGauges() {
+        registry.gauge("villagers", "Villagers spawned (with an NPC).", () -> {
+            VillagerTracker tracker = plugin.getTracker();
+            return tracker != null ? tracker.getPool().getNPCs().size() : 0;
+        });
+        registry.gauge("villagers_offline", "Villagers stored while their chunk is unloaded.", () -> {
+            VillagerTracker tracker = plugin.getTracker();
+            return tracker != null ? tracker.getOfflineVillagers().size() : 0;
+        });
+        registry.gauge("villagers_offline_bytes", "Memory used by villagers stored while their chunk is unloaded.", () -> {
+            VillagerTracker tracker = plugin.getTracker();
+            return tracker != null ? tracker.getOfflineVillagers().getResidentBytes() : 0;
+        });
+        registry.gauge("villagers_hibernating", "Villagers hibernating.", () -> {
+            VillagerTracker tracker = plugin.getTracker();
+            return tracker != null ? tracker.getHibernatingCount() : 0;
+        });
+        for (AITier tier : AITier.values()) {
+            registry.gauge("villagers_ai_tier", "Villagers in each AI tier.", "tier", tier.name().toLowerCase(Locale.ROOT), () -> {
+                VillagerTracker tracker = plugin.getTracker();
+                return tracker != null ? tracker.getAITierCounts()[tier.ordinal()] : 0;
+            });
+        }
+
+        PathCache paths = plugin.getPathCache();
+        registry.gauge("path_cache_paths", "Paths in the path cache.", paths::size);
+        registry.gauge("path_cache_hits", "Paths taken from the path cache.", paths::getHits);
+        registry.gauge("path_cache_misses", "Paths computed because they weren't in the path cache.", paths::getMisses);
+        registry.gauge("path_cache_invalidated", "Paths dropped from the path cache because of a block change.", paths::getInvalidatedCount);
+
+        FarmlandManager farmland = plugin.getFarmlandManager();
+        registry.gauge("farmland_plots", "Plots in the farmland registry.", farmland::size);
+        registry.gauge("farmland_claims", "Plots claimed by farmers.", farmland::getClaimCount);
+        registry.gauge("farmland_scans", "Scans done by farmers to find new plots.", farmland::getScanCount);
+
+        TimerWheelManager timers = plugin.getTimerWheelManager();
+        registry.gauge("timer_callbacks", "Repeating callbacks scheduled in timer wheels.", timers::getScheduledCount);
+        registry.gauge("timer_wheels", "Timer wheels running (one scheduler task each).", timers::getWheelCount);
+
+        BroadcastManager broadcast = plugin.getBroadcastManager();
+        registry.gauge("broadcast_packets_sent", "Sound and particle packets sent to players.", broadcast::getPacketsSent);
+        registry.gauge("broadcast_packets_saved", "Sound and particle packets not sent because nobody could see them.", broadcast::getPacketsSaved);
+        registry.gauge("npc_passenger_packets_sent", "Passenger packets sent to keep the nametags mounted on the NPCs.", NPC::getPassengerPacketsSent);
+
+        registry.gauge("ai_reaction_cache_hits", "Reactions taken from the reaction cache.", () -> ai(AIConversationManager::getReactionCache, ReactionCache::getHits));
+        registry.gauge("ai_reaction_cache_misses", "Reactions asked to the AI provider.", () -> ai(AIConversationManager::getReactionCache, ReactionCache::getMisses));
+        registry.gauge("ai_tool_cooldowns", "AI tool cooldowns stored.", () -> ai(this::getToolCooldowns, ToolCooldownManager::size));
+        registry.gauge("ai_tool_cooldowns_rejected", "AI tool uses rejected because of a cooldown.", () -> ai(this::getToolCooldowns, ToolCooldownManager::getRejectedCount));
+    }
+
+    private @Nullable ToolCooldownManager getToolCooldowns(@NotNull AIConversationManager manager) {
+        ToolSystemManager tools = manager.getToolSystemManager();
+        return tools != null ? tools.getCooldownManager() : null;
+    }
+
+    private <T> double ai(Function<AIConversationManager, T> getter, ToDoubleFunction<T> value) {
+        AIConversationManager manager = plugin.getAiConversationManager();
+        T target = manager != null ? getter.apply(manager) : null;
+        return target != null ? value.applyAsDouble(target) : 0.0d;
+    }
+}
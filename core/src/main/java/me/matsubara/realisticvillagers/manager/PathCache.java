@@ -0,0 +1,332 @@
+package me.matsubara.realisticvillagers.manager;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.files.Config;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.*;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paths computed by villagers, shared by every villager of the same world (so, by the whole village).
+ * <p>
+ * Paths are keyed by start block, end block, accuracy and navigation type; the path itself is opaque here, every NMS module
+ * stores its own paths and copies them before use. Cached paths are indexed by every chunk their bounding box touches,
+ * so a block change only checks the paths around it and drops those whose bounding box contains the block.
+ * Paths also expire after a while, for any change not caught by the events below.
+ */
+public class PathCache implements Listener {
+
+    private final Map<PathKey, CachedPath> paths = new ConcurrentHashMap<>();
+    private final Map<ChunkKey, Set<PathKey>> chunks = new ConcurrentHashMap<>();
+    private final long created = System.currentTimeMillis();
+
+    // Metrics.
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public PathCache(@NotNull RealisticVillagers plugin) {
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    public boolean isEnabled() {
+        return Config.PATH_CACHE_ENABLED.asBool();
+    }
+
+    /**
+     * @return the cached path (should be copied before use), or null if the caller should compute it
+     */
+    public @Nullable Object get(@NotNull PathKey key) {
+        CachedPath cached = paths.get(key);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        if (cached.isExpired(System.currentTimeMillis(), getTTL())) {
+            if (remove(key, cached)) expired.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return cached.path();
+    }
+
+    public void put(@NotNull PathKey key, @NotNull Object path, @NotNull Bounds bounds) {
+        CachedPath cached = new CachedPath(path, bounds, System.currentTimeMillis());
+
+        CachedPath previous = paths.put(key, cached);
+        if (previous != null) unindex(key, previous.bounds());
+        index(key, bounds);
+
+        int max = Math.max(1, Config.PATH_CACHE_MAX_PATHS.asInt());
+        if (paths.size() > max) evict(max);
+    }
+
+    public void invalidate(@NotNull Block block) {
+        invalidate(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    public void invalidate(UUID world, int x, int y, int z) {
+        ChunkKey chunk = new ChunkKey(world, x >> 4, z >> 4);
+
+        Set<PathKey> keys = chunks.get(chunk);
+        if (keys == null) return;
+
+        for (PathKey key : keys) {
+            CachedPath cached = paths.get(key);
+            if (cached == null) {
+                keys.remove(key);
+            } else if (cached.bounds().contains(x, y, z) && remove(key, cached)) {
+                invalidated.incrementAndGet();
+            }
+        }
+
+        chunks.computeIfPresent(chunk, (ignored, set) -> set.isEmpty() ? null : set);
+    }
+
+    public void clear() {
+        paths.clear();
+        chunks.clear();
+    }
+
+    public int size() {
+        return paths.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getInvalidatedCount() {
+        return invalidated.get();
+    }
+
+    public long getExpiredCount() {
+        return expired.get();
+    }
+
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    public double getHitRate() {
+        long hits = this.hits.get(), total = hits + misses.get();
+        return total == 0L ? 0.0d : (double) hits / total;
+    }
+
+    /**
+     * Average since the plugin was enabled, not a comparison: with the cache disabled, every request is a pathfind. The
+     * time saved per cached path shows up in the JFR pathfind events (cached and computed ones are told apart).
+     *
+     * @return the amount of paths requested per second, what would be computed without the cache
+     */
+    public double getRequestsPerSecond() {
+        return perSecond(hits.get() + misses.get());
+    }
+
+    /**
+     * Average since the plugin was enabled, like {@link #getRequestsPerSecond()}.
+     *
+     * @return the amount of paths actually computed per second (every miss is computed by the caller)
+     */
+    public double getPathfindsPerSecond() {
+        return perSecond(misses.get());
+    }
+
+    private double perSecond(long amount) {
+        double seconds = (System.currentTimeMillis() - created) / 1000.0d;
+        return seconds <= 0.0d ? 0.0d : amount / seconds;
+    }
+
+    private long getTTL() {
+        return Config.PATH_CACHE_TTL.asLong() * 1000L;
+    }
+
+    private boolean remove(PathKey key, CachedPath cached) {
+        if (!paths.remove(key, cached)) return false;
+        unindex(key, cached.bounds());
+        return true;
+    }
+
+    private void index(PathKey key, @NotNull Bounds bounds) {
+        for (int x = bounds.minX() >> 4; x <= bounds.maxX() >> 4; x++) {
+            for (int z = bounds.minZ() >> 4; z <= bounds.maxZ() >> 4; z++) {
+                chunks.computeIfAbsent(new ChunkKey(key.world(), x, z), ignored -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    private void unindex(PathKey key, @NotNull Bounds bounds) {
+        for (int x = bounds.minX() >> 4; x <= bounds.maxX() >> 4; x++) {
+            for (int z = bounds.minZ() >> 4; z <= bounds.maxZ() >> 4; z++) {
+                chunks.computeIfPresent(new ChunkKey(key.world(), x, z), (ignored, set) -> {
+                    set.remove(key);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+
+    private void evict(int max) {
+        // First, get rid of the expired ones.
+        long now = System.currentTimeMillis(), ttl = getTTL();
+        for (Map.Entry<PathKey, CachedPath> entry : paths.entrySet()) {
+            if (entry.getValue().isExpired(now, ttl) && remove(entry.getKey(), entry.getValue())) {
+                expired.incrementAndGet();
+            }
+        }
+        if (paths.size() <= max) return;
+
+        // Still full, drop the oldest ones (a tenth of the cache at once, so this doesn't run on every put).
+        List<Map.Entry<PathKey, CachedPath>> entries = new ArrayList<>(paths.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().created()));
+
+        int amount = entries.size() - max + max / 10;
+        for (int i = 0; i < amount && i < entries.size(); i++) {
+            Map.Entry<PathKey, CachedPath> entry = entries.get(i);
+            if (remove(entry.getKey(), entry.getValue())) evicted.incrementAndGet();
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent event) {
+        if (event instanceof BlockMultiPlaceEvent multi) {
+            for (BlockState state : multi.getReplacedBlockStates()) {
+                invalidate(state.getBlock());
+            }
+            return;
+        }
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(@NotNull BlockBurnEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(@NotNull BlockFadeEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(@NotNull BlockFormEvent event) {
+        // Also handles BlockSpreadEvent.
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(@NotNull BlockFromToEvent event) {
+        invalidate(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(@NotNull LeavesDecayEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(@NotNull EntityChangeBlockEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(@NotNull BlockExplodeEvent event) {
+        event.blockList().forEach(this::invalidate);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(@NotNull EntityExplodeEvent event) {
+        event.blockList().forEach(this::invalidate);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPistonExtend(@NotNull BlockPistonExtendEvent event) {
+        invalidatePiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPistonRetract(@NotNull BlockPistonRetractEvent event) {
+        invalidatePiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(@NotNull StructureGrowEvent event) {
+        for (BlockState state : event.getBlocks()) {
+            invalidate(state.getBlock());
+        }
+    }
+
+    @EventHandler
+    public void onWorldUnload(@NotNull WorldUnloadEvent event) {
+        UUID world = event.getWorld().getUID();
+        for (Map.Entry<PathKey, CachedPath> entry : paths.entrySet()) {
+            if (entry.getKey().world().equals(world)) remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void invalidatePiston(Block piston, @NotNull List<Block> blocks, BlockFace direction) {
+        invalidate(piston.getRelative(direction));
+        for (Block block : blocks) {
+            invalidate(block);
+            invalidate(block.getRelative(direction));
+        }
+    }
+
+    /**
+     * @param world    the world of the path
+     * @param start    the start block, packed as a long
+     * @param end      the end block, packed as a long
+     * @param accuracy the accuracy (distance to the end block considered as reached)
+     * @param type     the navigation type, paths can only be shared by mobs walking the same way
+     */
+    public record PathKey(UUID world, long start, long end, int accuracy, int type) {
+    }
+
+    /**
+     * Blocks that, when changed, invalidate a path (the path nodes, grown to include the blocks around them).
+     */
+    public record Bounds(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+
+        public boolean contains(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+    }
+
+    private record CachedPath(Object path, Bounds bounds, long created) {
+
+        public boolean isExpired(long now, long ttl) {
+            return ttl > 0L && now - created >= ttl;
+        }
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+}
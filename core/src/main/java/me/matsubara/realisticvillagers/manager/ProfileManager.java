@@ -0,0 +1,219 @@
+package me.matsubara.realisticvillagers.manager;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.files.Messages;
+import me.matsubara.realisticvillagers.metrics.jfr.*;
+import me.matsubara.realisticvillagers.util.PluginUtils;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Records the Java Flight Recorder events of the plugin for a few seconds (with /rv profile) and sends a summary of where
+ * the time went, by subsystem and by villager. The recording is kept in the profiles folder, so it can be opened with
+ * JDK Mission Control for the details; the events can also be recorded with any other JFR recording (like -XX:StartFlightRecording).
+ */
+public class ProfileManager {
+
+    private final RealisticVillagers plugin;
+    private final AtomicReference<Recording> recording = new AtomicReference<>();
+
+    public static final int MAX_SECONDS = 300;
+
+    private static final int TOP = 8;
+    private static final String BEHAVIOUR = "Villager Behaviour";
+    private static final String VILLAGER_TICK = "Villager Tick";
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT);
+    private static final List<Class<? extends VillagerEvent>> EVENTS = List.of(
+            VillagerTickEvent.class,
+            SensorEvent.class,
+            BehaviourEvent.class,
+            PathfindEvent.class,
+            PacketRewriteEvent.class,
+            SkinGenerationEvent.class,
+            AIRequestEvent.class);
+
+    public ProfileManager(RealisticVillagers plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean isRecording() {
+        return recording.get() != null;
+    }
+
+    /**
+     * Starts recording, the summary is sent to the sender once the time is over.
+     *
+     * @return false if the flight recorder isn't available or a profile is already being recorded
+     */
+    public boolean start(CommandSender sender, int seconds) {
+        if (!FlightRecorder.isAvailable()) return false;
+
+        Recording recording = new Recording();
+        recording.setName(plugin.getName());
+        for (Class<? extends VillagerEvent> event : EVENTS) {
+            recording.enable(event).withoutThreshold();
+        }
+
+        if (!this.recording.compareAndSet(null, recording)) {
+            recording.close();
+            return false;
+        }
+
+        recording.start();
+        plugin.getFoliaLib().getScheduler().runLater(() -> stop(sender, recording, seconds), seconds * 20L);
+        return true;
+    }
+
+    public void shutdown() {
+        Recording recording = this.recording.getAndSet(null);
+        if (recording != null) recording.close();
+    }
+
+    private void stop(CommandSender sender, Recording recording, int seconds) {
+        // The recording was closed on shutdown.
+        if (this.recording.get() != recording) return;
+
+        Path file = plugin.getDataFolder().toPath()
+                .resolve("profiles")
+                .resolve("profile-" + LocalDateTime.now().format(FILE_FORMAT) + ".jfr");
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                recording.stop();
+                Files.createDirectories(file.getParent());
+                recording.dump(file);
+                return summarize(file, seconds);
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }).whenComplete((lines, throwable) -> {
+            recording.close();
+            this.recording.compareAndSet(recording, null);
+
+            Runnable send = () -> {
+                if (lines != null) {
+                    lines.stream().map(PluginUtils::translate).forEach(sender::sendMessage);
+                } else {
+                    plugin.getMessages().send(sender, Messages.Message.PROFILE_FAILED, string -> string.replace("%error%", String.valueOf(throwable.getMessage())));
+                }
+            };
+
+            // Players are messaged from their own region (on Folia).
+            if (sender instanceof Player player) {
+                plugin.getFoliaLib().getScheduler().runAtEntity(player, task -> send.run());
+            } else {
+                plugin.getFoliaLib().getScheduler().runNextTick(task -> send.run());
+            }
+        });
+    }
+
+    private @NotNull List<String> summarize(Path file, int seconds) throws IOException {
+        Map<String, Stat> subsystems = new HashMap<>();
+        Map<String, Stat> operations = new HashMap<>();
+        Map<String, Stat> villagers = new HashMap<>();
+        Map<String, Stat> behaviours = new HashMap<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String subsystem = event.getEventType().getLabel();
+            String operation = event.getString("operation");
+            long nanos = event.getDuration().toNanos();
+
+            // Behaviours last from their start to their stop, that's not time spent by the server.
+            if (subsystem.equals(BEHAVIOUR)) {
+                behaviours.computeIfAbsent(operation, Stat::new).add(nanos);
+                continue;
+            }
+
+            subsystems.computeIfAbsent(subsystem, Stat::new).add(nanos);
+
+            // Every other event happens during a villager tick, so ticks are only counted by villager.
+            String villager = event.getString("villager");
+            if (subsystem.equals(VILLAGER_TICK)) {
+                if (villager != null) villagers.computeIfAbsent(villager, uuid -> new Stat(nameOf(event, uuid))).add(nanos);
+            } else if (operation != null) {
+                operations.computeIfAbsent(subsystem + ": " + operation, Stat::new).add(nanos);
+            }
+        }
+
+        Messages messages = plugin.getMessages();
+        String fileName = file.getFileName().toString();
+
+        List<String> lines = new ArrayList<>();
+        for (String header : messages.getMessages(Messages.Message.PROFILE_HEADER)) {
+            lines.add(header
+                    .replace("%seconds%", String.valueOf(seconds))
+                    .replace("%file%", fileName));
+        }
+
+        if (subsystems.isEmpty() && behaviours.isEmpty()) {
+            lines.add(messages.getMessage(Messages.Message.PROFILE_EMPTY));
+        } else {
+            String entry = messages.getMessage(Messages.Message.PROFILE_ENTRY);
+            lines.add(messages.getMessage(Messages.Message.PROFILE_SUBSYSTEMS));
+            top(subsystems, subsystems.size(), entry, lines);
+            lines.add(messages.getMessage(Messages.Message.PROFILE_OPERATIONS));
+            top(operations, TOP, entry, lines);
+            lines.add(messages.getMessage(Messages.Message.PROFILE_VILLAGERS));
+            top(villagers, TOP, entry, lines);
+            lines.add(messages.getMessage(Messages.Message.PROFILE_BEHAVIOURS));
+            top(behaviours, TOP, entry, lines);
+        }
+
+        lines.add(messages.getMessage(Messages.Message.PROFILE_FOOTER));
+        lines.removeIf(String::isEmpty);
+        return lines;
+    }
+
+    private @NotNull String nameOf(@NotNull RecordedEvent event, String uuid) {
+        String name = event.getString("villagerName");
+        return name != null ? name + " &8(" + uuid.substring(0, 8) + ")" : uuid;
+    }
+
+    private void top(@NotNull Map<String, Stat> stats, int limit, String entry, List<String> lines) {
+        stats.values().stream()
+                .sorted(Comparator.comparingLong(Stat::getTotal).reversed())
+                .limit(limit)
+                .map(stat -> entry
+                        .replace("%name%", stat.name)
+                        .replace("%count%", String.valueOf(stat.count))
+                        .replace("%total%", String.format(Locale.ROOT, "%.2f", stat.total / 1.0E6d))
+                        .replace("%max%", String.format(Locale.ROOT, "%.3f", stat.max / 1.0E6d)))
+                .forEach(lines::add);
+    }
+
+    private static final class Stat {
+
+        private final String name;
+        private long count;
+        private long total;
+        private long max;
+
+        private Stat(String name) {
+            this.name = name;
+        }
+
+        private void add(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        private long getTotal() {
+            return total;
+        }
+    }
+}
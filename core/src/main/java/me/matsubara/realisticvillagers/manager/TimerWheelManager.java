@@ -0,0 +1,198 @@
+package me.matsubara.realisticvillagers.manager;
+
+import com.tcoded.folialib.impl.PlatformScheduler;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.task.TimerHandle;
+import me.matsubara.realisticvillagers.task.TimerWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Short-lived repeating callbacks (animations, particles, head shakes, etc.), multiplexed in a {@link TimerWheel} per
+ * owner instead of a scheduler task each.
+ * <p>
+ * There's a wheel per entity (ticked by the entity scheduler), per chunk (ticked by the region scheduler) and a global one,
+ * so callbacks keep running on the same thread they would with their own task. Every wheel is ticked by a single task,
+ * started with its first callback and cancelled once its last callback is cancelled. Wheels whose owner is gone (the
+ * entity is no longer valid, or the chunk or its world unloaded) are retired, cancelling their callbacks; a wheel that
+ * only stopped ticking for a while (a lag spike) is never retired.
+ */
+public class TimerWheelManager {
+
+    private final RealisticVillagers plugin;
+    private final Map<Object, Wheel> wheels = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> scheduled = new ConcurrentHashMap<>();
+
+    public static final String BABY = "baby";
+    public static final String SHAKE_HEAD = "shake-head";
+    public static final String ITEM_DELIVERY = "item-delivery";
+    public static final String MONUMENT = "monument";
+    public static final String RAINBOW = "rainbow";
+    public static final String PREVIEW = "preview";
+    public static final String SKIN_PARTICLES = "skin-particles";
+
+    private static final Object GLOBAL_KEY = new Object();
+
+    public TimerWheelManager(@NotNull RealisticVillagers plugin) {
+        this.plugin = plugin;
+        this.plugin.getFoliaLib().getScheduler().runTimer(this::retireOrphanedWheels, 100L, 100L);
+    }
+
+    public TimerHandle runAtEntityTimer(String subsystem, @NotNull Entity entity, Runnable callback, long delay, long period) {
+        return runAtEntityTimer(subsystem, entity, handle -> callback.run(), delay, period);
+    }
+
+    public TimerHandle runAtEntityTimer(String subsystem, @NotNull Entity entity, Consumer<TimerHandle> callback, long delay, long period) {
+        return schedule(
+                entity.getUniqueId(),
+                (scheduler, runnable) -> scheduler.runAtEntityTimer(entity, runnable, 1L, 1L),
+                () -> !entity.isValid(),
+                new TimerHandle(subsystem, callback, delay, period));
+    }
+
+    public TimerHandle runAtLocationTimer(String subsystem, @NotNull Location location, Runnable callback, long delay, long period) {
+        return runAtLocationTimer(subsystem, location, handle -> callback.run(), delay, period);
+    }
+
+    public TimerHandle runAtLocationTimer(String subsystem, @NotNull Location location, Consumer<TimerHandle> callback, long delay, long period) {
+        World world = location.getWorld();
+        if (world == null) throw new IllegalArgumentException("The location must have a world!");
+
+        int chunkX = location.getBlockX() >> 4, chunkZ = location.getBlockZ() >> 4;
+        Location anchor = new Location(world, (chunkX << 4) + 8, location.getBlockY(), (chunkZ << 4) + 8);
+
+        UUID worldUUID = world.getUID();
+        return schedule(
+                new ChunkKey(worldUUID, chunkX, chunkZ),
+                (scheduler, runnable) -> scheduler.runAtLocationTimer(anchor, runnable, 1L, 1L),
+                () -> {
+                    World current = Bukkit.getWorld(worldUUID);
+                    return current == null || !current.isChunkLoaded(chunkX, chunkZ);
+                },
+                new TimerHandle(subsystem, callback, delay, period));
+    }
+
+    public TimerHandle runTimer(String subsystem, Runnable callback, long delay, long period) {
+        return runTimer(subsystem, handle -> callback.run(), delay, period);
+    }
+
+    public TimerHandle runTimer(String subsystem, Consumer<TimerHandle> callback, long delay, long period) {
+        return schedule(
+                GLOBAL_KEY,
+                (scheduler, runnable) -> scheduler.runTimer(runnable, 1L, 1L),
+                () -> false,
+                new TimerHandle(subsystem, callback, delay, period));
+    }
+
+    /**
+     * @return the amount of callbacks scheduled right now, by subsystem
+     */
+    public @NotNull Map<String, Integer> getScheduledCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        scheduled.forEach((subsystem, count) -> {
+            int amount = count.get();
+            if (amount > 0) counts.put(subsystem, amount);
+        });
+        return counts;
+    }
+
+    public int getScheduledCount() {
+        int total = 0;
+        for (AtomicInteger count : scheduled.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    /**
+     * @return the amount of wheels (so, of scheduler tasks) running right now
+     */
+    public int getWheelCount() {
+        return wheels.size();
+    }
+
+    public void shutdown() {
+        for (Object key : wheels.keySet()) {
+            Wheel wheel = wheels.remove(key);
+            if (wheel != null) wheel.close();
+        }
+    }
+
+    private @NotNull TimerHandle schedule(Object key, TaskStarter starter, BooleanSupplier orphaned, TimerHandle handle) {
+        scheduled.computeIfAbsent(handle.getSubsystem(), ignored -> new AtomicInteger()).incrementAndGet();
+
+        // Scheduling inside compute, so the wheel can't be closed for being empty at the same time.
+        wheels.compute(key, (ignored, wheel) -> {
+            // The owner is gone (e.g. the entity was loaded again as a new one), the old task won't tick anymore.
+            if (wheel != null && wheel.orphaned.getAsBoolean()) {
+                wheel.close();
+                wheel = null;
+            }
+            if (wheel == null) wheel = new Wheel(key, starter, orphaned);
+            wheel.timer.schedule(handle);
+            return wheel;
+        });
+        return handle;
+    }
+
+    private void onRemove(@NotNull TimerHandle handle) {
+        AtomicInteger count = scheduled.get(handle.getSubsystem());
+        if (count != null) count.decrementAndGet();
+    }
+
+    private void closeIfEmpty(Object key, Wheel wheel) {
+        wheels.computeIfPresent(key, (ignored, current) -> {
+            if (current != wheel || !wheel.timer.isEmpty()) return current;
+            wheel.close();
+            return null;
+        });
+    }
+
+    private void retireOrphanedWheels() {
+        for (Map.Entry<Object, Wheel> entry : wheels.entrySet()) {
+            Wheel wheel = entry.getValue();
+            if (!wheel.orphaned.getAsBoolean()) continue;
+            if (wheels.remove(entry.getKey(), wheel)) wheel.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TaskStarter {
+
+        WrappedTask start(PlatformScheduler scheduler, Runnable runnable);
+    }
+
+    private final class Wheel {
+        private final TimerWheel timer = new TimerWheel(TimerWheelManager.this::onRemove, plugin.getLogger());
+        private final WrappedTask task;
+        private final BooleanSupplier orphaned;
+
+        private Wheel(Object key, @NotNull TaskStarter starter, BooleanSupplier orphaned) {
+            this.orphaned = orphaned;
+            this.task = starter.start(plugin.getFoliaLib().getScheduler(), () -> {
+                timer.tick();
+                if (timer.isEmpty()) closeIfEmpty(key, this);
+            });
+        }
+
+        private void close() {
+            if (!task.isCancelled()) task.cancel();
+            timer.cancelAll();
+        }
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+}
@@ -14,6 +14,9 @@ import me.matsubara.realisticvillagers.manager.ai.tools.ToolSystemManager;
 import me.matsubara.realisticvillagers.manager.ai.tools.impl.InteractionTools;
 import me.matsubara.realisticvillagers.manager.ai.tools.impl.ItemTools;
 import me.matsubara.realisticvillagers.manager.ai.tools.impl.MovementTools;
+import me.matsubara.realisticvillagers.metrics.Counter;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.AIRequestEvent;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import okhttp3.*;
 import org.bukkit.Bukkit;
@@ -48,12 +51,15 @@ public class AIConversationManager {
     private static final int MAX_TOOL_ITERATIONS = 3;
 
     private final RealisticVillagers plugin;
+    private final Counter requestFailures;
     private FileConfiguration config;
     private OkHttpClient httpClient;
     private PersonalityBuilder personalityBuilder;
     private ConversationContext conversationContext;
     private ToolSystemManager toolSystemManager;
     private AIToolRegistry toolRegistry;
+    private ReactionBatcher reactionBatcher;
+    private ReactionCache reactionCache;
     private boolean debugEnabled;
     private boolean toolDebugEnabled;
 
@@ -70,6 +76,7 @@ public class AIConversationManager {
 
     public AIConversationManager(@NotNull RealisticVillagers plugin) {
         this.plugin = plugin;
+        this.requestFailures = plugin.getMetrics().counter("ai_request_failures_total", "AI requests that failed.");
         loadConfig();
         initialize();
         startDistanceCheckTask();
@@ -107,6 +114,8 @@ public class AIConversationManager {
         conversationContext = null;
         toolSystemManager = null;
         toolRegistry = null;
+        reactionBatcher = null;
+        reactionCache = null;
         boolean defaultDebug = config.getBoolean("debug.enabled", false);
         debugEnabled = config.getBoolean("debug.ai", defaultDebug);
         toolDebugEnabled = config.getBoolean("debug.tools", defaultDebug);
@@ -130,8 +139,10 @@ public class AIConversationManager {
             httpClient = createHttpClient(settings);
             providerSettings = settings;
             personalityBuilder = new PersonalityBuilder(config);
-            conversationContext = new ConversationContext(config, personalityBuilder);
+            conversationContext = new ConversationContext(plugin, config, personalityBuilder);
             setupToolSystem();
+            setupReactionBatcher();
+            setupReactionCache();
             plugin.getLogger().info("AI conversation system initialized successfully using " + providerType.displayName + "!");
         } catch (Exception exception) {
             plugin.getLogger().severe("Failed to initialize " + providerType.displayName + " client: " + exception.getMessage());
@@ -161,6 +172,14 @@ public class AIConversationManager {
             httpClient = null;
         }
         cancelDistanceCheckTask();
+        if (reactionBatcher != null) {
+            reactionBatcher.shutdown();
+            reactionBatcher = null;
+        }
+        if (reactionCache != null) {
+            reactionCache.save();
+            reactionCache = null;
+        }
         providerSettings = null;
         personalityBuilder = null;
         conversationContext = null;
@@ -377,7 +396,7 @@ public class AIConversationManager {
 
                 int historyLength = config.getInt("context.conversation-history-length", 3);
 
-                AIResponseParser.ParsedResponse parsedResponse = requestAIResponse(systemPrompt, history, message, historyLength);
+                AIResponseParser.ParsedResponse parsedResponse = requestAIResponse(npc, systemPrompt, history, message, historyLength);
                 if (parsedResponse == null) {
                     debug("AI response parsing failed for player %s and villager %s.", player.getName(), npc.getVillagerName());
                     return null;
@@ -483,7 +502,7 @@ public class AIConversationManager {
 
             iteration++;
 
-            AIResponseParser.ParsedResponse followUp = requestAIResponse(systemPrompt, history, null, historyLength);
+            AIResponseParser.ParsedResponse followUp = requestAIResponse(npc, systemPrompt, history, null, historyLength);
             if (followUp == null) {
                 plugin.getLogger().warning("Failed to obtain follow-up AI response after executing tools.");
                 lastAssistantText = assistantText;
@@ -498,10 +517,25 @@ public class AIConversationManager {
     }
 
     private @Nullable AIResponseParser.ParsedResponse requestAIResponse(
+            @NotNull IVillagerNPC npc,
             @NotNull String systemPrompt,
             @NotNull List<ConversationMessage> history,
             @Nullable String pendingUserMessage,
             int historyLength) {
+        return requestAIResponse(npc, systemPrompt, history, pendingUserMessage, historyLength, true, 0);
+    }
+
+    /**
+     * @param npc the villager talking, null if the request is for several villagers (like batched reactions)
+     */
+    private @Nullable AIResponseParser.ParsedResponse requestAIResponse(
+            @Nullable IVillagerNPC npc,
+            @NotNull String systemPrompt,
+            @NotNull List<ConversationMessage> history,
+            @Nullable String pendingUserMessage,
+            int historyLength,
+            boolean includeTools,
+            int maxTokens) {
 
         ProviderSettings settings = this.providerSettings;
         if (settings == null) {
@@ -513,7 +547,7 @@ public class AIConversationManager {
         JsonObject request = new JsonObject();
         request.addProperty("model", settings.getModel());
         request.addProperty("temperature", settings.getTemperature());
-        request.addProperty("max_tokens", settings.getMaxTokens());
+        request.addProperty("max_tokens", maxTokens > 0 ? maxTokens : settings.getMaxTokens());
 
         JsonArray messages = new JsonArray();
 
@@ -542,7 +576,7 @@ public class AIConversationManager {
         request.add("messages", messages);
 
         // Add native tool calling support if tools are enabled
-        if (toolRegistry != null && config.getBoolean("tools.enabled", false)) {
+        if (includeTools && toolRegistry != null && config.getBoolean("tools.enabled", false)) {
             JsonArray nativeTools = toolRegistry.buildNativeToolsArray();
             if (nativeTools.size() > 0) {
                 request.add("tools", nativeTools);
@@ -557,8 +591,16 @@ public class AIConversationManager {
                 .post(body)
                 .build();
 
+        Histogram timings = plugin.getMetrics().histogram("ai_request_seconds", "Time spent waiting for the AI provider.");
+        long start = timings.start();
+
+        AIRequestEvent profile = new AIRequestEvent();
+        profile.begin();
+
+        boolean success = false;
         try (Response response = httpClient.newCall(httpRequest).execute()) {
             if (!response.isSuccessful()) {
+                requestFailures.increment();
                 plugin.getLogger().warning("API request failed: " + response.code() + " " + response.message());
                 if (response.body() != null) {
                     plugin.getLogger().warning("Response body: " + response.body().string());
@@ -572,10 +614,22 @@ public class AIConversationManager {
                 return null;
             }
 
+            success = true;
             return AIResponseParser.parseResponse(responseBody);
         } catch (IOException exception) {
+            requestFailures.increment();
             plugin.getLogger().warning("Error calling AI provider: " + exception.getMessage());
             return null;
+        } finally {
+            timings.recordSince(start);
+
+            profile.end();
+            if (profile.shouldCommit()) {
+                profile.setOperation(settings.getModel());
+                profile.setSuccess(success);
+                if (npc != null) profile.setVillager(npc.getUniqueId(), npc.getVillagerName());
+                profile.commit();
+            }
         }
     }
 
@@ -672,6 +726,53 @@ public class AIConversationManager {
         plugin.getLogger().info("AI tool system initialized with " + registry.getAllTools().size() + " tools.");
     }
 
+    /**
+     * Initializes the batching of natural reactions, a batch size of 1 disables it.
+     */
+    private void setupReactionBatcher() {
+        boolean enabled = config.getBoolean("reactions.batching.enabled", true);
+        long window = config.getLong("reactions.batching.window-ms", 250L);
+        int maxBatchSize = enabled ? Math.max(1, config.getInt("reactions.batching.max-batch-size", 6)) : 1;
+        int regionSize = config.getInt("reactions.batching.region-size", 64);
+
+        reactionBatcher = new ReactionBatcher((systemPrompt, userMessage, lines) -> {
+            ProviderSettings settings = this.providerSettings;
+            if (settings == null) {
+                return null;
+            }
+
+            // Tools aren't allowed in reactions, and every line needs room in the response.
+            AIResponseParser.ParsedResponse parsed = requestAIResponse(
+                    null,
+                    systemPrompt,
+                    Collections.emptyList(),
+                    userMessage,
+                    0,
+                    false,
+                    settings.getMaxTokens() * lines);
+
+            debug("Reaction request for %d villager(s) %s", lines, parsed != null ? "succeeded" : "failed");
+            return parsed != null ? parsed.getText() : null;
+        }, task -> plugin.getFoliaLib().getScheduler().runAsync(ignored -> task.run()), window, maxBatchSize, regionSize);
+    }
+
+    /**
+     * Initializes the cache of natural reactions, loading the reactions saved on the last shutdown.
+     */
+    private void setupReactionCache() {
+        if (!config.getBoolean("reactions.cache.enabled", true)) {
+            return;
+        }
+
+        reactionCache = new ReactionCache(
+                new File(plugin.getDataFolder(), "reaction-cache.yml"),
+                plugin.getLogger(),
+                config.getLong("reactions.cache.ttl-minutes", 60L) * 60000L,
+                config.getInt("reactions.cache.max-situations", 500),
+                config.getInt("reactions.cache.variety", 4));
+        reactionCache.load();
+    }
+
     /**
      * Registers the base set of AI tools.
      */
@@ -721,11 +822,64 @@ public class AIConversationManager {
             @NotNull IVillagerNPC npc,
             @NotNull Player player,
             @NotNull String scenario) {
+        return generateNaturalReaction(npc, player, scenario, null);
+    }
 
-        if (!isConfigured() || conversationContext == null) {
+    /**
+     * Generates a natural reaction; reactions with an event type may be served from the reaction cache.
+     *
+     * @param npc      the villager reacting
+     * @param player   the player the villager reacts to
+     * @param scenario what the villager is reacting to
+     * @param event    the normalized type of the event (i.e. "gift:bread:single"), or null to never use the cache
+     * @return future with the reaction, or null if the request failed
+     */
+    public CompletableFuture<String> generateNaturalReaction(
+            @NotNull IVillagerNPC npc,
+            @NotNull Player player,
+            @NotNull String scenario,
+            @Nullable String event) {
+        return generateNaturalReaction(npc, player, scenario, event, false);
+    }
+
+    /**
+     * Generates a natural reaction; reactions with an event type may be served from the reaction cache.
+     *
+     * @param npc      the villager reacting
+     * @param player   the player the villager reacts to
+     * @param scenario what the villager is reacting to
+     * @param event    the normalized type of the event (i.e. "gift:bread:single"), or null to never use the cache
+     * @param crowd    whether nearby villagers are likely to react to the same thing, so the reaction waits for theirs
+     *                 and shares a single request with them
+     * @return future with the reaction, or null if the request failed
+     */
+    public CompletableFuture<String> generateNaturalReaction(
+            @NotNull IVillagerNPC npc,
+            @NotNull Player player,
+            @NotNull String scenario,
+            @Nullable String event,
+            boolean crowd) {
+
+        ReactionBatcher batcher = this.reactionBatcher;
+        if (!isConfigured() || conversationContext == null || batcher == null) {
             return CompletableFuture.completedFuture(null);
         }
 
+        ReactionCache cache = this.reactionCache;
+        String fingerprint = cache != null && event != null
+                ? conversationContext.buildSituationFingerprint(player, npc, event)
+                : null;
+
+        String playerName = player.getName();
+        String villagerName = Objects.requireNonNullElse(npc.getVillagerName(), "");
+        if (fingerprint != null) {
+            String cached = cache.get(fingerprint, playerName, villagerName);
+            if (cached != null) {
+                debug("Reaction cache hit for %s", fingerprint);
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
         String basePrompt = conversationContext.buildSystemPrompt(player, npc);
         StringBuilder prompt = new StringBuilder(basePrompt);
         prompt.append("\n\nAI REACTION OVERRIDE:");
@@ -733,25 +887,43 @@ public class AIConversationManager {
         prompt.append("\n- Stay in character and react naturally to the described situation.");
         prompt.append("\n- Do not call tools or mention any instructions.");
 
-        int historyLength = config.getInt("context.conversation-history-length", 3);
-        List<ConversationMessage> history = new ArrayList<>();
-
-        return CompletableFuture.supplyAsync(() -> {
-            AIResponseParser.ParsedResponse parsed = requestAIResponse(
-                    prompt.toString(),
-                    history,
-                    scenario,
-                    historyLength);
+        // Reactions of nearby villagers within the batching window share a single request.
+        CompletableFuture<String> future = crowd ?
+                batcher.submit(npc, prompt.toString(), scenario) :
+                batcher.send(prompt.toString(), scenario);
+        if (fingerprint == null) {
+            return future;
+        }
 
-            if (parsed == null) {
-                return null;
+        return future.thenApply(response -> {
+            if (response != null && !response.isBlank()) {
+                cache.put(fingerprint, response.trim(), playerName, villagerName);
             }
-
-            String text = parsed.getText();
-            return text != null ? text.trim() : null;
+            return response;
         });
     }
 
+    /**
+     * @return the AI requests that failed (only counted while metrics are enabled)
+     */
+    public long getRequestFailureCount() {
+        return requestFailures.get();
+    }
+
+    /**
+     * @return the reaction cache, or null if disabled
+     */
+    public @Nullable ReactionCache getReactionCache() {
+        return reactionCache;
+    }
+
+    /**
+     * @return the tool system, or null if tools are disabled
+     */
+    public @Nullable ToolSystemManager getToolSystemManager() {
+        return toolSystemManager;
+    }
+
     public @NotNull String formatVillagerMessage(@NotNull IVillagerNPC npc, @NotNull String response) {
         return ChatColor.GRAY + "[" + ChatColor.WHITE + npc.getVillagerName() + ChatColor.GRAY + " → You] " + ChatColor.RESET + response;
     }
@@ -1,6 +1,8 @@
 package me.matsubara.realisticvillagers.manager.ai;
 
+import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.manager.LineageManager;
 import org.bukkit.Location;
 import org.bukkit.Raid;
 import org.bukkit.World;
@@ -11,6 +13,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -18,10 +21,12 @@ import java.util.UUID;
  */
 public class ConversationContext {
 
+    private final RealisticVillagers plugin;
     private final ConfigurationSection config;
     private final PersonalityBuilder personalityBuilder;
 
-    public ConversationContext(@NotNull ConfigurationSection config, @NotNull PersonalityBuilder personalityBuilder) {
+    public ConversationContext(@NotNull RealisticVillagers plugin, @NotNull ConfigurationSection config, @NotNull PersonalityBuilder personalityBuilder) {
+        this.plugin = plugin;
         this.config = config;
         this.personalityBuilder = personalityBuilder;
     }
@@ -84,6 +89,39 @@ public class ConversationContext {
         return prompt.toString();
     }
 
+    /**
+     * Builds a normalized description of the situation a villager reacts to, used as the key of the reaction cache.
+     * Two reactions with the same fingerprint are expected to be interchangeable.
+     *
+     * @param player The player the villager reacts to
+     * @param npc The villager NPC
+     * @param event The event type (i.e. "gift:bread:single")
+     * @return The fingerprint
+     */
+    public @NotNull String buildSituationFingerprint(@NotNull Player player, @NotNull IVillagerNPC npc, @NotNull String event) {
+        UUID playerUUID = player.getUniqueId();
+        boolean isPartner = npc.isPartner(playerUUID);
+        LineageManager lineage = plugin.getLineageManager();
+        boolean isFamily = isPartner
+                || lineage.isChild(playerUUID, npc.getUniqueId())
+                || lineage.isParent(playerUUID, npc.getUniqueId());
+
+        String profession = npc.bukkit() instanceof Villager villager ? villager.getProfession().name() : "NONE";
+        String relationship = personalityBuilder.getRelationshipLevel(npc.getReputation(playerUUID), isFamily, isPartner);
+
+        World world = npc.bukkit() != null ? npc.bukkit().getWorld() : null;
+        String period = world != null ? getDayPeriod(world.getTime()) : "unknown";
+        String weather = world != null ? getWeatherDescription(world) : "unknown";
+
+        return String.join("|",
+                event.toLowerCase(Locale.ROOT),
+                profession.toLowerCase(Locale.ROOT),
+                npc.isFemale() ? "female" : "male",
+                relationship,
+                period,
+                weather);
+    }
+
     /**
      * Appends reputation/relationship context to the prompt.
      */
@@ -93,11 +131,11 @@ public class ConversationContext {
 
         // Check family relationships
         boolean isPartner = npc.isPartner(playerUUID);
+        LineageManager lineage = plugin.getLineageManager();
         // Check if player is a child of this villager
-        boolean isChild = npc.getChildrens().stream().anyMatch(child -> child.getUniqueId().equals(playerUUID));
+        boolean isChild = lineage.isChild(playerUUID, npc.getUniqueId());
         // Check if player is a parent of this villager
-        boolean isParent = (npc.getFather() != null && npc.getFather().getUniqueId().equals(playerUUID))
-                || (npc.getMother() != null && npc.getMother().getUniqueId().equals(playerUUID));
+        boolean isParent = lineage.isParent(playerUUID, npc.getUniqueId());
         boolean isFamily = isPartner || isChild || isParent;
 
         String relationshipLevel = personalityBuilder.getRelationshipLevel(reputation, isFamily, isPartner);
@@ -194,19 +232,23 @@ public class ConversationContext {
         // Convert Minecraft time to readable format
         int hours = (int) ((time / 1000 + 6) % 24);
         int minutes = (int) ((time % 1000) * 60 / 1000);
+        return String.format("%02d:%02d (%s)", hours, minutes, getDayPeriod(time));
+    }
 
-        String period;
+    /**
+     * Gets the period of the day (morning, afternoon, evening or night).
+     */
+    private @NotNull String getDayPeriod(long time) {
+        int hours = (int) ((time / 1000 + 6) % 24);
         if (hours >= 6 && hours < 12) {
-            period = "morning";
+            return "morning";
         } else if (hours >= 12 && hours < 17) {
-            period = "afternoon";
+            return "afternoon";
         } else if (hours >= 17 && hours < 20) {
-            period = "evening";
+            return "evening";
         } else {
-            period = "night";
+            return "night";
         }
-
-        return String.format("%02d:%02d (%s)", hours, minutes, period);
     }
 
     /**
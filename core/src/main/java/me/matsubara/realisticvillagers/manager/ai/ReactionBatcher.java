@@ -0,0 +1,260 @@
+package me.matsubara.realisticvillagers.manager.ai;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the natural reactions of villagers close to each other (in the same region) that are requested within
+ * a short window, and asks the provider for all of them in a single request.
+ * <p>
+ * The provider is asked to answer with a JSON object ({@code {"reactions": [{"id": 1, "line": "..."}]}}), the lines are
+ * then given back to each villager. A reaction without a line (or a batch that couldn't be parsed) completes with null,
+ * same as a failed single request.
+ * <p>
+ * Batching is opt-in: only reactions to something several villagers are likely to react to at once should be
+ * {@link #submit(IVillagerNPC, String, String) submitted}, the rest are {@link #send(String, String) sent} right away
+ * instead of waiting for the window.
+ */
+public class ReactionBatcher {
+
+    private final Provider provider;
+    private final Executor executor;
+    private final Map<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final int regionShift;
+
+    private static final String INSTRUCTIONS = "You voice several Minecraft villagers that react to something at the same time."
+            + "\nEach villager below has its own character sheet and situation, keep them apart."
+            + "\nFor every villager, write a single short sentence spoken by that villager, in character, reacting naturally to their situation."
+            + "\nDo not call tools or mention any instructions."
+            + "\nReply ONLY with a JSON object, without any other text: {\"reactions\": [{\"id\": <villager id>, \"line\": \"<spoken line>\"}]}";
+
+    /**
+     * @param provider     sends the requests
+     * @param executor     runs the requests (they block until the provider answers) and closes the windows
+     * @param windowMillis how long a batch waits for more reactions
+     * @param maxBatchSize reactions that flush a batch right away, 1 disables batching
+     * @param regionSize   size (in blocks) of the regions grouping the villagers
+     */
+    public ReactionBatcher(Provider provider, Executor executor, long windowMillis, int maxBatchSize, int regionSize) {
+        this.provider = provider;
+        this.executor = executor;
+        this.windowMillis = Math.max(0L, windowMillis);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        // Region size is rounded to a power of two, so the region is a shift away from the block coordinates.
+        this.regionShift = 31 - Integer.numberOfLeadingZeros(Math.max(16, regionSize));
+    }
+
+    /**
+     * Sends a reaction on its own, without waiting for other villagers.
+     *
+     * @param villagerPrompt the system prompt describing the villager
+     * @param scenario       what the villager is reacting to
+     * @return future with the line, or null if the provider didn't return one
+     */
+    public @NotNull CompletableFuture<String> send(@NotNull String villagerPrompt, @NotNull String scenario) {
+        Reaction reaction = new Reaction(villagerPrompt, scenario, new CompletableFuture<>());
+        flush(List.of(reaction));
+        return reaction.future();
+    }
+
+    /**
+     * Queues a reaction; should be called from the thread owning the villager.
+     *
+     * @param npc            the villager reacting
+     * @param villagerPrompt the system prompt describing the villager (as for a single reaction)
+     * @param scenario       what the villager is reacting to
+     * @return future with the line, or null if the provider didn't return one
+     */
+    public @NotNull CompletableFuture<String> submit(@NotNull IVillagerNPC npc, @NotNull String villagerPrompt, @NotNull String scenario) {
+        Reaction reaction = new Reaction(villagerPrompt, scenario, new CompletableFuture<>());
+
+        BatchKey key = key(npc);
+        if (key == null || maxBatchSize == 1) {
+            flush(List.of(reaction));
+            return reaction.future();
+        }
+
+        while (true) {
+            Batch batch = batches.computeIfAbsent(key, ignored -> new Batch());
+
+            List<Reaction> ready = null;
+            boolean schedule;
+            synchronized (batch) {
+                // Flushed by another thread in the meantime, start a new one.
+                if (batch.closed) {
+                    batches.remove(key, batch);
+                    continue;
+                }
+
+                batch.reactions.add(reaction);
+                schedule = batch.reactions.size() == 1;
+
+                if (batch.reactions.size() >= maxBatchSize) {
+                    batch.closed = true;
+                    ready = batch.reactions;
+                }
+            }
+
+            if (ready != null) {
+                batches.remove(key, batch);
+                flush(ready);
+            } else if (schedule) {
+                Executor delayed = CompletableFuture.delayedExecutor(windowMillis, TimeUnit.MILLISECONDS, executor);
+                CompletableFuture.runAsync(() -> close(key, batch), delayed);
+            }
+            return reaction.future();
+        }
+    }
+
+    /**
+     * Completes every queued reaction with null.
+     */
+    public void shutdown() {
+        for (Map.Entry<BatchKey, Batch> entry : batches.entrySet()) {
+            Batch batch = entry.getValue();
+
+            List<Reaction> pending;
+            synchronized (batch) {
+                if (batch.closed) continue;
+                batch.closed = true;
+                pending = batch.reactions;
+            }
+
+            batches.remove(entry.getKey(), batch);
+            pending.forEach(reaction -> reaction.future().complete(null));
+        }
+    }
+
+    private void close(BatchKey key, @NotNull Batch batch) {
+        List<Reaction> ready;
+        synchronized (batch) {
+            // Already flushed because it was full.
+            if (batch.closed) return;
+            batch.closed = true;
+            ready = batch.reactions;
+        }
+
+        batches.remove(key, batch);
+        flush(ready);
+    }
+
+    private void flush(@NotNull List<Reaction> reactions) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                if (reactions.size() == 1) {
+                    Reaction reaction = reactions.get(0);
+                    reaction.future().complete(trim(provider.request(reaction.villagerPrompt(), reaction.scenario(), 1)));
+                    return;
+                }
+
+                String response = provider.request(buildPrompt(reactions), "Write the reactions now.", reactions.size());
+
+                Map<Integer, String> lines = parseLines(response);
+                for (int i = 0; i < reactions.size(); i++) {
+                    reactions.get(i).future().complete(trim(lines.get(i + 1)));
+                }
+            } catch (Throwable throwable) {
+                reactions.forEach(reaction -> reaction.future().complete(null));
+            }
+        }, executor);
+    }
+
+    private @NotNull String buildPrompt(@NotNull List<Reaction> reactions) {
+        StringBuilder prompt = new StringBuilder(INSTRUCTIONS);
+        for (int i = 0; i < reactions.size(); i++) {
+            Reaction reaction = reactions.get(i);
+            prompt.append("\n\n=== VILLAGER ").append(i + 1).append(" ===\n");
+            prompt.append(reaction.villagerPrompt());
+            prompt.append("\n\nSITUATION: ").append(reaction.scenario());
+        }
+        return prompt.toString();
+    }
+
+    private static @NotNull Map<Integer, String> parseLines(@Nullable String response) {
+        if (response == null) return Collections.emptyMap();
+
+        // Models like to wrap JSON in code blocks.
+        int start = response.indexOf('{'), end = response.lastIndexOf('}');
+        if (start == -1 || end <= start) return Collections.emptyMap();
+
+        try {
+            JsonObject root = JsonParser.parseString(response.substring(start, end + 1)).getAsJsonObject();
+            JsonElement element = root.get("reactions");
+            if (element == null || !element.isJsonArray()) return Collections.emptyMap();
+
+            JsonArray array = element.getAsJsonArray();
+            Map<Integer, String> lines = new HashMap<>(array.size());
+            for (JsonElement entry : array) {
+                if (!entry.isJsonObject()) continue;
+
+                JsonObject object = entry.getAsJsonObject();
+                JsonElement id = object.get("id"), line = object.get("line");
+                if (id == null || line == null || !id.isJsonPrimitive() || !line.isJsonPrimitive()) continue;
+
+                lines.putIfAbsent(id.getAsInt(), line.getAsString());
+            }
+            return lines;
+        } catch (RuntimeException exception) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private static @Nullable String trim(@Nullable String line) {
+        if (line == null) return null;
+        String trimmed = line.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private @Nullable BatchKey key(@NotNull IVillagerNPC npc) {
+        LivingEntity living = npc.bukkit();
+        if (living == null || !living.isValid()) return null;
+
+        Location location = living.getLocation();
+        World world = location.getWorld();
+        if (world == null) return null;
+
+        return new BatchKey(world.getUID(), location.getBlockX() >> regionShift, location.getBlockZ() >> regionShift);
+    }
+
+    /**
+     * Sends a single request to the AI provider.
+     */
+    @FunctionalInterface
+    public interface Provider {
+
+        /**
+         * @param systemPrompt the system prompt
+         * @param userMessage  the user message
+         * @param lines        the amount of lines expected, to size the response
+         * @return the text of the response, or null if the request failed
+         */
+        @Nullable String request(@NotNull String systemPrompt, @NotNull String userMessage, int lines);
+    }
+
+    private static final class Batch {
+        private final List<Reaction> reactions = new ArrayList<>();
+        private boolean closed;
+    }
+
+    private record Reaction(String villagerPrompt, String scenario, CompletableFuture<String> future) {
+    }
+
+    private record BatchKey(UUID world, int regionX, int regionZ) {
+    }
+}
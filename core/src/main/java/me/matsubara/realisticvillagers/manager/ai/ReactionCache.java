@@ -0,0 +1,181 @@
+package me.matsubara.realisticvillagers.manager.ai;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Caches natural reactions by situation fingerprint (see {@link ConversationContext#buildSituationFingerprint}).
+ * <p>
+ * Every situation keeps a pool of up to {@code variety} different lines; until the pool is full, every reaction
+ * goes to the provider (and its line is added to the pool), after that, a random line from the pool is used.
+ * Situations expire {@code ttl} ms after their first line and the least recently used are dropped once there are
+ * more than {@code maxSituations}. The names of the player and the villager are stored as placeholders, so a line
+ * can be reused by anyone in the same situation.
+ */
+public class ReactionCache {
+
+    private final File file;
+    private final Logger logger;
+    private final long ttlMillis;
+    private final int maxSituations;
+    private final int variety;
+    private final LinkedHashMap<String, Situation> situations = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static final String PLAYER_PLACEHOLDER = "{player}";
+    private static final String VILLAGER_PLACEHOLDER = "{villager}";
+
+    public ReactionCache(File file, Logger logger, long ttlMillis, int maxSituations, int variety) {
+        this.file = file;
+        this.logger = logger;
+        this.ttlMillis = ttlMillis;
+        this.maxSituations = Math.max(1, maxSituations);
+        this.variety = Math.max(1, variety);
+    }
+
+    /**
+     * @return a cached line for this situation, or null if the provider should be asked for a new one
+     */
+    public @Nullable String get(@NotNull String fingerprint, @NotNull String playerName, @NotNull String villagerName) {
+        String line;
+        synchronized (situations) {
+            Situation situation = situations.get(fingerprint);
+            if (situation != null && situation.isExpired(ttlMillis, System.currentTimeMillis())) {
+                situations.remove(fingerprint);
+                situation = null;
+            }
+
+            // The pool isn't full yet, ask for a different line.
+            if (situation == null || situation.lines().size() < variety) {
+                misses.incrementAndGet();
+                return null;
+            }
+
+            line = situation.lines().get(ThreadLocalRandom.current().nextInt(situation.lines().size()));
+        }
+
+        hits.incrementAndGet();
+        return line.replace(PLAYER_PLACEHOLDER, playerName).replace(VILLAGER_PLACEHOLDER, villagerName);
+    }
+
+    public void put(@NotNull String fingerprint, @NotNull String line, @NotNull String playerName, @NotNull String villagerName) {
+        String generic = line;
+        if (!playerName.isEmpty()) generic = generic.replace(playerName, PLAYER_PLACEHOLDER);
+        if (!villagerName.isEmpty()) generic = generic.replace(villagerName, VILLAGER_PLACEHOLDER);
+
+        synchronized (situations) {
+            Situation situation = situations.get(fingerprint);
+            if (situation == null || situation.isExpired(ttlMillis, System.currentTimeMillis())) {
+                situation = new Situation(System.currentTimeMillis(), new ArrayList<>(variety));
+                situations.put(fingerprint, situation);
+            }
+
+            List<String> lines = situation.lines();
+            if (lines.size() < variety && !lines.contains(generic)) lines.add(generic);
+
+            // The first ones are the least recently used.
+            Iterator<String> iterator = situations.keySet().iterator();
+            while (situations.size() > maxSituations && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    public void load() {
+        if (!file.exists()) return;
+
+        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
+        long now = System.currentTimeMillis();
+
+        synchronized (situations) {
+            situations.clear();
+            for (Map<?, ?> map : config.getMapList("situations")) {
+                Object fingerprint = map.get("fingerprint");
+                Object created = map.get("created");
+                Object lines = map.get("lines");
+                if (!(fingerprint instanceof String key)
+                        || !(created instanceof Number number)
+                        || !(lines instanceof List<?> list)) continue;
+
+                Situation situation = new Situation(number.longValue(), new ArrayList<>(variety));
+                if (situation.isExpired(ttlMillis, now)) continue;
+
+                for (Object line : list) {
+                    if (line instanceof String string && situation.lines().size() < variety) situation.lines().add(string);
+                }
+                if (!situation.lines().isEmpty()) situations.put(key, situation);
+            }
+        }
+    }
+
+    public void save() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (situations) {
+            for (Map.Entry<String, Situation> entry : situations.entrySet()) {
+                Situation situation = entry.getValue();
+                if (situation.isExpired(ttlMillis, now)) continue;
+
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("fingerprint", entry.getKey());
+                map.put("created", situation.created());
+                map.put("lines", new ArrayList<>(situation.lines()));
+                list.add(map);
+            }
+        }
+
+        FileConfiguration config = new YamlConfiguration();
+        config.set("situations", list);
+        try {
+            config.save(file);
+        } catch (IOException exception) {
+            logger.warning("Failed to save " + file.getName() + ": " + exception.getMessage());
+        }
+    }
+
+    public int size() {
+        synchronized (situations) {
+            return situations.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return every hit is a reaction that didn't need a provider call
+     */
+    public long getProviderCallsSaved() {
+        return hits.get();
+    }
+
+    public double getHitRate() {
+        long hits = this.hits.get(), total = hits + misses.get();
+        return total == 0L ? 0.0d : (double) hits / total;
+    }
+
+    private record Situation(long created, List<String> lines) {
+
+        public boolean isExpired(long ttl, long now) {
+            return ttl > 0L && now - created >= ttl;
+        }
+    }
+}
@@ -2,96 +2,145 @@ package me.matsubara.realisticvillagers.manager.ai.tools;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Iterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Thread-safe cooldown manager for AI tools.
- * Tracks: Villager UUID -> Tool Name -> Player UUID -> Last Use Timestamp
+ * Tracks: (Villager UUID, Tool, Player UUID) -> Cooldown deadline
+ * <p>
+ * Every cooldown lives in a single flat map, keyed by the raw bits of both UUIDs and the tool id (tool names are
+ * interned to an int once). Expired cooldowns are swept at most every {@link #SWEEP_INTERVAL} ms by whoever uses
+ * the manager, so there's no task to cancel when the AI system is reloaded. The map is bounded by {@link #MAX_ENTRIES},
+ * once full, the cooldowns closest to expiring are dropped first.
  * <p>
  * This class is designed to be Folia-compatible and thread-safe.
  */
 public class ToolCooldownManager {
 
-    // Villager -> Tool -> Player -> Timestamp
-    private final Map<UUID, Map<String, Map<UUID, Long>>> cooldowns = new ConcurrentHashMap<>();
+    private final Map<CooldownKey, Long> cooldowns = new ConcurrentHashMap<>();
+    private final Map<String, Integer> toolIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextToolId = new AtomicInteger();
+    private final AtomicLong nextSweep = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    // Metrics.
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    private static final long SWEEP_INTERVAL = 30000L;
+    private static final int MAX_ENTRIES = 10000;
 
     /**
-     * Checks if a tool is on cooldown for a specific villager-player pair.
+     * Atomically checks if a tool is on cooldown and, if it isn't, starts the cooldown.
      *
      * @param villagerUUID    the villager's UUID
      * @param toolName        the tool name
      * @param playerUUID      the player's UUID
      * @param cooldownSeconds the cooldown duration in seconds
-     * @return true if on cooldown, false otherwise
+     * @return true if the cooldown was acquired (the tool can be used), false if on cooldown
      */
-    public boolean isOnCooldown(@NotNull UUID villagerUUID,
-                                @NotNull String toolName,
-                                @NotNull UUID playerUUID,
-                                int cooldownSeconds) {
-        if (cooldownSeconds <= 0) return false;
-
-        Map<String, Map<UUID, Long>> villagerCooldowns = cooldowns.get(villagerUUID);
-        if (villagerCooldowns == null) return false;
-
-        Map<UUID, Long> toolCooldowns = villagerCooldowns.get(toolName);
-        if (toolCooldowns == null) return false;
-
-        Long lastUse = toolCooldowns.get(playerUUID);
-        if (lastUse == null) return false;
+    public boolean tryAcquire(@NotNull UUID villagerUUID,
+                              @NotNull String toolName,
+                              @NotNull UUID playerUUID,
+                              int cooldownSeconds) {
+        if (cooldownSeconds <= 0) return true;
 
         long now = System.currentTimeMillis();
-        long cooldownMillis = cooldownSeconds * 1000L;
+        sweepIfNeeded(now);
+
+        long deadline = now + cooldownSeconds * 1000L;
+        CooldownKey key = key(villagerUUID, toolName, playerUUID);
+
+        // Only one thread can see the previous deadline as expired.
+        boolean[] success = new boolean[1];
+        cooldowns.compute(key, (ignored, current) -> {
+            if (current != null && current > now) return current;
+            success[0] = true;
+            return deadline;
+        });
+
+        if (success[0]) {
+            acquired.incrementAndGet();
+            if (cooldowns.size() > MAX_ENTRIES) evict(now);
+        } else {
+            rejected.incrementAndGet();
+        }
+        return success[0];
+    }
 
-        return (now - lastUse) < cooldownMillis;
+    /**
+     * Gives back a cooldown acquired with {@link #tryAcquire(UUID, String, UUID, int)}, for when the tool didn't run.
+     *
+     * @param villagerUUID the villager's UUID
+     * @param toolName     the tool name
+     * @param playerUUID   the player's UUID
+     */
+    public void release(@NotNull UUID villagerUUID,
+                        @NotNull String toolName,
+                        @NotNull UUID playerUUID) {
+        cooldowns.remove(key(villagerUUID, toolName, playerUUID));
     }
 
     /**
-     * Sets a cooldown for a tool.
+     * Checks if a tool is on cooldown for a specific villager-player pair.
      *
      * @param villagerUUID the villager's UUID
      * @param toolName     the tool name
      * @param playerUUID   the player's UUID
+     * @return true if on cooldown, false otherwise
      */
-    public void setCooldown(@NotNull UUID villagerUUID,
-                           @NotNull String toolName,
-                           @NotNull UUID playerUUID) {
-        cooldowns
-                .computeIfAbsent(villagerUUID, k -> new ConcurrentHashMap<>())
-                .computeIfAbsent(toolName, k -> new ConcurrentHashMap<>())
-                .put(playerUUID, System.currentTimeMillis());
+    public boolean isOnCooldown(@NotNull UUID villagerUUID,
+                                @NotNull String toolName,
+                                @NotNull UUID playerUUID) {
+        return getRemainingCooldown(villagerUUID, toolName, playerUUID) > 0L;
     }
 
     /**
-     * Gets the remaining cooldown in seconds.
+     * Sets a cooldown for a tool, replacing the current one.
      *
      * @param villagerUUID    the villager's UUID
      * @param toolName        the tool name
      * @param playerUUID      the player's UUID
      * @param cooldownSeconds the cooldown duration in seconds
-     * @return remaining seconds, or 0 if not on cooldown
      */
-    public int getRemainingCooldown(@NotNull UUID villagerUUID,
-                                    @NotNull String toolName,
-                                    @NotNull UUID playerUUID,
-                                    int cooldownSeconds) {
-        if (cooldownSeconds <= 0) return 0;
-
-        Map<String, Map<UUID, Long>> villagerCooldowns = cooldowns.get(villagerUUID);
-        if (villagerCooldowns == null) return 0;
+    public void setCooldown(@NotNull UUID villagerUUID,
+                            @NotNull String toolName,
+                            @NotNull UUID playerUUID,
+                            int cooldownSeconds) {
+        if (cooldownSeconds <= 0) return;
 
-        Map<UUID, Long> toolCooldowns = villagerCooldowns.get(toolName);
-        if (toolCooldowns == null) return 0;
+        long now = System.currentTimeMillis();
+        sweepIfNeeded(now);
 
-        Long lastUse = toolCooldowns.get(playerUUID);
-        if (lastUse == null) return 0;
+        cooldowns.put(key(villagerUUID, toolName, playerUUID), now + cooldownSeconds * 1000L);
+        if (cooldowns.size() > MAX_ENTRIES) evict(now);
+    }
 
-        long now = System.currentTimeMillis();
-        long cooldownMillis = cooldownSeconds * 1000L;
-        long remaining = cooldownMillis - (now - lastUse);
+    /**
+     * Gets the remaining cooldown in seconds (rounded up).
+     *
+     * @param villagerUUID the villager's UUID
+     * @param toolName     the tool name
+     * @param playerUUID   the player's UUID
+     * @return remaining seconds, or 0 if not on cooldown
+     */
+    public int getRemainingCooldown(@NotNull UUID villagerUUID,
+                                    @NotNull String toolName,
+                                    @NotNull UUID playerUUID) {
+        Long deadline = cooldowns.get(key(villagerUUID, toolName, playerUUID));
+        if (deadline == null) return 0;
 
-        return Math.max(0, (int) (remaining / 1000));
+        long remaining = deadline - System.currentTimeMillis();
+        return remaining > 0L ? (int) ((remaining + 999L) / 1000L) : 0;
     }
 
     /**
@@ -101,7 +150,8 @@ public class ToolCooldownManager {
      * @param villagerUUID the villager's UUID
      */
     public void clearVillagerCooldowns(@NotNull UUID villagerUUID) {
-        cooldowns.remove(villagerUUID);
+        long most = villagerUUID.getMostSignificantBits(), least = villagerUUID.getLeastSignificantBits();
+        cooldowns.keySet().removeIf(key -> key.villagerMost() == most && key.villagerLeast() == least);
     }
 
     /**
@@ -110,4 +160,80 @@ public class ToolCooldownManager {
     public void clearAllCooldowns() {
         cooldowns.clear();
     }
+
+    /**
+     * @return the amount of cooldowns currently stored (may include expired ones not swept yet)
+     */
+    public int size() {
+        return cooldowns.size();
+    }
+
+    public long getAcquiredCount() {
+        return acquired.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getExpiredCount() {
+        return expired.get();
+    }
+
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    private @NotNull CooldownKey key(@NotNull UUID villager, @NotNull String toolName, @NotNull UUID player) {
+        // Tool names are case-insensitive in the registry.
+        int tool = toolIds.computeIfAbsent(toolName.toLowerCase(Locale.ROOT), name -> nextToolId.getAndIncrement());
+        return new CooldownKey(
+                villager.getMostSignificantBits(),
+                villager.getLeastSignificantBits(),
+                player.getMostSignificantBits(),
+                player.getLeastSignificantBits(),
+                tool);
+    }
+
+    private void sweepIfNeeded(long now) {
+        long next = nextSweep.get();
+        if (now < next || !nextSweep.compareAndSet(next, now + SWEEP_INTERVAL)) return;
+        sweep(now);
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            Iterator<Map.Entry<CooldownKey, Long>> iterator = cooldowns.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getValue() > now) continue;
+                iterator.remove();
+                expired.incrementAndGet();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private void evict(long now) {
+        // First, get rid of the expired ones.
+        sweep(now);
+
+        // Still full, drop the ones that would expire first (those are the least harmful to forget).
+        while (cooldowns.size() > MAX_ENTRIES) {
+            CooldownKey soonest = null;
+            long soonestDeadline = Long.MAX_VALUE;
+            for (Map.Entry<CooldownKey, Long> entry : cooldowns.entrySet()) {
+                if (entry.getValue() < soonestDeadline) {
+                    soonestDeadline = entry.getValue();
+                    soonest = entry.getKey();
+                }
+            }
+            if (soonest == null || !cooldowns.remove(soonest, soonestDeadline)) break;
+            evicted.incrementAndGet();
+        }
+    }
+
+    private record CooldownKey(long villagerMost, long villagerLeast, long playerMost, long playerLeast, int tool) {
+    }
 }
@@ -95,18 +95,17 @@ public class ToolSystemManager {
 
         // TODO: Re-enable reputation checks when tool access balancing is finalized.
 
-        // Check cooldown
+        // Check cooldown (and reserve it, so the same tool can't run twice at the same time)
         int cooldownSeconds = registry.getCooldownSeconds(toolName);
-        if (cooldownManager.isOnCooldown(npc.getUniqueId(), toolName, player.getUniqueId(), cooldownSeconds)) {
-            int remaining = cooldownManager.getRemainingCooldown(
-                    npc.getUniqueId(), toolName, player.getUniqueId(), cooldownSeconds
-            );
+        if (!cooldownManager.tryAcquire(npc.getUniqueId(), toolName, player.getUniqueId(), cooldownSeconds)) {
+            int remaining = cooldownManager.getRemainingCooldown(npc.getUniqueId(), toolName, player.getUniqueId());
             debug("Tool '%s' on cooldown for %ds", toolName, remaining);
             return AIToolResult.failure("Tool on cooldown: " + toolName + " (wait " + remaining + "s)");
         }
 
         // Check if tool can execute in current context
         if (!tool.canExecute(npc, player, toolCall.getArguments())) {
+            cooldownManager.release(npc.getUniqueId(), toolName, player.getUniqueId());
             debug("Tool '%s' cannot execute in current context.", toolName);
             return AIToolResult.failure("Cannot execute " + toolName + " right now");
         }
@@ -115,15 +114,17 @@ public class ToolSystemManager {
         try {
             AIToolResult result = tool.execute(npc, player, toolCall.getArguments());
 
-            // Set cooldown only on success
+            // Keep the cooldown only on success
             if (result.isSuccess()) {
-                cooldownManager.setCooldown(npc.getUniqueId(), toolName, player.getUniqueId());
                 debug("Cooldown set for tool '%s' for %ds", toolName, cooldownSeconds);
+            } else {
+                cooldownManager.release(npc.getUniqueId(), toolName, player.getUniqueId());
             }
 
             return result;
 
         } catch (Exception e) {
+            cooldownManager.release(npc.getUniqueId(), toolName, player.getUniqueId());
             plugin.getLogger().warning("Error executing tool " + toolName + ": " + e.getMessage());
             e.printStackTrace();
             return AIToolResult.failure("Error executing " + toolName + ": " + e.getMessage());
@@ -5,6 +5,7 @@ import me.matsubara.realisticvillagers.data.ExpectingType;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.manager.ExpectingManager;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
 import me.matsubara.realisticvillagers.manager.ai.tools.AITool;
 import me.matsubara.realisticvillagers.manager.ai.tools.AIToolResult;
 import me.matsubara.realisticvillagers.manager.ai.tools.ToolCategory;
@@ -170,7 +171,7 @@ public class ItemTools {
             // Use an array to store mutable tick counter
             final long[] tickCounter = {0};
 
-            PLUGIN.getFoliaLib().getScheduler().runAtEntityTimer(entity, task -> {
+            PLUGIN.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.ITEM_DELIVERY, entity, task -> {
                 if (!entity.isValid() || !player.isOnline()) {
                     task.cancel();
                     return;
@@ -183,7 +184,7 @@ public class ItemTools {
                     task.cancel();
                     dropItemForPlayer(villager, itemsToDrop);
                     // Play happy effect
-                    entity.playEffect(org.bukkit.EntityEffect.VILLAGER_HAPPY);
+                    villager.playEffect(org.bukkit.EntityEffect.VILLAGER_HAPPY);
                     return;
                 }
 
@@ -1,10 +1,11 @@
 package me.matsubara.realisticvillagers.manager.revive;
 
 import com.google.common.collect.ImmutableList;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import lombok.Getter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
+import me.matsubara.realisticvillagers.task.TimerHandle;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import org.bukkit.*;
 import org.bukkit.block.Block;
@@ -37,7 +38,7 @@ public class MonumentAnimation {
     private final @Nullable BossBar display;
     private final float spawnYaw;
     private final BlockFace[] fixedMonument;
-    private WrappedTask task;
+    private TimerHandle task;
 
     private int stage = 0;
     private int count = 0;
@@ -74,13 +75,11 @@ public class MonumentAnimation {
     }
 
     public void start() {
-        task = plugin.getFoliaLib().getScheduler().runAtLocationTimer(block.getLocation(), this::run, 0L, 1L);
+        task = plugin.getTimerWheelManager().runAtLocationTimer(TimerWheelManager.MONUMENT, block.getLocation(), this::run, 0L, 1L);
     }
 
     public void cancel() {
-        if (task != null && !task.isCancelled()) {
-            task.cancel();
-        }
+        if (task != null) task.cancel();
     }
 
     public int getTaskId() {
@@ -141,9 +140,9 @@ public class MonumentAnimation {
                 });
 
         ThreadLocalRandom random = ThreadLocalRandom.current();
-        world.spawnParticle(
-                Particle.VILLAGER_ANGRY,
+        plugin.getBroadcastManager().spawnParticle(
                 target.clone().add(0.5d, 1.5d, 0.5d),
+                Particle.VILLAGER_ANGRY,
                 1,
                 random.nextGaussian() * 0.02d,
                 random.nextGaussian() * 0.02d,
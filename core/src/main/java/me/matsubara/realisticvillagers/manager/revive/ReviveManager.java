@@ -95,11 +95,9 @@ public class ReviveManager implements Listener {
         }
 
         // Villager already exists, cancel to prevent duplicated entity.
-        for (IVillagerNPC offline : plugin.getTracker().getOfflineVillagers()) {
-            if (offline.getUniqueId().equals(npc.getUniqueId())) {
-                plugin.getMessages().send(player, Messages.Message.INTERACT_FAIL_ALREADY_ALIVE);
-                return false;
-            }
+        if (plugin.getTracker().getOfflineVillagers().contains(npc.getUniqueId())) {
+            plugin.getMessages().send(player, Messages.Message.INTERACT_FAIL_ALREADY_ALIVE);
+            return false;
         }
 
         runningTasks.put(block, new MonumentAnimation(plugin, tag, block));
@@ -0,0 +1,27 @@
+package me.matsubara.realisticvillagers.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonic counter; does nothing while metrics are disabled.
+ */
+public final class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter(MetricsRegistry registry, String name, String help, String labels) {
+        super(registry, name, help, labels);
+    }
+
+    public void increment() {
+        if (registry.isEnabled()) value.increment();
+    }
+
+    public void add(long amount) {
+        if (registry.isEnabled()) value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,24 @@
+package me.matsubara.realisticvillagers.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A value read only when exported, so it costs nothing in between.
+ */
+public final class Gauge extends Metric {
+
+    private final DoubleSupplier supplier;
+
+    Gauge(MetricsRegistry registry, String name, String help, String labels, DoubleSupplier supplier) {
+        super(registry, name, help, labels);
+        this.supplier = supplier;
+    }
+
+    public double get() {
+        try {
+            return supplier.getAsDouble();
+        } catch (RuntimeException exception) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package me.matsubara.realisticvillagers.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram in nanoseconds, with log-linear buckets (as in HdrHistogram): every power of two is split in
+ * {@link #SUB_BUCKETS} buckets, so any recorded value is within 12.5% of its bucket, from 1 ns to hundreds of years,
+ * with a fixed array and a couple of atomic operations per record.
+ * <p>
+ * Timing is done with {@link #start()} and {@link #recordSince(long)}; while metrics are disabled, start returns 0 without
+ * reading the clock and nothing is recorded.
+ */
+public final class Histogram extends Metric {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(MetricsRegistry registry, String name, String help, String labels) {
+        super(registry, name, help, labels);
+    }
+
+    /**
+     * @return the start time to give to {@link #recordSince(long)}, 0 if metrics are disabled
+     */
+    public long start() {
+        return registry.isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    public void recordSince(long start) {
+        if (start != 0L) record(System.nanoTime() - start);
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0L) return;
+
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        sum.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param quantile from 0.0 to 1.0
+     * @return the value (in nanoseconds) below which that part of the records are, 0 if there aren't any records
+     */
+    public long getQuantile(double quantile) {
+        long total = 0L;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts[i] = buckets.get(i);
+        }
+        if (total == 0L) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            // The highest value of the bucket, but never above the highest value recorded.
+            if (seen >= rank) return Math.min(upperBoundOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long upperBoundOf(int bucket) {
+        return bucket + 1 < BUCKETS ? lowerBoundOf(bucket + 1) - 1L : Long.MAX_VALUE;
+    }
+}
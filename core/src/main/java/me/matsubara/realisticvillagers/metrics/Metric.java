@@ -0,0 +1,29 @@
+package me.matsubara.realisticvillagers.metrics;
+
+import lombok.Getter;
+
+/**
+ * A metric of a {@link MetricsRegistry}, identified by its name and labels (already formatted, like {@code sensor="items"}).
+ */
+@Getter
+public abstract class Metric {
+
+    protected final MetricsRegistry registry;
+    private final String name;
+    private final String help;
+    private final String labels;
+
+    Metric(MetricsRegistry registry, String name, String help, String labels) {
+        this.registry = registry;
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    /**
+     * @return the name with its labels, as shown in the exported file
+     */
+    public String getId() {
+        return labels.isEmpty() ? name : name + "{" + labels + "}";
+    }
+}
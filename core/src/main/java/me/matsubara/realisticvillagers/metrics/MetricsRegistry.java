@@ -0,0 +1,150 @@
+package me.matsubara.realisticvillagers.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * In-process metrics: counters, gauges and latency histograms, exported in the Prometheus text format.
+ * <p>
+ * Metrics are registered once (usually in a static field) and updated from any thread without locks. Registering the same
+ * name and labels twice returns the same metric. Metrics are disabled until {@link #setEnabled(boolean)} is called, while
+ * disabled, counters and histograms don't do anything besides reading a volatile field.
+ */
+public class MetricsRegistry {
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public static final String PREFIX = "realisticvillagers_";
+
+    private static final double[] QUANTILES = {0.5d, 0.9d, 0.99d};
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public @NotNull Counter counter(String name, String help) {
+        return counter(name, help, null, null);
+    }
+
+    public @NotNull Counter counter(String name, String help, String label, String value) {
+        String labels = labels(label, value);
+        return register(name, labels, Counter.class, () -> new Counter(this, name, help, labels));
+    }
+
+    public @NotNull Histogram histogram(String name, String help) {
+        return histogram(name, help, null, null);
+    }
+
+    public @NotNull Histogram histogram(String name, String help, String label, String value) {
+        String labels = labels(label, value);
+        return register(name, labels, Histogram.class, () -> new Histogram(this, name, help, labels));
+    }
+
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        gauge(name, help, null, null, supplier);
+    }
+
+    /**
+     * Registers a gauge, replacing the previous one with the same name and labels (if any).
+     */
+    public void gauge(String name, String help, String label, String value, DoubleSupplier supplier) {
+        String labels = labels(label, value);
+        Gauge gauge = new Gauge(this, name, help, labels, supplier);
+        metrics.put(gauge.getId(), gauge);
+    }
+
+    /**
+     * @return every histogram with at least a record, sorted by id
+     */
+    public @NotNull List<Histogram> getHistograms() {
+        List<Histogram> histograms = new ArrayList<>();
+        for (Metric metric : sorted()) {
+            if (metric instanceof Histogram histogram && histogram.getCount() > 0L) histograms.add(histogram);
+        }
+        return histograms;
+    }
+
+    /**
+     * @return every metric in the Prometheus text format (histograms as summaries, in seconds)
+     */
+    public @NotNull String toPrometheus() {
+        StringBuilder builder = new StringBuilder();
+        String lastName = null;
+
+        for (Metric metric : sorted()) {
+            String name = PREFIX + metric.getName();
+
+            // Metrics with the same name (but other labels) share the header.
+            boolean header = !name.equals(lastName);
+            lastName = name;
+
+            if (metric instanceof Counter counter) {
+                if (header) header(builder, name, metric.getHelp(), "counter");
+                sample(builder, name, metric.getLabels(), null, counter.get());
+            } else if (metric instanceof Gauge gauge) {
+                if (header) header(builder, name, metric.getHelp(), "gauge");
+                sample(builder, name, metric.getLabels(), null, gauge.get());
+            } else if (metric instanceof Histogram histogram) {
+                if (header) header(builder, name, metric.getHelp(), "summary");
+                for (double quantile : QUANTILES) {
+                    sample(builder, name, metric.getLabels(), "quantile=\"" + quantile + "\"", histogram.getQuantile(quantile) / 1.0E9d);
+                }
+                sample(builder, name + "_sum", metric.getLabels(), null, histogram.getSum() / 1.0E9d);
+                sample(builder, name + "_count", metric.getLabels(), null, histogram.getCount());
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private <T extends Metric> @NotNull T register(String name, String labels, Class<T> type, Supplier<T> creator) {
+        String id = labels.isEmpty() ? name : name + "{" + labels + "}";
+        Metric metric = metrics.computeIfAbsent(id, ignored -> creator.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + id + " is already registered as " + metric.getClass().getSimpleName() + "!");
+        }
+        return type.cast(metric);
+    }
+
+    private @NotNull List<Metric> sorted() {
+        List<Metric> sorted = new ArrayList<>(metrics.values());
+        sorted.sort(Comparator.comparing(Metric::getName).thenComparing(Metric::getLabels));
+        return sorted;
+    }
+
+    private static @NotNull String labels(String label, String value) {
+        if (label == null || value == null) return "";
+        return label + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private static void header(@NotNull StringBuilder builder, String name, String help, String type) {
+        builder.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(@NotNull StringBuilder builder, String name, @NotNull String labels, String extra, double value) {
+        builder.append(name);
+        if (!labels.isEmpty() || extra != null) {
+            builder.append('{').append(labels);
+            if (!labels.isEmpty() && extra != null) builder.append(',');
+            if (extra != null) builder.append(extra);
+            builder.append('}');
+        }
+        builder.append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (value == (long) value) return Long.toString((long) value);
+        return String.format(Locale.ROOT, "%.9g", value);
+    }
+}
@@ -0,0 +1,18 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.AIRequest")
+@Label("AI Request")
+@Description("A request to the AI provider, the operation is the model.")
+public final class AIRequestEvent extends VillagerEvent {
+
+    @Label("Success")
+    private boolean success;
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+}
@@ -0,0 +1,11 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.Behaviour")
+@Label("Villager Behaviour")
+@Description("A behaviour of a villager, from its start to its stop (the operation is the behaviour).")
+public final class BehaviourEvent extends VillagerEvent {
+}
@@ -0,0 +1,56 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.EventType;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Turns the running behaviours of a villager into {@link BehaviourEvent}s, from the tick they start until the tick they
+ * stop. Behaviours are only compared while a recording wants them.
+ */
+public final class BehaviourProfiler {
+
+    private static final EventType TYPE = EventType.getEventType(BehaviourEvent.class);
+
+    private final Map<Object, BehaviourEvent> running = new IdentityHashMap<>();
+
+    public static boolean isEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    public void update(Entity villager, @NotNull Collection<?> behaviours) {
+        Set<Object> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object behaviour : behaviours) {
+            current.add(behaviour);
+            running.computeIfAbsent(behaviour, BehaviourProfiler::start);
+        }
+
+        Iterator<Map.Entry<Object, BehaviourEvent>> iterator = running.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Object, BehaviourEvent> entry = iterator.next();
+            if (current.contains(entry.getKey())) continue;
+
+            entry.getValue().commit(villager);
+            iterator.remove();
+        }
+    }
+
+    public void clear() {
+        if (!running.isEmpty()) running.clear();
+    }
+
+    private static @NotNull BehaviourEvent start(@NotNull Object behaviour) {
+        BehaviourEvent event = new BehaviourEvent();
+        event.setOperation(nameOf(behaviour.getClass()));
+        event.begin();
+        return event;
+    }
+
+    private static @NotNull String nameOf(@NotNull Class<?> clazz) {
+        // Anonymous behaviours (and lambdas) don't have a simple name.
+        String name = clazz.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
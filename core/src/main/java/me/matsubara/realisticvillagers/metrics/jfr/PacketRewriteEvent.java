@@ -0,0 +1,11 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.PacketRewrite")
+@Label("Packet Rewrite")
+@Description("A packet about a villager being rewritten (or cancelled) before being sent, the operation is the packet type.")
+public final class PacketRewriteEvent extends VillagerEvent {
+}
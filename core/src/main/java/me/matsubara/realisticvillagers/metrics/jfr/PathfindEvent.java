@@ -0,0 +1,25 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.Pathfind")
+@Label("Villager Pathfind")
+@Description("A path being created for a villager, taken from the path cache or computed.")
+public final class PathfindEvent extends VillagerEvent {
+
+    @Label("Cached")
+    private boolean cached;
+
+    @Label("Nodes")
+    private int nodes;
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+}
@@ -0,0 +1,11 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.Sensor")
+@Label("Villager Sensor")
+@Description("A sensor of a villager being ticked, the operation is the sensor.")
+public final class SensorEvent extends VillagerEvent {
+}
@@ -0,0 +1,11 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.SkinGeneration")
+@Label("Skin Generation")
+@Description("A skin being generated (with MineSkin) for a villager, the operation is the skin.")
+public final class SkinGenerationEvent extends VillagerEvent {
+}
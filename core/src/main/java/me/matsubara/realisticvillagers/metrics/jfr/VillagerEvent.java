@@ -0,0 +1,71 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * A Java Flight Recorder event of the plugin, tagged with the villager involved (if any) and its region (32x32 chunks).
+ * <p>
+ * Creating and timing an event costs next to nothing while no recording is running, so the tags are only filled
+ * (through {@link #commit(Entity)}) when the event is going to be recorded.
+ */
+@Category("RealisticVillagers")
+@StackTrace(false)
+public abstract class VillagerEvent extends Event {
+
+    @Label("Operation")
+    protected String operation;
+
+    @Label("Villager")
+    protected String villager;
+
+    @Label("Villager Name")
+    protected String villagerName;
+
+    @Label("World")
+    protected String world;
+
+    @Label("Region X")
+    protected int regionX;
+
+    @Label("Region Z")
+    protected int regionZ;
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setVillager(UUID uuid, String name) {
+        this.villager = uuid.toString();
+        this.villagerName = name;
+    }
+
+    public void setVillager(@Nullable Entity entity) {
+        if (entity == null) return;
+
+        setVillager(entity.getUniqueId(), entity.getName());
+
+        Location location = entity.getLocation();
+        if (location.getWorld() != null) world = location.getWorld().getName();
+        regionX = location.getBlockX() >> 9;
+        regionZ = location.getBlockZ() >> 9;
+    }
+
+    /**
+     * Ends the event and records it for the given villager, if a recording wants it.
+     */
+    public void commit(@Nullable Entity entity) {
+        end();
+        if (!shouldCommit()) return;
+
+        setVillager(entity);
+        commit();
+    }
+}
@@ -0,0 +1,11 @@
+package me.matsubara.realisticvillagers.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("realisticvillagers.VillagerTick")
+@Label("Villager Tick")
+@Description("A villager being ticked (movement, sensors and behaviours).")
+public final class VillagerTickEvent extends VillagerEvent {
+}
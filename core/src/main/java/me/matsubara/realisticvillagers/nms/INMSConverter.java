@@ -10,6 +10,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,7 +42,13 @@ public interface INMSConverter {
 
     IVillagerNPC getNPCFromTag(String tag);
 
+    byte[] encodeOffline(IVillagerNPC offline);
+
+    IVillagerNPC decodeOffline(byte[] data);
+
     void spawnFromTag(Location location, String tag);
 
     void addGameRuleListener(World world);
+
+    List<Player> getTrackingPlayers(World world, int chunkX, int chunkZ);
 }
\ No newline at end of file
@@ -40,6 +40,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 @Getter
@@ -51,7 +53,15 @@ public class NPC {
     private final UserProfile profile;
     private final SpawnCustomizer spawnCustomizer;
     private final IVillagerNPC npc;
+    private final AtomicBoolean passengersDirty = new AtomicBoolean();
 
+    // Set when the pool takes care of this NPC (null for previews).
+    private @Nullable NPCPool pool;
+
+    // Updated by the pool on the region of the villager, so other regions don't have to read the entity.
+    private volatile @Nullable Location location;
+
+    private static final AtomicLong PASSENGER_PACKETS_SENT = new AtomicLong();
     private static final Set<Villager.Profession> UNEMPLOYED = Set.of(Villager.Profession.NONE, Villager.Profession.NITWIT);
     private static final int IGNORE = -1;
     private static final int NO_BLOCK = -2;
@@ -82,6 +92,7 @@ public class NPC {
 
         WrapperPlayServerSetPassengers itemPassengers = new WrapperPlayServerSetPassengers(npc.bukkit().getEntityId(), new int[]{itemId});
         manager.sendPacket(channel, itemPassengers);
+        PASSENGER_PACKETS_SENT.incrementAndGet();
 
         int blockId = spawnDisplayEntity(player, true, shouldSpawn);
         if (blockId == IGNORE) return;
@@ -94,6 +105,22 @@ public class NPC {
 
         WrapperPlayServerSetPassengers blockPassengers = new WrapperPlayServerSetPassengers(itemId, new int[]{blockId});
         manager.sendPacket(channel, blockPassengers);
+        PASSENGER_PACKETS_SENT.incrementAndGet();
+    }
+
+    /**
+     * Marks the nametag passengers as out of sync, they'll be sent again to every viewer on the next tick.
+     */
+    public void requestPassengerResync() {
+        passengersDirty.set(true);
+    }
+
+    public boolean consumePassengerResync() {
+        return passengersDirty.compareAndSet(true, false);
+    }
+
+    public static long getPassengerPacketsSent() {
+        return PASSENGER_PACKETS_SENT.get();
     }
 
     public void sendPassengers(Player player) {
@@ -110,6 +137,7 @@ public class NPC {
 
         WrapperPlayServerSetPassengers itemPassengers = new WrapperPlayServerSetPassengers(npc.bukkit().getEntityId(), new int[]{itemId});
         manager.sendPacket(channel, itemPassengers);
+        PASSENGER_PACKETS_SENT.incrementAndGet();
 
         if (!Config.CUSTOM_NAME_SHOW_JOB_BLOCK.asBool()) return;
 
@@ -118,6 +146,7 @@ public class NPC {
 
         WrapperPlayServerSetPassengers blockPassengers = new WrapperPlayServerSetPassengers(itemId, new int[]{blockId});
         manager.sendPacket(channel, blockPassengers);
+        PASSENGER_PACKETS_SENT.incrementAndGet();
     }
 
     private void hideBlockItem(Player player) {
@@ -354,20 +383,20 @@ public class NPC {
     }
 
     public void show(Player player, Location location) {
-        seeingPlayers.add(player);
+        addSeeingPlayer(player);
 
         VisibilityModifier modifier = visibility();
         modifier.queuePlayerListChange(false).send(player);
 
         LivingEntity bukkitEntity = npc.bukkit();
         if (bukkitEntity == null || bukkitEntity.isDead()) {
-            plugin.getFoliaLib().getScheduler().runLater(() -> seeingPlayers.remove(player), 20L);
+            plugin.getFoliaLib().getScheduler().runLater(() -> removeSeeingPlayer(player), 20L);
             return;
         }
 
         plugin.getFoliaLib().getScheduler().runAtEntityLater(bukkitEntity, () -> {
             if (!player.isOnline()) {
-                seeingPlayers.remove(player);
+                removeSeeingPlayer(player);
                 return;
             }
 
@@ -397,8 +426,22 @@ public class NPC {
         removeSeeingPlayer(player);
     }
 
+    private void addSeeingPlayer(Player player) {
+        seeingPlayers.add(player);
+        if (pool != null) pool.addShown(player, this);
+    }
+
     protected void removeSeeingPlayer(Player player) {
         seeingPlayers.remove(player);
+        if (pool != null) pool.removeShown(player, this);
+    }
+
+    void setPool(@Nullable NPCPool pool) {
+        this.pool = pool;
+    }
+
+    void setLocation(@Nullable Location location) {
+        this.location = location;
     }
 
     public Collection<Player> getSeeingPlayers() {
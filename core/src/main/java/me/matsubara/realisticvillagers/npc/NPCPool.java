@@ -3,6 +3,7 @@ package me.matsubara.realisticvillagers.npc;
 import lombok.Getter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.metrics.Histogram;
 import com.tcoded.folialib.wrapper.task.WrappedTask;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -27,12 +28,14 @@ public class NPCPool implements Listener, Runnable {
     private final Map<Integer, NPC> npcMap = new ConcurrentHashMap<>();
     private final Map<Integer, WrappedTask> npcTasks = new ConcurrentHashMap<>();
     private final Map<Integer, Long> lastPassengerRefresh = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<NPC>> shown = new ConcurrentHashMap<>();
+    private final Histogram tickTimings;
 
     private static final double BUKKIT_VIEW_DISTANCE = Math.pow(Bukkit.getViewDistance() << 4, 2);
-    private static final long PASSENGER_RESYNC_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2500);
 
     public NPCPool(RealisticVillagers plugin) {
         this.plugin = plugin;
+        this.tickTimings = plugin.getMetrics().histogram("npc_pool_tick_seconds", "Time spent updating the NPC of a villager (visibility, passengers, etc.).");
         Server server = this.plugin.getServer();
         server.getPluginManager().registerEvents(this, plugin);
     }
@@ -43,10 +46,11 @@ public class NPCPool implements Listener, Runnable {
     }
 
     protected void takeCareOf(NPC npc) {
+        npc.setPool(this);
         npcMap.put(npc.getEntityId(), npc);
         LivingEntity bukkit = npc.getNpc().bukkit();
         if (bukkit != null) {
-            WrappedTask task = plugin.getFoliaLib().getScheduler().runAtEntityTimer(bukkit, () -> tickNPC(npc), 1L, 1L);
+            WrappedTask task = plugin.getFoliaLib().getScheduler().runAtEntityTimer(bukkit, () -> timedTickNPC(npc), 1L, 1L);
             npcTasks.put(npc.getEntityId(), task);
             lastPassengerRefresh.put(npc.getEntityId(), System.nanoTime());
         }
@@ -56,6 +60,31 @@ public class NPCPool implements Listener, Runnable {
         return Optional.ofNullable(npcMap.get(entityId));
     }
 
+    public Collection<NPC> getNPCs() {
+        return Collections.unmodifiableCollection(npcMap.values());
+    }
+
+
+    /**
+     * @return the NPCs currently shown to the player (kept up to date when showing and hiding them).
+     */
+    public Set<NPC> getShownNPCs(@NotNull Player player) {
+        Set<NPC> npcs = shown.get(player.getUniqueId());
+        return npcs != null ? Collections.unmodifiableSet(npcs) : Collections.emptySet();
+    }
+
+    void addShown(@NotNull Player player, NPC npc) {
+        shown.compute(player.getUniqueId(), (uuid, npcs) -> {
+            if (npcs == null) npcs = ConcurrentHashMap.newKeySet();
+            npcs.add(npc);
+            return npcs;
+        });
+    }
+
+    void removeShown(@NotNull Player player, NPC npc) {
+        // Players without NPCs around don't keep an empty set.
+        shown.computeIfPresent(player.getUniqueId(), (uuid, npcs) -> npcs.remove(npc) && npcs.isEmpty() ? null : npcs);
+    }
 
     public Optional<NPC> getNPC(UUID uniqueId) {
         return npcMap.values().stream().filter(npc -> npc.getProfile().getUUID().equals(uniqueId)).findFirst();
@@ -72,9 +101,9 @@ public class NPCPool implements Listener, Runnable {
                     World world = bukkit.getWorld();
                     if (world != null) {
                         List.copyOf(world.getPlayers()).forEach(npc::hide);
-                    } else {
-                        npc.getSeeingPlayers().forEach(npc::hide);
                     }
+                    // Anyone left (in another world), so the NPC doesn't stay in their shown set.
+                    npc.getSeeingPlayers().forEach(npc::hide);
                     // Remove from map AFTER hiding completes to allow DESTROY_ENTITIES packet handler to find NPC
                     npcMap.remove(entityId);
                     lastPassengerRefresh.remove(entityId);
@@ -134,9 +163,15 @@ public class NPCPool implements Listener, Runnable {
     }
 
     private void handleRemoval(Player player, BiConsumer<NPC, Player> action) {
-        npcMap.values().stream()
-                .filter(npc -> npc.isShownFor(player))
-                .forEach(npc -> action.accept(npc, player));
+        for (NPC npc : List.copyOf(getShownNPCs(player))) {
+            action.accept(npc, player);
+        }
+    }
+
+    private void timedTickNPC(NPC npc) {
+        long start = tickTimings.start();
+        tickNPC(npc);
+        tickTimings.recordSince(start);
     }
 
     private void tickNPC(@NotNull NPC npc) {
@@ -144,6 +179,8 @@ public class NPCPool implements Listener, Runnable {
         if (bukkit == null || !bukkit.isValid()) return;
 
         Location npcLocation = bukkit.getLocation();
+        npc.setLocation(npcLocation);
+
         World world = npcLocation.getWorld();
         if (world == null || !world.isChunkLoaded(npcLocation.getBlockX() >> 4, npcLocation.getBlockZ() >> 4)) {
             for (Player p : List.copyOf(npc.getSeeingPlayers())) {
@@ -176,9 +213,17 @@ public class NPCPool implements Listener, Runnable {
             }
         }
 
+        // Passengers are only sent again when something changed (see NPC#requestPassengerResync()),
+        // the periodic resync is just a rare repair pass in case a packet was lost or overwritten.
         long now = System.nanoTime();
-        long last = lastPassengerRefresh.getOrDefault(npc.getEntityId(), 0L);
-        if (now - last >= PASSENGER_RESYNC_INTERVAL_NANOS) {
+        boolean resync = npc.consumePassengerResync();
+        if (!resync) {
+            long interval = Config.PASSENGER_RESYNC_INTERVAL.asLong();
+            long last = lastPassengerRefresh.getOrDefault(npc.getEntityId(), now);
+            resync = interval > 0 && now - last >= TimeUnit.SECONDS.toNanos(interval);
+        }
+
+        if (resync) {
             for (Player p : npc.getSeeingPlayers()) {
                 npc.sendPassengers(p);
             }
@@ -60,6 +60,7 @@ public class MetadataModifier extends NPCModifier {
         IVillagerNPC npc = this.npc.getNpc();
         queueShoulderEntity(true, npc.getShoulderEntityLeft()).send();
         queueShoulderEntity(false, npc.getShoulderEntityRight()).send();
+        this.npc.requestPassengerResync();
     }
 
     public record EntityMetadata<I, O>(int index, EntityDataType<O> outputType, Function<I, O> mapper) {
@@ -1,9 +1,9 @@
 package me.matsubara.realisticvillagers.task;
 
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
 import net.wesjd.anvilgui.AnvilGUI;
 import org.apache.commons.lang3.RandomUtils;
 import org.bukkit.Material;
@@ -22,7 +22,7 @@ public class BabyTask {
     private final IVillagerNPC villager;
     private final Player player;
     private final boolean isBoy;
-    private WrappedTask task;
+    private TimerHandle task;
 
     private int count = 0;
     private boolean success = false;
@@ -36,13 +36,11 @@ public class BabyTask {
     }
 
     public void start() {
-        task = plugin.getFoliaLib().getScheduler().runAtEntityTimer(villager.bukkit(), this::run, 0L, 20L);
+        task = plugin.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.BABY, villager.bukkit(), this::run, 0L, 20L);
     }
 
     public void cancel() {
-        if (task != null && !task.isCancelled()) {
-            task.cancel();
-        }
+        if (task != null) task.cancel();
     }
 
     private void run() {
@@ -2,10 +2,10 @@ package me.matsubara.realisticvillagers.task;
 
 import com.github.retrooper.packetevents.protocol.player.TextureProperty;
 import com.github.retrooper.packetevents.protocol.player.UserProfile;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import io.github.retrooper.packetevents.util.SpigotReflectionUtil;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
 import me.matsubara.realisticvillagers.npc.NPC;
 import me.matsubara.realisticvillagers.npc.modifier.MetadataModifier;
 import me.matsubara.realisticvillagers.tracker.VillagerTracker;
@@ -34,7 +34,7 @@ public class PreviewTask {
     private final Player player;
     private final NPC npc;
     private final int seconds;
-    private WrappedTask task;
+    private TimerHandle task;
 
     private Location targetLocation;
     private int ticksRan;
@@ -75,14 +75,12 @@ public class PreviewTask {
     }
 
     public void start() {
-        task = plugin.getFoliaLib().getScheduler().runAtEntityTimer(player, this::tick, 1L, 1L);
+        task = plugin.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.PREVIEW, player, this::tick, 1L, 1L);
     }
 
     public synchronized void cancel() {
-        WrappedTask currentTask = task;
-        if (currentTask != null && !currentTask.isCancelled()) {
-            currentTask.cancel();
-        }
+        TimerHandle currentTask = task;
+        if (currentTask != null) currentTask.cancel();
         task = null;
         Runnable cleanup = () -> {
             npc.hide(player);
@@ -0,0 +1,58 @@
+package me.matsubara.realisticvillagers.task;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A repeating callback scheduled in a {@link TimerWheel}; cancelling it is safe from any thread and only counts once.
+ */
+public final class TimerHandle {
+
+    private final @Getter String subsystem;
+    private final Consumer<TimerHandle> callback;
+    private final @Getter long delay;
+    private final @Getter long period;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    // Set once scheduled.
+    volatile @Nullable TimerWheel wheel;
+
+    // Only used by the thread ticking the wheel.
+    long nextTick;
+
+    /**
+     * @param subsystem the subsystem scheduling the callback, for metrics
+     * @param callback  the callback, receives this handle so it can cancel itself
+     * @param delay     the ticks to wait before the first run
+     * @param period    the ticks between runs
+     */
+    public TimerHandle(@NotNull String subsystem, @NotNull Consumer<TimerHandle> callback, long delay, long period) {
+        this.subsystem = subsystem;
+        this.callback = callback;
+        this.delay = Math.max(0L, delay);
+        this.period = Math.max(1L, period);
+    }
+
+    /**
+     * @return true if this call cancelled the callback, false if it was already cancelled
+     */
+    public boolean cancel() {
+        if (!cancelled.compareAndSet(false, true)) return false;
+
+        TimerWheel wheel = this.wheel;
+        if (wheel != null) wheel.remove(this);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    void run() {
+        callback.accept(this);
+    }
+}
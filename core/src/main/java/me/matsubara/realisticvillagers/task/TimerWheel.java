@@ -0,0 +1,133 @@
+package me.matsubara.realisticvillagers.task;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A hashed timing wheel with a slot per tick, running every callback scheduled in it from a single task.
+ * <p>
+ * Callbacks can be scheduled (and cancelled) from any thread, they're added to the wheel on its next tick; everything else
+ * runs on the thread ticking the wheel, so callbacks keep the thread affinity of the task ticking it. Callbacks further
+ * than a lap away stay in their slot until their lap comes. A callback throwing an exception is cancelled, so a broken
+ * callback can't spam the console every tick.
+ */
+public class TimerWheel {
+
+    private final List<TimerHandle>[] slots;
+    private final Queue<TimerHandle> pending = new ConcurrentLinkedQueue<>();
+    private final Set<TimerHandle> handles = ConcurrentHashMap.newKeySet();
+    private final @Nullable Consumer<TimerHandle> onRemove;
+    private final @Nullable Logger logger;
+    private List<TimerHandle> spare = new ArrayList<>();
+    private long tick;
+
+    private static final int SLOTS = 64;
+    private static final int MASK = SLOTS - 1;
+
+    /**
+     * @param onRemove called once for every callback leaving the wheel (cancelled by itself or from outside)
+     * @param logger   used to report callbacks throwing an exception
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(@Nullable Consumer<TimerHandle> onRemove, @Nullable Logger logger) {
+        this.onRemove = onRemove;
+        this.logger = logger;
+        this.slots = new List[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new ArrayList<>();
+        }
+    }
+
+    public void schedule(@NotNull TimerHandle handle) {
+        if (handle.wheel != null) throw new IllegalStateException("This callback is already scheduled!");
+
+        handle.wheel = this;
+        handles.add(handle);
+        pending.add(handle);
+
+        // Cancelled before being added to the wheel.
+        if (handle.isCancelled()) remove(handle);
+    }
+
+    /**
+     * Advances the wheel by a tick, running every callback due; must always be called from the same thread (or region).
+     */
+    public void tick() {
+        TimerHandle added;
+        while ((added = pending.poll()) != null) {
+            if (added.isCancelled()) continue;
+            added.nextTick = tick + added.getDelay();
+            slots[(int) (added.nextTick & MASK)].add(added);
+        }
+
+        int index = (int) (tick & MASK);
+        List<TimerHandle> due = slots[index];
+        if (!due.isEmpty()) {
+            // Callbacks rescheduled in the same slot go to the spare list, not to the one being visited.
+            slots[index] = spare;
+
+            for (TimerHandle handle : due) {
+                if (handle.isCancelled()) continue;
+
+                // Not this lap.
+                if (handle.nextTick > tick) {
+                    slots[index].add(handle);
+                    continue;
+                }
+
+                run(handle);
+                if (handle.isCancelled()) continue;
+
+                handle.nextTick = tick + handle.getPeriod();
+                slots[(int) (handle.nextTick & MASK)].add(handle);
+            }
+
+            due.clear();
+            spare = due;
+        }
+
+        tick++;
+    }
+
+    /**
+     * Cancels every callback, can be called from any thread.
+     */
+    public void cancelAll() {
+        for (TimerHandle handle : handles) {
+            handle.cancel();
+        }
+    }
+
+    public int size() {
+        return handles.size();
+    }
+
+    public boolean isEmpty() {
+        return handles.isEmpty();
+    }
+
+    void remove(TimerHandle handle) {
+        if (handles.remove(handle) && onRemove != null) onRemove.accept(handle);
+    }
+
+    private void run(TimerHandle handle) {
+        try {
+            handle.run();
+        } catch (Throwable throwable) {
+            handle.cancel();
+            if (logger != null) {
+                logger.log(Level.WARNING, "A callback from \"" + handle.getSubsystem() + "\" threw an exception and was cancelled!", throwable);
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package me.matsubara.realisticvillagers.tracker;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.data.OfflineSummary;
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.LineageManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every unloaded villager, kept as an {@link OfflineSummary} plus its encoded data.
+ * <p>
+ * The full {@link IVillagerNPC} is only decoded when something asks for it. Decoded villagers are kept in an LRU cache
+ * limited by {@link Config#OFFLINE_CACHE_BUDGET}; their size is estimated from the size of the encoded data.
+ */
+public class OfflineVillagerStore {
+
+    private final RealisticVillagers plugin;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final LinkedHashMap<UUID, Hydrated> hydrated = new LinkedHashMap<>(16, 0.75f, true);
+    private final ThreadLocal<Set<UUID>> hydrating = ThreadLocal.withInitial(HashSet::new);
+    private final AtomicLong residentBytes = new AtomicLong();
+    private long hydratedBytes;
+
+    // Rough ratio between the decoded object (lists, maps, wrappers, etc.) and the encoded data.
+    private static final int HYDRATED_RATIO = 4;
+
+    public OfflineVillagerStore(RealisticVillagers plugin) {
+        this.plugin = plugin;
+    }
+
+    public void add(@NotNull IVillagerNPC npc) {
+        UUID uuid = npc.getUniqueId();
+        if (uuid == null) return;
+
+        byte[] data = plugin.getConverter().encodeOffline(npc);
+        if (data == null) return;
+
+        // Null until the managers are created.
+        LineageManager lineage = plugin.getLineageManager();
+        if (lineage != null) lineage.index(npc);
+
+        Entry entry = new Entry(OfflineSummary.of(npc), data);
+        Entry previous = entries.put(uuid, entry);
+        residentBytes.addAndGet(entry.size() - (previous != null ? previous.size() : 0));
+
+        // Most likely, the villager we just received will be used again soon.
+        synchronized (hydrated) {
+            uncache(uuid);
+            cache(uuid, npc, entry);
+        }
+    }
+
+    public void remove(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        if (entry == null) return;
+
+        residentBytes.addAndGet(-entry.size());
+        synchronized (hydrated) {
+            uncache(uuid);
+        }
+    }
+
+    public boolean contains(UUID uuid) {
+        return uuid != null && entries.containsKey(uuid);
+    }
+
+    public @Nullable OfflineSummary getSummary(UUID uuid) {
+        Entry entry = uuid != null ? entries.get(uuid) : null;
+        return entry != null ? entry.summary() : null;
+    }
+
+    public @NotNull List<OfflineSummary> getSummaries() {
+        List<OfflineSummary> summaries = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            summaries.add(entry.summary());
+        }
+        return summaries;
+    }
+
+    public @Nullable IVillagerNPC get(UUID uuid) {
+        Entry entry = uuid != null ? entries.get(uuid) : null;
+        if (entry == null) return null;
+
+        synchronized (hydrated) {
+            Hydrated cached = hydrated.get(uuid);
+            if (cached != null) return cached.npc();
+        }
+
+        // Relatives may be resolved through the tracker while decoding; partners point to each other.
+        Set<UUID> current = hydrating.get();
+        if (!current.add(uuid)) return null;
+
+        IVillagerNPC npc;
+        try {
+            npc = plugin.getConverter().decodeOffline(entry.data());
+        } finally {
+            current.remove(uuid);
+        }
+        if (npc == null) return null;
+
+        synchronized (hydrated) {
+            // Only cache if the villager wasn't updated (or removed) while decoding.
+            if (entries.get(uuid) == entry && !hydrated.containsKey(uuid)) cache(uuid, npc, entry);
+        }
+        return npc;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the (estimated) bytes always kept in memory, the summaries and the encoded data.
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    /**
+     * @return the (estimated) bytes used by the decoded villagers in the LRU cache.
+     */
+    public long getHydratedBytes() {
+        synchronized (hydrated) {
+            return hydratedBytes;
+        }
+    }
+
+    public int getHydratedCount() {
+        synchronized (hydrated) {
+            return hydrated.size();
+        }
+    }
+
+    private void cache(UUID uuid, IVillagerNPC npc, @NotNull Entry entry) {
+        long size = (long) entry.data().length * HYDRATED_RATIO;
+        hydrated.put(uuid, new Hydrated(npc, size));
+        hydratedBytes += size;
+
+        long budget = Config.OFFLINE_CACHE_BUDGET.asLong() * 1024L * 1024L;
+
+        // The iteration order is the access order, the first ones are the least recently used.
+        Iterator<Hydrated> iterator = hydrated.values().iterator();
+        while (hydratedBytes > budget && iterator.hasNext()) {
+            hydratedBytes -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    private void uncache(UUID uuid) {
+        Hydrated removed = hydrated.remove(uuid);
+        if (removed != null) hydratedBytes -= removed.size();
+    }
+
+    private record Entry(OfflineSummary summary, byte[] data) {
+
+        public long size() {
+            return summary.estimateSize() + data.length;
+        }
+    }
+
+    private record Hydrated(IVillagerNPC npc, long size) {
+    }
+}
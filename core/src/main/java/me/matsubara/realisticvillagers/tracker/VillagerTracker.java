@@ -5,18 +5,22 @@ import com.github.retrooper.packetevents.protocol.player.TextureProperty;
 import com.github.retrooper.packetevents.protocol.player.UserProfile;
 import lombok.Getter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.data.AITier;
+import me.matsubara.realisticvillagers.data.OfflineSummary;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.event.RealisticRemoveEvent;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.files.Messages;
+import me.matsubara.realisticvillagers.handler.npc.EntityStatusHandler;
 import me.matsubara.realisticvillagers.handler.npc.NPCHandler;
 import me.matsubara.realisticvillagers.handler.protocol.VillagerHandler;
 import me.matsubara.realisticvillagers.listener.spawn.BukkitSpawnListeners;
 import me.matsubara.realisticvillagers.listener.spawn.PaperSpawnListeners;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
+import me.matsubara.realisticvillagers.metrics.jfr.SkinGenerationEvent;
 import me.matsubara.realisticvillagers.npc.NPC;
 import me.matsubara.realisticvillagers.npc.NPCPool;
 import me.matsubara.realisticvillagers.task.PreviewTask;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bukkit.Bukkit;
@@ -74,11 +78,12 @@ public final class VillagerTracker implements Listener {
     private final BukkitSpawnListeners spawnListeners;
     private final Map<UUID, String> transformations = new HashMap<>();
     private final Map<UUID, Integer> portalTransform = new HashMap<>();
-    private final Set<IVillagerNPC> offlineVillagers = ConcurrentHashMap.newKeySet();
+    private final OfflineVillagerStore offlineVillagers;
     private final Map<String, Pair<File, FileConfiguration>> files = new HashMap<>();
     private final Map<UUID, String> selectedProfession = new HashMap<>();
     private final Map<UUID, PreviewTask> previews = new HashMap<>();
     private final VillagerHandler handler;
+    private final EntityStatusHandler statusHandler;
     private final MineskinClient mineskinClient;
     private final Random random = new Random();
     
@@ -93,7 +98,9 @@ public final class VillagerTracker implements Listener {
     public VillagerTracker(RealisticVillagers plugin) {
         this.plugin = plugin;
         this.pool = new NPCPool(plugin);
+        this.offlineVillagers = new OfflineVillagerStore(plugin);
         this.spawnListeners = new BukkitSpawnListeners(plugin);
+        this.statusHandler = new EntityStatusHandler(plugin);
 
         this.mineskinClient = new MineskinClient("MineSkin-JavaClient");
         updateMineskinApiKey();
@@ -190,15 +197,11 @@ public final class VillagerTracker implements Listener {
     }
 
     public @Nullable IVillagerNPC getOfflineByUUID(UUID uuid) {
-        for (IVillagerNPC info : offlineVillagers) {
-            if (info.getUniqueId().equals(uuid)) return info;
-        }
-        return null;
+        return offlineVillagers.get(uuid);
     }
 
     private void removeData(@NotNull LivingEntity living) {
-        IVillagerNPC info = getOfflineByUUID(living.getUniqueId());
-        if (info != null) offlineVillagers.remove(info);
+        offlineVillagers.remove(living.getUniqueId());
     }
 
     public IVillagerNPC getOffline(UUID uuid) {
@@ -212,6 +215,21 @@ public final class VillagerTracker implements Listener {
         return getOfflineByUUID(uuid);
     }
 
+    /**
+     * @return the name of a villager, loaded or not (from its summary, so the data isn't decoded); null if it's gone.
+     */
+    public @Nullable String getVillagerName(UUID uuid) {
+        if (uuid == null) return null;
+
+        if (Bukkit.getEntity(uuid) instanceof AbstractVillager villager) {
+            Optional<IVillagerNPC> npc = plugin.getConverter().getNPC(villager);
+            if (npc.isPresent()) return npc.get().getVillagerName();
+        }
+
+        OfflineSummary summary = offlineVillagers.getSummary(uuid);
+        return summary != null ? summary.villagerName() : null;
+    }
+
     private void markAsDeath(LivingEntity living) {
         handlePartner(living);
         removeData(living);
@@ -247,8 +265,9 @@ public final class VillagerTracker implements Listener {
         if (!(Bukkit.getEntity(partner.getUniqueId()) instanceof Villager villager)) return;
 
         plugin.getConverter().getNPC(villager).ifPresent(partnerNPC -> {
-            partnerNPC.getPartners().add(deadNPC.getOffline());
+            partnerNPC.addPartner(deadNPC.getOffline());
             partnerNPC.setPartner(null, false);
+            plugin.getLineageManager().addPartner(villager.getWorld(), partnerNPC.getUniqueId(), deadNPC.getUniqueId());
         });
     }
 
@@ -418,6 +437,25 @@ public final class VillagerTracker implements Listener {
         return pool.getNPC(entityId);
     }
 
+    /**
+     * @return the amount of (spawned) villagers in each AI tier, in order
+     */
+    public int @NotNull [] getAITierCounts() {
+        int[] counts = new int[AITier.values().length];
+        for (NPC npc : pool.getNPCs()) {
+            counts[npc.getNpc().getAITier().ordinal()]++;
+        }
+        return counts;
+    }
+
+    public int getHibernatingCount() {
+        int count = 0;
+        for (NPC npc : pool.getNPCs()) {
+            if (npc.getNpc().isHibernating()) count++;
+        }
+        return count;
+    }
+
     public boolean isInvalid(@NotNull LivingEntity living, boolean ignoreSkinState) {
         return (!ignoreSkinState && Config.DISABLE_SKINS.asBool())
                 || (!(living instanceof WanderingTrader) && (!(living instanceof Villager villager) || !plugin.getCompatibilityManager().shouldTrack(villager)))
@@ -439,6 +477,9 @@ public final class VillagerTracker implements Listener {
         int entityId = living.getEntityId();
         if (hasNPC(entityId)) return;
 
+        // Keep the family graph up to date with the relatives saved in the villager.
+        plugin.getConverter().getNPC(living).ifPresent(plugin.getLineageManager()::index);
+
         TextureProperty textures = getTextures(living);
         if (textures.getName().equals("error")) {
             CompletableFuture<Skin> creator = getCreator(living, textures);
@@ -672,6 +713,18 @@ public final class VillagerTracker implements Listener {
     }
 
     public @Nullable CompletableFuture<Skin> createSkin(CommandSender sender, String sex, boolean isAdult, String profession, int id) {
+        SkinGenerationEvent profile = new SkinGenerationEvent();
+        profile.setOperation(sex + ":" + profession + ":" + id);
+        profile.begin();
+
+        CompletableFuture<Skin> future = generateSkin(sender, sex, isAdult, profession, id);
+        if (future == null) profile.commit(null);
+        else future.whenComplete((skin, throwable) -> profile.commit(null));
+
+        return future;
+    }
+
+    private @Nullable CompletableFuture<Skin> generateSkin(CommandSender sender, String sex, boolean isAdult, String profession, int id) {
         try {
             Messages messages = plugin.getMessages();
             Logger logger = plugin.getLogger();
@@ -773,19 +826,15 @@ public final class VillagerTracker implements Listener {
         if (!happyParticles) return;
 
         // Spawn happy particles every 0.5 seconds.
-        java.util.concurrent.atomic.AtomicReference<WrappedTask> taskRef = new java.util.concurrent.atomic.AtomicReference<>();
-        taskRef.set(plugin.getFoliaLib().getScheduler().runAtEntityTimer(living, () -> {
+        plugin.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.SKIN_PARTICLES, living, handle -> {
             if (creator.isDone()) {
-                WrappedTask wrappedTask = taskRef.get();
-                if (wrappedTask != null && !wrappedTask.isCancelled()) {
-                    wrappedTask.cancel();
-                }
+                handle.cancel();
                 return;
             }
             if (random.nextInt(35) == 0) {
-                living.playEffect(EntityEffect.VILLAGER_HAPPY);
+                plugin.getConverter().getNPC(living).ifPresent(npc -> npc.playEffect(EntityEffect.VILLAGER_HAPPY));
             }
-        }, 1L, 1L));
+        }, 1L, 1L);
     }
 
     private @Nullable CompletableFuture<Skin> getCreator(LivingEntity living, @NotNull TextureProperty textures) {
@@ -1,6 +1,7 @@
 package me.matsubara.realisticvillagers.util;
 
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import me.matsubara.realisticvillagers.metrics.Histogram;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -19,6 +20,7 @@ import java.util.logging.Level;
 public class AntiEnslavementUtil {
     
     private static me.matsubara.realisticvillagers.RealisticVillagers plugin;
+    private static @Nullable Histogram floodFillTimings;
     
     // Cache for walkable area calculations to improve performance
     private static final Map<UUID, CachedAreaResult> areaCache = new ConcurrentHashMap<>();
@@ -51,6 +53,7 @@ public class AntiEnslavementUtil {
      */
     public static void initialize(@NotNull me.matsubara.realisticvillagers.RealisticVillagers pluginInstance) {
         plugin = pluginInstance;
+        floodFillTimings = pluginInstance.getMetrics().histogram("confinement_flood_fill_seconds", "Time spent computing the walkable area of a villager (flood fill).");
     }
     
     /**
@@ -78,6 +81,27 @@ public class AntiEnslavementUtil {
             return false;
         }
         
+        boolean isConfined = isConfined(villager);
+        
+        // Log confinement results only at FINE level
+        CachedAreaResult cached;
+        if (plugin != null && isConfined && plugin.getLogger().isLoggable(Level.FINE)
+                && (cached = areaCache.get(villager.getUniqueId())) != null) {
+            plugin.getLogger().fine(String.format("Villager %s refuses to work: confined to %d blocks (minimum: %d)", 
+                villager.getVillagerName(), cached.walkableArea, getMinimumWalkableArea()));
+        }
+        
+        return isConfined;
+    }
+    
+    /**
+     * Checks if a villager is confined, even if anti-enslavement protection is disabled
+     * (used for hibernation, trading halls are confined either way)
+     * 
+     * @param villager The villager to check
+     * @return true if the villager can't walk the minimum walkable area
+     */
+    public static boolean isConfined(@NotNull IVillagerNPC villager) {
         LivingEntity bukkitVillager = villager.bukkit();
         if (bukkitVillager == null || bukkitVillager.getWorld() == null) {
             return false;
@@ -94,20 +118,13 @@ public class AntiEnslavementUtil {
             walkableArea = cached.walkableArea;
         } else {
             // Calculate new walkable area
+            long start = floodFillTimings != null ? floodFillTimings.start() : 0L;
             walkableArea = calculateWalkableArea(villager);
+            if (floodFillTimings != null) floodFillTimings.recordSince(start);
             areaCache.put(villagerId, new CachedAreaResult(walkableArea, currentLocation));
         }
         
-        int minimumArea = getMinimumWalkableArea();
-        boolean isConfined = walkableArea < minimumArea;
-        
-        // Log confinement results only at FINE level
-        if (plugin != null && isConfined && plugin.getLogger().isLoggable(Level.FINE)) {
-            plugin.getLogger().fine(String.format("Villager %s refuses to work: confined to %d blocks (minimum: %d)", 
-                villager.getVillagerName(), walkableArea, minimumArea));
-        }
-        
-        return isConfined;
+        return walkableArea < getMinimumWalkableArea();
     }
     
     /**
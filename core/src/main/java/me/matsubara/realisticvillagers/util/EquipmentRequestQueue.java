@@ -44,7 +44,7 @@ public class EquipmentRequestQueue {
      * Check if a material is food
      */
     public static boolean isFood(@NotNull Material item) {
-        return item.isEdible();
+        return MaterialTables.isEdible(item);
     }
 
     /**
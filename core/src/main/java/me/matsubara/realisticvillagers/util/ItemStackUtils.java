@@ -1,6 +1,5 @@
 package me.matsubara.realisticvillagers.util;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.LivingEntity;
@@ -17,48 +16,6 @@ public final class ItemStackUtils {
 
     private static final Map<Enchantment, Double> ARMOR_REDUCTION = new HashMap<>();
 
-    private static final String[] ARMOR = {
-            "LEATHER_HELMET",
-            "LEATHER_CHESTPLATE",
-            "LEATHER_LEGGINGS",
-            "LEATHER_BOOTS",
-            "GOLDEN_HELMET",
-            "GOLDEN_CHESTPLATE",
-            "GOLDEN_LEGGINGS",
-            "GOLDEN_BOOTS",
-            "CHAINMAIL_HELMET",
-            "CHAINMAIL_CHESTPLATE",
-            "CHAINMAIL_LEGGINGS",
-            "CHAINMAIL_BOOTS",
-            "IRON_HELMET",
-            "IRON_CHESTPLATE",
-            "IRON_LEGGINGS",
-            "IRON_BOOTS",
-            "DIAMOND_HELMET",
-            "DIAMOND_CHESTPLATE",
-            "DIAMOND_LEGGINGS",
-            "DIAMOND_BOOTS",
-            "NETHERITE_HELMET",
-            "NETHERITE_CHESTPLATE",
-            "NETHERITE_LEGGINGS",
-            "NETHERITE_BOOTS"};
-
-    private static final String[] AXE = {
-            "WOODEN_AXE",
-            "STONE_AXE",
-            "GOLDEN_AXE",
-            "IRON_AXE",
-            "DIAMOND_AXE",
-            "NETHERITE_AXE"};
-
-    private static final String[] SWORD = {
-            "WOODEN_SWORD",
-            "GOLDEN_SWORD",
-            "STONE_SWORD",
-            "IRON_SWORD",
-            "DIAMOND_SWORD",
-            "NETHERITE_SWORD"};
-
     static {
         ARMOR_REDUCTION.put(Enchantment.PROTECTION_ENVIRONMENTAL, 0.75d);
         ARMOR_REDUCTION.put(Enchantment.PROTECTION_FIRE, 1.25d);
@@ -68,23 +25,23 @@ public final class ItemStackUtils {
     }
 
     public static boolean isSword(@NotNull ItemStack item) {
-        return item.getType().name().contains("SWORD");
+        return MaterialTables.isSword(item.getType());
     }
 
     public static boolean isRangeWeapon(@NotNull ItemStack item) {
-        return item.getType().name().endsWith("BOW");
+        return MaterialTables.isRangeWeapon(item.getType());
     }
 
     public static boolean isAxe(@NotNull ItemStack item) {
-        return item.getType().name().endsWith("_AXE");
+        return MaterialTables.isAxe(item.getType());
     }
 
-    public static boolean isWeapon(ItemStack item) {
-        return isMeleeWeapon(item) || isRangeWeapon(item);
+    public static boolean isWeapon(@NotNull ItemStack item) {
+        return MaterialTables.isWeapon(item.getType());
     }
 
     public static boolean isMeleeWeapon(@NotNull ItemStack item) {
-        return item.getType() == Material.TRIDENT || isSword(item) || isAxe(item);
+        return MaterialTables.isMeleeWeapon(item.getType());
     }
 
     public static boolean isBetterArmorMaterial(ItemStack toCheck, ItemStack actual) {
@@ -104,15 +61,15 @@ public final class ItemStackUtils {
     }
 
     private static int getArmorIndex(@NotNull ItemStack item) {
-        return item.getType() == Material.TURTLE_HELMET ? 1 : ArrayUtils.indexOf(ARMOR, item.getType().name());
+        return item.getType() == Material.TURTLE_HELMET ? 1 : MaterialTables.getArmorRank(item.getType());
     }
 
     public static boolean isBetterAxeMaterial(@NotNull ItemStack toCheck, @NotNull ItemStack actual) {
-        return ArrayUtils.indexOf(AXE, toCheck.getType().name()) > ArrayUtils.indexOf(AXE, actual.getType().name());
+        return MaterialTables.getAxeRank(toCheck.getType()) > MaterialTables.getAxeRank(actual.getType());
     }
 
     public static boolean isBetterSwordMaterial(@NotNull ItemStack toCheck, @NotNull ItemStack actual) {
-        return ArrayUtils.indexOf(SWORD, toCheck.getType().name()) > ArrayUtils.indexOf(SWORD, actual.getType().name());
+        return MaterialTables.getSwordRank(toCheck.getType()) > MaterialTables.getSwordRank(actual.getType());
     }
 
     /**
@@ -120,14 +77,7 @@ public final class ItemStackUtils {
      * This method should only be used for armor, weapons and tools.
      */
     public static boolean isDifferentType(@NotNull ItemStack first, @NotNull ItemStack second) {
-        String[] firstData = first.getType().name().split("_");
-        String[] secondData = second.getType().name().split("_");
-
-        if (firstData.length == 1 && secondData.length == 1) {
-            return first.getType() != second.getType();
-        }
-
-        return !firstData[firstData.length - 1].equalsIgnoreCase(secondData[secondData.length - 1]);
+        return MaterialTables.isDifferentType(first.getType(), second.getType());
     }
 
     @SuppressWarnings("ConstantConditions")
@@ -146,7 +96,7 @@ public final class ItemStackUtils {
         if (item.getType() == Material.TURTLE_HELMET) {
             checkIndex = 4;
         } else {
-            checkIndex = ArrayUtils.indexOf(ARMOR, item.getType().name());
+            checkIndex = MaterialTables.getArmorRank(item.getType());
         }
 
         // Initialize points based on the type of the armor, leather = 0, gold = gold = 1, chainmail = 2, etc...
@@ -255,7 +205,7 @@ public final class ItemStackUtils {
     }
 
     private static double getAxeBasePoints(@NotNull ItemStack item) {
-        int checkIndex = ArrayUtils.indexOf(AXE, item.getType().name());
+        int checkIndex = MaterialTables.getAxeRank(item.getType());
 
         double points = switch (checkIndex) {
             case 0, 1 -> 7;
@@ -267,7 +217,7 @@ public final class ItemStackUtils {
     }
 
     private static double getSwordBasePoints(@NotNull ItemStack item) {
-        int checkIndex = ArrayUtils.indexOf(SWORD, item.getType().name());
+        int checkIndex = MaterialTables.getSwordRank(item.getType());
 
         double points = checkIndex + 4.0d;
         if (checkIndex > 0) points -= 1.0d;
@@ -345,12 +295,6 @@ public final class ItemStackUtils {
     }
 
     public static @Nullable EquipmentSlot getSlotByItem(@NotNull ItemStack item) {
-        String name = item.getType().name();
-        if (name.contains("HELMET") || name.equals("TURTLE_HELMET")) return EquipmentSlot.HEAD;
-        if (name.contains("CHESTPLATE")) return EquipmentSlot.CHEST;
-        if (name.contains("LEGGINGS")) return EquipmentSlot.LEGS;
-        if (name.contains("BOOTS")) return EquipmentSlot.FEET;
-
-        return null;
+        return MaterialTables.getSlot(item.getType());
     }
 }
\ No newline at end of file
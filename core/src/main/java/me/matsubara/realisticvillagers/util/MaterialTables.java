@@ -0,0 +1,170 @@
+package me.matsubara.realisticvillagers.util;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.EquipmentSlot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Item classification (weapon/armor type, slot, material rank and edibility), computed once for every material from its
+ * name and stored in flat tables indexed by {@link Material#ordinal()}.
+ */
+public final class MaterialTables {
+
+    private static final String[] ARMOR = {
+            "LEATHER_HELMET",
+            "LEATHER_CHESTPLATE",
+            "LEATHER_LEGGINGS",
+            "LEATHER_BOOTS",
+            "GOLDEN_HELMET",
+            "GOLDEN_CHESTPLATE",
+            "GOLDEN_LEGGINGS",
+            "GOLDEN_BOOTS",
+            "CHAINMAIL_HELMET",
+            "CHAINMAIL_CHESTPLATE",
+            "CHAINMAIL_LEGGINGS",
+            "CHAINMAIL_BOOTS",
+            "IRON_HELMET",
+            "IRON_CHESTPLATE",
+            "IRON_LEGGINGS",
+            "IRON_BOOTS",
+            "DIAMOND_HELMET",
+            "DIAMOND_CHESTPLATE",
+            "DIAMOND_LEGGINGS",
+            "DIAMOND_BOOTS",
+            "NETHERITE_HELMET",
+            "NETHERITE_CHESTPLATE",
+            "NETHERITE_LEGGINGS",
+            "NETHERITE_BOOTS"};
+
+    private static final String[] AXE = {
+            "WOODEN_AXE",
+            "STONE_AXE",
+            "GOLDEN_AXE",
+            "IRON_AXE",
+            "DIAMOND_AXE",
+            "NETHERITE_AXE"};
+
+    private static final String[] SWORD = {
+            "WOODEN_SWORD",
+            "GOLDEN_SWORD",
+            "STONE_SWORD",
+            "IRON_SWORD",
+            "DIAMOND_SWORD",
+            "NETHERITE_SWORD"};
+
+    private static final int SWORD_FLAG = 1;
+    private static final int RANGE_WEAPON_FLAG = 1 << 1;
+    private static final int AXE_FLAG = 1 << 2;
+    private static final int MELEE_WEAPON_FLAG = 1 << 3;
+    private static final int EDIBLE_FLAG = 1 << 4;
+    // The name doesn't have any "_".
+    private static final int SINGLE_WORD_FLAG = 1 << 5;
+
+    private static final int[] FLAGS;
+    private static final byte[] ARMOR_RANK;
+    private static final byte[] AXE_RANK;
+    private static final byte[] SWORD_RANK;
+    // Id of the last word of the name (SWORD, HELMET, BOW, etc.).
+    private static final int[] TYPE_ID;
+    private static final EquipmentSlot[] SLOT;
+
+    static {
+        Material[] materials = Material.values();
+        FLAGS = new int[materials.length];
+        ARMOR_RANK = new byte[materials.length];
+        AXE_RANK = new byte[materials.length];
+        SWORD_RANK = new byte[materials.length];
+        TYPE_ID = new int[materials.length];
+        SLOT = new EquipmentSlot[materials.length];
+
+        Map<String, Integer> typeIds = new HashMap<>();
+        for (Material material : materials) {
+            int ordinal = material.ordinal();
+            String name = material.name();
+
+            int flags = 0;
+            if (name.contains("SWORD")) flags |= SWORD_FLAG;
+            if (name.endsWith("BOW")) flags |= RANGE_WEAPON_FLAG;
+            if (name.endsWith("_AXE")) flags |= AXE_FLAG;
+            if (material == Material.TRIDENT || (flags & (SWORD_FLAG | AXE_FLAG)) != 0) flags |= MELEE_WEAPON_FLAG;
+            if (material.isEdible()) flags |= EDIBLE_FLAG;
+            if (name.indexOf('_') == -1) flags |= SINGLE_WORD_FLAG;
+            FLAGS[ordinal] = flags;
+
+            ARMOR_RANK[ordinal] = (byte) ArrayUtils.indexOf(ARMOR, name);
+            AXE_RANK[ordinal] = (byte) ArrayUtils.indexOf(AXE, name);
+            SWORD_RANK[ordinal] = (byte) ArrayUtils.indexOf(SWORD, name);
+
+            String type = name.substring(name.lastIndexOf('_') + 1);
+            TYPE_ID[ordinal] = typeIds.computeIfAbsent(type, key -> typeIds.size());
+
+            if (name.contains("HELMET")) SLOT[ordinal] = EquipmentSlot.HEAD;
+            else if (name.contains("CHESTPLATE")) SLOT[ordinal] = EquipmentSlot.CHEST;
+            else if (name.contains("LEGGINGS")) SLOT[ordinal] = EquipmentSlot.LEGS;
+            else if (name.contains("BOOTS")) SLOT[ordinal] = EquipmentSlot.FEET;
+        }
+    }
+
+    public static boolean isSword(@NotNull Material material) {
+        return (FLAGS[material.ordinal()] & SWORD_FLAG) != 0;
+    }
+
+    public static boolean isRangeWeapon(@NotNull Material material) {
+        return (FLAGS[material.ordinal()] & RANGE_WEAPON_FLAG) != 0;
+    }
+
+    public static boolean isAxe(@NotNull Material material) {
+        return (FLAGS[material.ordinal()] & AXE_FLAG) != 0;
+    }
+
+    public static boolean isMeleeWeapon(@NotNull Material material) {
+        return (FLAGS[material.ordinal()] & MELEE_WEAPON_FLAG) != 0;
+    }
+
+    public static boolean isWeapon(@NotNull Material material) {
+        return (FLAGS[material.ordinal()] & (MELEE_WEAPON_FLAG | RANGE_WEAPON_FLAG)) != 0;
+    }
+
+    public static boolean isEdible(@NotNull Material material) {
+        return (FLAGS[material.ordinal()] & EDIBLE_FLAG) != 0;
+    }
+
+    /**
+     * @return the rank of the armor piece (leather helmet = 0 to netherite boots = 23), or -1 if it isn't armor
+     */
+    public static int getArmorRank(@NotNull Material material) {
+        return ARMOR_RANK[material.ordinal()];
+    }
+
+    /**
+     * @return the rank of the axe (wooden = 0 to netherite = 5), or -1 if it isn't an axe
+     */
+    public static int getAxeRank(@NotNull Material material) {
+        return AXE_RANK[material.ordinal()];
+    }
+
+    /**
+     * @return the rank of the sword (wooden = 0 to netherite = 5), or -1 if it isn't a sword
+     */
+    public static int getSwordRank(@NotNull Material material) {
+        return SWORD_RANK[material.ordinal()];
+    }
+
+    /**
+     * Check if two materials are the same type (sword/axe/bow/helmet/etc.), by the last word of their name.
+     */
+    public static boolean isDifferentType(@NotNull Material first, @NotNull Material second) {
+        int firstOrdinal = first.ordinal(), secondOrdinal = second.ordinal();
+        if ((FLAGS[firstOrdinal] & FLAGS[secondOrdinal] & SINGLE_WORD_FLAG) != 0) return first != second;
+        return TYPE_ID[firstOrdinal] != TYPE_ID[secondOrdinal];
+    }
+
+    public static @Nullable EquipmentSlot getSlot(@NotNull Material material) {
+        return SLOT[material.ordinal()];
+    }
+}
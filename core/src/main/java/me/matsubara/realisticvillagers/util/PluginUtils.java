@@ -83,32 +83,6 @@ public final class PluginUtils {
             BlockFace.NORTH_NORTH_WEST};
     private static final Color[] COLORS;
 
-    private static final Class<?> CRAFT_ENTITY = XReflection.ofMinecraft()
-            .inPackage(MinecraftPackage.CB, "entity")
-            .named("CraftEntity")
-            .unreflect();
-
-    private static final Class<?> CRAFT_META_SKULL = XReflection.ofMinecraft()
-            .inPackage(MinecraftPackage.CB, "inventory")
-            .named("CraftMetaSkull")
-            .unreflect();
-
-    private static final MethodHandle SET_PROFILE = Reflection.getMethod(CRAFT_META_SKULL, "setProfile", false, GameProfile.class);
-    private static final MethodHandle SET_OWNER_PROFILE = SET_PROFILE != null ? null : Reflection.getMethod(SkullMeta.class, "setOwnerProfile", false, PlayerProfile.class);
-
-    private static final MethodHandle GET_HANDLE = Reflection.getMethod(Objects.requireNonNull(CRAFT_ENTITY), "getHandle");
-    private static final MethodHandle ABS_MOVE_TO = Reflection.getMethod(
-            XReflection.ofMinecraft()
-                    .inPackage(MinecraftPackage.NMS, "world.entity")
-                    .named("Entity")
-                    .unreflect(),
-            "a",
-            MethodType.methodType(void.class, double.class, double.class, double.class, float.class, float.class),
-            false,
-            false,
-            "setLocation",
-            "absMoveTo");
-
     public static final Map<Class<?>, Object> DEFAULT_VALUES = Map.of(
             String.class, "",
             Integer.class, 0,
@@ -210,7 +184,7 @@ public final class PluginUtils {
     public static void applySkin(SkullMeta meta, UUID uuid, String texture, boolean isUrl) {
         try {
             // If the serialized profile field isn't set, ItemStack#isSimilar() and ItemStack#equals() throw an error.
-            if (SET_PROFILE != null) {
+            if (Handles.SET_PROFILE != null) {
                 GameProfile profile = new GameProfile(uuid, "");
 
                 String value = isUrl ? new String(Base64.getEncoder().encode(String
@@ -218,8 +192,8 @@ public final class PluginUtils {
                         .getBytes())) : texture;
 
                 profile.getProperties().put("textures", new Property("textures", value));
-                SET_PROFILE.invoke(meta, profile);
-            } else if (SET_OWNER_PROFILE != null) {
+                Handles.SET_PROFILE.invoke(meta, profile);
+            } else if (Handles.SET_OWNER_PROFILE != null) {
                 PlayerProfile profile = Bukkit.createPlayerProfile(uuid, "");
 
                 PlayerTextures textures = profile.getTextures();
@@ -227,7 +201,7 @@ public final class PluginUtils {
                 textures.setSkin(new URL(url));
 
                 profile.setTextures(textures);
-                SET_OWNER_PROFILE.invoke(meta, profile);
+                Handles.SET_OWNER_PROFILE.invoke(meta, profile);
             }
         } catch (Throwable throwable) {
             throwable.printStackTrace();
@@ -544,12 +518,12 @@ public final class PluginUtils {
 
     public static void teleportWithPassengers(@NotNull LivingEntity living, Location targetLocation) {
         if (living.teleport(targetLocation)) return;
-        if (GET_HANDLE == null || ABS_MOVE_TO == null) return;
+        if (Handles.GET_HANDLE == null || Handles.ABS_MOVE_TO == null) return;
 
         // We can't teleport entities with passengers with the API.
         try {
-            Object nmsEntity = GET_HANDLE.invoke(CRAFT_ENTITY.cast(living));
-            ABS_MOVE_TO.invoke(
+            Object nmsEntity = Handles.GET_HANDLE.invoke(Handles.CRAFT_ENTITY.cast(living));
+            Handles.ABS_MOVE_TO.invoke(
                     nmsEntity,
                     targetLocation.getX(),
                     targetLocation.getY(),
@@ -586,4 +560,37 @@ public final class PluginUtils {
         Object value = args.get(key);
         return value != null ? mapper.apply(clazz.cast(value)) : defaultValue;
     }
+
+    /**
+     * Server handles, looked up the first time they're needed instead of when this class loads, so the rest of the class
+     * works without CraftBukkit and the server classes (e.g. in the benchmarks).
+     */
+    private static final class Handles {
+
+        private static final Class<?> CRAFT_ENTITY = XReflection.ofMinecraft()
+                .inPackage(MinecraftPackage.CB, "entity")
+                .named("CraftEntity")
+                .unreflect();
+
+        private static final Class<?> CRAFT_META_SKULL = XReflection.ofMinecraft()
+                .inPackage(MinecraftPackage.CB, "inventory")
+                .named("CraftMetaSkull")
+                .unreflect();
+
+        private static final MethodHandle SET_PROFILE = Reflection.getMethod(CRAFT_META_SKULL, "setProfile", false, GameProfile.class);
+        private static final MethodHandle SET_OWNER_PROFILE = SET_PROFILE != null ? null : Reflection.getMethod(SkullMeta.class, "setOwnerProfile", false, PlayerProfile.class);
+
+        private static final MethodHandle GET_HANDLE = Reflection.getMethod(Objects.requireNonNull(CRAFT_ENTITY), "getHandle");
+        private static final MethodHandle ABS_MOVE_TO = Reflection.getMethod(
+                XReflection.ofMinecraft()
+                        .inPackage(MinecraftPackage.NMS, "world.entity")
+                        .named("Entity")
+                        .unreflect(),
+                "a",
+                MethodType.methodType(void.class, double.class, double.class, double.class, float.class, float.class),
+                false,
+                false,
+                "setLocation",
+                "absMoveTo");
+    }
 }
\ No newline at end of file
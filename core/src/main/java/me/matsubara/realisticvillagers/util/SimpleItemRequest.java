@@ -200,7 +200,7 @@ public class SimpleItemRequest {
      * Get the minimum amount of an item type to keep
      */
     private static int getMinKeepAmount(@NotNull Material item) {
-        return item.isEdible() ? minKeepFood : 1;
+        return MaterialTables.isEdible(item) ? minKeepFood : 1;
     }
 
     /**
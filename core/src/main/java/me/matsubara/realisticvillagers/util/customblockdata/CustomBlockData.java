@@ -87,7 +87,7 @@ public class CustomBlockData implements PersistentDataContainer {
             PersistentDataType.TAG_CONTAINER_ARRAY,
             PersistentDataType.TAG_CONTAINER};
     private static final NamespacedKey PERSISTENCE_KEY = Objects.requireNonNull(NamespacedKey.fromString("customblockdata:protected"), "Could not create persistence NamespacedKey");
-    private static final Pattern KEY_REGEX = Pattern.compile("^x(\\d+)y(-?\\d+)z(\\d+)$");
+    static final Pattern KEY_REGEX = Pattern.compile("^x(\\d+)y(-?\\d+)z(\\d+)$");
     private static final int CHUNK_MIN_XZ = 0;
     private static final int CHUNK_MAX_XZ = 15;
     private static final boolean HAS_MIN_HEIGHT_METHOD;
@@ -255,7 +255,7 @@ public class CustomBlockData implements PersistentDataContainer {
      * Get if the given Block has any CustomBockData associated with it.
      */
     public static boolean hasCustomBlockData(Block block, Plugin plugin) {
-        return block != null && block.getChunk().getPersistentDataContainer().has(getKey(plugin, block), PersistentDataType.TAG_CONTAINER);
+        return block != null && CustomBlockDataIndex.mightHaveData(block, plugin) && block.getChunk().getPersistentDataContainer().has(getKey(plugin, block), PersistentDataType.TAG_CONTAINER);
     }
 
     /**
@@ -288,6 +288,7 @@ public class CustomBlockData implements PersistentDataContainer {
      * @param plugin Your plugin's instance.
      */
     public static void registerListener(Plugin plugin) {
+        CustomBlockDataIndex.enable(plugin);
         Bukkit.getPluginManager().registerEvents(new BlockDataListener(plugin), plugin);
     }
 
@@ -349,6 +350,9 @@ public class CustomBlockData implements PersistentDataContainer {
         } else {
             chunk.getPersistentDataContainer().set(key, PersistentDataType.TAG_CONTAINER, pdc);
         }
+
+        BlockVector vector = blockEntry.getValue();
+        CustomBlockDataIndex.update(key, blockEntry.getKey(), vector.getBlockX(), vector.getBlockY(), vector.getBlockZ(), !pdc.isEmpty());
     }
 
     /**
@@ -0,0 +1,121 @@
+package me.matsubara.realisticvillagers.util.customblockdata;
+
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+/**
+ * The blocks with custom data of every loaded chunk, so the listener can skip the (many) blocks without data without
+ * reading the chunk's {@link org.bukkit.persistence.PersistentDataContainer} and its string keys.
+ * <p>
+ * Every chunk keeps a sorted array of its blocks with data, packed as {@code y << 8 | x << 4 | z} (relative to the chunk).
+ * Chunks are indexed when loaded (or when first checked, for chunks loaded before the listener), and kept up to date when
+ * a block's data is saved. Arrays are replaced instead of modified, so reading them doesn't need any lock.
+ */
+final class CustomBlockDataIndex {
+
+    private static final int[] EMPTY = new int[0];
+    private static final Map<ChunkKey, int[]> CHUNKS = new ConcurrentHashMap<>();
+
+    // Only the blocks of this plugin are indexed, null until the listener is registered.
+    private static volatile Plugin owner;
+    private static volatile String namespace;
+
+    private CustomBlockDataIndex() {
+    }
+
+    static void enable(Plugin plugin) {
+        namespace = new NamespacedKey(plugin, "dummy").getNamespace();
+        owner = plugin;
+    }
+
+    /**
+     * @return false if the block doesn't have data for sure, true if it might (or if the namespace isn't indexed)
+     */
+    static boolean mightHaveData(@NotNull Block block, @NotNull Plugin plugin) {
+        if (plugin != owner) return true;
+
+        int chunkX = block.getX() >> 4, chunkZ = block.getZ() >> 4;
+        int[] blocks = CHUNKS.get(new ChunkKey(block.getWorld().getUID(), chunkX, chunkZ));
+        if (blocks == null) blocks = load(block.getChunk());
+
+        return blocks != EMPTY && Arrays.binarySearch(blocks, pack(block.getX() & 0xF, block.getY(), block.getZ() & 0xF)) >= 0;
+    }
+
+    static int @NotNull [] load(@NotNull Chunk chunk) {
+        String namespace = CustomBlockDataIndex.namespace;
+        if (namespace == null) return EMPTY;
+
+        int[] blocks = EMPTY;
+        for (NamespacedKey key : chunk.getPersistentDataContainer().getKeys()) {
+            if (!key.getNamespace().equals(namespace)) continue;
+
+            Matcher matcher = CustomBlockData.KEY_REGEX.matcher(key.getKey());
+            if (!matcher.matches()) continue;
+
+            int packed = pack(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            blocks = with(blocks, packed);
+        }
+
+        CHUNKS.put(new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()), blocks);
+        return blocks;
+    }
+
+    static void unload(@NotNull Chunk chunk) {
+        CHUNKS.remove(new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()));
+    }
+
+    static void unload(@NotNull World world) {
+        UUID uuid = world.getUID();
+        CHUNKS.keySet().removeIf(key -> key.world().equals(uuid));
+    }
+
+    /**
+     * Called when the data of a block is saved; chunks not indexed yet will read the saved data when indexed.
+     */
+    static void update(@NotNull NamespacedKey key, UUID world, int x, int y, int z, boolean hasData) {
+        if (!key.getNamespace().equals(namespace)) return;
+
+        int packed = pack(x & 0xF, y, z & 0xF);
+        CHUNKS.computeIfPresent(new ChunkKey(world, x >> 4, z >> 4), (ignored, blocks) -> hasData ? with(blocks, packed) : without(blocks, packed));
+    }
+
+    private static int pack(int x, int y, int z) {
+        return y << 8 | x << 4 | z;
+    }
+
+    private static int[] with(int[] blocks, int packed) {
+        int index = Arrays.binarySearch(blocks, packed);
+        if (index >= 0) return blocks;
+
+        int insertion = -(index + 1);
+        int[] copy = new int[blocks.length + 1];
+        System.arraycopy(blocks, 0, copy, 0, insertion);
+        copy[insertion] = packed;
+        System.arraycopy(blocks, insertion, copy, insertion + 1, blocks.length - insertion);
+        return copy;
+    }
+
+    private static int[] without(int[] blocks, int packed) {
+        int index = Arrays.binarySearch(blocks, packed);
+        if (index < 0) return blocks;
+        if (blocks.length == 1) return EMPTY;
+
+        int[] copy = new int[blocks.length - 1];
+        System.arraycopy(blocks, 0, copy, 0, index);
+        System.arraycopy(blocks, index + 1, copy, index, blocks.length - index - 1);
+        return copy;
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+}
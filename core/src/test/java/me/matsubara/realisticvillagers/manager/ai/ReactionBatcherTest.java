@@ -0,0 +1,166 @@
+package me.matsubara.realisticvillagers.manager.ai;
+
+import me.matsubara.realisticvillagers.entity.IVillagerNPC;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReactionBatcherTest {
+
+    private static final long TIMEOUT = 5L;
+    private static final long WINDOW = 50L;
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1L);
+
+    private final World world = world();
+    private final World nether = world();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private ReactionBatcher batcher;
+
+    @AfterEach
+    public void shutdown() {
+        if (batcher != null) batcher.shutdown();
+    }
+
+    @Test
+    public void flushesWhenTheWindowCloses() throws Exception {
+        batcher = batcher(request -> "{\"reactions\": [{\"id\": 2, \"line\": \"Bye\"}, {\"id\": 1, \"line\": \" Hi \"}]}", WINDOW, 10);
+
+        CompletableFuture<String> first = batcher.submit(villager(world, 0, 0), "Anna", "a zombie");
+        CompletableFuture<String> second = batcher.submit(villager(world, 10, 10), "Bruno", "a zombie");
+
+        assertEquals("Hi", first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals("Bye", second.get(TIMEOUT, TimeUnit.SECONDS));
+
+        // A single request, with both villagers.
+        assertEquals(1, requests.size());
+        Request request = requests.get(0);
+        assertEquals(2, request.lines());
+        assertTrue(request.systemPrompt().contains("=== VILLAGER 1 ===\nAnna"));
+        assertTrue(request.systemPrompt().contains("=== VILLAGER 2 ===\nBruno"));
+    }
+
+    @Test
+    public void flushesWhenTheBatchIsFull() throws Exception {
+        batcher = batcher(request -> "{\"reactions\": [{\"id\": 1, \"line\": \"A\"}, {\"id\": 2, \"line\": \"B\"}, {\"id\": 3, \"line\": \"C\"}]}", NEVER, 3);
+
+        CompletableFuture<String> first = batcher.submit(villager(world, 0, 0), "Anna", "rain");
+        CompletableFuture<String> second = batcher.submit(villager(world, 1, 1), "Bruno", "rain");
+        CompletableFuture<String> third = batcher.submit(villager(world, 2, 2), "Clara", "rain");
+
+        // The window never closes, only the size flushes the batch.
+        assertEquals("A", first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals("B", second.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals("C", third.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(1, requests.size());
+        assertEquals(3, requests.get(0).lines());
+
+        // The next reaction starts a new batch, completed with null on shutdown.
+        CompletableFuture<String> fourth = batcher.submit(villager(world, 3, 3), "Diego", "rain");
+        assertFalse(fourth.isDone());
+
+        batcher.shutdown();
+        assertNull(fourth.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void groupsByRegion() throws Exception {
+        batcher = batcher(request -> "{\"reactions\": [{\"id\": 1, \"line\": \"A\"}, {\"id\": 2, \"line\": \"B\"}]}", WINDOW, 10);
+
+        // Same region, another region of the same world and the same region in another world.
+        CompletableFuture<String> first = batcher.submit(villager(world, 0, 0), "Anna", "night");
+        CompletableFuture<String> second = batcher.submit(villager(world, 63, 63), "Bruno", "night");
+        CompletableFuture<String> far = batcher.submit(villager(world, 64, 0), "Clara", "night");
+        CompletableFuture<String> otherWorld = batcher.submit(villager(nether, 0, 0), "Diego", "night");
+
+        assertEquals("A", first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals("B", second.get(TIMEOUT, TimeUnit.SECONDS));
+        far.get(TIMEOUT, TimeUnit.SECONDS);
+        otherWorld.get(TIMEOUT, TimeUnit.SECONDS);
+
+        assertEquals(3, requests.size());
+        assertEquals(1, requests.stream().filter(request -> request.lines() == 2).count());
+
+        // Villagers alone in their region are asked with their own prompt.
+        assertTrue(requests.stream().anyMatch(request -> request.lines() == 1 && request.systemPrompt().equals("Clara")));
+        assertTrue(requests.stream().anyMatch(request -> request.lines() == 1 && request.systemPrompt().equals("Diego")));
+    }
+
+    @Test
+    public void sendsWithoutWaiting() throws Exception {
+        batcher = batcher(request -> "Hi", NEVER, 10);
+
+        // The window never closes, the reaction doesn't wait for it.
+        assertEquals("Hi", batcher.send("Anna", "a gift").get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(1, requests.size());
+        assertEquals(1, requests.get(0).lines());
+        assertEquals("Anna", requests.get(0).systemPrompt());
+    }
+
+    @Test
+    public void completesEveryReactionWithNullOnErrors() throws Exception {
+        batcher = batcher(request -> {
+            throw new IllegalStateException("Provider is down");
+        }, WINDOW, 10);
+
+        CompletableFuture<String> first = batcher.submit(villager(world, 0, 0), "Anna", "fire");
+        CompletableFuture<String> second = batcher.submit(villager(world, 1, 1), "Bruno", "fire");
+
+        assertNull(first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertNull(second.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void completesMissingLinesWithNull() throws Exception {
+        batcher = batcher(request -> "```json\n{\"reactions\": [{\"id\": 2, \"line\": \"B\"}]}\n```", WINDOW, 10);
+
+        CompletableFuture<String> first = batcher.submit(villager(world, 0, 0), "Anna", "fire");
+        CompletableFuture<String> second = batcher.submit(villager(world, 1, 1), "Bruno", "fire");
+
+        assertNull(first.get(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals("B", second.get(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    private @NotNull ReactionBatcher batcher(Function<Request, String> answer, long window, int maxBatchSize) {
+        // Requests run on the thread closing the window (or the one filling the batch).
+        return new ReactionBatcher((systemPrompt, userMessage, lines) -> {
+            Request request = new Request(systemPrompt, userMessage, lines);
+            requests.add(request);
+            return answer.apply(request);
+        }, Runnable::run, window, maxBatchSize, 64);
+    }
+
+    private static @NotNull IVillagerNPC villager(World world, int x, int z) {
+        LivingEntity living = mock(LivingEntity.class);
+        when(living.isValid()).thenReturn(true);
+        when(living.getLocation()).thenReturn(new Location(world, x, 64.0d, z));
+
+        IVillagerNPC npc = mock(IVillagerNPC.class);
+        when(npc.bukkit()).thenReturn(living);
+        return npc;
+    }
+
+    private static @NotNull World world() {
+        World world = mock(World.class);
+        when(world.getUID()).thenReturn(UUID.randomUUID());
+        return world;
+    }
+
+    private record Request(String systemPrompt, String userMessage, int lines) {
+    }
+}
@@ -0,0 +1,157 @@
+package me.matsubara.realisticvillagers.util;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.EquipmentSlot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The tables must give the same answer as the name rules they replaced, for every material.
+ */
+public class MaterialTablesTest {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    @Test
+    public void classifiesWeaponsByName() {
+        for (Material material : MATERIALS) {
+            assertEquals(NameRules.isSword(material), MaterialTables.isSword(material), material.name());
+            assertEquals(NameRules.isRangeWeapon(material), MaterialTables.isRangeWeapon(material), material.name());
+            assertEquals(NameRules.isAxe(material), MaterialTables.isAxe(material), material.name());
+            assertEquals(NameRules.isMeleeWeapon(material), MaterialTables.isMeleeWeapon(material), material.name());
+            assertEquals(NameRules.isWeapon(material), MaterialTables.isWeapon(material), material.name());
+        }
+    }
+
+    @Test
+    public void findsTheSlotByName() {
+        for (Material material : MATERIALS) {
+            assertEquals(NameRules.getSlotByItem(material), MaterialTables.getSlot(material), material.name());
+        }
+    }
+
+    @Test
+    public void ranksMaterials() {
+        for (Material material : MATERIALS) {
+            assertEquals(ArrayUtils.indexOf(NameRules.ARMOR, material.name()), MaterialTables.getArmorRank(material), material.name());
+            assertEquals(ArrayUtils.indexOf(NameRules.AXE, material.name()), MaterialTables.getAxeRank(material), material.name());
+            assertEquals(ArrayUtils.indexOf(NameRules.SWORD, material.name()), MaterialTables.getSwordRank(material), material.name());
+        }
+
+        for (Material toCheck : MATERIALS) {
+            for (Material actual : MATERIALS) {
+                boolean better = MaterialTables.getSwordRank(toCheck) > MaterialTables.getSwordRank(actual);
+                assertEquals(NameRules.isBetterSwordMaterial(toCheck, actual), better, toCheck.name() + " > " + actual.name());
+            }
+        }
+    }
+
+    @Test
+    public void comparesTypesByLastWord() {
+        // Split once per material, the rule is still the old one.
+        String[][] words = new String[MATERIALS.length][];
+        for (Material material : MATERIALS) {
+            words[material.ordinal()] = material.name().split("_");
+        }
+
+        for (Material first : MATERIALS) {
+            for (Material second : MATERIALS) {
+                boolean different = NameRules.isDifferentType(first, words[first.ordinal()], second, words[second.ordinal()]);
+                assertEquals(different, MaterialTables.isDifferentType(first, second), first.name() + " / " + second.name());
+            }
+        }
+    }
+
+    /**
+     * The rules of {@link ItemStackUtils} before the tables, by material.
+     */
+    private static final class NameRules {
+
+        private static final String[] ARMOR = {
+                "LEATHER_HELMET",
+                "LEATHER_CHESTPLATE",
+                "LEATHER_LEGGINGS",
+                "LEATHER_BOOTS",
+                "GOLDEN_HELMET",
+                "GOLDEN_CHESTPLATE",
+                "GOLDEN_LEGGINGS",
+                "GOLDEN_BOOTS",
+                "CHAINMAIL_HELMET",
+                "CHAINMAIL_CHESTPLATE",
+                "CHAINMAIL_LEGGINGS",
+                "CHAINMAIL_BOOTS",
+                "IRON_HELMET",
+                "IRON_CHESTPLATE",
+                "IRON_LEGGINGS",
+                "IRON_BOOTS",
+                "DIAMOND_HELMET",
+                "DIAMOND_CHESTPLATE",
+                "DIAMOND_LEGGINGS",
+                "DIAMOND_BOOTS",
+                "NETHERITE_HELMET",
+                "NETHERITE_CHESTPLATE",
+                "NETHERITE_LEGGINGS",
+                "NETHERITE_BOOTS"};
+
+        private static final String[] AXE = {
+                "WOODEN_AXE",
+                "STONE_AXE",
+                "GOLDEN_AXE",
+                "IRON_AXE",
+                "DIAMOND_AXE",
+                "NETHERITE_AXE"};
+
+        private static final String[] SWORD = {
+                "WOODEN_SWORD",
+                "GOLDEN_SWORD",
+                "STONE_SWORD",
+                "IRON_SWORD",
+                "DIAMOND_SWORD",
+                "NETHERITE_SWORD"};
+
+        private static boolean isSword(@NotNull Material material) {
+            return material.name().contains("SWORD");
+        }
+
+        private static boolean isRangeWeapon(@NotNull Material material) {
+            return material.name().endsWith("BOW");
+        }
+
+        private static boolean isAxe(@NotNull Material material) {
+            return material.name().endsWith("_AXE");
+        }
+
+        private static boolean isMeleeWeapon(@NotNull Material material) {
+            return material == Material.TRIDENT || isSword(material) || isAxe(material);
+        }
+
+        private static boolean isWeapon(@NotNull Material material) {
+            return isMeleeWeapon(material) || isRangeWeapon(material);
+        }
+
+        private static @Nullable EquipmentSlot getSlotByItem(@NotNull Material material) {
+            String name = material.name();
+            if (name.contains("HELMET")) return EquipmentSlot.HEAD;
+            if (name.contains("CHESTPLATE")) return EquipmentSlot.CHEST;
+            if (name.contains("LEGGINGS")) return EquipmentSlot.LEGS;
+            if (name.contains("BOOTS")) return EquipmentSlot.FEET;
+            return null;
+        }
+
+        private static boolean isDifferentType(Material first, String @NotNull [] firstData, Material second, String @NotNull [] secondData) {
+            if (firstData.length == 1 && secondData.length == 1) {
+                return first != second;
+            }
+
+            return !firstData[firstData.length - 1].equalsIgnoreCase(secondData[secondData.length - 1]);
+        }
+
+        private static boolean isBetterSwordMaterial(@NotNull Material toCheck, @NotNull Material actual) {
+            return ArrayUtils.indexOf(SWORD, toCheck.name()) > ArrayUtils.indexOf(SWORD, actual.name());
+        }
+    }
+}
@@ -17,6 +17,7 @@ import me.matsubara.realisticvillagers.entity.v1_18.pet.PetParrot;
 import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.VillagerNPCGoalPackages;
 import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.behaviour.core.LootChest;
 import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.behaviour.core.VillagerPanicTrigger;
+import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.behaviour.work.WorkAtPoiWithHunger;
 import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.sensing.NearestItemSensor;
 import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.sensing.NearestLivingEntitySensor;
 import me.matsubara.realisticvillagers.entity.v1_18.villager.ai.sensing.SecondaryPoiSensor;
@@ -26,11 +27,17 @@ import me.matsubara.realisticvillagers.event.VillagerExhaustionEvent;
 import me.matsubara.realisticvillagers.event.VillagerFishEvent;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.files.Messages;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.BehaviourProfiler;
+import me.matsubara.realisticvillagers.metrics.jfr.VillagerTickEvent;
+import me.matsubara.realisticvillagers.handler.npc.EntityStatusHandler;
 import me.matsubara.realisticvillagers.nms.v1_18.CustomGossipContainer;
 import me.matsubara.realisticvillagers.nms.v1_18.NMSConverter;
 import me.matsubara.realisticvillagers.nms.v1_18.VillagerFoodData;
 import me.matsubara.realisticvillagers.npc.NPC;
 import me.matsubara.realisticvillagers.tracker.VillagerTracker;
+import me.matsubara.realisticvillagers.util.AntiEnslavementUtil;
 import me.matsubara.realisticvillagers.util.ItemStackUtils;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import me.matsubara.realisticvillagers.util.Reflection;
@@ -106,6 +113,7 @@ import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.phys.AABB;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.EntityEffect;
 import org.bukkit.NamespacedKey;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
@@ -126,7 +134,6 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.metadata.MetadataValue;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -144,11 +151,13 @@ import java.util.function.Supplier;
 public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttackMob {
 
     private final RealisticVillagers plugin = JavaPlugin.getPlugin(RealisticVillagers.class);
+    private final Histogram tickTimings = plugin.getMetrics().histogram("villager_tick_seconds", "Time spent ticking a villager (movement, sensors and behaviours).");
+    private final BehaviourProfiler behaviourProfiler = new BehaviourProfiler();
 
     private String villagerName;
     private String sex;
     private IVillagerNPC partner;
-    private List<IVillagerNPC> partners = new ArrayList<>();
+    private final List<IVillagerNPC> partners = new ArrayList<>();
     private boolean isPartnerVillager;
     private long lastProcreation;
     private int skinTextureId = -1;
@@ -165,10 +174,10 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     private boolean isFatherVillager;
     private IVillagerNPC mother;
     private boolean isMotherVillager = true;
-    private List<IVillagerNPC> childrens = new ArrayList<>();
+    private final List<IVillagerNPC> childrens = new ArrayList<>();
     private UUID bedHomeWorld;
     private BlockPos bedHome;
-    private Set<EntityType<?>> targetEntities = getDefaultTargets();
+    private final Set<EntityType<?>> targetEntities = getDefaultTargets();
     private long lastGossipTime;
     private long lastGossipDecayTime;
     @Getter(AccessLevel.NONE)
@@ -192,6 +201,23 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     private ThrownTrident thrownTrident;
     private ServerPlayer shakingHeadAt;
     private long timeEntitySatOnShoulder;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) long lastEntityEventTick;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) long handledEntityEvents;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int offlineVersion;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int snapshotVersion;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int snapshotGossipVersion;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int snapshotInventoryModCount;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) ItemStack[] snapshotInventory;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) SnapshotState snapshotState;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) OfflineVillagerNPC snapshot;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int inventoryModCount;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) AITier aiTier = AITier.NEAR;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int aiTierCountdown;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int sensorInterval = 1;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) boolean cosmeticAI = true;
+    private @Setter(AccessLevel.NONE) boolean hibernating;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int hibernationCountdown;
+    private final @Getter(AccessLevel.NONE) WorkAtPoiWithHunger hibernationWork = new WorkAtPoiWithHunger();
     private @Getter(AccessLevel.NONE) CompoundTag shoulderEntityLeft = new CompoundTag();
     private @Getter(AccessLevel.NONE) CompoundTag shoulderEntityRight = new CompoundTag();
 
@@ -278,6 +304,8 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     public static final Supplier<Float> SWIM_SPEED = Config.SPEED_MODIFIER_SWIM::asFloat;
 
     private static final int GOSSIP_DECAY_INTERVAL = 24000;
+    private static final int HIBERNATION_WAKE_CHECK_TICKS = 4;
+    private static final int HIBERNATION_GRACE_TICKS = 600;
     private static final int[] ROTATION = {-1, -3 - 5, -7, -7, -6, -4, -2, 1, 3, 5, 7, 7, 6, 4, 2, 2, 0};
     private static final ImmutableSet<Item> SEEDS = ImmutableSet.of(
             Items.WHEAT_SEEDS,
@@ -316,6 +344,9 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
 
         setPersistenceRequired();
 
+        // Every change made through the container (setItem(), removeItem(), etc.) calls setChanged().
+        inventory.addListener(container -> inventoryModCount++);
+
         for (EquipmentSlot value : EquipmentSlot.values()) {
             setDropChance(value, 0.0f);
         }
@@ -484,6 +515,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
 
     public void loadPluginData(@NotNull CompoundTag villagerTag) {
         VillagerTracker tracker = plugin.getTracker();
+        invalidateOffline();
 
         if (villagerTag.hasUUID(OfflineVillagerNPC.UUID)) setUUID(villagerTag.getUUID(OfflineVillagerNPC.UUID));
         inventory.fromTag(villagerTag.getList(OfflineVillagerNPC.INVENTORY, 10));
@@ -968,14 +1000,59 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         return getBrain().getActiveNonCoreActivity().map(Activity::getName).orElse(none);
     }
 
+    @Override
+    public List<IVillagerNPC> getPartners() {
+        return Collections.unmodifiableList(partners);
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+        partners.add(partner);
+        invalidateOffline();
+    }
+
+    @Override
+    public List<IVillagerNPC> getChildrens() {
+        return Collections.unmodifiableList(childrens);
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+        childrens.add(children);
+        invalidateOffline();
+    }
+
+    @Override
+    public Set<UUID> getPlayers() {
+        return Collections.unmodifiableSet(players);
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        if (!players.add(uuid)) return false;
+        invalidateOffline();
+        return true;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        if (!players.remove(uuid)) return false;
+        invalidateOffline();
+        return true;
+    }
+
     @Override
     public void addTarget(org.bukkit.entity.EntityType type) {
-        ifTargetPresent(type, entityType -> targetEntities.add(entityType));
+        ifTargetPresent(type, entityType -> {
+            if (targetEntities.add(entityType)) invalidateOffline();
+        });
     }
 
     @Override
     public void removeTarget(org.bukkit.entity.EntityType type) {
-        ifTargetPresent(type, entityType -> targetEntities.remove(entityType));
+        ifTargetPresent(type, entityType -> {
+            if (targetEntities.remove(entityType)) invalidateOffline();
+        });
     }
 
     private void ifTargetPresent(@NotNull org.bukkit.entity.EntityType type, Consumer<EntityType<?>> consumer) {
@@ -1108,53 +1185,205 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         shakingHeadAt = ((CraftPlayer) at).getHandle();
         getLookControl().setLookAt(shakingHeadAt);
 
-        new BukkitRunnable() {
-            int current;
-            int turns;
+        // Use array to track mutable state in lambda
+        final int[] state = new int[2]; // [current, turns]
 
-            @Override
-            public void run() {
-                if (!getBukkitEntity().isValid()) {
-                    cancel();
-                    return;
-                }
-
-                if (current == ROTATION.length) {
-                    current = 0;
-                    turns++;
-                }
+        plugin.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.SHAKE_HEAD, getBukkitEntity(), task -> {
+            if (!getBukkitEntity().isValid()) {
+                task.cancel();
+                return;
+            }
 
-                if (turns == 2) {
-                    shakingHead = false;
+            if (state[0] == ROTATION.length) {
+                state[0] = 0;
+                state[1]++;
+            }
 
-                    if (shakingHeadAt.getBukkitEntity().isOnline()) {
-                        getLookControl().setLookAt(shakingHeadAt);
-                    }
+            if (state[1] == 2) {
+                shakingHead = false;
 
-                    shakingHeadAt = null;
-                    cancel();
-                    return;
+                if (shakingHeadAt.getBukkitEntity().isOnline()) {
+                    getLookControl().setLookAt(shakingHeadAt);
                 }
 
-                yHeadRot += ROTATION[current] * 3;
-                current++;
+                shakingHeadAt = null;
+                task.cancel();
+                return;
             }
-        }.runTaskTimer(plugin, 4L, 1L);
+
+            yHeadRot += ROTATION[state[0]] * 3;
+            state[0]++;
+        }, 4L, 1L);
 
         shakingHead = true;
     }
 
+    @Override
+    public void playEffect(@NotNull EntityEffect effect) {
+        broadcastEntityEvent(this, effect.getData());
+    }
+
+    @Override
+    public void handleEntityEvent(byte status) {
+        if (!EntityStatusHandler.isVillagerStatus(status)) {
+            super.handleEntityEvent(status);
+            return;
+        }
+
+        // Handle each status once per tick, no matter how many players are tracking us.
+        long tick = level.getGameTime();
+        if (tick != lastEntityEventTick) {
+            lastEntityEventTick = tick;
+            handledEntityEvents = 0L;
+        }
+
+        long mask = 1L << status;
+        if ((handledEntityEvents & mask) != 0L) return;
+        handledEntityEvents |= mask;
+
+        plugin.getTracker().getStatusHandler().handleStatus(this, status);
+    }
+
+    public static void broadcastEntityEvent(@NotNull Entity entity, byte status) {
+        // Clients render us as a player and ignore villager statuses, so the effect is handled here, without the packet.
+        // Statuses broadcast by vanilla (or other plugins) still send it, and are handled by the packet listener.
+        if (entity instanceof VillagerNPC npc && EntityStatusHandler.isVillagerStatus(status)) {
+            npc.handleEntityEvent(status);
+            return;
+        }
+
+        entity.level.broadcastEntityEvent(entity, status);
+    }
+
+    @Override
+    public void invalidateOffline() {
+        offlineVersion++;
+    }
+
     @Override
     public IVillagerNPC getOffline() {
+        // Nothing changed since the last call, the snapshot is immutable so it can be shared.
+        if (snapshot != null && isSnapshotUpToDate()) {
+            // Walking around doesn't change the saved tag, only the position is attached again.
+            if (!isAtSnapshotPosition()) snapshot = snapshot.withLastKnownPosition(currentPosition());
+            return snapshot;
+        }
+
         CompoundTag tag = new CompoundTag();
         savePluginData(tag);
 
-        return OfflineVillagerNPC.from(uuid,
+        snapshot = new OfflineVillagerNPC(uuid,
                 (CompoundTag) tag.get(plugin.getNpcValuesKey().toString()),
-                level.getWorld().getName(),
-                getX(),
-                getY(),
-                getZ());
+                currentPosition());
+
+        int size = inventory.getContainerSize();
+        snapshotInventory = new ItemStack[size];
+        for (int i = 0; i < size; i++) {
+            snapshotInventory[i] = inventory.getItem(i).copy();
+        }
+
+        snapshotState = new SnapshotState(
+                uuid,
+                villagerName,
+                sex,
+                partner,
+                isPartnerVillager,
+                lastProcreation,
+                skinTextureId,
+                kidSkinTextureId,
+                father,
+                mother,
+                isFatherVillager,
+                wasInfected,
+                equipped,
+                shoulderEntityLeft,
+                shoulderEntityRight,
+                bedHomeWorld,
+                bedHome,
+                foodData.getFoodLevel(),
+                foodData.getTickTimer(),
+                foodData.getSaturationLevel(),
+                foodData.getExhaustionLevel());
+        snapshotVersion = offlineVersion;
+        snapshotGossipVersion = gossips.getModCount();
+        snapshotInventoryModCount = inventoryModCount;
+        return snapshot;
+    }
+
+    private boolean isSnapshotUpToDate() {
+        if (snapshotVersion != offlineVersion
+                || snapshotGossipVersion != gossips.getModCount()
+                || snapshotInventoryModCount != inventoryModCount) return false;
+
+        // Simple values are compared directly, these are cheaper to check than to save the tag again.
+        SnapshotState state = snapshotState;
+        return state.uuid() == uuid
+                && state.villagerName() == villagerName
+                && state.sex() == sex
+                && state.partner() == partner
+                && state.isPartnerVillager() == isPartnerVillager
+                && state.lastProcreation() == lastProcreation
+                && state.skinTextureId() == skinTextureId
+                && state.kidSkinTextureId() == kidSkinTextureId
+                && state.father() == father
+                && state.mother() == mother
+                && state.isFatherVillager() == isFatherVillager
+                && state.wasInfected() == wasInfected
+                && state.equipped() == equipped
+                && state.shoulderEntityLeft() == shoulderEntityLeft
+                && state.shoulderEntityRight() == shoulderEntityRight
+                && state.bedHomeWorld() == bedHomeWorld
+                && state.bedHome() == bedHome
+                && state.foodLevel() == foodData.getFoodLevel()
+                && state.tickTimer() == foodData.getTickTimer()
+                && state.saturationLevel() == foodData.getSaturationLevel()
+                && state.exhaustionLevel() == foodData.getExhaustionLevel()
+                && inventoryMatchesSnapshot();
+    }
+
+    private boolean isAtSnapshotPosition() {
+        LastKnownPosition position = snapshot.getLastKnownPosition();
+        return position.x() == getX()
+                && position.y() == getY()
+                && position.z() == getZ()
+                && position.world().equals(level.getWorld().getName());
+    }
+
+    private @NotNull LastKnownPosition currentPosition() {
+        return new LastKnownPosition(level.getWorld().getName(), getX(), getY(), getZ());
+    }
+
+    private boolean inventoryMatchesSnapshot() {
+        // Some behaviors modify the stacks in place (ItemStack#shrink()) without notifying the container.
+        if (snapshotInventory.length != inventory.getContainerSize()) return false;
+        for (int i = 0; i < snapshotInventory.length; i++) {
+            if (!ItemStack.matches(snapshotInventory[i], inventory.getItem(i))) return false;
+        }
+        return true;
+    }
+
+    // The values saved in the tag of the last snapshot.
+    private record SnapshotState(UUID uuid,
+                                 String villagerName,
+                                 String sex,
+                                 IVillagerNPC partner,
+                                 boolean isPartnerVillager,
+                                 long lastProcreation,
+                                 int skinTextureId,
+                                 int kidSkinTextureId,
+                                 IVillagerNPC father,
+                                 IVillagerNPC mother,
+                                 boolean isFatherVillager,
+                                 boolean wasInfected,
+                                 boolean equipped,
+                                 CompoundTag shoulderEntityLeft,
+                                 CompoundTag shoulderEntityRight,
+                                 UUID bedHomeWorld,
+                                 BlockPos bedHome,
+                                 int foodLevel,
+                                 int tickTimer,
+                                 float saturationLevel,
+                                 float exhaustionLevel) {
     }
 
     @Override
@@ -1744,10 +1973,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     }
 
     private boolean isChildren(UUID uuid) {
-        for (IVillagerNPC npc : childrens) {
-            if (npc.getUniqueId().equals(uuid)) return true;
-        }
-        return false;
+        return plugin.getLineageManager().isParent(getUUID(), uuid);
     }
 
     public void disableShield(boolean flag) {
@@ -1789,8 +2015,10 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
             }
         }
 
-        playShoulderEntityAmbientSound(shoulderEntityLeft);
-        playShoulderEntityAmbientSound(shoulderEntityRight);
+        if (cosmeticAI) {
+            playShoulderEntityAmbientSound(shoulderEntityLeft);
+            playShoulderEntityAmbientSound(shoulderEntityRight);
+        }
 
         if (!level.isClientSide && (fallDistance > 0.5f || isInWater()) || isSleeping() || isInPowderSnow) {
             removeEntitiesOnShoulder();
@@ -1842,9 +2070,22 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
 
     @Override
     public void tick() {
+        long start = tickTimings.start();
+        VillagerTickEvent profile = new VillagerTickEvent();
+        profile.begin();
+
         super.tick();
+
+        tickTimings.recordSince(start);
+        profile.commit(getBukkitEntity());
+
+        if (BehaviourProfiler.isEnabled()) behaviourProfiler.update(getBukkitEntity(), getBrain().getRunningBehaviors());
+        else behaviourProfiler.clear();
+
         cooldowns.tick();
-        foodData.tick();
+        if (!hibernating) foodData.tick();
+        updateAITier();
+        updateHibernation();
 
         maybeDecayGossip();
 
@@ -1924,6 +2165,94 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         return true;
     }
 
+    @Override
+    public AITier getAITier() {
+        return aiTier;
+    }
+
+    public boolean hasCosmeticAI() {
+        return cosmeticAI;
+    }
+
+    /**
+     * @param run how many times the sensor ran before (sensed or not)
+     * @return whether the sensor should sense in this run, according to the current AI tier
+     */
+    public boolean shouldSense(int run) {
+        return sensorInterval == 1 || run % sensorInterval == 0;
+    }
+
+    private void updateAITier() {
+        if (--aiTierCountdown > 0) return;
+        aiTierCountdown = Math.max(1, Config.AI_LOD_UPDATE_INTERVAL.asInt());
+
+        AITier tier = AITier.NEAR;
+        if (Config.AI_LOD_ENABLED.asBool()) {
+            Player nearest = level.getNearestPlayer(this, AITier.getViewDistance());
+            tier = nearest != null ? AITier.of(distanceToSqr(nearest)) : AITier.UNOBSERVED;
+        }
+
+        aiTier = tier;
+        sensorInterval = tier.getSensorInterval();
+        cosmeticAI = tier.hasCosmeticAI();
+    }
+
+    @Override
+    protected boolean isImmobile() {
+        // Skips the brain, navigation and controls; physics still apply.
+        return hibernating || super.isImmobile();
+    }
+
+    @Override
+    public void wakeFromHibernation() {
+        // Don't go back to hibernation right away.
+        hibernationCountdown = Math.max(hibernationCountdown, HIBERNATION_GRACE_TICKS);
+        hibernating = false;
+    }
+
+    private void updateHibernation() {
+        if (--hibernationCountdown > 0) return;
+
+        if (hibernating) {
+            // A confined villager can't leave its cell, and the cell can't be broken without a player nearby.
+            if (!Config.HIBERNATION_ENABLED.asBool() || isPlayerNearby()) {
+                wakeFromHibernation();
+                return;
+            }
+
+            // Checked often while hibernating, so villagers are awake by the time a player is close.
+            hibernationCountdown = HIBERNATION_WAKE_CHECK_TICKS;
+            workWhileHibernating();
+            return;
+        }
+
+        hibernationCountdown = Math.max(1, Config.HIBERNATION_CHECK_INTERVAL.asInt());
+        hibernating = Config.HIBERNATION_ENABLED.asBool()
+                && !isPassenger()
+                && !isSleeping()
+                && !isTrading()
+                && !isFighting()
+                && !isInteracting()
+                && !isPlayerNearby()
+                && AntiEnslavementUtil.isConfined(this);
+    }
+
+    private boolean isPlayerNearby() {
+        return level.getNearestPlayer(this, Config.HIBERNATION_WAKE_DISTANCE.asDouble()) != null;
+    }
+
+    private void workWhileHibernating() {
+        if (!(this.level instanceof ServerLevel level)) return;
+
+        // Same hours as the work activity of the default schedule.
+        long dayTime = level.getDayTime() % 24000L;
+        if (dayTime < 2000L || dayTime >= 9000L) return;
+
+        // Restocks (if needed) when standing next to the job site, same as the brain would do.
+        long time = level.getGameTime();
+        if (hibernationWork.tryStart(level, this, time)) hibernationWork.doStop(level, this, time);
+    }
+
     private void playShoulderEntityAmbientSound(@Nullable CompoundTag tag) {
         if (tag == null
                 || tag.isEmpty()
@@ -2002,7 +2331,10 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     @Override
     public boolean hurt(DamageSource source, float damage) {
         boolean damaged = super.hurt(source, damage);
-        if (damaged) removeEntitiesOnShoulder();
+        if (damaged) {
+            removeEntitiesOnShoulder();
+            wakeFromHibernation();
+        }
         return damaged;
     }
 
@@ -2185,7 +2517,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         setBedHomeWorld(block.getWorld().getUID());
         setBedHome(bedHome.pos());
 
-        level.broadcastEntityEvent(this, (byte) 14);
+        broadcastEntityEvent(this, (byte) 14);
         DebugPackets.sendPoiTicketCountPacket((ServerLevel) level, bedPosition);
         return HandleHomeResult.SUCCESS;
     }
@@ -17,6 +17,12 @@ public class LookAtTargetSink extends Behavior<Villager> {
         super(ImmutableMap.of(MemoryModuleType.LOOK_TARGET, MemoryStatus.VALUE_PRESENT), minDuration, maxDuration);
     }
 
+    @Override
+    public boolean checkExtraStartConditions(ServerLevel level, Villager villager) {
+        // Nobody is close enough to see where the villager is looking at.
+        return !(villager instanceof VillagerNPC npc) || npc.hasCosmeticAI();
+    }
+
     @Override
     public boolean canStillUse(ServerLevel level, @NotNull Villager villager, long time) {
         return villager.getBrain().getMemory(MemoryModuleType.LOOK_TARGET)
@@ -9,6 +9,7 @@ import com.mojang.serialization.DynamicOps;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import lombok.Getter;
 import net.minecraft.core.SerializableUUID;
 import net.minecraft.util.VisibleForDebug;
 import net.minecraft.world.entity.ai.gossip.GossipContainer;
@@ -24,6 +25,8 @@ import java.util.stream.Stream;
 public class CustomGossipContainer extends GossipContainer {
 
     private final Map<UUID, EntityGossips> gossips = Maps.newHashMap();
+    // Bumped on every change, so snapshots can tell if the villager has to be saved again.
+    private @Getter int modCount;
 
     private static final int DISCARD_THRESHOLD = 2;
     private static final Map<GossipType, Integer> MAX_GOSSIP_TYPE_TRANSFER = ImmutableMap.of(
@@ -45,6 +48,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void decay() {
+        modCount++;
         Iterator<EntityGossips> iterator = gossips.values().iterator();
 
         while (iterator.hasNext()) {
@@ -93,6 +97,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     public void transferFrom(@NotNull CustomGossipContainer container, Random random, int topics) {
         Collection<GossipEntry> entries = container.selectGossipsForTransfer(random, topics);
+        modCount++;
         entries.forEach((entry) -> {
             int transfer = entry.value - entry.type.decayPerTransfer;
             if (transfer >= DISCARD_THRESHOLD) {
@@ -116,6 +121,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void add(UUID uuid, GossipType type, int amount) {
+        modCount++;
         EntityGossips gossips = getOrCreate(uuid);
         gossips.entries.mergeInt(type, amount, Integer::sum);
         gossips.makeSureValueIsntTooLow(type);
@@ -132,12 +138,14 @@ public class CustomGossipContainer extends GossipContainer {
         EntityGossips gossips = this.gossips.get(uuid);
         if (gossips == null) return;
 
+        modCount++;
         gossips.remove(type);
         if (gossips.isEmpty()) this.gossips.remove(uuid);
     }
 
     @Override
     public void remove(GossipType type) {
+        modCount++;
         Iterator<EntityGossips> iterator = gossips.values().iterator();
 
         while (iterator.hasNext()) {
@@ -148,6 +156,7 @@ public class CustomGossipContainer extends GossipContainer {
     }
 
     public void clear() {
+        modCount++;
         gossips.clear();
     }
 
@@ -158,6 +167,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void update(@NotNull Dynamic<?> dynamic) {
+        modCount++;
         dynamic.asStream().map(GossipEntry::load)
                 .flatMap((result) -> result.result().stream())
                 .forEach((entry) -> getOrCreate(entry.target).entries.put(entry.type, entry.value));
@@ -35,6 +35,7 @@ import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.npc.WanderingTrader;
 import net.minecraft.world.entity.vehicle.Boat;
 import net.minecraft.world.level.Level;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.craftbukkit.v1_19_R3.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_19_R3.entity.CraftWanderingTrader;
@@ -514,6 +515,36 @@ public class WanderingTraderNPC extends WanderingTrader implements IVillagerNPC
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        getBukkitEntity().playEffect(effect);
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         CompoundTag tag = new CompoundTag();
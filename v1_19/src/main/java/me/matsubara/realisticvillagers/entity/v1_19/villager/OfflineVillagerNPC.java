@@ -1,7 +1,6 @@
 package me.matsubara.realisticvillagers.entity.v1_19.villager;
 
 import lombok.Getter;
-import lombok.Setter;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.data.ExpectingType;
 import me.matsubara.realisticvillagers.data.HandleHomeResult;
@@ -13,6 +12,7 @@ import me.matsubara.realisticvillagers.tracker.VillagerTracker;
 import net.minecraft.nbt.*;
 import net.minecraft.world.entity.EntityType;
 import org.bukkit.Bukkit;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -32,11 +32,11 @@ public class OfflineVillagerNPC implements IVillagerNPC {
     private final RealisticVillagers plugin = JavaPlugin.getPlugin(RealisticVillagers.class);
 
     private final UUID uuid;
-    private @Setter CompoundTag tag;
-    private final List<IVillagerNPC> partners = new ArrayList<>();
-    private final List<IVillagerNPC> childrens = new ArrayList<>();
-    private final Set<EntityType<?>> targetEntities = new HashSet<>();
-    private final Set<UUID> players = new HashSet<>();
+    private final CompoundTag tag;
+    private final List<IVillagerNPC> partners;
+    private final List<IVillagerNPC> childrens;
+    private final Set<EntityType<?>> targetEntities;
+    private final Set<UUID> players;
     private final LastKnownPosition lastKnownPosition;
 
     public static final String UUID = "UUID";
@@ -71,6 +71,10 @@ public class OfflineVillagerNPC implements IVillagerNPC {
         this.uuid = uuid;
         this.tag = tag;
         this.lastKnownPosition = lastKnownPosition;
+        this.partners = new ArrayList<>();
+        this.childrens = new ArrayList<>();
+        this.targetEntities = new HashSet<>();
+        this.players = new HashSet<>();
         VillagerNPC.fillCollection(
                 partners,
                 input -> OfflineVillagerNPC.OFFLINE_MAPPER.apply(plugin.getTracker(), input),
@@ -93,6 +97,22 @@ public class OfflineVillagerNPC implements IVillagerNPC {
                 tag);
     }
 
+    private OfflineVillagerNPC(@NotNull OfflineVillagerNPC source, LastKnownPosition lastKnownPosition) {
+        // Shares the tag and the collections read from it, none of them are modified after creation.
+        this.uuid = source.uuid;
+        this.tag = source.tag;
+        this.lastKnownPosition = lastKnownPosition;
+        this.partners = source.partners;
+        this.childrens = source.childrens;
+        this.targetEntities = source.targetEntities;
+        this.players = source.players;
+    }
+
+    @Contract("_ -> new")
+    @NotNull OfflineVillagerNPC withLastKnownPosition(LastKnownPosition lastKnownPosition) {
+        return new OfflineVillagerNPC(this, lastKnownPosition);
+    }
+
     @Contract("_, _, _, _, _, _ -> new")
     public static @NotNull OfflineVillagerNPC from(UUID uuid, CompoundTag tag, String world, double x, double y, double z) {
         return new OfflineVillagerNPC(uuid, tag, new LastKnownPosition(world, x, y, z));
@@ -145,7 +165,7 @@ public class OfflineVillagerNPC implements IVillagerNPC {
 
     @Override
     public List<IVillagerNPC> getPartners() {
-        return partners;
+        return Collections.unmodifiableList(partners);
     }
 
     @Override
@@ -186,7 +206,7 @@ public class OfflineVillagerNPC implements IVillagerNPC {
 
     @Override
     public List<IVillagerNPC> getChildrens() {
-        return childrens;
+        return Collections.unmodifiableList(childrens);
     }
 
     @Override
@@ -524,6 +544,36 @@ public class OfflineVillagerNPC implements IVillagerNPC {
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        // Offline villagers aren't in a world, there's nobody to show the effect to.
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         return this;
@@ -586,7 +636,7 @@ public class OfflineVillagerNPC implements IVillagerNPC {
 
     @Override
     public Set<UUID> getPlayers() {
-        return players;
+        return Collections.unmodifiableSet(players);
     }
 
     @Override
@@ -52,7 +52,7 @@ public class SetEntityLookTarget extends Behavior<LivingEntity> {
 
     @Override
     public boolean checkExtraStartConditions(ServerLevel level, LivingEntity living) {
-        if (living instanceof VillagerNPC npc && npc.isLooting()) return false;
+        if (living instanceof VillagerNPC npc && (npc.isLooting() || !npc.hasCosmeticAI())) return false;
 
         NearestVisibleLivingEntities nearest = living.getBrain().getMemory(MemoryModuleType.NEAREST_VISIBLE_LIVING_ENTITIES).get();
         nearestEntityMatchingTest = nearest.findClosest(predicate.and((near) -> living.distanceToSqr(near) <= (double) maxDistSqr
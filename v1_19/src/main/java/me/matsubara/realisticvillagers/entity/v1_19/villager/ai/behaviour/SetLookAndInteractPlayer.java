@@ -31,7 +31,7 @@ public class SetLookAndInteractPlayer extends Behavior<Villager> {
     @Override
     public boolean checkExtraStartConditions(ServerLevel level, Villager villager) {
         // Don't interact if the NPC is expecting something or looting.
-        return !(villager instanceof VillagerNPC npc) || (!npc.isExpecting() && !npc.isLooting());
+        return !(villager instanceof VillagerNPC npc) || (!npc.isExpecting() && !npc.isLooting() && npc.hasCosmeticAI());
     }
 
     public void start(ServerLevel level, @NotNull Villager villager, long time) {
@@ -5,6 +5,7 @@ import me.matsubara.realisticvillagers.data.ChangeItemType;
 import me.matsubara.realisticvillagers.data.Exchangeable;
 import me.matsubara.realisticvillagers.entity.v1_19.villager.VillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.BroadcastManager;
 import me.matsubara.realisticvillagers.manager.ChestManager;
 import me.matsubara.realisticvillagers.manager.gift.Gift;
 import me.matsubara.realisticvillagers.util.ItemStackUtils;
@@ -12,7 +13,6 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.protocol.game.ClientboundBlockEventPacket;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.ai.Brain;
 import net.minecraft.world.entity.ai.behavior.Behavior;
 import net.minecraft.world.entity.ai.behavior.BehaviorUtils;
@@ -33,6 +33,7 @@ import org.bukkit.block.Chest;
 import org.bukkit.block.Sign;
 import org.bukkit.craftbukkit.v1_19_R3.block.CraftBlock;
 import org.bukkit.craftbukkit.v1_19_R3.block.CraftChest;
+import org.bukkit.craftbukkit.v1_19_R3.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_19_R3.inventory.CraftItemStack;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.Inventory;
@@ -324,19 +325,20 @@ public class LootChest extends Behavior<Villager> implements Exchangeable {
         // If chest is open by one or more players and a villager close it, don't play animation nor sound.
         if (isOpen && !open) return;
 
-        for (ServerPlayer player : level.players()) {
-            player.connection.send(new ClientboundBlockEventPacket(
-                    ((CraftChest) chest).getPosition(),
-                    Blocks.CHEST,
-                    1,
-                    open ? 1 : 0));
-        }
+        // Only send the animation to the players tracking the chest chunk.
+        ClientboundBlockEventPacket packet = new ClientboundBlockEventPacket(
+                ((CraftChest) chest).getPosition(),
+                Blocks.CHEST,
+                1,
+                open ? 1 : 0);
+        BroadcastManager broadcastManager = npc.getPlugin().getBroadcastManager();
+        broadcastManager.broadcast(chest.getLocation(), player -> ((CraftPlayer) player).getHandle().connection.send(packet));
 
         // Only play sound if inventory isn't open by one or more players.
-        if (!isOpen) playSound(level, open);
+        if (!isOpen) playSound(broadcastManager, level, open);
     }
 
-    private void playSound(ServerLevel level, boolean open) {
+    private void playSound(BroadcastManager broadcastManager, ServerLevel level, boolean open) {
         Location location = chest.getLocation().clone().add(0.5d, 0.5d, 0.5d);
 
         org.bukkit.block.data.type.Chest data = (org.bukkit.block.data.type.Chest) chest.getBlockData();
@@ -348,7 +350,7 @@ public class LootChest extends Behavior<Villager> implements Exchangeable {
         }
 
         Sound sound = open ? Sound.BLOCK_CHEST_OPEN : Sound.BLOCK_CHEST_CLOSE;
-        level.getWorld().playSound(location, sound, SoundCategory.BLOCKS, 0.5f, level.random.nextFloat() * 0.1f + 0.9f);
+        broadcastManager.playSound(location, sound, SoundCategory.BLOCKS, 0.5f, level.random.nextFloat() * 0.1f + 0.9f);
     }
 
     public BlockFace getCounterClockWise(@NotNull BlockFace face) {
@@ -2,6 +2,7 @@ package me.matsubara.realisticvillagers.entity.v1_19.villager.ai.behaviour.idle;
 
 import com.google.common.collect.ImmutableMap;
 import me.matsubara.realisticvillagers.entity.v1_19.villager.VillagerNPC;
+import me.matsubara.realisticvillagers.entity.v1_19.villager.ai.SharedPaths;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.GlobalPos;
 import net.minecraft.core.Holder;
@@ -80,8 +81,8 @@ public class VillagerMakeLove extends Behavior<Villager> {
             breedWith.eatAndDigestFood();
             tryToGiveBirth(level, villager, breedWith);
         } else if (villager.getRandom().nextInt(35) == 0) {
-            level.broadcastEntityEvent(breedWith, (byte) 12);
-            level.broadcastEntityEvent(villager, (byte) 12);
+            VillagerNPC.broadcastEntityEvent(breedWith, (byte) 12);
+            VillagerNPC.broadcastEntityEvent(villager, (byte) 12);
         }
     }
 
@@ -93,8 +94,8 @@ public class VillagerMakeLove extends Behavior<Villager> {
     private void tryToGiveBirth(ServerLevel level, Villager villager, Villager breedWith) {
         Optional<BlockPos> optional = takeVacantBed(level, villager);
         if (optional.isEmpty()) {
-            level.broadcastEntityEvent(breedWith, (byte) 13);
-            level.broadcastEntityEvent(villager, (byte) 13);
+            VillagerNPC.broadcastEntityEvent(breedWith, (byte) 13);
+            VillagerNPC.broadcastEntityEvent(villager, (byte) 13);
         } else {
             Optional<Villager> optional1 = breed(level, villager, breedWith);
             if (optional1.isPresent()) {
@@ -127,7 +128,7 @@ public class VillagerMakeLove extends Behavior<Villager> {
     }
 
     private boolean canReach(@NotNull Villager villager, BlockPos blockposition, @NotNull Holder<PoiType> holder) {
-        Path path = villager.getNavigation().createPath(blockposition, holder.value().validRange());
+        Path path = SharedPaths.createPath(villager, blockposition, holder.value().validRange());
         return path != null && path.canReach();
     }
 
@@ -150,8 +151,10 @@ public class VillagerMakeLove extends Behavior<Villager> {
         baby.loadPluginData(new CompoundTag());
 
         // Add children to parents list.
-        breed.getChildrens().add(baby.getOffline());
-        npc.getChildrens().add(baby.getOffline());
+        breed.addChildren(baby.getOffline());
+        npc.addChildren(baby.getOffline());
+        npc.getPlugin().getLineageManager().addChild(npc.bukkit().getWorld(), breed.getUUID(), baby.getUUID());
+        npc.getPlugin().getLineageManager().addChild(npc.bukkit().getWorld(), npc.getUUID(), baby.getUUID());
 
         baby.setAge(-24000);
         baby.moveTo(villager.getX(), villager.getY(), villager.getZ(), 0.0f, 0.0f);
@@ -161,7 +164,7 @@ public class VillagerMakeLove extends Behavior<Villager> {
         baby.setFatherVillager(true);
 
         level.addFreshEntityWithPassengers(baby, SpawnReason.BREEDING);
-        level.broadcastEntityEvent(baby, (byte) 12);
+        VillagerNPC.broadcastEntityEvent(baby, (byte) 12);
 
         // Only marry the villagers if they don't have a partner.
         if (!npc.hasPartner() && !breed.hasPartner()) {
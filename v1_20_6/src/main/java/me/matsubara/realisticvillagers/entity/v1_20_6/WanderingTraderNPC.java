@@ -35,6 +35,7 @@ import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.npc.WanderingTrader;
 import net.minecraft.world.level.Level;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.craftbukkit.v1_20_R4.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_20_R4.entity.CraftWanderingTrader;
@@ -516,6 +517,36 @@ public class WanderingTraderNPC extends WanderingTrader implements IVillagerNPC,
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        getBukkitEntity().playEffect(effect);
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         CompoundTag tag = new CompoundTag();
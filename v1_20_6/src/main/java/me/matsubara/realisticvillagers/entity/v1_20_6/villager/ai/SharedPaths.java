@@ -0,0 +1,98 @@
+package me.matsubara.realisticvillagers.entity.v1_20_6.villager.ai;
+
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.manager.PathCache;
+import me.matsubara.realisticvillagers.metrics.jfr.PathfindEvent;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates paths through the {@link PathCache}, so mobs walking the same routes don't compute the same path again.
+ * Every caller gets its own copy of the path (the nodes are shared, but those aren't modified once the path is computed).
+ */
+public final class SharedPaths {
+
+    private static final RealisticVillagers PLUGIN = JavaPlugin.getPlugin(RealisticVillagers.class);
+
+    private SharedPaths() {
+    }
+
+    public static @Nullable Path createPath(@NotNull Mob mob, @NotNull BlockPos target, int accuracy) {
+        PathfindEvent profile = new PathfindEvent();
+        profile.begin();
+
+        Path path = findPath(mob, target, accuracy, profile);
+
+        profile.setNodes(path != null ? path.getNodeCount() : 0);
+        profile.commit(mob.getBukkitEntity());
+        return path;
+    }
+
+    private static @Nullable Path findPath(@NotNull Mob mob, @NotNull BlockPos target, int accuracy, PathfindEvent profile) {
+        PathNavigation navigation = mob.getNavigation();
+
+        PathCache cache = PLUGIN.getPathCache();
+        if (!cache.isEnabled()) {
+            profile.setOperation("computed");
+            return navigation.createPath(target, accuracy);
+        }
+
+        PathCache.PathKey key = new PathCache.PathKey(
+                mob.level().getWorld().getUID(),
+                mob.blockPosition().asLong(),
+                target.asLong(),
+                accuracy,
+                // Paths depend on the size of the mob (babies fit in smaller spaces).
+                mob.getType().hashCode() << 1 | (mob.isBaby() ? 1 : 0));
+
+        if (cache.get(key) instanceof Path cached) {
+            profile.setOperation("cached");
+            profile.setCached(true);
+            return copy(cached);
+        }
+
+        profile.setOperation("computed");
+        Path path = navigation.createPath(target, accuracy);
+
+        // The current path (still being followed) is returned when going to the same target, it doesn't start here.
+        if (path != null && path != navigation.getPath() && path.getNodeCount() > 0) {
+            cache.put(key, copy(path), bounds(path));
+        }
+
+        return path;
+    }
+
+    private static @NotNull Path copy(@NotNull Path path) {
+        List<Node> nodes = new ArrayList<>(path.getNodeCount());
+        for (int i = 0; i < path.getNodeCount(); i++) {
+            nodes.add(path.getNode(i));
+        }
+        return new Path(nodes, path.getTarget(), path.canReach());
+    }
+
+    private static @NotNull PathCache.Bounds bounds(@NotNull Path path) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < path.getNodeCount(); i++) {
+            Node node = path.getNode(i);
+            minX = Math.min(minX, node.x);
+            minY = Math.min(minY, node.y);
+            minZ = Math.min(minZ, node.z);
+            maxX = Math.max(maxX, node.x);
+            maxY = Math.max(maxY, node.y);
+            maxZ = Math.max(maxZ, node.z);
+        }
+
+        // Include the blocks below (floor), above (head) and next to the nodes.
+        return new PathCache.Bounds(minX - 1, minY - 1, minZ - 1, maxX + 1, maxY + 2, maxZ + 1);
+    }
+}
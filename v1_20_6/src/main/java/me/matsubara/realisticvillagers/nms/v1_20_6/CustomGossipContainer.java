@@ -11,6 +11,7 @@ import com.mojang.serialization.codecs.RecordCodecBuilder;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import lombok.Getter;
 import net.minecraft.core.UUIDUtil;
 import net.minecraft.util.ExtraCodecs;
 import net.minecraft.util.RandomSource;
@@ -27,6 +28,8 @@ import java.util.stream.Stream;
 public class CustomGossipContainer extends GossipContainer {
 
     private final Map<UUID, EntityGossips> gossips = Maps.newHashMap();
+    // Bumped on every change, so snapshots can tell if the villager has to be saved again.
+    private @Getter int modCount;
 
     private static final int DISCARD_THRESHOLD = 2;
     private static final Map<GossipType, Integer> MAX_GOSSIP_TYPE_TRANSFER = ImmutableMap.of(
@@ -48,6 +51,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void decay() {
+        modCount++;
         Iterator<EntityGossips> iterator = gossips.values().iterator();
         while (iterator.hasNext()) {
             EntityGossips gossips = iterator.next();
@@ -95,6 +99,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     public void transferFrom(@NotNull CustomGossipContainer container, RandomSource random, int topics) {
         Collection<GossipEntry> entries = container.selectGossipsForTransfer(random, topics);
+        modCount++;
         entries.forEach((entry) -> {
             int transfer = entry.value - entry.type.decayPerTransfer;
             if (transfer >= DISCARD_THRESHOLD) {
@@ -118,6 +123,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void add(UUID uuid, GossipType type, int amount) {
+        modCount++;
         EntityGossips gossips = getOrCreate(uuid);
         gossips.entries.mergeInt(type, amount, Integer::sum);
         gossips.makeSureValueIsntTooLow(type);
@@ -134,12 +140,14 @@ public class CustomGossipContainer extends GossipContainer {
         EntityGossips gossips = this.gossips.get(uuid);
         if (gossips == null) return;
 
+        modCount++;
         gossips.remove(type);
         if (gossips.isEmpty()) this.gossips.remove(uuid);
     }
 
     @Override
     public void remove(GossipType type) {
+        modCount++;
         Iterator<EntityGossips> iterator = gossips.values().iterator();
 
         while (iterator.hasNext()) {
@@ -150,6 +158,7 @@ public class CustomGossipContainer extends GossipContainer {
     }
 
     public void clear() {
+        modCount++;
         gossips.clear();
     }
 
@@ -163,6 +172,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void update(@NotNull Dynamic<?> dynamic) {
+        modCount++;
         GossipEntry.LIST_CODEC.decode(dynamic)
                 .resultOrPartial((string) -> LogUtils.getLogger().warn("Failed to deserialize gossips: {}", string))
                 .stream().flatMap((pair) -> pair.getFirst().stream())
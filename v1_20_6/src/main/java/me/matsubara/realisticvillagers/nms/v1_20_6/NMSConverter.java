@@ -18,6 +18,7 @@ import me.matsubara.realisticvillagers.entity.v1_20_6.villager.OfflineVillagerNP
 import me.matsubara.realisticvillagers.entity.v1_20_6.villager.VillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.tracker.OfflineVillagerStore;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import me.matsubara.realisticvillagers.util.Reflection;
 import net.minecraft.core.BlockPos;
@@ -31,6 +32,7 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attribute;
@@ -85,6 +87,7 @@ import org.jetbrains.annotations.Nullable;
 import java.io.*;
 import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
@@ -223,7 +226,7 @@ public class NMSConverter implements INMSConverter {
             VillagerNPC nmsMother = bukkitMother != null ? ((VillagerNPC) ((CraftVillager) bukkitMother).getHandle()) : null;
             if (nmsMother != null) {
                 nmsMother.setAge(6000);
-                nmsMother.getChildrens().add(baby.getOffline());
+                nmsMother.addChildren(baby.getOffline());
                 baby.setMother(nmsMother.getOffline());
             }
         }
@@ -241,7 +244,7 @@ public class NMSConverter implements INMSConverter {
         if (reputation > 1) gossips.add(fatherUUID, GossipType.MINOR_POSITIVE, reputation);
 
         level.addFreshEntityWithPassengers(baby, CreatureSpawnEvent.SpawnReason.BREEDING);
-        level.broadcastEntityEvent(baby, (byte) 12);
+        VillagerNPC.broadcastEntityEvent(baby, (byte) 12);
     }
 
     @Override
@@ -334,6 +337,17 @@ public class NMSConverter implements INMSConverter {
         return raid != null ? new CraftRaid(raid) : null;
     }
 
+    @Override
+    public List<Player> getTrackingPlayers(@NotNull World world, int chunkX, int chunkZ) {
+        ServerLevel level = ((CraftWorld) world).getHandle();
+
+        List<Player> players = new ArrayList<>();
+        for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(new ChunkPos(chunkX, chunkZ), false)) {
+            players.add(player.getBukkitEntity());
+        }
+        return players;
+    }
+
     @SuppressWarnings("deprecation")
     public static void updateTamedData(@NotNull RealisticVillagers plugin, CompoundTag tag, LivingEntity living, boolean tamedByVillager) {
         CompoundTag bukkit = NMSConverter.getOrCreateBukkitTag(tag);
@@ -370,6 +384,17 @@ public class NMSConverter implements INMSConverter {
         }
     }
 
+    @Override
+    public byte[] encodeOffline(IVillagerNPC offline) {
+        // The tag already includes the UUID and the last known position.
+        return offline instanceof OfflineVillagerNPC npc ? npc.getTag().toString().getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public IVillagerNPC decodeOffline(byte[] data) {
+        return getNPCFromTag(new String(data, StandardCharsets.UTF_8));
+    }
+
     @Override
     public void spawnFromTag(@NotNull Location location, String tag) {
         Preconditions.checkArgument(location.getWorld() != null && !tag.isEmpty(), "Either world is null or tag is empty!");
@@ -503,8 +528,8 @@ public class NMSConverter implements INMSConverter {
 
             UUID uuid = compound.getUUID("UUID");
 
-            Set<IVillagerNPC> offlines = plugin.getTracker().getOfflineVillagers();
-            if (offlines.stream().noneMatch(npc -> npc.getUniqueId().equals(uuid))) {
+            OfflineVillagerStore offlines = plugin.getTracker().getOfflineVillagers();
+            if (!offlines.contains(uuid)) {
                 offlines.add(OfflineVillagerNPC.from(uuid, data, world, xc, yc, zc));
             }
         }
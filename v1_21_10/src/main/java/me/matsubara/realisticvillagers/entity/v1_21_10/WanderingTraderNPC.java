@@ -37,6 +37,7 @@ import net.minecraft.world.entity.npc.WanderingTrader;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.storage.ValueInput;
 import net.minecraft.world.level.storage.ValueOutput;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.craftbukkit.v1_21_R6.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_21_R6.entity.CraftWanderingTrader;
@@ -515,6 +516,36 @@ public class WanderingTraderNPC extends WanderingTrader implements IVillagerNPC,
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        getBukkitEntity().playEffect(effect);
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         return new OfflineVillagerNPC(
@@ -1,5 +1,7 @@
 package me.matsubara.realisticvillagers.entity.v1_21_10.villager;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -21,6 +23,7 @@ import net.minecraft.nbt.TagParser;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.ai.gossip.GossipType;
 import org.bukkit.Bukkit;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -45,7 +48,7 @@ public class OfflineVillagerNPC implements IVillagerNPC {
     private final String villagerName;
     private final String sex;
     private final IVillagerNPC partner;
-    private final List<IVillagerNPC> partners = new ArrayList<>();
+    private final List<IVillagerNPC> partners;
     private final boolean isPartnerVillager;
     private final long lastProcreation;
     private final int skinTextureId;
@@ -53,11 +56,11 @@ public class OfflineVillagerNPC implements IVillagerNPC {
     private final IVillagerNPC father;
     private final IVillagerNPC mother;
     private final boolean isFatherVillager;
-    private final List<IVillagerNPC> childrens = new ArrayList<>();
-    private final Set<EntityType<?>> targetEntities = new HashSet<>();
-    private final List<CustomGossipContainer.GossipEntry> entries = new ArrayList<>();
-    private final CustomGossipContainer gosssips;
-    private final Set<UUID> players = new HashSet<>();
+    private final List<IVillagerNPC> childrens;
+    private final Set<EntityType<?>> targetEntities;
+    private final List<CustomGossipContainer.GossipEntry> entries;
+    private final @Getter(lazy = true) CustomGossipContainer gosssips = new CustomGossipContainer(entries);
+    private final Set<UUID> players;
     private @Setter LastKnownPosition lastKnownPosition;
     private final @Getter(AccessLevel.NONE) CompoundTag shoulderEntityLeft;
     private final @Getter(AccessLevel.NONE) CompoundTag shoulderEntityRight;
@@ -121,12 +124,59 @@ public class OfflineVillagerNPC implements IVillagerNPC {
         this.tickTimer = tickTimer;
         this.saturationLevel = saturationLevel;
         this.exhaustionLevel = exhaustionLevel;
-        this.entries.addAll(entries);
-        this.partners.addAll(partners);
-        this.childrens.addAll(childrens);
-        this.targetEntities.addAll(targetEntities);
-        this.players.addAll(players);
-        this.gosssips = new CustomGossipContainer(entries);
+        this.entries = immutableList(entries);
+        this.partners = immutableList(partners);
+        this.childrens = immutableList(childrens);
+        this.targetEntities = immutableSet(targetEntities);
+        this.players = immutableSet(players);
+    }
+
+    // Collections coming from a previous snapshot are already immutable, so they're shared instead of copied.
+    private static <T> List<T> immutableList(@NotNull List<T> list) {
+        if (list instanceof ImmutableList<T> immutable) return immutable;
+        return list.stream().filter(Objects::nonNull).collect(ImmutableList.toImmutableList());
+    }
+
+    private static <T> Set<T> immutableSet(@NotNull Set<T> set) {
+        if (set instanceof ImmutableSet<T> immutable) return immutable;
+        return set.stream().filter(Objects::nonNull).collect(ImmutableSet.toImmutableSet());
+    }
+
+    boolean hasShoulderEntities(CompoundTag left, CompoundTag right) {
+        return shoulderEntityLeft == left && shoulderEntityRight == right;
+    }
+
+    @Contract("_ -> new")
+    @NotNull OfflineVillagerNPC withLastKnownPosition(LastKnownPosition lastKnownPosition) {
+        // The collections are already immutable, so the copy only costs the new instance.
+        return new OfflineVillagerNPC(
+                uuid,
+                villagerName,
+                sex,
+                partner,
+                isPartnerVillager,
+                lastProcreation,
+                skinTextureId,
+                kidSkinTextureId,
+                father,
+                mother,
+                isFatherVillager,
+                lastKnownPosition,
+                partners,
+                childrens,
+                targetEntities,
+                players,
+                entries,
+                shoulderEntityLeft,
+                shoulderEntityRight,
+                bedHomeWorld,
+                bedHome,
+                wasInfected,
+                equipped,
+                foodLevel,
+                tickTimer,
+                saturationLevel,
+                exhaustionLevel);
     }
 
     public static <T> T get(@Nullable OfflineVillagerNPC offline, Function<OfflineVillagerNPC, T> getter) {
@@ -158,7 +208,7 @@ public class OfflineVillagerNPC implements IVillagerNPC {
 
     @Override
     public int getReputation(UUID uuid) {
-        return gosssips.getReputation(uuid, (type) -> true);
+        return getGosssips().getReputation(uuid, (type) -> true);
     }
 
     @Override
@@ -476,6 +526,36 @@ public class OfflineVillagerNPC implements IVillagerNPC {
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        // Offline villagers aren't in a world, there's nobody to show the effect to.
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         return this;
@@ -640,7 +720,10 @@ public class OfflineVillagerNPC implements IVillagerNPC {
     }
 
     private OfflineDataWrapper toOfflineDataWrapper(IVillagerNPC npc) {
-        return npc instanceof OfflineVillagerNPC offline ? offline.toOfflineDataWrapper() : null;
+        // Relatives are saved by their UUID (and the name, for when they're gone), not with their whole data.
+        return npc instanceof OfflineVillagerNPC offline ?
+                OfflineDataWrapper.relative(offline.uuid, offline.villagerName, offline.sex) :
+                null;
     }
 
     private static CompoundTag getShoulderEntity(String string) {
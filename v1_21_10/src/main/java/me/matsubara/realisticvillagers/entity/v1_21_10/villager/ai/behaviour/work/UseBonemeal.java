@@ -5,6 +5,9 @@ import lombok.Getter;
 import me.matsubara.realisticvillagers.data.ChangeItemType;
 import me.matsubara.realisticvillagers.data.Exchangeable;
 import me.matsubara.realisticvillagers.entity.v1_21_10.villager.VillagerNPC;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.FarmlandManager;
+import me.matsubara.realisticvillagers.manager.FarmlandManager.PlotState;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.SimpleContainer;
@@ -24,8 +27,10 @@ import net.minecraft.world.level.block.BonemealableBlock;
 import net.minecraft.world.level.block.CropBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.UUID;
 
 public class UseBonemeal extends Behavior<Villager> implements Exchangeable {
 
@@ -38,6 +43,7 @@ public class UseBonemeal extends Behavior<Villager> implements Exchangeable {
     private @Getter ItemStack previousItem;
 
     private static final int BONEMEALING_DURATION = 80;
+    private static final int MAX_CLAIM_ATTEMPTS = 4;
 
     public UseBonemeal() {
         super(ImmutableMap.of(
@@ -64,6 +70,13 @@ public class UseBonemeal extends Behavior<Villager> implements Exchangeable {
     }
 
     private Optional<BlockPos> pickNextTarget(ServerLevel level, Villager villager) {
+        // Growing crops are in the registry, only scan for them (or other bonemealables) if there aren't any.
+        FarmlandManager farmland = HarvestFarmland.getFarmland(villager);
+        if (farmland != null) {
+            BlockPos claimed = claimGrowing(level, villager, farmland);
+            if (claimed != null) return Optional.of(claimed);
+        }
+
         BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
         Optional<BlockPos> pos = Optional.empty();
 
@@ -85,6 +98,36 @@ public class UseBonemeal extends Behavior<Villager> implements Exchangeable {
         return pos;
     }
 
+    private @Nullable BlockPos claimGrowing(@NotNull ServerLevel level, @NotNull Villager villager, @NotNull FarmlandManager farmland) {
+        UUID world = level.getWorld().getUID();
+        BlockPos position = villager.blockPosition();
+        int radius = Config.FARMLAND_REGISTRY_CLAIM_RADIUS.asInt();
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            FarmlandManager.Claim claim = farmland.claim(villager.getUUID(), world, position.getX(), position.getY(), position.getZ(), radius, PlotState.GROWING);
+            if (claim == null) return null;
+
+            BlockPos pos = new BlockPos(claim.x(), claim.y(), claim.z());
+            if (validPos(pos, level)) return pos;
+
+            // The registry was outdated.
+            farmland.update(world, claim.x(), claim.y(), claim.z(), HarvestFarmland.getPlotState(level, pos));
+            farmland.release(villager.getUUID(), world, claim.x(), claim.y(), claim.z());
+        }
+
+        return null;
+    }
+
+    private void releaseTarget(ServerLevel level, Villager villager) {
+        FarmlandManager farmland = HarvestFarmland.getFarmland(villager);
+        if (farmland == null || cropPos.isEmpty()) return;
+
+        BlockPos pos = cropPos.get();
+        UUID world = level.getWorld().getUID();
+        farmland.update(world, pos.getX(), pos.getY(), pos.getZ(), HarvestFarmland.getPlotState(level, pos));
+        farmland.release(villager.getUUID(), world, pos.getX(), pos.getY(), pos.getZ());
+    }
+
     private boolean validPos(BlockPos pos, @NotNull ServerLevel level) {
         BlockState state = level.getBlockState(pos);
         Block block = state.getBlock();
@@ -115,6 +158,7 @@ public class UseBonemeal extends Behavior<Villager> implements Exchangeable {
             npc.setUsingBoneMeal(false);
             npc.setItemSlot(EquipmentSlot.MAINHAND, previousItem);
         }
+        releaseTarget(level, villager);
         lastBonemealingSession = villager.tickCount;
     }
 
@@ -147,6 +191,7 @@ public class UseBonemeal extends Behavior<Villager> implements Exchangeable {
 
         if (!boneMeal.isEmpty() && BoneMealItem.growCrop(boneMeal, level, pos)) {
             level.levelEvent(1505, pos, 0);
+            releaseTarget(level, villager);
             cropPos = pickNextTarget(level, villager);
             setCurrentCropAsTarget(villager);
             nextWorkCycleTime = time + 40L;
@@ -1,7 +1,10 @@
 package me.matsubara.realisticvillagers.entity.v1_21_10.villager.ai.sensing;
 
 import com.google.common.collect.ImmutableSet;
+import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.entity.v1_21_10.villager.VillagerNPC;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.SensorEvent;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.Mob;
@@ -10,6 +13,7 @@ import net.minecraft.world.entity.ai.sensing.Sensor;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.item.PrimedTnt;
 import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Comparator;
@@ -20,9 +24,14 @@ import java.util.stream.Stream;
 
 public class NearestItemSensor extends Sensor<Mob> {
 
+    private static final Histogram TIMINGS = JavaPlugin.getPlugin(RealisticVillagers.class).getMetrics()
+            .histogram("villager_sensor_seconds", "Time spent by each villager sensor.", "sensor", "items");
+
     private static final long ITEM_RANGE = 32L;
     private static final long TNT_RANGE = 8L;
 
+    private int runs;
+
     @Override
     public Set<MemoryModuleType<?>> requires() {
         return ImmutableSet.of(VillagerNPC.NEAREST_WANTED_ITEM, VillagerNPC.NEAREST_PRIMED_TNT);
@@ -30,6 +39,21 @@ public class NearestItemSensor extends Sensor<Mob> {
 
     @Override
     public void doTick(@NotNull ServerLevel level, Mob mob) {
+        long start = TIMINGS.start();
+        SensorEvent profile = new SensorEvent();
+        profile.begin();
+        try {
+            sense(level, mob);
+        } finally {
+            TIMINGS.recordSince(start);
+            profile.setOperation("items");
+            profile.commit(mob.getBukkitEntity());
+        }
+    }
+
+    private void sense(@NotNull ServerLevel level, Mob mob) {
+        if (mob instanceof VillagerNPC npc && !npc.shouldSense(runs++)) return;
+
         provideNearest(mob,
                 level.getEntitiesOfClass(
                         ItemEntity.class,
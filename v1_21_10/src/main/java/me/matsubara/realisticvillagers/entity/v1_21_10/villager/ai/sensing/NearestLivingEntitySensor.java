@@ -1,13 +1,17 @@
 package me.matsubara.realisticvillagers.entity.v1_21_10.villager.ai.sensing;
 
 import com.google.common.collect.ImmutableSet;
+import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.entity.v1_21_10.villager.VillagerNPC;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.SensorEvent;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.Brain;
 import net.minecraft.world.entity.ai.memory.MemoryModuleType;
 import net.minecraft.world.entity.ai.memory.NearestVisibleLivingEntities;
 import net.minecraft.world.entity.ai.sensing.Sensor;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Comparator;
@@ -16,8 +20,24 @@ import java.util.Set;
 
 public class NearestLivingEntitySensor extends Sensor<LivingEntity> {
 
+    private static final Histogram TIMINGS = JavaPlugin.getPlugin(RealisticVillagers.class).getMetrics()
+            .histogram("villager_sensor_seconds", "Time spent by each villager sensor.", "sensor", "living_entities");
+
     @Override
     public void doTick(@NotNull ServerLevel level, @NotNull LivingEntity living) {
+        long start = TIMINGS.start();
+        SensorEvent profile = new SensorEvent();
+        profile.begin();
+        try {
+            sense(level, living);
+        } finally {
+            TIMINGS.recordSince(start);
+            profile.setOperation("living_entities");
+            profile.commit(living.getBukkitEntity());
+        }
+    }
+
+    private void sense(@NotNull ServerLevel level, @NotNull LivingEntity living) {
         List<LivingEntity> entities = level.getEntitiesOfClass(
                 LivingEntity.class,
                 living.getBoundingBox().inflate(16.0d, 16.0d, 16.0d),
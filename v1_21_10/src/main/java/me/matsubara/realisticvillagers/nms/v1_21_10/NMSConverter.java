@@ -19,6 +19,7 @@ import me.matsubara.realisticvillagers.entity.v1_21_10.villager.OfflineVillagerN
 import me.matsubara.realisticvillagers.entity.v1_21_10.villager.VillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.tracker.OfflineVillagerStore;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import me.matsubara.realisticvillagers.util.Reflection;
 import net.minecraft.core.*;
@@ -30,6 +31,7 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attribute;
@@ -256,7 +258,7 @@ public class NMSConverter implements INMSConverter {
             VillagerNPC nmsMother = bukkitMother != null ? ((VillagerNPC) ((CraftVillager) bukkitMother).getHandle()) : null;
             if (nmsMother != null) {
                 nmsMother.setAge(6000);
-                nmsMother.getChildrens().add(baby.getOffline());
+                nmsMother.addChildren(baby.getOffline());
                 baby.setMother(nmsMother.getOffline());
             }
         }
@@ -274,7 +276,7 @@ public class NMSConverter implements INMSConverter {
         if (reputation > 1) gossips.add(fatherUUID, GossipType.MINOR_POSITIVE, reputation);
 
         level.addFreshEntityWithPassengers(baby, CreatureSpawnEvent.SpawnReason.BREEDING);
-        level.broadcastEntityEvent(baby, (byte) 12);
+        VillagerNPC.broadcastEntityEvent(baby, (byte) 12);
     }
 
     @Override
@@ -373,6 +375,17 @@ public class NMSConverter implements INMSConverter {
         return raid != null ? new CraftRaid(raid, level) : null;
     }
 
+    @Override
+    public List<Player> getTrackingPlayers(@NotNull World world, int chunkX, int chunkZ) {
+        ServerLevel level = ((CraftWorld) world).getHandle();
+
+        List<Player> players = new ArrayList<>();
+        for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(new ChunkPos(chunkX, chunkZ), false)) {
+            players.add(player.getBukkitEntity());
+        }
+        return players;
+    }
+
     public static void updateTamedData(@NotNull RealisticVillagers plugin, @NotNull LivingEntity living, boolean tamedByVillager) {
         CraftPersistentDataContainer container = living.getBukkitEntity().getPersistentDataContainer();
         container.set(plugin.getTamedByVillagerKey(), PersistentDataType.BOOLEAN, tamedByVillager);
@@ -393,7 +406,19 @@ public class NMSConverter implements INMSConverter {
     @Override
     public IVillagerNPC getNPCFromTag(String tag) {
         byte[] primitive = Base64.getDecoder().decode(tag);
-        OfflineDataWrapper wrapper = RealisticVillagers.VILLAGER_DATA.fromPrimitive(primitive, ADAPTER_CONTEXT);
+        return decodeOffline(primitive);
+    }
+
+    @Override
+    public byte[] encodeOffline(IVillagerNPC offline) {
+        return offline instanceof OfflineVillagerNPC npc ?
+                RealisticVillagers.VILLAGER_DATA.toPrimitive(npc.toOfflineDataWrapper(), ADAPTER_CONTEXT) :
+                null;
+    }
+
+    @Override
+    public IVillagerNPC decodeOffline(byte[] data) {
+        OfflineDataWrapper wrapper = RealisticVillagers.VILLAGER_DATA.fromPrimitive(data, ADAPTER_CONTEXT);
         return OfflineVillagerNPC.fromOfflineDataWrapper(wrapper);
     }
 
@@ -533,8 +558,8 @@ public class NMSConverter implements INMSConverter {
             double yc = pos.getDoubleOr(1, 0.0d);
             double zc = pos.getDoubleOr(2, 0.0d);
 
-            Set<IVillagerNPC> offlines = plugin.getTracker().getOfflineVillagers();
-            if (offlines.stream().noneMatch(npc -> npc.getUniqueId().equals(uuid))) {
+            OfflineVillagerStore offlines = plugin.getTracker().getOfflineVillagers();
+            if (!offlines.contains(uuid)) {
                 byte[] primitive = REGISTRY.extract(RealisticVillagers.VILLAGER_DATA, values);
                 OfflineDataWrapper wrapper = RealisticVillagers.VILLAGER_DATA.fromPrimitive(primitive, ADAPTER_CONTEXT);
                 OfflineVillagerNPC offline = OfflineVillagerNPC.fromOfflineDataWrapper(wrapper) instanceof OfflineVillagerNPC temp ?
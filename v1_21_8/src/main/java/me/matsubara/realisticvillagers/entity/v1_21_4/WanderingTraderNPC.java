@@ -36,6 +36,7 @@ import net.minecraft.world.entity.npc.WanderingTrader;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.storage.ValueInput;
 import net.minecraft.world.level.storage.ValueOutput;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.craftbukkit.v1_21_R5.entity.CraftPlayer;
 import org.bukkit.craftbukkit.v1_21_R5.entity.CraftWanderingTrader;
@@ -45,6 +46,7 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Villager;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -514,6 +516,36 @@ public class WanderingTraderNPC extends WanderingTrader implements IVillagerNPC,
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        getBukkitEntity().playEffect(effect);
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         return new OfflineVillagerNPC(
@@ -563,7 +595,7 @@ public class WanderingTraderNPC extends WanderingTrader implements IVillagerNPC,
         if (getOffline() instanceof OfflineVillagerNPC offline) {
             CraftPersistentDataContainer container = getBukkitEntity().getPersistentDataContainer();
             container.remove(plugin.getNpcValuesKey()); // Remove previous data.
-            container.set(plugin.getNpcValuesKey(), NMSConverter.VILLAGER_DATA, offline); // Use the new system.
+            container.set(plugin.getNpcValuesKey(), RealisticVillagers.VILLAGER_DATA, offline.toOfflineDataWrapper()); // Use the new system.
         }
 
         // Save the previous (vanilla) custom name.
@@ -577,7 +609,9 @@ public class WanderingTraderNPC extends WanderingTrader implements IVillagerNPC,
         // We use load() instead of readAdditionalSaveData() because CraftEntity#readBukkitValues is called AFTER readAdditionalSaveData(),
         // so our data won't be present at that time.
 
-        OfflineVillagerNPC offline = getBukkitEntity().getPersistentDataContainer().get(plugin.getNpcValuesKey(), NMSConverter.VILLAGER_DATA);
+        CraftPersistentDataContainer container = getBukkitEntity().getPersistentDataContainer();
+        byte[] data = container.get(plugin.getNpcValuesKey(), PersistentDataType.BYTE_ARRAY);
+        OfflineVillagerNPC offline = data != null ? NMSConverter.readVillagerData(data, container.getAdapterContext()) : null;
         loadFromOffline(offline);
 
         // Previous versions of this plugin used setCustomName() before.
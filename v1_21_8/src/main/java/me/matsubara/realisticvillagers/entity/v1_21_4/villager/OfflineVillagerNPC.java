@@ -1,5 +1,7 @@
 package me.matsubara.realisticvillagers.entity.v1_21_4.villager;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -9,6 +11,8 @@ import me.matsubara.realisticvillagers.data.ExpectingType;
 import me.matsubara.realisticvillagers.data.HandleHomeResult;
 import me.matsubara.realisticvillagers.data.InteractType;
 import me.matsubara.realisticvillagers.data.LastKnownPosition;
+import me.matsubara.realisticvillagers.data.serialization.GossipEntryWrapper;
+import me.matsubara.realisticvillagers.data.serialization.OfflineDataWrapper;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.event.VillagerExhaustionEvent;
 import me.matsubara.realisticvillagers.nms.v1_21_4.CustomGossipContainer;
@@ -17,7 +21,9 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.TagParser;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.ai.gossip.GossipType;
 import org.bukkit.Bukkit;
+import org.bukkit.EntityEffect;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.entity.LivingEntity;
@@ -33,6 +39,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Getter
 public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializable {
@@ -42,7 +49,7 @@ public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializab
     private final String villagerName;
     private final String sex;
     private final IVillagerNPC partner;
-    private final List<IVillagerNPC> partners = new ArrayList<>();
+    private final List<IVillagerNPC> partners;
     private final boolean isPartnerVillager;
     private final long lastProcreation;
     private final int skinTextureId;
@@ -50,11 +57,11 @@ public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializab
     private final IVillagerNPC father;
     private final IVillagerNPC mother;
     private final boolean isFatherVillager;
-    private final List<IVillagerNPC> childrens = new ArrayList<>();
-    private final Set<EntityType<?>> targetEntities = new HashSet<>();
-    private final List<CustomGossipContainer.GossipEntry> entries = new ArrayList<>();
-    private final CustomGossipContainer gosssips;
-    private final Set<UUID> players = new HashSet<>();
+    private final List<IVillagerNPC> childrens;
+    private final Set<EntityType<?>> targetEntities;
+    private final List<CustomGossipContainer.GossipEntry> entries;
+    private final @Getter(lazy = true) CustomGossipContainer gosssips = new CustomGossipContainer(entries);
+    private final Set<UUID> players;
     private @Setter LastKnownPosition lastKnownPosition;
     private final @Getter(AccessLevel.NONE) CompoundTag shoulderEntityLeft;
     private final @Getter(AccessLevel.NONE) CompoundTag shoulderEntityRight;
@@ -147,12 +154,59 @@ public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializab
         this.tickTimer = tickTimer;
         this.saturationLevel = saturationLevel;
         this.exhaustionLevel = exhaustionLevel;
-        this.entries.addAll(entries);
-        this.partners.addAll(partners);
-        this.childrens.addAll(childrens);
-        this.targetEntities.addAll(targetEntities);
-        this.players.addAll(players);
-        this.gosssips = new CustomGossipContainer(entries);
+        this.entries = immutableList(entries);
+        this.partners = immutableList(partners);
+        this.childrens = immutableList(childrens);
+        this.targetEntities = immutableSet(targetEntities);
+        this.players = immutableSet(players);
+    }
+
+    // Collections coming from a previous snapshot are already immutable, so they're shared instead of copied.
+    private static <T> List<T> immutableList(@NotNull List<T> list) {
+        if (list instanceof ImmutableList<T> immutable) return immutable;
+        return list.stream().filter(Objects::nonNull).collect(ImmutableList.toImmutableList());
+    }
+
+    private static <T> Set<T> immutableSet(@NotNull Set<T> set) {
+        if (set instanceof ImmutableSet<T> immutable) return immutable;
+        return set.stream().filter(Objects::nonNull).collect(ImmutableSet.toImmutableSet());
+    }
+
+    boolean hasShoulderEntities(CompoundTag left, CompoundTag right) {
+        return shoulderEntityLeft == left && shoulderEntityRight == right;
+    }
+
+    @Contract("_ -> new")
+    @NotNull OfflineVillagerNPC withLastKnownPosition(LastKnownPosition lastKnownPosition) {
+        // The collections are already immutable, so the copy only costs the new instance.
+        return new OfflineVillagerNPC(
+                uuid,
+                villagerName,
+                sex,
+                partner,
+                isPartnerVillager,
+                lastProcreation,
+                skinTextureId,
+                kidSkinTextureId,
+                father,
+                mother,
+                isFatherVillager,
+                lastKnownPosition,
+                partners,
+                childrens,
+                targetEntities,
+                players,
+                entries,
+                shoulderEntityLeft,
+                shoulderEntityRight,
+                bedHomeWorld,
+                bedHome,
+                wasInfected,
+                equipped,
+                foodLevel,
+                tickTimer,
+                saturationLevel,
+                exhaustionLevel);
     }
 
     public static <T> T get(@Nullable OfflineVillagerNPC offline, Function<OfflineVillagerNPC, T> getter) {
@@ -184,7 +238,7 @@ public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializab
 
     @Override
     public int getReputation(UUID uuid) {
-        return gosssips.getReputation(uuid, (type) -> true);
+        return getGosssips().getReputation(uuid, (type) -> true);
     }
 
     @Override
@@ -502,6 +556,36 @@ public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializab
 
     }
 
+    @Override
+    public void playEffect(EntityEffect effect) {
+        // Offline villagers aren't in a world, there's nobody to show the effect to.
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        return false;
+    }
+
+    @Override
+    public void invalidateOffline() {
+
+    }
+
     @Override
     public IVillagerNPC getOffline() {
         return this;
@@ -695,9 +779,108 @@ public class OfflineVillagerNPC implements IVillagerNPC, ConfigurationSerializab
                 exhaustionLevel);
     }
 
+    public static IVillagerNPC fromOfflineDataWrapper(OfflineDataWrapper wrapper) {
+        if (wrapper == null) return null;
+
+        return new OfflineVillagerNPC(
+                wrapper.getUuid(),
+                wrapper.getVillagerName(),
+                wrapper.getSex(),
+                fromOfflineDataWrapper(wrapper.getPartner()),
+                wrapper.isPartnerVillager(),
+                wrapper.getLastProcreation(),
+                wrapper.getSkinTextureId(),
+                wrapper.getKidSkinTextureId(),
+                fromOfflineDataWrapper(wrapper.getFather()),
+                fromOfflineDataWrapper(wrapper.getMother()),
+                wrapper.isFatherVillager(),
+                wrapper.getLastKnownPosition(),
+                wrapper.getPartners().stream().map(OfflineVillagerNPC::fromOfflineDataWrapper).toList(),
+                wrapper.getChildrens().stream().map(OfflineVillagerNPC::fromOfflineDataWrapper).toList(),
+                wrapper.getTargetEntities().stream()
+                        .map(string -> EntityType.byString(string).orElse(null))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()),
+                new HashSet<>(wrapper.getPlayers()),
+                wrapper.getEntries().stream()
+                        .map(entry -> new CustomGossipContainer.GossipEntry(
+                                entry.target(),
+                                getTypeBySerializedName(entry.typeSerializedName()),
+                                entry.value()))
+                        .toList(),
+                wrapper.getShoulderEntityLeft() != null ? getShoulderEntity(wrapper.getShoulderEntityLeft()) : null,
+                wrapper.getShoulderEntityRight() != null ? getShoulderEntity(wrapper.getShoulderEntityRight()) : null,
+                wrapper.getBedHomeWorld(),
+                wrapper.getBedHome() != null ? new BlockPos(
+                        wrapper.getBedHome().getBlockX(),
+                        wrapper.getBedHome().getBlockY(),
+                        wrapper.getBedHome().getBlockZ()) : null,
+                wrapper.isWasInfected(),
+                wrapper.isEquipped(),
+                wrapper.getFoodLevel(),
+                wrapper.getTickTimer(),
+                wrapper.getSaturationLevel(),
+                wrapper.getExhaustionLevel());
+    }
+
+    private static @Nullable GossipType getTypeBySerializedName(String name) {
+        for (GossipType temp : GossipType.values()) {
+            if (temp.getSerializedName().equals(name)) return temp;
+        }
+        return null;
+    }
+
+    public OfflineDataWrapper toOfflineDataWrapper() {
+        return new OfflineDataWrapper(
+                uuid,
+                villagerName,
+                sex,
+                toOfflineDataWrapper(partner),
+                isPartnerVillager,
+                lastProcreation,
+                skinTextureId,
+                kidSkinTextureId,
+                toOfflineDataWrapper(father),
+                toOfflineDataWrapper(mother),
+                isFatherVillager,
+                lastKnownPosition != null ? lastKnownPosition : LastKnownPosition.ZERO,
+                toOfflineDataWrapper(partners),
+                toOfflineDataWrapper(childrens),
+                targetEntities.stream().map(EntityType::toShortString).toList(),
+                players,
+                entries.stream().map(entry -> new GossipEntryWrapper(entry.target(), entry.type().getSerializedName(), entry.value())).toList(),
+                validShoulderEntityLeft() ? shoulderEntityLeft.toString() : null,
+                validShoulderEntityRight() ? shoulderEntityRight.toString() : null,
+                bedHomeWorld,
+                bedHome != null ? new Vector(bedHome.getX(), bedHome.getY(), bedHome.getZ()) : null,
+                wasInfected,
+                equipped,
+                foodLevel,
+                tickTimer,
+                saturationLevel,
+                exhaustionLevel);
+    }
+
+    private List<OfflineDataWrapper> toOfflineDataWrapper(@NotNull List<IVillagerNPC> npcs) {
+        return npcs.stream().map(this::toOfflineDataWrapper)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private OfflineDataWrapper toOfflineDataWrapper(IVillagerNPC npc) {
+        // Relatives are saved by their UUID (and the name, for when they're gone), not with their whole data.
+        return npc instanceof OfflineVillagerNPC offline ?
+                OfflineDataWrapper.relative(offline.uuid, offline.villagerName, offline.sex) :
+                null;
+    }
+
     private static CompoundTag getShoulderEntity(Map<String, Object> args, String name) {
+        return getShoulderEntity(PluginUtils.getOrDefault(args, name, String.class, ""));
+    }
+
+    private static CompoundTag getShoulderEntity(String string) {
         try {
-            return TagParser.parseCompoundFully(PluginUtils.getOrDefault(args, name, String.class, ""));
+            return TagParser.parseCompoundFully(string);
         } catch (CommandSyntaxException ignored) {
             // Shouldn't happen.
             return new CompoundTag();
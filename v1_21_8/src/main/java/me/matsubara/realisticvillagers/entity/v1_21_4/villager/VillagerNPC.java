@@ -19,6 +19,7 @@ import me.matsubara.realisticvillagers.entity.v1_21_4.DummyFishingHook;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.VillagerNPCGoalPackages;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.behaviour.core.LootChest;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.behaviour.core.VillagerPanicTrigger;
+import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.behaviour.work.WorkAtPoiWithHunger;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.sensing.NearestItemSensor;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.sensing.NearestLivingEntitySensor;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.sensing.SecondaryPoiSensor;
@@ -28,11 +29,17 @@ import me.matsubara.realisticvillagers.event.VillagerExhaustionEvent;
 import me.matsubara.realisticvillagers.event.VillagerFishEvent;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.files.Messages;
+import me.matsubara.realisticvillagers.manager.TimerWheelManager;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.BehaviourProfiler;
+import me.matsubara.realisticvillagers.metrics.jfr.VillagerTickEvent;
+import me.matsubara.realisticvillagers.handler.npc.EntityStatusHandler;
 import me.matsubara.realisticvillagers.nms.v1_21_4.CustomGossipContainer;
 import me.matsubara.realisticvillagers.nms.v1_21_4.NMSConverter;
 import me.matsubara.realisticvillagers.nms.v1_21_4.VillagerFoodData;
 import me.matsubara.realisticvillagers.npc.NPC;
 import me.matsubara.realisticvillagers.tracker.VillagerTracker;
+import me.matsubara.realisticvillagers.util.AntiEnslavementUtil;
 import me.matsubara.realisticvillagers.util.ItemStackUtils;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import me.matsubara.realisticvillagers.util.Reflection;
@@ -121,6 +128,7 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.EntityEffect;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -161,11 +169,13 @@ import java.util.function.Supplier;
 public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttackMob, Nameable {
 
     private final RealisticVillagers plugin = JavaPlugin.getPlugin(RealisticVillagers.class);
+    private final Histogram tickTimings = plugin.getMetrics().histogram("villager_tick_seconds", "Time spent ticking a villager (movement, sensors and behaviours).");
+    private final BehaviourProfiler behaviourProfiler = new BehaviourProfiler();
 
     private String villagerName;
     private String sex;
     private IVillagerNPC partner;
-    private List<IVillagerNPC> partners = new ArrayList<>();
+    private final List<IVillagerNPC> partners = new ArrayList<>();
     private boolean isPartnerVillager;
     private long lastProcreation;
     private int skinTextureId = -1;
@@ -182,10 +192,10 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     private boolean isFatherVillager;
     private IVillagerNPC mother;
     private boolean isMotherVillager = true;
-    private List<IVillagerNPC> childrens = new ArrayList<>();
+    private final List<IVillagerNPC> childrens = new ArrayList<>();
     private UUID bedHomeWorld;
     private BlockPos bedHome;
-    private Set<EntityType<?>> targetEntities = getDefaultTargets();
+    private final Set<EntityType<?>> targetEntities = getDefaultTargets();
     private long lastGossipTime;
     private long lastGossipDecayTime;
     private long lastDamageStamp;
@@ -207,6 +217,23 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     private ThrownTrident thrownTrident;
     private ServerPlayer shakingHeadAt;
     private long timeEntitySatOnShoulder;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) long lastEntityEventTick;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) long handledEntityEvents;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) AITier aiTier = AITier.NEAR;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int aiTierCountdown;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int sensorInterval = 1;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) boolean cosmeticAI = true;
+    private @Setter(AccessLevel.NONE) boolean hibernating;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int hibernationCountdown;
+    private final @Getter(AccessLevel.NONE) WorkAtPoiWithHunger hibernationWork = new WorkAtPoiWithHunger();
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int offlineVersion;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int snapshotVersion;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int snapshotGossipVersion;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) OfflineVillagerNPC snapshot;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int inventoryModCount;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) int savedInventoryModCount;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) ItemStack[] savedInventory;
+    private @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE) byte[] savedInventoryBytes;
     private @Getter(AccessLevel.NONE) CompoundTag shoulderEntityLeft = new CompoundTag();
     private @Getter(AccessLevel.NONE) CompoundTag shoulderEntityRight = new CompoundTag();
 
@@ -312,6 +339,8 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
 
     private static final Logger LOGGER = LogUtils.getLogger();
     private static final int GOSSIP_DECAY_INTERVAL = 24000;
+    private static final int HIBERNATION_WAKE_CHECK_TICKS = 4;
+    private static final int HIBERNATION_GRACE_TICKS = 600;
     private static final Vec3i ITEM_PICKUP_REACH = new Vec3i(2, 2, 2);
     private static final int[] ROTATION = {-1, -3 - 5, -7, -7, -6, -4, -2, 1, 3, 5, 7, 7, 6, 4, 2, 2, 0};
     private static final Predicate<ItemStack> DO_NOT_SAVE = stack -> stack.is(ItemTags.SWORDS)
@@ -347,6 +376,9 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         setPersistenceRequired();
         this.persist = true;
 
+        // Every change made through the container (setItem(), removeItem(), etc.) calls setChanged().
+        inventory.addListener(container -> inventoryModCount++);
+
         for (EquipmentSlot value : EquipmentSlot.values()) {
             setDropChance(value, 0.0f);
         }
@@ -438,8 +470,8 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
 
             container.remove(plugin.getLegacyNpcValuesKey()); // Remove previous data.
 
-            container.set(plugin.getNpcValuesKey(), NMSConverter.VILLAGER_DATA, offline); // Save data using the new system.
-            container.set(plugin.getInventoryKey(), DataType.ITEM_STACK_ARRAY, bukkit.getInventory().getContents()); // Save inventory.
+            container.set(plugin.getNpcValuesKey(), RealisticVillagers.VILLAGER_DATA, offline.toOfflineDataWrapper()); // Save data using the new system.
+            container.set(plugin.getInventoryKey(), PersistentDataType.BYTE_ARRAY, serializeInventory(container)); // Save inventory.
         }
 
         output.putLong("LastGossipDecay", lastGossipDecayTime);
@@ -461,7 +493,8 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         CraftPersistentDataContainer container = bukkit.getPersistentDataContainer();
 
         // Load data.
-        OfflineVillagerNPC offline = container.get(plugin.getNpcValuesKey(), NMSConverter.VILLAGER_DATA);
+        byte[] data = container.get(plugin.getNpcValuesKey(), PersistentDataType.BYTE_ARRAY);
+        OfflineVillagerNPC offline = data != null ? NMSConverter.readVillagerData(data, container.getAdapterContext()) : null;
         loadFromOffline(offline);
 
         // Load inventory.
@@ -475,8 +508,36 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         }
     }
 
+    private byte[] serializeInventory(@NotNull CraftPersistentDataContainer container) {
+        // Serializing the items is expensive, reuse the previous bytes if the inventory is the same.
+        if (savedInventoryBytes != null && savedInventoryModCount == inventoryModCount && inventoryMatchesSaved()) {
+            return savedInventoryBytes;
+        }
+
+        int size = inventory.getContainerSize();
+        savedInventory = new ItemStack[size];
+        for (int i = 0; i < size; i++) {
+            savedInventory[i] = inventory.getItem(i).copy();
+        }
+
+        savedInventoryModCount = inventoryModCount;
+        return savedInventoryBytes = DataType.ITEM_STACK_ARRAY.toPrimitive(
+                getBukkitEntity().getInventory().getContents(),
+                container.getAdapterContext());
+    }
+
+    private boolean inventoryMatchesSaved() {
+        // Some behaviors modify the stacks in place (ItemStack#shrink()) without notifying the container.
+        if (savedInventory.length != inventory.getContainerSize()) return false;
+        for (int i = 0; i < savedInventory.length; i++) {
+            if (!ItemStack.matches(savedInventory[i], inventory.getItem(i))) return false;
+        }
+        return true;
+    }
+
     public void loadFromOffline(@Nullable OfflineVillagerNPC offline) {
         VillagerTracker tracker = plugin.getTracker();
+        invalidateOffline();
 
         OfflineVillagerNPC.getAndSet(offline, OfflineVillagerNPC::getUniqueId, this::setUUID);
         OfflineVillagerNPC.getAndSet(offline, OfflineVillagerNPC::getVillagerName, this::setVillagerName, "");
@@ -954,6 +1015,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
             // Remove data and add to old partners.
             player.getBukkitEntity().getPersistentDataContainer().remove(plugin.getMarriedWith());
             partners.add(dummyPlayerOffline(player.getUUID()));
+            invalidateOffline();
         }
     }
 
@@ -967,14 +1029,59 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         return getBrain().getActiveNonCoreActivity().map(Activity::getName).orElse(none);
     }
 
+    @Override
+    public List<IVillagerNPC> getPartners() {
+        return Collections.unmodifiableList(partners);
+    }
+
+    @Override
+    public void addPartner(IVillagerNPC partner) {
+        partners.add(partner);
+        invalidateOffline();
+    }
+
+    @Override
+    public List<IVillagerNPC> getChildrens() {
+        return Collections.unmodifiableList(childrens);
+    }
+
+    @Override
+    public void addChildren(IVillagerNPC children) {
+        childrens.add(children);
+        invalidateOffline();
+    }
+
+    @Override
+    public Set<UUID> getPlayers() {
+        return Collections.unmodifiableSet(players);
+    }
+
+    @Override
+    public boolean addPlayer(UUID uuid) {
+        if (!players.add(uuid)) return false;
+        invalidateOffline();
+        return true;
+    }
+
+    @Override
+    public boolean removePlayer(UUID uuid) {
+        if (!players.remove(uuid)) return false;
+        invalidateOffline();
+        return true;
+    }
+
     @Override
     public void addTarget(org.bukkit.entity.EntityType type) {
-        ifTargetPresent(type, entityType -> targetEntities.add(entityType));
+        ifTargetPresent(type, entityType -> {
+            if (targetEntities.add(entityType)) invalidateOffline();
+        });
     }
 
     @Override
     public void removeTarget(org.bukkit.entity.EntityType type) {
-        ifTargetPresent(type, entityType -> targetEntities.remove(entityType));
+        ifTargetPresent(type, entityType -> {
+            if (targetEntities.remove(entityType)) invalidateOffline();
+        });
     }
 
     private void ifTargetPresent(@NotNull org.bukkit.entity.EntityType type, Consumer<EntityType<?>> consumer) {
@@ -1136,7 +1243,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         // Use array to track mutable state in lambda
         final int[] state = new int[2]; // [current, turns]
 
-        plugin.getFoliaLib().getScheduler().runAtEntityTimer(getBukkitEntity(), task -> {
+        plugin.getTimerWheelManager().runAtEntityTimer(TimerWheelManager.SHAKE_HEAD, getBukkitEntity(), task -> {
             if (!getBukkitEntity().isValid()) {
                 task.cancel();
                 return;
@@ -1166,9 +1273,63 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         shakingHead = true;
     }
 
+    @Override
+    public void playEffect(@NotNull EntityEffect effect) {
+        broadcastEntityEvent(this, effect.getData());
+    }
+
+    @Override
+    public void handleEntityEvent(byte status) {
+        if (!EntityStatusHandler.isVillagerStatus(status)) {
+            super.handleEntityEvent(status);
+            return;
+        }
+
+        // Handle each status once per tick, no matter how many players are tracking us.
+        long tick = level().getGameTime();
+        if (tick != lastEntityEventTick) {
+            lastEntityEventTick = tick;
+            handledEntityEvents = 0L;
+        }
+
+        long mask = 1L << status;
+        if ((handledEntityEvents & mask) != 0L) return;
+        handledEntityEvents |= mask;
+
+        plugin.getTracker().getStatusHandler().handleStatus(this, status);
+    }
+
+    public static void broadcastEntityEvent(@NotNull Entity entity, byte status) {
+        // Clients render us as a player and ignore villager statuses, so the effect is handled here, without the packet.
+        // Statuses broadcast by vanilla (or other plugins) still send it, and are handled by the packet listener.
+        if (entity instanceof VillagerNPC npc && EntityStatusHandler.isVillagerStatus(status)) {
+            npc.handleEntityEvent(status);
+            return;
+        }
+
+        entity.level().broadcastEntityEvent(entity, status);
+    }
+
+    @Override
+    public void invalidateOffline() {
+        offlineVersion++;
+    }
+
     @Override
     public IVillagerNPC getOffline() {
-        return new OfflineVillagerNPC(
+        // Nothing changed since the last call, the snapshot is immutable so it can be shared.
+        OfflineVillagerNPC previous = snapshot;
+        if (previous != null && isSnapshotUpToDate(previous)) {
+            // Walking around only changes the position, everything else is shared with the previous snapshot.
+            if (isAtSnapshotPosition(previous)) return previous;
+            return snapshot = previous.withLastKnownPosition(getLastKnownPosition());
+        }
+
+        boolean sameRelations = previous != null && snapshotVersion == offlineVersion;
+        boolean sameGossips = previous != null && snapshotGossipVersion == gossips.getModCount();
+
+        // Unchanged collections are shared with the previous snapshot instead of being copied again.
+        snapshot = new OfflineVillagerNPC(
                 uuid,
                 villagerName,
                 sex,
@@ -1181,11 +1342,11 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
                 mother,
                 isFatherVillager,
                 getLastKnownPosition(),
-                partners,
-                childrens,
-                targetEntities,
-                players,
-                gossips.unpack().toList(),
+                sameRelations ? previous.getPartners() : partners,
+                sameRelations ? previous.getChildrens() : childrens,
+                sameRelations ? previous.getTargetEntities() : targetEntities,
+                sameRelations ? previous.getPlayers() : players,
+                sameGossips ? previous.getEntries() : gossips.unpack().toList(),
                 shoulderEntityLeft,
                 shoulderEntityRight,
                 bedHomeWorld,
@@ -1196,6 +1357,44 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
                 foodData.getTickTimer(),
                 foodData.getSaturationLevel(),
                 foodData.getExhaustionLevel());
+        snapshotVersion = offlineVersion;
+        snapshotGossipVersion = gossips.getModCount();
+        return snapshot;
+    }
+
+    private boolean isSnapshotUpToDate(@NotNull OfflineVillagerNPC snapshot) {
+        if (snapshotVersion != offlineVersion || snapshotGossipVersion != gossips.getModCount()) return false;
+
+        // Simple values are compared directly, these are cheaper to check than to track.
+        return snapshot.getUniqueId() == uuid
+                && snapshot.getVillagerName() == villagerName
+                && snapshot.getSex() == sex
+                && snapshot.getPartner() == partner
+                && snapshot.isPartnerVillager() == isPartnerVillager
+                && snapshot.getLastProcreation() == lastProcreation
+                && snapshot.getSkinTextureId() == skinTextureId
+                && snapshot.getKidSkinTextureId() == kidSkinTextureId
+                && snapshot.getFather() == father
+                && snapshot.getMother() == mother
+                && snapshot.isFatherVillager() == isFatherVillager
+                && snapshot.hasShoulderEntities(shoulderEntityLeft, shoulderEntityRight)
+                && snapshot.getBedHomeWorld() == bedHomeWorld
+                && snapshot.getBedHome() == bedHome
+                && snapshot.isWasInfected() == wasInfected
+                && snapshot.isEquipped() == equipped
+                && snapshot.getFoodLevel() == foodData.getFoodLevel()
+                && snapshot.getTickTimer() == foodData.getTickTimer()
+                && snapshot.getSaturationLevel() == foodData.getSaturationLevel()
+                && snapshot.getExhaustionLevel() == foodData.getExhaustionLevel();
+    }
+
+    private boolean isAtSnapshotPosition(@NotNull OfflineVillagerNPC snapshot) {
+        LastKnownPosition position = snapshot.getLastKnownPosition();
+        return position != null
+                && position.x() == getX()
+                && position.y() == getY()
+                && position.z() == getZ()
+                && position.world().equals(level().getWorld().getName());
     }
 
     @Override
@@ -1749,10 +1948,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     }
 
     private boolean isChildren(UUID uuid) {
-        for (IVillagerNPC npc : childrens) {
-            if (npc.getUniqueId().equals(uuid)) return true;
-        }
-        return false;
+        return plugin.getLineageManager().isParent(getUUID(), uuid);
     }
 
     @Override
@@ -1783,8 +1979,10 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
             }
         }
 
-        playShoulderEntityAmbientSound(shoulderEntityLeft);
-        playShoulderEntityAmbientSound(shoulderEntityRight);
+        if (cosmeticAI) {
+            playShoulderEntityAmbientSound(shoulderEntityLeft);
+            playShoulderEntityAmbientSound(shoulderEntityRight);
+        }
 
         if (!level().isClientSide && (fallDistance > 0.5f || isInWater()) || isSleeping() || isInPowderSnow) {
             removeEntitiesOnShoulder();
@@ -1837,9 +2035,22 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
 
     @Override
     public void tick() {
+        long start = tickTimings.start();
+        VillagerTickEvent profile = new VillagerTickEvent();
+        profile.begin();
+
         super.tick();
+
+        tickTimings.recordSince(start);
+        profile.commit(getBukkitEntity());
+
+        if (BehaviourProfiler.isEnabled()) behaviourProfiler.update(getBukkitEntity(), getBrain().getRunningBehaviors());
+        else behaviourProfiler.clear();
+
         cooldowns.tick();
-        foodData.tick();
+        if (!hibernating) foodData.tick();
+        updateAITier();
+        updateHibernation();
 
         maybeDecayGossip();
 
@@ -1912,6 +2123,94 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         return true;
     }
 
+    @Override
+    public AITier getAITier() {
+        return aiTier;
+    }
+
+    public boolean hasCosmeticAI() {
+        return cosmeticAI;
+    }
+
+    /**
+     * @param run how many times the sensor ran before (sensed or not)
+     * @return whether the sensor should sense in this run, according to the current AI tier
+     */
+    public boolean shouldSense(int run) {
+        return sensorInterval == 1 || run % sensorInterval == 0;
+    }
+
+    private void updateAITier() {
+        if (--aiTierCountdown > 0) return;
+        aiTierCountdown = Math.max(1, Config.AI_LOD_UPDATE_INTERVAL.asInt());
+
+        AITier tier = AITier.NEAR;
+        if (Config.AI_LOD_ENABLED.asBool()) {
+            Player nearest = level().getNearestPlayer(this, AITier.getViewDistance());
+            tier = nearest != null ? AITier.of(distanceToSqr(nearest)) : AITier.UNOBSERVED;
+        }
+
+        aiTier = tier;
+        sensorInterval = tier.getSensorInterval();
+        cosmeticAI = tier.hasCosmeticAI();
+    }
+
+    @Override
+    protected boolean isImmobile() {
+        // Skips the brain, navigation and controls; physics still apply.
+        return hibernating || super.isImmobile();
+    }
+
+    @Override
+    public void wakeFromHibernation() {
+        // Don't go back to hibernation right away.
+        hibernationCountdown = Math.max(hibernationCountdown, HIBERNATION_GRACE_TICKS);
+        hibernating = false;
+    }
+
+    private void updateHibernation() {
+        if (--hibernationCountdown > 0) return;
+
+        if (hibernating) {
+            // A confined villager can't leave its cell, and the cell can't be broken without a player nearby.
+            if (!Config.HIBERNATION_ENABLED.asBool() || isPlayerNearby()) {
+                wakeFromHibernation();
+                return;
+            }
+
+            // Checked often while hibernating, so villagers are awake by the time a player is close.
+            hibernationCountdown = HIBERNATION_WAKE_CHECK_TICKS;
+            workWhileHibernating();
+            return;
+        }
+
+        hibernationCountdown = Math.max(1, Config.HIBERNATION_CHECK_INTERVAL.asInt());
+        hibernating = Config.HIBERNATION_ENABLED.asBool()
+                && !isPassenger()
+                && !isSleeping()
+                && !isTrading()
+                && !isFighting()
+                && !isInteracting()
+                && !isPlayerNearby()
+                && AntiEnslavementUtil.isConfined(this);
+    }
+
+    private boolean isPlayerNearby() {
+        return level().getNearestPlayer(this, Config.HIBERNATION_WAKE_DISTANCE.asDouble()) != null;
+    }
+
+    private void workWhileHibernating() {
+        if (!(level() instanceof ServerLevel level)) return;
+
+        // Same hours as the work activity of the default schedule.
+        long dayTime = level.getDayTime() % 24000L;
+        if (dayTime < 2000L || dayTime >= 9000L) return;
+
+        // Restocks (if needed) when standing next to the job site, same as the brain would do.
+        long time = level.getGameTime();
+        if (hibernationWork.tryStart(level, this, time)) hibernationWork.doStop(level, this, time);
+    }
+
     private void playShoulderEntityAmbientSound(@Nullable CompoundTag tag) {
         RandomSource random = level().random;
 
@@ -1999,7 +2298,10 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
     @Override
     public boolean hurtServer(ServerLevel level, DamageSource source, float damage) {
         boolean damaged = super.hurtServer(level, source, damage);
-        if (damaged) removeEntitiesOnShoulder();
+        if (damaged) {
+            removeEntitiesOnShoulder();
+            wakeFromHibernation();
+        }
         return damaged;
     }
 
@@ -2187,7 +2489,7 @@ public class VillagerNPC extends Villager implements IVillagerNPC, CrossbowAttac
         setBedHomeWorld(block.getWorld().getUID());
         setBedHome(bedHome.pos());
 
-        level().broadcastEntityEvent(this, (byte) 14);
+        broadcastEntityEvent(this, (byte) 14);
         DebugPackets.sendPoiTicketCountPacket((ServerLevel) level(), bedPosition);
         return HandleHomeResult.SUCCESS;
     }
@@ -2,6 +2,7 @@ package me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.behaviour.cor
 
 import com.google.common.collect.ImmutableMap;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.VillagerNPC;
+import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.SharedPaths;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.ai.Brain;
@@ -126,7 +127,8 @@ public class MoveToTargetSink extends Behavior<Villager> {
 
     private boolean tryComputePath(Villager villager, @NotNull WalkTarget target, long time) {
         BlockPos pos = target.getTarget().currentBlockPosition();
-        path = getNavigation(villager).createPath(pos, 0);
+        AbstractHorse vehicle = getValidVehicle(villager);
+        path = SharedPaths.createPath(vehicle != null ? vehicle : villager, pos, 0);
         speedModifier = target.getSpeedModifier();
 
         Brain<Villager> brain = villager.getBrain();
@@ -1,5 +1,6 @@
 package me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.behaviour.core;
 
+import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.SharedPaths;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.GlobalPos;
 import net.minecraft.core.Holder;
@@ -75,7 +76,7 @@ public class YieldJobSite {
     }
 
     private static boolean canReachPos(@NotNull PathfinderMob mob, BlockPos pos, @NotNull PoiType type) {
-        Path path = mob.getNavigation().createPath(pos, type.validRange());
+        Path path = SharedPaths.createPath(mob, pos, type.validRange());
         return path != null && path.canReach();
     }
 }
\ No newline at end of file
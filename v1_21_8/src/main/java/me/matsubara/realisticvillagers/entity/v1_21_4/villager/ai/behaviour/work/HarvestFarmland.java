@@ -6,6 +6,9 @@ import lombok.Getter;
 import me.matsubara.realisticvillagers.data.ChangeItemType;
 import me.matsubara.realisticvillagers.data.Exchangeable;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.VillagerNPC;
+import me.matsubara.realisticvillagers.files.Config;
+import me.matsubara.realisticvillagers.manager.FarmlandManager;
+import me.matsubara.realisticvillagers.manager.FarmlandManager.PlotState;
 import me.matsubara.realisticvillagers.util.AntiEnslavementUtil;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -45,17 +48,24 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class HarvestFarmland extends Behavior<Villager> implements Exchangeable {
 
     private int timeWorkedSoFar;
     private long nextOkStartTime;
+    private long nextClaimTime;
+    private long nextScanTime;
     private @Nullable BlockPos aboveFarmlandPos;
     private @Getter ItemStack previousItem;
     private final List<BlockPos> validFarmlandAroundVillager = Lists.newArrayList();
 
     private static final int HARVEST_DURATION = 200;
     private static final int WATER_DETECTION_RADIUS = 2;
+    private static final int MAX_CLAIM_ATTEMPTS = 4;
+    private static final int CLAIM_RETRY_DELAY = 20;
+    private static final PlotState[] WORK_WITH_SEEDS = {PlotState.RIPE, PlotState.EMPTY, PlotState.TILLABLE};
+    private static final PlotState[] WORK_WITHOUT_SEEDS = {PlotState.RIPE, PlotState.TILLABLE};
     private static final Block[] CROPS = {Blocks.WHEAT, Blocks.POTATOES, Blocks.CARROTS, Blocks.BEETROOTS, Blocks.TORCHFLOWER_CROP, Blocks.PITCHER_CROP};
     private static final Map<Item, Block> STEM_CROPS = ImmutableMap.of(
             Items.PUMPKIN_SEEDS, Blocks.PUMPKIN_STEM,
@@ -97,19 +107,104 @@ public class HarvestFarmland extends Behavior<Villager> implements Exchangeable
         if (!level.getGameRules().getBoolean(GameRules.RULE_MOBGRIEFING)) return false;
         if (!villager.getVillagerData().profession().is(VillagerProfession.FARMER)) return false;
 
+        FarmlandManager farmland = getFarmland(villager);
+        if (farmland == null) {
+            scanAround(level, villager, null);
+            return (aboveFarmlandPos = getValidFarmland(level)) != null;
+        }
+
+        long time = level.getGameTime();
+        if (time < nextClaimTime) return false;
+
+        if ((aboveFarmlandPos = claimNext(level, npc, farmland)) != null) return true;
+
+        // Nothing to do in the registry, look for new plots around (not too often).
+        if (time >= nextScanTime) {
+            nextScanTime = time + Math.max(1, Config.FARMLAND_REGISTRY_SCAN_INTERVAL.asInt());
+            scanAround(level, villager, farmland);
+            if ((aboveFarmlandPos = claimNext(level, npc, farmland)) != null) return true;
+        }
+
+        nextClaimTime = time + CLAIM_RETRY_DELAY;
+        return false;
+    }
+
+    private void scanAround(ServerLevel level, @NotNull Villager villager, @Nullable FarmlandManager farmland) {
         BlockPos.MutableBlockPos mutable = villager.blockPosition().mutable();
         validFarmlandAroundVillager.clear();
 
+        UUID world = farmland != null ? level.getWorld().getUID() : null;
+
         for (int x = -1; x <= 1; x++) {
             for (int y = -1; y <= 1; y++) {
                 for (int z = -1; z <= 1; z++) {
                     mutable.set(villager.getX() + (double) x, villager.getY() + (double) y, villager.getZ() + (double) z);
-                    if (validPos(mutable, level)) validFarmlandAroundVillager.add(new BlockPos(mutable));
+                    if (farmland == null) {
+                        if (validPos(mutable, level)) validFarmlandAroundVillager.add(new BlockPos(mutable));
+                        continue;
+                    }
+
+                    PlotState state = getPlotState(level, mutable);
+                    if (state != null) farmland.update(world, mutable.getX(), mutable.getY(), mutable.getZ(), state);
                 }
             }
         }
 
-        return (aboveFarmlandPos = getValidFarmland(level)) != null;
+        if (farmland != null) farmland.countScan();
+    }
+
+    private @Nullable BlockPos claimNext(@NotNull ServerLevel level, @NotNull VillagerNPC npc, @NotNull FarmlandManager farmland) {
+        UUID world = level.getWorld().getUID();
+        BlockPos position = npc.blockPosition();
+        int radius = Config.FARMLAND_REGISTRY_CLAIM_RADIUS.asInt();
+
+        // No need to go to empty farmland without seeds.
+        PlotState[] wanted = npc.hasFarmSeeds() ? WORK_WITH_SEEDS : WORK_WITHOUT_SEEDS;
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            FarmlandManager.Claim claim = farmland.claim(npc.getUUID(), world, position.getX(), position.getY(), position.getZ(), radius, wanted);
+            if (claim == null) return null;
+
+            // The registry may be outdated, check the blocks before going there.
+            BlockPos pos = new BlockPos(claim.x(), claim.y(), claim.z());
+            PlotState state = getPlotState(level, pos);
+            for (PlotState wantedState : wanted) {
+                if (state == wantedState) return pos;
+            }
+
+            farmland.update(world, claim.x(), claim.y(), claim.z(), state);
+            farmland.release(npc.getUUID(), world, claim.x(), claim.y(), claim.z());
+        }
+
+        return null;
+    }
+
+    private void releasePlot(@NotNull ServerLevel level, @NotNull Villager villager, @NotNull FarmlandManager farmland) {
+        if (aboveFarmlandPos == null) return;
+
+        // Let the others know what's left to do here.
+        UUID world = level.getWorld().getUID();
+        int x = aboveFarmlandPos.getX(), y = aboveFarmlandPos.getY(), z = aboveFarmlandPos.getZ();
+        farmland.update(world, x, y, z, getPlotState(level, aboveFarmlandPos));
+        farmland.release(villager.getUUID(), world, x, y, z);
+    }
+
+    public static @Nullable FarmlandManager getFarmland(Villager villager) {
+        if (!(villager instanceof VillagerNPC npc)) return null;
+
+        FarmlandManager farmland = npc.getPlugin().getFarmlandManager();
+        return farmland.isEnabled() ? farmland : null;
+    }
+
+    public static @Nullable PlotState getPlotState(@NotNull ServerLevel level, BlockPos pos) {
+        BlockState aboveState = level.getBlockState(pos);
+        if (isValidCrop(aboveState)) return PlotState.RIPE;
+        if (aboveState.getBlock() instanceof CropBlock) return PlotState.GROWING;
+
+        BlockState belowState = level.getBlockState(pos.below());
+        if (isValidFarmland(aboveState, belowState)) return PlotState.EMPTY;
+
+        return isValidDirt(level, pos, aboveState, belowState) ? PlotState.TILLABLE : null;
     }
 
     private @Nullable BlockPos getValidFarmland(ServerLevel level) {
@@ -125,7 +220,7 @@ public class HarvestFarmland extends Behavior<Villager> implements Exchangeable
                 || isValidDirt(level, pos, aboveState, belowState);
     }
 
-    private boolean isValidDirt(ServerLevel level, BlockPos pos, @NotNull BlockState aboveState, BlockState belowState) {
+    private static boolean isValidDirt(ServerLevel level, BlockPos pos, @NotNull BlockState aboveState, BlockState belowState) {
         // Only ROOTED_DIRT doesn't check for air above.
         if (!aboveState.isAir() && !belowState.is(Blocks.ROOTED_DIRT)) return false;
 
@@ -152,18 +247,18 @@ public class HarvestFarmland extends Behavior<Villager> implements Exchangeable
         return false;
     }
 
-    private BlockPos relative(BlockPos pos, Vec3i offset, int multiplier) {
+    private static BlockPos relative(BlockPos pos, Vec3i offset, int multiplier) {
         return multiplier == 0 ? pos : new BlockPos(
                 pos.getX() + offset.getX() * multiplier,
                 pos.getY() + offset.getY() * multiplier,
                 pos.getZ() + offset.getZ() * multiplier);
     }
 
-    private boolean isValidCrop(@NotNull BlockState aboveState) {
+    private static boolean isValidCrop(@NotNull BlockState aboveState) {
         return aboveState.getBlock() instanceof CropBlock crop && crop.isMaxAge(aboveState);
     }
 
-    private boolean isValidFarmland(@NotNull BlockState aboveState, BlockState belowState) {
+    private static boolean isValidFarmland(@NotNull BlockState aboveState, BlockState belowState) {
         return aboveState.isAir() && belowState.getBlock() instanceof FarmBlock;
     }
 
@@ -187,6 +282,9 @@ public class HarvestFarmland extends Behavior<Villager> implements Exchangeable
             npc.setItemSlot(EquipmentSlot.MAINHAND, previousItem);
         }
 
+        FarmlandManager farmland = getFarmland(villager);
+        if (farmland != null) releasePlot(level, villager, farmland);
+
         Brain<Villager> brain = villager.getBrain();
         brain.eraseMemory(MemoryModuleType.LOOK_TARGET);
         brain.eraseMemory(MemoryModuleType.WALK_TARGET);
@@ -254,8 +352,16 @@ public class HarvestFarmland extends Behavior<Villager> implements Exchangeable
     }
 
     private void toTheNextOne(ServerLevel level, Villager villager, long time) {
-        validFarmlandAroundVillager.remove(aboveFarmlandPos);
-        if ((aboveFarmlandPos = getValidFarmland(level)) == null) return;
+        FarmlandManager farmland = getFarmland(villager);
+        if (farmland != null) {
+            releasePlot(level, villager, farmland);
+            aboveFarmlandPos = claimNext(level, (VillagerNPC) villager, farmland);
+        } else {
+            validFarmlandAroundVillager.remove(aboveFarmlandPos);
+            aboveFarmlandPos = getValidFarmland(level);
+        }
+
+        if (aboveFarmlandPos == null) return;
         nextOkStartTime = time + 20L;
         equipBasedOnBlock(level, villager);
         setTarget(villager);
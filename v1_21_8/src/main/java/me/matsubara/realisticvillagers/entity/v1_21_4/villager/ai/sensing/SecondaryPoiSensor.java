@@ -2,7 +2,11 @@ package me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.sensing;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import me.matsubara.realisticvillagers.RealisticVillagers;
+import me.matsubara.realisticvillagers.entity.v1_21_4.villager.VillagerNPC;
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.ai.behaviour.work.HarvestFarmland;
+import me.matsubara.realisticvillagers.metrics.Histogram;
+import me.matsubara.realisticvillagers.metrics.jfr.SensorEvent;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.GlobalPos;
 import net.minecraft.core.Holder;
@@ -16,6 +20,7 @@ import net.minecraft.world.entity.npc.VillagerProfession;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import org.apache.commons.lang3.ArrayUtils;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -23,14 +28,34 @@ import java.util.Set;
 
 public class SecondaryPoiSensor extends Sensor<Villager> {
 
+    private static final Histogram TIMINGS = JavaPlugin.getPlugin(RealisticVillagers.class).getMetrics()
+            .histogram("villager_sensor_seconds", "Time spent by each villager sensor.", "sensor", "secondary_poi");
+
     private static final int SCAN_RATE = 40;
 
+    private int runs;
+
     public SecondaryPoiSensor() {
         super(SCAN_RATE);
     }
 
     @Override
     public void doTick(@NotNull ServerLevel level, @NotNull Villager villager) {
+        long start = TIMINGS.start();
+        SensorEvent profile = new SensorEvent();
+        profile.begin();
+        try {
+            sense(level, villager);
+        } finally {
+            TIMINGS.recordSince(start);
+            profile.setOperation("secondary_poi");
+            profile.commit(villager.getBukkitEntity());
+        }
+    }
+
+    private void sense(@NotNull ServerLevel level, @NotNull Villager villager) {
+        if (villager instanceof VillagerNPC npc && !npc.shouldSense(runs++)) return;
+
         ResourceKey<Level> dimension = level.dimension();
         BlockPos position = villager.blockPosition();
 
@@ -25,6 +25,8 @@ import java.util.stream.Stream;
 public class CustomGossipContainer extends GossipContainer {
 
     private final @Getter Map<UUID, EntityGossips> gossips = Maps.newHashMap();
+    // Bumped on every change, so snapshots can tell if the gossips need to be unpacked again.
+    private @Getter int modCount;
 
     private static final int DISCARD_THRESHOLD = 2;
     private static final Map<GossipType, Integer> MAX_GOSSIP_TYPE_TRANSFER = ImmutableMap.of(
@@ -54,6 +56,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void decay() {
+        modCount++;
         Iterator<EntityGossips> iterator = gossips.values().iterator();
         while (iterator.hasNext()) {
             EntityGossips gossips = iterator.next();
@@ -101,6 +104,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     public void transferFrom(@NotNull CustomGossipContainer container, RandomSource random, int topics) {
         Collection<GossipEntry> entries = container.selectGossipsForTransfer(random, topics);
+        modCount++;
         entries.forEach((entry) -> {
             int transfer = entry.value - entry.type.decayPerTransfer;
             if (transfer >= DISCARD_THRESHOLD) {
@@ -124,6 +128,7 @@ public class CustomGossipContainer extends GossipContainer {
 
     @Override
     public void add(UUID uuid, GossipType type, int amount) {
+        modCount++;
         EntityGossips gossips = getOrCreate(uuid);
         gossips.entries.mergeInt(type, amount, Integer::sum);
         gossips.makeSureValueIsntTooLow(type);
@@ -150,6 +155,7 @@ public class CustomGossipContainer extends GossipContainer {
         EntityGossips gossips = this.gossips.get(uuid);
         if (gossips == null) return;
 
+        modCount++;
         gossips.remove(type);
         if (gossips.isEmpty()) this.gossips.remove(uuid);
     }
@@ -160,6 +166,7 @@ public class CustomGossipContainer extends GossipContainer {
     }
 
     public void remove(GossipType type) {
+        modCount++;
         Iterator<EntityGossips> iterator = gossips.values().iterator();
 
         while (iterator.hasNext()) {
@@ -170,11 +177,13 @@ public class CustomGossipContainer extends GossipContainer {
     }
 
     public void clear() {
+        modCount++;
         gossips.clear();
     }
 
     @Override
     public void putAll(@NotNull GossipContainer reputation) {
+        modCount++;
         reputation.getGossipEntries().forEach((uuid, type) -> getOrCreate(uuid).entries.putAll(type));
     }
 
@@ -7,6 +7,8 @@ import com.mojang.authlib.GameProfile;
 import com.mojang.serialization.Codec;
 import me.matsubara.realisticvillagers.RealisticVillagers;
 import me.matsubara.realisticvillagers.data.LastKnownPosition;
+import me.matsubara.realisticvillagers.data.serialization.OfflineDataType;
+import me.matsubara.realisticvillagers.data.serialization.OfflineDataWrapper;
 import me.matsubara.realisticvillagers.entity.IVillagerNPC;
 import me.matsubara.realisticvillagers.entity.v1_21_4.WanderingTraderNPC;
 import me.matsubara.realisticvillagers.entity.v1_21_4.pet.PetCat;
@@ -19,6 +21,7 @@ import me.matsubara.realisticvillagers.entity.v1_21_4.villager.OfflineVillagerNP
 import me.matsubara.realisticvillagers.entity.v1_21_4.villager.VillagerNPC;
 import me.matsubara.realisticvillagers.files.Config;
 import me.matsubara.realisticvillagers.nms.INMSConverter;
+import me.matsubara.realisticvillagers.tracker.OfflineVillagerStore;
 import me.matsubara.realisticvillagers.util.PluginUtils;
 import me.matsubara.realisticvillagers.util.Reflection;
 import net.minecraft.core.*;
@@ -30,6 +33,7 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.attributes.Attribute;
@@ -77,6 +81,7 @@ import org.bukkit.entity.ZombieVillager;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.MusicInstrumentMeta;
+import org.bukkit.persistence.PersistentDataAdapterContext;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.potion.PotionEffect;
@@ -140,12 +145,13 @@ public class NMSConverter implements INMSConverter {
         }
         ACTIVITIES = Collections.unmodifiableMap(activities);
 
-        // Register our data serializators.
+        // Register our data serializators (only needed to read the data saved before the binary format).
         ConfigurationSerialization.registerClass(CustomGossipContainer.GossipEntry.class);
         ConfigurationSerialization.registerClass(OfflineVillagerNPC.class);
     }
 
-    public static final PersistentDataType<byte[], OfflineVillagerNPC> VILLAGER_DATA = new ConfigurationSerializableDataType<>(OfflineVillagerNPC.class);
+    // This module used to save the villager itself, that data is still read but saved with RealisticVillagers#VILLAGER_DATA.
+    private static final PersistentDataType<byte[], OfflineVillagerNPC> LEGACY_VILLAGER_DATA = new ConfigurationSerializableDataType<>(OfflineVillagerNPC.class);
 
     public NMSConverter(RealisticVillagers plugin) {
         this.plugin = plugin;
@@ -207,7 +213,9 @@ public class NMSConverter implements INMSConverter {
             npc.setWasInfected(isInfection);
 
             if (npc.getOffline() instanceof OfflineVillagerNPC offline) {
-                byte[] primitive = VILLAGER_DATA.toPrimitive(offline, villager.getPersistentDataContainer().getAdapterContext());
+                byte[] primitive = RealisticVillagers.VILLAGER_DATA.toPrimitive(
+                        offline.toOfflineDataWrapper(),
+                        villager.getPersistentDataContainer().getAdapterContext());
                 return Base64.getEncoder().encodeToString(primitive);
             }
         } else if (entity instanceof ZombieVillager) {
@@ -249,7 +257,7 @@ public class NMSConverter implements INMSConverter {
             VillagerNPC nmsMother = bukkitMother != null ? ((VillagerNPC) ((CraftVillager) bukkitMother).getHandle()) : null;
             if (nmsMother != null) {
                 nmsMother.setAge(6000);
-                nmsMother.getChildrens().add(baby.getOffline());
+                nmsMother.addChildren(baby.getOffline());
                 baby.setMother(nmsMother.getOffline());
             }
         }
@@ -267,7 +275,7 @@ public class NMSConverter implements INMSConverter {
         if (reputation > 1) gossips.add(fatherUUID, GossipType.MINOR_POSITIVE, reputation);
 
         level.addFreshEntityWithPassengers(baby, CreatureSpawnEvent.SpawnReason.BREEDING);
-        level.broadcastEntityEvent(baby, (byte) 12);
+        VillagerNPC.broadcastEntityEvent(baby, (byte) 12);
     }
 
     @Override
@@ -287,7 +295,7 @@ public class NMSConverter implements INMSConverter {
         if (tag.isEmpty()) {
             offline = OfflineVillagerNPC.DUMMY_OFFLINE;
         } else {
-            offline = VILLAGER_DATA.fromPrimitive(
+            offline = readVillagerData(
                     Base64.getDecoder().decode(tag),
                     living.getPersistentDataContainer().getAdapterContext());
         }
@@ -363,6 +371,17 @@ public class NMSConverter implements INMSConverter {
         return raid != null ? new CraftRaid(raid, level) : null;
     }
 
+    @Override
+    public List<Player> getTrackingPlayers(@NotNull World world, int chunkX, int chunkZ) {
+        ServerLevel level = ((CraftWorld) world).getHandle();
+
+        List<Player> players = new ArrayList<>();
+        for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(new ChunkPos(chunkX, chunkZ), false)) {
+            players.add(player.getBukkitEntity());
+        }
+        return players;
+    }
+
     public static void updateTamedData(@NotNull RealisticVillagers plugin, @NotNull LivingEntity living, boolean tamedByVillager) {
         CraftPersistentDataContainer container = living.getBukkitEntity().getPersistentDataContainer();
         container.set(plugin.getTamedByVillagerKey(), PersistentDataType.BOOLEAN, tamedByVillager);
@@ -383,7 +402,28 @@ public class NMSConverter implements INMSConverter {
     @Override
     public IVillagerNPC getNPCFromTag(String tag) {
         byte[] primitive = Base64.getDecoder().decode(tag);
-        return VILLAGER_DATA.fromPrimitive(primitive, ADAPTER_CONTEXT);
+        return decodeOffline(primitive);
+    }
+
+    @Override
+    public byte[] encodeOffline(IVillagerNPC offline) {
+        return offline instanceof OfflineVillagerNPC npc ?
+                RealisticVillagers.VILLAGER_DATA.toPrimitive(npc.toOfflineDataWrapper(), ADAPTER_CONTEXT) :
+                null;
+    }
+
+    @Override
+    public IVillagerNPC decodeOffline(byte[] data) {
+        return readVillagerData(data, ADAPTER_CONTEXT);
+    }
+
+    public static @NotNull OfflineVillagerNPC readVillagerData(byte[] primitive, PersistentDataAdapterContext context) {
+        if (!OfflineDataType.isBinary(primitive)) return LEGACY_VILLAGER_DATA.fromPrimitive(primitive, context);
+
+        OfflineDataWrapper wrapper = RealisticVillagers.VILLAGER_DATA.fromPrimitive(primitive, context);
+        return OfflineVillagerNPC.fromOfflineDataWrapper(wrapper) instanceof OfflineVillagerNPC offline ?
+                offline :
+                OfflineVillagerNPC.DUMMY_OFFLINE;
     }
 
     @Override
@@ -522,9 +562,10 @@ public class NMSConverter implements INMSConverter {
             double yc = pos.getDoubleOr(1, 0.0d);
             double zc = pos.getDoubleOr(2, 0.0d);
 
-            Set<IVillagerNPC> offlines = plugin.getTracker().getOfflineVillagers();
-            if (offlines.stream().noneMatch(npc -> npc.getUniqueId().equals(uuid))) {
-                OfflineVillagerNPC offline = VILLAGER_DATA.fromPrimitive(REGISTRY.extract(VILLAGER_DATA, values), ADAPTER_CONTEXT);
+            OfflineVillagerStore offlines = plugin.getTracker().getOfflineVillagers();
+            if (!offlines.contains(uuid)) {
+                byte[] primitive = REGISTRY.extract(PersistentDataType.BYTE_ARRAY, values);
+                OfflineVillagerNPC offline = readVillagerData(primitive, ADAPTER_CONTEXT);
                 offline.setLastKnownPosition(new LastKnownPosition(world, xc, yc, zc));
                 offlines.add(offline);
             }